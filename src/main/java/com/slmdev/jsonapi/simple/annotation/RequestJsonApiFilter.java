@@ -18,4 +18,32 @@ public @interface RequestJsonApiFilter {
      * @return filter param name
      */
     String name() default "filter";
+
+    /**
+     * Max number of values in one filter param, for example in {@code filter[id][in]=1,2,3}.
+     * If exceeded {@link com.slmdev.jsonapi.simple.request.FilterValuesLimitExceededException} will be thrown
+     * before values are split. Zero or negative value means no limit, default is no limit.
+     *
+     * @return max number of values
+     */
+    int maxListValues() default 0;
+
+    /**
+     * Max complexity cost of the filter conditions, see {@link com.slmdev.jsonapi.simple.request.QueryComplexityBudget}.
+     * If exceeded {@link com.slmdev.jsonapi.simple.request.QueryComplexityExceededException} will be thrown
+     * before any data access. Zero means max cost of the resolver budget (default), negative value means no limit.
+     *
+     * @return max cost
+     */
+    long maxCost() default 0;
+
+    /**
+     * Parse {@code or} groups ({@code filter[or][<branch>][<field>]=value}) and several conditions of the same field
+     * to the {@link com.slmdev.jsonapi.simple.request.FilterExpression} tree, default is false: filter is flat,
+     * the last param of the same field wins and {@code or} is the usual field name.
+     * Flat param accessors of the filter with the tree throw {@link IllegalStateException}, see {@link Filter#isFlat()}.
+     *
+     * @return true if filter expressions enabled
+     */
+    boolean expressions() default false;
 }
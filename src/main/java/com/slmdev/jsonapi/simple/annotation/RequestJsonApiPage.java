@@ -16,4 +16,13 @@ public @interface RequestJsonApiPage {
      * @return page param name
      */
     String name() default "page";
+
+    /**
+     * Max complexity cost of the page and sort, see {@link com.slmdev.jsonapi.simple.request.QueryComplexityBudget}.
+     * If exceeded {@link com.slmdev.jsonapi.simple.request.QueryComplexityExceededException} will be thrown
+     * before any data access. Zero means max cost of the resolver budget (default), negative value means no limit.
+     *
+     * @return max cost
+     */
+    long maxCost() default 0;
 }
@@ -0,0 +1,26 @@
+package com.slmdev.jsonapi.simple.export;
+
+import com.slmdev.jsonapi.simple.request.Filter;
+import org.springframework.data.domain.Sort;
+
+import java.util.stream.Stream;
+
+/**
+ * Source of the exported elements.
+ *
+ * <p>Invoked in the export thread, returned stream is consumed element by element
+ * and closed after export finished (i.e. database cursor can be used).
+ *
+ * @param <V> primary object type
+ */
+@FunctionalInterface
+public interface ExportDataSource<V> {
+    /**
+     * Fetch elements for export.
+     *
+     * @param filter request filter
+     * @param sort request sort
+     * @return stream of elements
+     */
+    Stream<? extends V> fetch(Filter filter, Sort sort);
+}
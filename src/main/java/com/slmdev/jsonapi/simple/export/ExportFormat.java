@@ -0,0 +1,25 @@
+package com.slmdev.jsonapi.simple.export;
+
+import com.slmdev.jsonapi.simple.response.JsonApiNdjsonWriter;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Output format of the export file.
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+    /**
+     * Single JSON API document with {@code data} array and {@code meta} object.
+     */
+    JSON("application/json", ".json"),
+    /**
+     * One data object per line and {@code meta} object in the last line,
+     * see {@link JsonApiNdjsonWriter}.
+     */
+    NDJSON(JsonApiNdjsonWriter.MEDIA_TYPE, ".ndjson");
+
+    private final String mediaType;
+    private final String fileExtension;
+}
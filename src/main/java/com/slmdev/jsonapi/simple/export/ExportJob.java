@@ -0,0 +1,100 @@
+package com.slmdev.jsonapi.simple.export;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.slmdev.jsonapi.simple.annotation.JsonApiId;
+import com.slmdev.jsonapi.simple.annotation.JsonApiType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Export job resource.
+ *
+ * <p>Job state is changed by the export thread only, so we can build
+ * JSON API response with it at any time, for example:
+ * <pre>
+ * {@code
+ *     return Response.<ExportJob, ExportJob>builder()
+ *         .data(exportJobManager.getJob(id).orElseThrow())
+ *         .build();
+ * }
+ * </pre>
+ */
+@Getter
+@ToString
+@JsonApiType(ExportJob.API_TYPE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExportJob {
+    public static final String API_TYPE = "export-job";
+
+    @JsonApiId
+    @Schema(description = "Export job id", requiredMode = Schema.RequiredMode.REQUIRED)
+    private final UUID id;
+    @Schema(description = "Export file format", requiredMode = Schema.RequiredMode.REQUIRED)
+    private final ExportFormat format;
+    @Schema(description = "Export job status", requiredMode = Schema.RequiredMode.REQUIRED)
+    private volatile Status status;
+    @Schema(description = "Number of exported elements")
+    private volatile long total;
+    @Schema(description = "Export file size in bytes")
+    private volatile long size;
+    @Schema(description = "Error message if export failed")
+    private volatile String error;
+    @Schema(description = "Export job create date (UTC)", requiredMode = Schema.RequiredMode.REQUIRED)
+    private final LocalDateTime createDate;
+    @Schema(description = "Export job finish date (UTC)")
+    private volatile LocalDateTime finishDate;
+    @JsonIgnore
+    @ToString.Exclude
+    private final Path file;
+    @JsonIgnore
+    @ToString.Exclude
+    private volatile boolean cancelled;
+
+    ExportJob(final UUID id, final ExportFormat format, final Path file) {
+        this.id = id;
+        this.format = format;
+        this.file = file;
+        this.status = Status.PENDING;
+        this.createDate = LocalDateTime.now(ZoneOffset.UTC);
+    }
+
+    void running() {
+        this.status = Status.RUNNING;
+    }
+
+    void completed(final long total, final long size) {
+        this.total = total;
+        this.size = size;
+        this.finishDate = LocalDateTime.now(ZoneOffset.UTC);
+        this.status = Status.COMPLETED;
+    }
+
+    void failed(final String error) {
+        this.error = error;
+        this.finishDate = LocalDateTime.now(ZoneOffset.UTC);
+        this.status = Status.FAILED;
+    }
+
+    void cancel() {
+        this.cancelled = true;
+    }
+
+    @JsonIgnore
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
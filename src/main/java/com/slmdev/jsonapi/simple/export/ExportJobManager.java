@@ -0,0 +1,297 @@
+package com.slmdev.jsonapi.simple.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.response.Api;
+import com.slmdev.jsonapi.simple.response.Data;
+import com.slmdev.jsonapi.simple.response.JsonApiDataFactory;
+import com.slmdev.jsonapi.simple.response.JsonApiNdjsonWriter;
+import com.slmdev.jsonapi.simple.response.Meta;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * Manager of the asynchronous export jobs.
+ *
+ * <p>Each submitted job fetch elements from the {@link ExportDataSource} in the background
+ * (with passed executor) and write them as JSON API document or NDJSON to the local file,
+ * so request threads and connections are not busy while export is running. Job status
+ * available as regular JSON API resource {@link ExportJob}.
+ *
+ * <p>File is visible only after export completed and can be served without copying through
+ * the heap: with {@link #transferTo(UUID, WritableByteChannel)} (uses {@link FileChannel#transferTo})
+ * or with the file path from {@link #getFile(UUID)}, for example in Spring WebFlux
+ * {@code ZeroCopyHttpOutputMessage#writeWith(Path, long, long)}.
+ *
+ * <p>Files are not removed automatically, use {@link #delete(UUID)} when export not required anymore
+ * (running job is cancelled with it).
+ */
+@Slf4j
+public class ExportJobManager {
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final String DEFAULT_API_VERSION = "1";
+    private static final int DEFAULT_MAX_PAGE_SIZE = 25;
+    private static final String CANCELLED_MESSAGE = "Export job deleted";
+
+    private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Path directory;
+    private final Executor executor;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter dataWriter;
+    private final ObjectWriter metaWriter;
+    private final JsonApiNdjsonWriter ndjsonWriter;
+
+    /**
+     * @param objectMapper object mapper for data and meta objects
+     * @param directory directory for export files, will be created if not exists
+     * @param executor executor for export jobs
+     * @throws IOException if could not create directory
+     */
+    public ExportJobManager(final @NonNull ObjectMapper objectMapper,
+                            final @NonNull Path directory,
+                            final @NonNull Executor executor) throws IOException {
+        this.objectMapper = objectMapper;
+        this.directory = Files.createDirectories(directory);
+        this.executor = executor;
+        this.dataWriter = objectMapper.writerFor(Data.class);
+        this.metaWriter = objectMapper.writerFor(Meta.class);
+        this.ndjsonWriter = new JsonApiNdjsonWriter(objectMapper);
+    }
+
+    /**
+     * Submit new export job.
+     *
+     * @param filter request filter passed to the data source
+     * @param sort request sort passed to the data source
+     * @param dataSource source of the exported elements
+     * @param dataFactory factory to pack elements in the {@link Data} objects
+     * @param format export file format
+     * @param <V> primary object type
+     * @throws RejectedExecutionException if executor rejected the job, job is marked as failed and removed
+     * @return submitted job in the {@link ExportJob.Status#PENDING} status
+     */
+    public <V> ExportJob submit(final Filter filter,
+                                final Sort sort,
+                                final @NonNull ExportDataSource<V> dataSource,
+                                final @NonNull JsonApiDataFactory<V> dataFactory,
+                                final @NonNull ExportFormat format) {
+        final UUID id = UUID.randomUUID();
+        final ExportJob job = new ExportJob(id, format, directory.resolve(id + format.getFileExtension()));
+
+        jobs.put(id, job);
+
+        try {
+            executor.execute(() -> export(job, filter, sort, dataSource, dataFactory));
+        } catch (RejectedExecutionException exception) {
+            jobs.remove(id);
+            job.failed(exception.getMessage());
+
+            throw exception;
+        }
+        return job;
+    }
+
+    /**
+     * Get export job by id.
+     *
+     * @param id job id
+     * @return job if exists
+     */
+    public Optional<ExportJob> getJob(final @NonNull UUID id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Get export file of the completed job.
+     *
+     * @param id job id
+     * @return file path if job exists and completed
+     */
+    public Optional<Path> getFile(final @NonNull UUID id) {
+        return getJob(id)
+            .filter(ExportJob::isCompleted)
+            .map(ExportJob::getFile);
+    }
+
+    /**
+     * Transfer export file of the completed job to the target channel with
+     * {@link FileChannel#transferTo}, so file content is not copied through the heap
+     * (real zero-copy depends on the target channel type, i.e. socket or file channel).
+     *
+     * @param id job id
+     * @param target target channel, it will not be closed
+     * @throws IllegalStateException if job not exists or not completed
+     * @throws IOException if could not transfer file
+     * @return number of transferred bytes
+     */
+    public long transferTo(final @NonNull UUID id, final @NonNull WritableByteChannel target) throws IOException {
+        final Path file = getFile(id)
+            .orElseThrow(() -> new IllegalStateException("Could not transfer export file! Export job: " + id + " not completed!"));
+
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = fileChannel.size();
+            long position = 0;
+
+            while (position < size) {
+                position += fileChannel.transferTo(position, size - position, target);
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Remove export job and its file. Running job is cancelled, so its file will not be created.
+     *
+     * @param id job id
+     * @throws IOException if could not delete file
+     * @return true if job existed
+     */
+    public boolean delete(final @NonNull UUID id) throws IOException {
+        final ExportJob job = jobs.remove(id);
+
+        if (job == null) {
+            return false;
+        }
+
+        // Synchronized with the file move and completion of the export thread
+        synchronized (job) {
+            job.cancel();
+            Files.deleteIfExists(job.getFile());
+        }
+        return true;
+    }
+
+    private <V> void export(final ExportJob job,
+                            final Filter filter,
+                            final Sort sort,
+                            final ExportDataSource<V> dataSource,
+                            final JsonApiDataFactory<V> dataFactory) {
+        final Path tempFile = job.getFile().resolveSibling(job.getFile().getFileName() + TEMP_FILE_EXTENSION);
+
+        if (job.isCancelled()) {
+            job.failed(CANCELLED_MESSAGE);
+
+            return;
+        }
+        job.running();
+
+        try {
+            final long total;
+
+            try (Stream<? extends V> data = dataSource.fetch(filter, sort);
+                 OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile), OUTPUT_BUFFER_SIZE)) {
+                final Iterator<? extends V> iterator = cancellable(job, data.iterator());
+
+                if (job.getFormat() == ExportFormat.NDJSON) {
+                    total = ndjsonWriter.write(outputStream, iterator, dataFactory, buildMeta());
+                } else {
+                    total = writeDocument(outputStream, iterator, dataFactory);
+                }
+            }
+
+            synchronized (job) {
+                if (job.isCancelled()) {
+                    throw new CancellationException(CANCELLED_MESSAGE);
+                }
+                Files.move(tempFile, job.getFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                job.completed(total, Files.size(job.getFile()));
+            }
+
+            LOGGER.debug("Export job: {} completed with {} elements", job.getId(), total);
+        } catch (Exception exception) {
+            if (job.isCancelled()) {
+                LOGGER.debug("Export job: {} cancelled", job.getId());
+            } else {
+                LOGGER.error("Could not complete export job: {}! Reason: {}", job.getId(), exception.getMessage());
+            }
+
+            deleteQuietly(tempFile);
+
+            job.failed(exception.getMessage());
+        }
+    }
+
+    private static <V> Iterator<V> cancellable(final ExportJob job, final Iterator<V> iterator) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                if (job.isCancelled()) {
+                    throw new CancellationException(CANCELLED_MESSAGE);
+                }
+                return iterator.hasNext();
+            }
+
+            @Override
+            public V next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    private <V> long writeDocument(final OutputStream outputStream,
+                                   final Iterator<? extends V> data,
+                                   final JsonApiDataFactory<V> dataFactory) throws IOException {
+        final Meta meta = buildMeta();
+        long count = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+
+            while (data.hasNext()) {
+                dataWriter.writeValue(generator, dataFactory.toData(data.next()));
+
+                ++count;
+            }
+            generator.writeEndArray();
+
+            meta.getPage().setTotal(count);
+
+            generator.writeFieldName("meta");
+            metaWriter.writeValue(generator, meta);
+            generator.writeEndObject();
+        }
+        return count;
+    }
+
+    private static Meta buildMeta() {
+        return new Meta(
+            new Api(DEFAULT_API_VERSION),
+            new Meta.Page(DEFAULT_MAX_PAGE_SIZE, -1, null, null),
+            null,
+            null
+        );
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            LOGGER.warn("Could not delete export file: {}! Reason: {}", file, exception.getMessage());
+        }
+    }
+}
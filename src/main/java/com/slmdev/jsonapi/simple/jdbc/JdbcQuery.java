@@ -0,0 +1,61 @@
+package com.slmdev.jsonapi.simple.jdbc;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * SQL fragment ({@code [JOIN ...] WHERE ... ORDER BY ... LIMIT ? OFFSET ?}) with bind values
+ * created by the {@link JdbcQueryTranslator}.
+ *
+ * <p>Fragment starts with space (if not empty), so it can be appended to the select query as is.
+ * Fragment text is the same instance for the same filter shape, values are bound in order of the placeholders.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class JdbcQuery {
+    private final String sql;
+    private final List<Object> parameters;
+
+    /**
+     * Get bind values as array, i.e. for {@code JdbcTemplate.query(sql, rowMapper, args)}.
+     *
+     * @return bind values
+     */
+    public Object[] getParametersArray() {
+        return parameters.toArray();
+    }
+
+    /**
+     * Bind values to the statement starting from the first placeholder.
+     *
+     * @param statement prepared statement
+     * @throws SQLException if could not bind value
+     */
+    public void bind(final @NonNull PreparedStatement statement) throws SQLException {
+        bind(statement, 1);
+    }
+
+    /**
+     * Bind values to the statement, useful when select query contains own placeholders before the fragment.
+     *
+     * @param statement prepared statement
+     * @param firstIndex index of the first fragment placeholder (starting from 1)
+     * @throws SQLException if could not bind value
+     * @return index of the next placeholder after the fragment
+     */
+    public int bind(final @NonNull PreparedStatement statement, final int firstIndex) throws SQLException {
+        int index = firstIndex;
+
+        for (final Object parameter : parameters) {
+            statement.setObject(index++, parameter);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,612 @@
+package com.slmdev.jsonapi.simple.jdbc;
+
+import com.slmdev.jsonapi.simple.annotation.JsonApiType;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterExpression;
+import com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException;
+import com.slmdev.jsonapi.simple.request.FilterPlanCache;
+import com.slmdev.jsonapi.simple.request.FilterValueConverters;
+import com.slmdev.jsonapi.simple.response.JsonApiDataFactory;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Translator of the request {@link Filter}, {@link Sort} and {@link Pageable} to the parameterized SQL fragment
+ * {@code WHERE ... ORDER BY ... LIMIT ? OFFSET ?} for plain JDBC queries.
+ *
+ * <p>Columns declared per resource class (with {@link JsonApiType} annotation), only declared columns
+ * can be used in filter and sort and all values are passed as bind parameters, so request values never
+ * appear in the SQL text. Filter values converted to the field java type with {@link FilterValueConverters}.
+ *
+ * <p>Filter {@link FilterExpression} tree ({@code or} groups and several operators on the same field) translated
+ * to the {@code AND} / {@code OR} conditions with parentheses.
+ *
+ * <p>SQL text cached ({@link FilterPlanCache}) by the filter shape (fields, operators, groups, sort and paging
+ * without values), so requests with the same shape use the same statement text and benefit from the driver statement cache.
+ * Number of the {@code IN} placeholders rounded up to the power of two (list padded with the last value),
+ * so lists of different sizes share the statement text too. For example:
+ * <pre>
+ * {@code
+ *     private final JdbcQueryTranslator translator = JdbcQueryTranslator.builder(UserDto.class)
+ *         .column("id")
+ *         .column("name", "user_name")
+ *         .column("status", "state", Operator.EQ, Operator.IN)
+ *         .build();
+ *
+ *     public Response<List<UserDto>> getUsers(@RequestJsonApiFilter Filter filter, @RequestJsonApiPage Pageable pageable) {
+ *         JdbcQuery query = translator.translate(filter, pageable);
+ *         List<UserDto> users = jdbcTemplate.query("SELECT * FROM users" + query.getSql(), rowMapper, query.getParametersArray());
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>Nested fields (dotted paths, for example {@code filter[owner.name]=John}) declared as usual columns with the
+ * table alias, the join required for the path is declared once with {@link Builder#join(String, String)} and added
+ * to the fragment only if filter or sort uses fields of this path:
+ * <pre>
+ * {@code
+ *     JdbcQueryTranslator.builder(UserDto.class)
+ *         .column("owner.name", "o.name")
+ *         .join("owner", "LEFT JOIN owners o ON o.id = u.owner_id")
+ *         .build();
+ * }
+ * </pre>
+ *
+ * <p>Supported operators: {@code EQ}, {@code NE} (empty value compared with {@code NULL}), {@code GT}, {@code GTE},
+ * {@code LT}, {@code LTE} (empty value matches nothing), {@code IN}, {@code NOT_IN}, {@code CONTAIN} and {@code NOT_CONTAIN}
+ * (case-insensitive {@code LIKE}).
+ */
+public class JdbcQueryTranslator {
+    private static final char LIKE_ESCAPE = '\\';
+    private static final char SHAPE_SEPARATOR = ';';
+    private static final char SHAPE_PART_SEPARATOR = ':';
+    private static final String NULL_SHAPE = "n";
+    private static final char AND_SHAPE = '&';
+    private static final char OR_SHAPE = '|';
+
+    @Getter
+    private final String jsonApiType;
+    private final Map<String, JdbcColumn> columns;
+    private final Map<String, String> joins;
+    private final FilterValueConverters converters;
+    private final FilterPlanCache<String> statements;
+
+    private JdbcQueryTranslator(final String jsonApiType,
+                                final Map<String, JdbcColumn> columns,
+                                final Map<String, String> joins,
+                                final FilterValueConverters converters,
+                                final int maxCachedStatements) {
+        this.jsonApiType = jsonApiType;
+        this.columns = columns;
+        this.joins = joins;
+        this.converters = converters;
+        this.statements = new FilterPlanCache<>(maxCachedStatements);
+    }
+
+    /**
+     * Create builder for the resource class.
+     *
+     * @param type resource class with {@link JsonApiType} annotation
+     * @throws RuntimeException if class has no {@link JsonApiType} annotation
+     * @return builder
+     */
+    public static Builder builder(final @NonNull Class<?> type) {
+        return new Builder(type);
+    }
+
+    /**
+     * See {@link JdbcQueryTranslator#translate(Filter, Sort, Pageable)}, uses sort from pageable.
+     *
+     * @param filter request filter, null means no restrictions
+     * @param pageable request pageable, null means unpaged
+     * @throws FilterFieldNotAllowedException if filter or sort field (or filter operator) not allowed
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return SQL fragment with bind values
+     */
+    public JdbcQuery translate(final Filter filter, final Pageable pageable) {
+        return translate(filter, (pageable != null ? pageable.getSort() : null), pageable);
+    }
+
+    /**
+     * Translate filter, sort and pageable to the SQL fragment.
+     *
+     * @param filter request filter, null means no restrictions
+     * @param sort request sort, null means unsorted
+     * @param pageable request pageable (only page and size used), null means unpaged
+     * @throws FilterFieldNotAllowedException if filter or sort field (or filter operator) not allowed
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return SQL fragment with bind values
+     */
+    public JdbcQuery translate(final Filter filter, final Sort sort, final Pageable pageable) {
+        final Node root = toNode(filter != null ? filter.getExpression() : FilterExpression.empty());
+        final List<Sort.Order> orders = (sort != null ? sort.toList() : Collections.emptyList());
+        final boolean paged = (pageable != null && pageable.isPaged());
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder shape = new StringBuilder();
+
+        appendShape(shape, root, parameters);
+        shape.append(SHAPE_SEPARATOR);
+
+        for (final Sort.Order order : orders) {
+            getColumn("sort", order.getProperty());
+
+            shape.append(order.getProperty())
+                .append(SHAPE_PART_SEPARATOR)
+                .append(order.getDirection().ordinal())
+                .append(SHAPE_SEPARATOR);
+        }
+
+        if (paged) {
+            parameters.add(pageable.getPageSize());
+            parameters.add(pageable.getOffset());
+
+            shape.append(SHAPE_SEPARATOR).append('p');
+        }
+        final String sql = statements.get(shape.toString(), shapeKey -> toSql(root, orders, paged));
+
+        return new JdbcQuery(sql, Collections.unmodifiableList(parameters));
+    }
+
+    /**
+     * @return number of cached statements text
+     */
+    public int getCachedStatementsCount() {
+        return statements.size();
+    }
+
+    /**
+     * @return statistics of the statements text cache
+     */
+    public FilterPlanCache.Stats getPlanCacheStats() {
+        return statements.getStats();
+    }
+
+    private Node toNode(final FilterExpression expression) {
+        if (!expression.isCondition()) {
+            final List<Node> children = new ArrayList<>(expression.getChildren().size());
+
+            for (final FilterExpression child : expression.getChildren()) {
+                children.add(toNode(child));
+            }
+            return new Node(null, expression.getType() == FilterExpression.Type.OR, children);
+        }
+        final Filter.FilterItem item = expression.getItem();
+        final JdbcColumn column = getColumn("filter[" + item.getField() + "]", item.getField());
+        final Filter.FilterItem.Operator operator = (item.getOperator() != null ? item.getOperator() : Filter.FilterItem.Operator.EQ);
+
+        if (!column.getOperators().contains(operator)) {
+            throw new FilterFieldNotAllowedException(
+                "filter[" + item.getField() + "]",
+                "Filter operator: " + operator + " not allowed for field: " + item.getField() + "!"
+            );
+        }
+        return new Node(new Condition(column, operator, prepareValues(item, column, operator)), false, Collections.emptyList());
+    }
+
+    /**
+     * Append node shape and collect bind values in order of the placeholders.
+     */
+    private static void appendShape(final StringBuilder shape, final Node node, final List<Object> parameters) {
+        final Condition condition = node.getCondition();
+
+        if (condition != null) {
+            parameters.addAll(condition.getValues());
+
+            shape.append(condition.getColumn().getField())
+                .append(SHAPE_PART_SEPARATOR)
+                .append(condition.getOperator().ordinal())
+                .append(SHAPE_PART_SEPARATOR)
+                .append(condition.isNullValue() ? NULL_SHAPE : String.valueOf(condition.getValues().size()))
+                .append(SHAPE_SEPARATOR);
+
+            return;
+        }
+        shape.append(node.isOr() ? OR_SHAPE : AND_SHAPE).append('(');
+
+        for (final Node child : node.getChildren()) {
+            appendShape(shape, child, parameters);
+        }
+        shape.append(')');
+    }
+
+    private List<Object> prepareValues(final Filter.FilterItem item, final JdbcColumn column, final Filter.FilterItem.Operator operator) {
+        switch (operator) {
+            case IN:
+            case NOT_IN:
+                return padValues(item.values(column.getType(), converters));
+            case CONTAIN:
+            case NOT_CONTAIN:
+                return Collections.singletonList(
+                    Optional.ofNullable(item.stringValue())
+                        .map(value -> "%" + escapeLike(value.toLowerCase(Locale.ROOT)) + "%")
+                        .orElse("%")
+                );
+            default:
+                return item.value(column.getType(), converters)
+                    .map(value -> Collections.singletonList(toBindValue(value)))
+                    .orElse(Collections.emptyList());
+        }
+    }
+
+    /**
+     * Pad list to the size of power of two with the last value.
+     */
+    private static List<Object> padValues(final List<?> values) {
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final int size = values.size();
+        final int paddedSize = (size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1);
+        final List<Object> result = new ArrayList<>(paddedSize);
+
+        for (final Object value : values) {
+            result.add(toBindValue(value));
+        }
+        final Object lastValue = result.get(size - 1);
+
+        while (result.size() < paddedSize) {
+            result.add(lastValue);
+        }
+        return result;
+    }
+
+    private static Object toBindValue(final Object value) {
+        return (value instanceof Enum ? ((Enum<?>)value).name() : value);
+    }
+
+    private JdbcColumn getColumn(final String parameter, final String field) {
+        final JdbcColumn column = columns.get(field);
+
+        if (column == null) {
+            if ("sort".equals(parameter)) {
+                throw new FilterFieldNotAllowedException(parameter, "Sort field: " + field + " not allowed!");
+            }
+            throw new FilterFieldNotAllowedException(parameter, "Filter field: " + field + " not allowed!");
+        }
+        return column;
+    }
+
+    private String toSql(final Node root, final List<Sort.Order> orders, final boolean paged) {
+        final StringBuilder sql = new StringBuilder();
+
+        if (!joins.isEmpty()) {
+            appendJoins(sql, root, orders);
+        }
+
+        if (root.getCondition() != null || !root.getChildren().isEmpty() || root.isOr()) {
+            sql.append(" WHERE ");
+
+            if (root.getCondition() == null && !root.isOr()) {
+                // Top-level AND without parentheses
+                appendGroupItems(sql, root);
+            } else {
+                appendNode(sql, root);
+            }
+        }
+
+        for (int i = 0; i < orders.size(); ++i) {
+            final Sort.Order order = orders.get(i);
+
+            sql.append(i == 0 ? " ORDER BY " : ", ")
+                .append(columns.get(order.getProperty()).getColumn())
+                .append(order.isAscending() ? " ASC" : " DESC");
+        }
+
+        if (paged) {
+            sql.append(" LIMIT ? OFFSET ?");
+        }
+        return sql.toString();
+    }
+
+    private static void appendNode(final StringBuilder sql, final Node node) {
+        if (node.getCondition() != null) {
+            appendCondition(sql, node.getCondition());
+        } else if (node.getChildren().isEmpty()) {
+            sql.append(node.isOr() ? "1 = 0" : "1 = 1");
+        } else {
+            sql.append('(');
+            appendGroupItems(sql, node);
+            sql.append(')');
+        }
+    }
+
+    private static void appendGroupItems(final StringBuilder sql, final Node group) {
+        for (int i = 0; i < group.getChildren().size(); ++i) {
+            if (i > 0) {
+                sql.append(group.isOr() ? " OR " : " AND ");
+            }
+            appendNode(sql, group.getChildren().get(i));
+        }
+    }
+
+    /**
+     * Append declared joins (in declaration order) required by the filter and sort field paths.
+     */
+    private void appendJoins(final StringBuilder sql, final Node root, final List<Sort.Order> orders) {
+        final List<String> fields = new ArrayList<>();
+
+        collectFields(root, fields);
+
+        for (final Sort.Order order : orders) {
+            fields.add(order.getProperty());
+        }
+
+        for (final Map.Entry<String, String> join : joins.entrySet()) {
+            final String prefix = join.getKey() + Filter.PATH_SEPARATOR;
+
+            for (final String field : fields) {
+                if (field.startsWith(prefix)) {
+                    sql.append(' ').append(join.getValue());
+
+                    break;
+                }
+            }
+        }
+    }
+
+    private static void collectFields(final Node node, final List<String> fields) {
+        if (node.getCondition() != null) {
+            fields.add(node.getCondition().getColumn().getField());
+
+            return;
+        }
+
+        for (final Node child : node.getChildren()) {
+            collectFields(child, fields);
+        }
+    }
+
+    private static void appendCondition(final StringBuilder sql, final Condition condition) {
+        final String column = condition.getColumn().getColumn();
+
+        if (condition.isNullValue()
+                && condition.getOperator() != Filter.FilterItem.Operator.EQ
+                && condition.getOperator() != Filter.FilterItem.Operator.NE) {
+            // Comparison with NULL is never true
+            sql.append("1 = 0");
+
+            return;
+        }
+
+        switch (condition.getOperator()) {
+            case EQ:
+                sql.append(column).append(condition.isNullValue() ? " IS NULL" : " = ?");
+                break;
+            case NE:
+                sql.append(column).append(condition.isNullValue() ? " IS NOT NULL" : " <> ?");
+                break;
+            case GT:
+                sql.append(column).append(" > ?");
+                break;
+            case GTE:
+                sql.append(column).append(" >= ?");
+                break;
+            case LT:
+                sql.append(column).append(" < ?");
+                break;
+            case LTE:
+                sql.append(column).append(" <= ?");
+                break;
+            case IN:
+            case NOT_IN:
+                appendInCondition(sql, column, condition);
+                break;
+            case CONTAIN:
+                sql.append("LOWER(").append(column).append(") LIKE ? ESCAPE '").append(LIKE_ESCAPE).append('\'');
+                break;
+            case NOT_CONTAIN:
+                sql.append("LOWER(").append(column).append(") NOT LIKE ? ESCAPE '").append(LIKE_ESCAPE).append('\'');
+                break;
+            default:
+                throw new IllegalStateException("Could not create SQL condition! Unsupported operator: " + condition.getOperator());
+        }
+    }
+
+    private static void appendInCondition(final StringBuilder sql, final String column, final Condition condition) {
+        final boolean notIn = (condition.getOperator() == Filter.FilterItem.Operator.NOT_IN);
+        final int size = condition.getValues().size();
+
+        if (size == 0) {
+            sql.append(notIn ? "1 = 1" : "1 = 0");
+
+            return;
+        }
+        sql.append(column).append(notIn ? " NOT IN (" : " IN (");
+
+        for (int i = 0; i < size; ++i) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+    }
+
+    private static String escapeLike(final String value) {
+        final StringBuilder result = new StringBuilder(value.length() + 4);
+
+        for (int i = 0; i < value.length(); ++i) {
+            final char symbol = value.charAt(i);
+
+            if (symbol == '%' || symbol == '_' || symbol == LIKE_ESCAPE) {
+                result.append(LIKE_ESCAPE);
+            }
+            result.append(symbol);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Builder of the {@link JdbcQueryTranslator}.
+     */
+    public static class Builder {
+        private final Class<?> type;
+        private final String jsonApiType;
+        private final Map<String, JdbcColumn> columns = new LinkedHashMap<>();
+        private final Map<String, String> joins = new LinkedHashMap<>();
+        private FilterValueConverters converters = FilterValueConverters.getDefault();
+        private int maxCachedStatements = FilterPlanCache.DEFAULT_MAX_SIZE;
+
+        private Builder(final Class<?> type) {
+            this.type = type;
+            this.jsonApiType = JsonApiDataFactory.getJsonApiType(type);
+        }
+
+        /**
+         * Declare column with the same name as the resource field, field type resolved from the resource class.
+         *
+         * @param field filter and sort field name (or dotted path of the nested field)
+         * @throws IllegalArgumentException if resource class has no such field
+         * @return self link
+         */
+        public Builder column(final @NonNull String field) {
+            return column(field, field);
+        }
+
+        /**
+         * Declare column for the resource field, field type resolved from the resource class.
+         *
+         * @param field filter and sort field name (or dotted path of the nested field)
+         * @param column column name (or any SQL expression), used in the SQL text as is
+         * @param operators allowed filter operators, if empty all operators allowed
+         * @throws IllegalArgumentException if resource class has no such field
+         * @return self link
+         */
+        public Builder column(final @NonNull String field,
+                              final @NonNull String column,
+                              final Filter.FilterItem.Operator... operators) {
+            return column(field, column, findFieldType(field), operators);
+        }
+
+        /**
+         * Declare column with the value type, useful if resource class has no such field.
+         *
+         * @param field filter and sort field name
+         * @param column column name (or any SQL expression), used in the SQL text as is
+         * @param valueType type of the bind values
+         * @param operators allowed filter operators, if empty all operators allowed
+         * @return self link
+         */
+        public Builder column(final @NonNull String field,
+                              final @NonNull String column,
+                              final @NonNull Class<?> valueType,
+                              final Filter.FilterItem.Operator... operators) {
+            final Set<Filter.FilterItem.Operator> allowedOperators = (operators == null || operators.length == 0)
+                ? EnumSet.allOf(Filter.FilterItem.Operator.class)
+                : EnumSet.copyOf(Arrays.asList(operators));
+
+            columns.put(field, new JdbcColumn(field, column, valueType, allowedOperators));
+
+            return this;
+        }
+
+        /**
+         * Declare join required by the nested fields of the path, join added to the SQL fragment
+         * before {@code WHERE} only if filter or sort uses any field of the path.
+         *
+         * @param path path of the nested fields, for example {@code owner} for {@code owner.name}
+         * @param joinSql join clause, used in the SQL text as is, for example {@code LEFT JOIN owners o ON o.id = u.owner_id}
+         * @throws IllegalArgumentException if path is invalid
+         * @return self link
+         */
+        public Builder join(final @NonNull String path, final @NonNull String joinSql) {
+            Filter.validateFieldPath(path);
+
+            joins.put(path, joinSql);
+
+            return this;
+        }
+
+        /**
+         * @param converters filter value converters, default registry used if not set
+         * @return self link
+         */
+        public Builder converters(final @NonNull FilterValueConverters converters) {
+            this.converters = converters;
+
+            return this;
+        }
+
+        /**
+         * @param maxCachedStatements max number of cached statements text, statements for new filter shapes
+         *                            are not cached after limit reached
+         * @return self link
+         */
+        public Builder maxCachedStatements(final int maxCachedStatements) {
+            this.maxCachedStatements = maxCachedStatements;
+
+            return this;
+        }
+
+        public JdbcQueryTranslator build() {
+            return new JdbcQueryTranslator(
+                jsonApiType,
+                Collections.unmodifiableMap(new LinkedHashMap<>(columns)),
+                Collections.unmodifiableMap(new LinkedHashMap<>(joins)),
+                converters,
+                maxCachedStatements
+            );
+        }
+
+        private Class<?> findFieldType(final String field) {
+            final Class<?> fieldType = Filter.findFieldType(type, field);
+
+            if (fieldType == null) {
+                throw new IllegalArgumentException("Could not declare JDBC column! Field: " + field + " not exists in: " + type.getName());
+            }
+            return fieldType;
+        }
+    }
+
+    /**
+     * Declared column of the resource field.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static class JdbcColumn {
+        private final String field;
+        private final String column;
+        private final Class<?> type;
+        private final Set<Filter.FilterItem.Operator> operators;
+    }
+
+    /**
+     * Node of the filter expression: condition or {@code AND} / {@code OR} group.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class Node {
+        private final Condition condition;
+        private final boolean or;
+        private final List<Node> children;
+    }
+
+    /**
+     * Filter condition with the prepared bind values.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class Condition {
+        private final JdbcColumn column;
+        private final Filter.FilterItem.Operator operator;
+        private final List<Object> values;
+
+        boolean isNullValue() {
+            return values.isEmpty()
+                && operator != Filter.FilterItem.Operator.IN
+                && operator != Filter.FilterItem.Operator.NOT_IN;
+        }
+    }
+}
@@ -0,0 +1,597 @@
+package com.slmdev.jsonapi.simple.jpa;
+
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterExpression;
+import com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException;
+import com.slmdev.jsonapi.simple.request.FilterPlanCache;
+import com.slmdev.jsonapi.simple.request.FilterValueConverters;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Compiler of the request {@link Filter} and {@link Sort} to the Spring Data JPA {@link Specification}.
+ *
+ * <p>Only whitelisted fields can be used in filter and sort, each field mapped to the entity
+ * attribute resolved from the JPA {@link Metamodel} once when compiler created. Filter values
+ * converted to the attribute java type with {@link FilterValueConverters}.
+ *
+ * <p>Filter {@link FilterExpression} tree ({@code or} groups and several operators on the same field)
+ * compiled to the {@code AND} / {@code OR} predicates. Compiled plan (attributes and operators) cached by
+ * the filter shape ({@link FilterPlanCache}): filter fields, operators and groups without values, so requests with
+ * the same fields and operators reuse it and only values are converted per request. Compiler should be created
+ * once per entity, for example:
+ * <pre>
+ * {@code
+ *     private final JpaSpecificationCompiler<User> compiler = JpaSpecificationCompiler.builder(User.class, entityManager.getMetamodel())
+ *         .field("name")
+ *         .field("status", "state", Operator.EQ, Operator.IN)
+ *         .build();
+ *
+ *     public Response<List<User>> getUsers(@RequestJsonApiFilter Filter filter, @RequestJsonApiPage Pageable pageable) {
+ *         Page<User> users = repository.findAll(compiler.toSpecification(filter), compiler.toPageable(pageable));
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>Attribute can be the dotted path of the embedded or associated entity attribute, for example
+ * {@code .field("ownerName", "owner.name")}. Associations are joined with {@link JoinType#LEFT} (or join type set
+ * with {@link Builder#join(String, JoinType)}) once per query, the same join is reused by filter and sort.
+ *
+ * <p>Supported operators: {@code EQ}, {@code NE} (empty value compared with {@code null}), {@code GT}, {@code GTE},
+ * {@code LT}, {@code LTE} (empty value matches nothing), {@code IN}, {@code NOT_IN}, {@code CONTAIN} and {@code NOT_CONTAIN}
+ * (case-insensitive {@code like}).
+ *
+ * @param <T> entity type
+ */
+public class JpaSpecificationCompiler<T> {
+    private static final char LIKE_ESCAPE = '\\';
+
+    @Getter
+    private final Class<T> entityClass;
+    private final Map<String, JpaField> fields;
+    private final FilterValueConverters converters;
+    private final FilterPlanCache<PlanNode> plans;
+
+    private JpaSpecificationCompiler(final Class<T> entityClass,
+                                     final Map<String, JpaField> fields,
+                                     final FilterValueConverters converters,
+                                     final int maxCachedPlans) {
+        this.entityClass = entityClass;
+        this.fields = fields;
+        this.converters = converters;
+        this.plans = new FilterPlanCache<>(maxCachedPlans);
+    }
+
+    public static <T> Builder<T> builder(final @NonNull Class<T> entityClass, final @NonNull Metamodel metamodel) {
+        return new Builder<>(entityClass, metamodel);
+    }
+
+    /**
+     * Compile filter to the specification.
+     *
+     * <p>Values converted when method called, so conversion errors thrown before query executed.
+     *
+     * @param filter request filter, null means no restrictions
+     * @throws FilterFieldNotAllowedException if filter field or operator not allowed
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return specification
+     */
+    public Specification<T> toSpecification(final Filter filter) {
+        return toSpecification(filter, Sort.unsorted());
+    }
+
+    /**
+     * Compile filter and sort to the specification.
+     *
+     * <p>Sort applied to the query only if it is not count query, so the specification can be used
+     * with pageable repository methods. Using with {@code Pageable} prefer {@link #toPageable} instead.
+     *
+     * @param filter request filter, null means no restrictions
+     * @param sort request sort, null means unsorted
+     * @throws FilterFieldNotAllowedException if filter or sort field (or filter operator) not allowed
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return specification
+     */
+    public Specification<T> toSpecification(final Filter filter, final Sort sort) {
+        final FilterExpression expression = (filter != null ? filter.getExpression() : FilterExpression.empty());
+        final PlanNode plan = plans.get(expression, this::createPlan);
+        final List<Object> values = new ArrayList<>();
+
+        plan.prepareValues(expression, converters, values);
+
+        final List<Map.Entry<JpaField, Sort.Direction>> orders = resolveOrders(sort);
+
+        return (root, query, criteriaBuilder) -> {
+            if (!orders.isEmpty() && !isCountQuery(query)) {
+                query.orderBy(toOrders(orders, root, criteriaBuilder));
+            }
+            return plan.toPredicate(root, criteriaBuilder, values.iterator());
+        };
+    }
+
+    /**
+     * Map request sort fields to the entity attributes.
+     *
+     * @param sort request sort, null means unsorted
+     * @throws FilterFieldNotAllowedException if sort field not allowed
+     * @return sort by entity attributes
+     */
+    public Sort toSort(final Sort sort) {
+        final List<Sort.Order> orders = new ArrayList<>();
+
+        for (final Map.Entry<JpaField, Sort.Direction> order : resolveOrders(sort)) {
+            orders.add(new Sort.Order(order.getValue(), order.getKey().getAttributePath()));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * Map request pageable sort fields to the entity attributes.
+     *
+     * @param pageable request pageable
+     * @throws FilterFieldNotAllowedException if sort field not allowed
+     * @return pageable with sort by entity attributes
+     */
+    public Pageable toPageable(final @NonNull Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().isUnsorted()) {
+            return pageable;
+        }
+        return PageRequest.of(
+            pageable.getPageNumber(),
+            pageable.getPageSize(),
+            toSort(pageable.getSort())
+        );
+    }
+
+    /**
+     * @return number of cached filter plans
+     */
+    public int getCachedPlansCount() {
+        return plans.size();
+    }
+
+    /**
+     * @return statistics of the filter plans cache
+     */
+    public FilterPlanCache.Stats getPlanCacheStats() {
+        return plans.getStats();
+    }
+
+    private PlanNode createPlan(final FilterExpression expression) {
+        if (!expression.isCondition()) {
+            final List<PlanNode> children = new ArrayList<>(expression.getChildren().size());
+
+            for (final FilterExpression child : expression.getChildren()) {
+                children.add(createPlan(child));
+            }
+            return new PlanNode(null, expression.getType() == FilterExpression.Type.OR, children);
+        }
+        final Filter.FilterItem item = expression.getItem();
+        final JpaField field = fields.get(item.getField());
+
+        if (field == null) {
+            throw new FilterFieldNotAllowedException(
+                "filter[" + item.getField() + "]",
+                "Filter field: " + item.getField() + " not allowed!"
+            );
+        }
+        final Filter.FilterItem.Operator operator = getOperator(item);
+
+        if (!field.getOperators().contains(operator)) {
+            throw new FilterFieldNotAllowedException(
+                "filter[" + item.getField() + "]",
+                "Filter operator: " + operator + " not allowed for field: " + item.getField() + "!"
+            );
+        }
+        return new PlanNode(field.condition(operator), false, Collections.emptyList());
+    }
+
+    private List<Map.Entry<JpaField, Sort.Direction>> resolveOrders(final Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return Collections.emptyList();
+        }
+        final List<Map.Entry<JpaField, Sort.Direction>> orders = new ArrayList<>();
+
+        for (final Sort.Order order : sort) {
+            final JpaField field = fields.get(order.getProperty());
+
+            if (field == null) {
+                throw new FilterFieldNotAllowedException("sort", "Sort field: " + order.getProperty() + " not allowed!");
+            }
+            orders.add(Map.entry(field, order.getDirection()));
+        }
+        return orders;
+    }
+
+    private static List<Order> toOrders(final List<Map.Entry<JpaField, Sort.Direction>> orders,
+                                        final Root<?> root,
+                                        final CriteriaBuilder criteriaBuilder) {
+        final List<Order> result = new ArrayList<>(orders.size());
+
+        for (final Map.Entry<JpaField, Sort.Direction> order : orders) {
+            final Path<?> path = order.getKey().getPath(root);
+
+            result.add(order.getValue().isAscending() ? criteriaBuilder.asc(path) : criteriaBuilder.desc(path));
+        }
+        return result;
+    }
+
+    private static boolean isCountQuery(final CriteriaQuery<?> query) {
+        return Long.class.equals(query.getResultType())
+            || long.class.equals(query.getResultType());
+    }
+
+    private static Filter.FilterItem.Operator getOperator(final Filter.FilterItem item) {
+        return (item.getOperator() != null ? item.getOperator() : Filter.FilterItem.Operator.EQ);
+    }
+
+    /**
+     * Compiled node of the filter expression: condition or {@code AND} / {@code OR} group.
+     */
+    @RequiredArgsConstructor
+    private static class PlanNode {
+        private final JpaField.Condition condition;
+        private final boolean or;
+        private final List<PlanNode> children;
+
+        /**
+         * Convert values of all conditions in depth-first order.
+         */
+        void prepareValues(final FilterExpression expression, final FilterValueConverters converters, final List<Object> values) {
+            if (condition != null) {
+                values.add(condition.prepareValue(expression.getItem(), converters));
+
+                return;
+            }
+
+            for (int i = 0; i < children.size(); ++i) {
+                children.get(i).prepareValues(expression.getChildren().get(i), converters, values);
+            }
+        }
+
+        Predicate toPredicate(final Root<?> root, final CriteriaBuilder criteriaBuilder, final Iterator<Object> values) {
+            if (condition != null) {
+                return condition.toPredicate(root, criteriaBuilder, values.next());
+            }
+
+            if (children.isEmpty()) {
+                return (or ? criteriaBuilder.disjunction() : criteriaBuilder.conjunction());
+            } else if (children.size() == 1) {
+                return children.get(0).toPredicate(root, criteriaBuilder, values);
+            }
+            final Predicate[] predicates = new Predicate[children.size()];
+
+            for (int i = 0; i < predicates.length; ++i) {
+                predicates[i] = children.get(i).toPredicate(root, criteriaBuilder, values);
+            }
+            return (or ? criteriaBuilder.or(predicates) : criteriaBuilder.and(predicates));
+        }
+    }
+
+    /**
+     * Builder of the {@link JpaSpecificationCompiler}, entity attributes resolved in the {@link #build()} method.
+     *
+     * @param <T> entity type
+     */
+    public static class Builder<T> {
+        private final Class<T> entityClass;
+        private final Metamodel metamodel;
+        private final Map<String, Map.Entry<String, Set<Filter.FilterItem.Operator>>> fields = new LinkedHashMap<>();
+        private final Map<String, JoinType> joinTypes = new LinkedHashMap<>();
+        private FilterValueConverters converters = FilterValueConverters.getDefault();
+        private int maxCachedPlans = FilterPlanCache.DEFAULT_MAX_SIZE;
+
+        private Builder(final Class<T> entityClass, final Metamodel metamodel) {
+            this.entityClass = entityClass;
+            this.metamodel = metamodel;
+        }
+
+        /**
+         * Allow field with all operators, field name equals to the entity attribute name.
+         *
+         * @param name filter and sort field name
+         * @return self link
+         */
+        public Builder<T> field(final @NonNull String name) {
+            return field(name, name);
+        }
+
+        /**
+         * Allow field mapped to the entity attribute.
+         *
+         * @param name filter and sort field name
+         * @param attribute entity attribute name or dotted path of the nested attribute, for example {@code owner.name}
+         * @param operators allowed filter operators, if empty all operators allowed
+         * @return self link
+         */
+        public Builder<T> field(final @NonNull String name,
+                                final @NonNull String attribute,
+                                final Filter.FilterItem.Operator... operators) {
+            final Set<Filter.FilterItem.Operator> allowedOperators = (operators == null || operators.length == 0)
+                ? EnumSet.allOf(Filter.FilterItem.Operator.class)
+                : EnumSet.copyOf(Arrays.asList(operators));
+
+            fields.put(name, Map.entry(attribute, allowedOperators));
+
+            return this;
+        }
+
+        /**
+         * Set join type of the association used in the nested attribute paths.
+         *
+         * @param association dotted path of the association attribute, for example {@code owner}
+         * @param joinType join type, {@link JoinType#LEFT} used if not set
+         * @return self link
+         */
+        public Builder<T> join(final @NonNull String association, final @NonNull JoinType joinType) {
+            joinTypes.put(association, joinType);
+
+            return this;
+        }
+
+        /**
+         * @param converters filter value converters, default registry used if not set
+         * @return self link
+         */
+        public Builder<T> converters(final @NonNull FilterValueConverters converters) {
+            this.converters = converters;
+
+            return this;
+        }
+
+        /**
+         * @param maxCachedPlans max number of cached filter plans, plans for new filter shapes
+         *                       are not cached after limit reached
+         * @return self link
+         */
+        public Builder<T> maxCachedPlans(final int maxCachedPlans) {
+            this.maxCachedPlans = maxCachedPlans;
+
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if class is not an entity or any attribute not exists
+         * @return compiler
+         */
+        public JpaSpecificationCompiler<T> build() {
+            final EntityType<T> entityType;
+
+            try {
+                entityType = metamodel.entity(entityClass);
+            } catch (IllegalArgumentException exception) {
+                throw new IllegalArgumentException("Could not create JPA specification compiler! Reason: " + exception.getMessage(), exception);
+            }
+            final Map<String, JpaField> resolvedFields = new LinkedHashMap<>();
+
+            fields.forEach((name, mapping) -> resolvedFields.put(
+                name,
+                new JpaField(name, mapping.getKey(), resolveAttributes(entityType, mapping.getKey()), mapping.getValue())
+            ));
+            return new JpaSpecificationCompiler<>(entityClass, Collections.unmodifiableMap(resolvedFields), converters, maxCachedPlans);
+        }
+
+        /**
+         * Resolve each attribute of the dotted path, all attributes except the last must be embedded or associated entities.
+         */
+        private List<PathAttribute> resolveAttributes(final EntityType<T> entityType, final String attributePath) {
+            final String[] names;
+
+            try {
+                names = Filter.splitFieldPath(attributePath);
+            } catch (IllegalArgumentException exception) {
+                throw new IllegalArgumentException("Could not create JPA specification compiler! Invalid attribute path: " + attributePath, exception);
+            }
+            final List<PathAttribute> attributes = new ArrayList<>(names.length);
+            ManagedType<?> managedType = entityType;
+
+            for (int i = 0; i < names.length; ++i) {
+                final SingularAttribute<?, ?> attribute;
+
+                try {
+                    attribute = managedType.getSingularAttribute(names[i]);
+                } catch (IllegalArgumentException exception) {
+                    throw new IllegalArgumentException(
+                        "Could not create JPA specification compiler! Attribute: " + attributePath
+                            + " not exists in: " + entityClass.getName(),
+                        exception
+                    );
+                }
+                final String associationPath = String.join(String.valueOf(Filter.PATH_SEPARATOR), Arrays.asList(names).subList(0, i + 1));
+
+                attributes.add(new PathAttribute(attribute, joinTypes.getOrDefault(associationPath, JoinType.LEFT)));
+
+                if (i < names.length - 1) {
+                    if (!(attribute.getType() instanceof ManagedType)) {
+                        throw new IllegalArgumentException(
+                            "Could not create JPA specification compiler! Attribute: " + associationPath
+                                + " of: " + entityClass.getName() + " is not embedded or entity!"
+                        );
+                    }
+                    managedType = (ManagedType<?>)attribute.getType();
+                }
+            }
+            return Collections.unmodifiableList(attributes);
+        }
+    }
+
+    /**
+     * Attribute of the field path with the join type used if attribute is association.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static class PathAttribute {
+        private final SingularAttribute<?, ?> attribute;
+        private final JoinType joinType;
+    }
+
+    /**
+     * Whitelisted field mapped to the entity attribute (or nested attribute path).
+     */
+    @Getter
+    static class JpaField {
+        private final String name;
+        private final String attributePath;
+        private final List<PathAttribute> pathAttributes;
+        private final SingularAttribute<?, ?> attribute;
+        private final Set<Filter.FilterItem.Operator> operators;
+
+        JpaField(final String name,
+                 final String attributePath,
+                 final List<PathAttribute> pathAttributes,
+                 final Set<Filter.FilterItem.Operator> operators) {
+            this.name = name;
+            this.attributePath = attributePath;
+            this.pathAttributes = pathAttributes;
+            this.attribute = pathAttributes.get(pathAttributes.size() - 1).getAttribute();
+            this.operators = operators;
+        }
+
+        /**
+         * Get attribute path, associations joined once per query: existing join with the same attribute and type reused.
+         */
+        Path<Object> getPath(final Root<?> root) {
+            Path<?> path = root;
+
+            for (int i = 0; i < pathAttributes.size() - 1; ++i) {
+                final PathAttribute pathAttribute = pathAttributes.get(i);
+
+                if (pathAttribute.getAttribute().isAssociation() && path instanceof From) {
+                    path = join((From<?, ?>)path, pathAttribute.getAttribute().getName(), pathAttribute.getJoinType());
+                } else {
+                    path = path.get(pathAttribute.getAttribute().getName());
+                }
+            }
+            return path.get(attribute.getName());
+        }
+
+        private static Join<?, ?> join(final From<?, ?> from, final String attributeName, final JoinType joinType) {
+            for (final Join<?, ?> join : from.getJoins()) {
+                if (join.getAttribute().getName().equals(attributeName) && join.getJoinType() == joinType) {
+                    return join;
+                }
+            }
+            return from.join(attributeName, joinType);
+        }
+
+        Condition condition(final Filter.FilterItem.Operator operator) {
+            return new Condition(this, operator);
+        }
+
+        /**
+         * Compiled filter condition: field with operator.
+         */
+        @RequiredArgsConstructor
+        static class Condition {
+            private final JpaField field;
+            private final Filter.FilterItem.Operator operator;
+
+            Object prepareValue(final Filter.FilterItem item, final FilterValueConverters converters) {
+                final Class<?> type = field.getAttribute().getJavaType();
+
+                switch (operator) {
+                    case IN:
+                    case NOT_IN:
+                        return item.values(type, converters);
+                    case CONTAIN:
+                    case NOT_CONTAIN:
+                        return Optional.ofNullable(item.stringValue())
+                            .map(value -> "%" + escapeLike(value.toLowerCase(Locale.ROOT)) + "%")
+                            .orElse("%");
+                    default:
+                        return item.value(type, converters).orElse(null);
+                }
+            }
+
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Predicate toPredicate(final Root<?> root, final CriteriaBuilder criteriaBuilder, final Object value) {
+                final Path<Object> path = field.getPath(root);
+
+                switch (operator) {
+                    case EQ:
+                        return (value != null ? criteriaBuilder.equal(path, value) : criteriaBuilder.isNull(path));
+                    case NE:
+                        return (value != null ? criteriaBuilder.notEqual(path, value) : criteriaBuilder.isNotNull(path));
+                    case GT:
+                    case GTE:
+                    case LT:
+                    case LTE:
+                        // Range with empty value matches nothing, as null is not comparable
+                        return (value != null ? toRangePredicate(path, criteriaBuilder, (Comparable)value) : criteriaBuilder.disjunction());
+                    case IN:
+                        return (((List<?>)value).isEmpty() ? criteriaBuilder.disjunction() : path.in((List<?>)value));
+                    case NOT_IN:
+                        return (((List<?>)value).isEmpty() ? criteriaBuilder.conjunction() : criteriaBuilder.not(path.in((List<?>)value)));
+                    case CONTAIN:
+                        return criteriaBuilder.like(criteriaBuilder.lower(path.as(String.class)), (String)value, LIKE_ESCAPE);
+                    case NOT_CONTAIN:
+                        return criteriaBuilder.notLike(criteriaBuilder.lower(path.as(String.class)), (String)value, LIKE_ESCAPE);
+                    default:
+                        throw new IllegalStateException("Could not create JPA predicate! Unsupported operator: " + operator);
+                }
+            }
+
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            private Predicate toRangePredicate(final Path<Object> path, final CriteriaBuilder criteriaBuilder, final Comparable value) {
+                final Expression<Comparable> expression = (Expression<Comparable>)(Expression<?>)path;
+
+                switch (operator) {
+                    case GT:
+                        return criteriaBuilder.greaterThan(expression, value);
+                    case GTE:
+                        return criteriaBuilder.greaterThanOrEqualTo(expression, value);
+                    case LT:
+                        return criteriaBuilder.lessThan(expression, value);
+                    default:
+                        return criteriaBuilder.lessThanOrEqualTo(expression, value);
+                }
+            }
+
+            private static String escapeLike(final String value) {
+                final StringBuilder result = new StringBuilder(value.length() + 4);
+
+                for (int i = 0; i < value.length(); ++i) {
+                    final char symbol = value.charAt(i);
+
+                    if (symbol == '%' || symbol == '_' || symbol == LIKE_ESCAPE) {
+                        result.append(LIKE_ESCAPE);
+                    }
+                    result.append(symbol);
+                }
+                return result.toString();
+            }
+        }
+    }
+}
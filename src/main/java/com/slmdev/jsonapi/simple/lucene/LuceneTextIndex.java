@@ -0,0 +1,577 @@
+package com.slmdev.jsonapi.simple.lucene;
+
+import com.slmdev.jsonapi.simple.annotation.JsonApiId;
+import com.slmdev.jsonapi.simple.annotation.JsonApiType;
+import com.slmdev.jsonapi.simple.memory.FieldAccessor;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterExpression;
+import lombok.Getter;
+import lombok.NonNull;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.CollectionTerminatedException;
+import org.apache.lucene.search.CollectorManager;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.UnicodeUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Local in-process Lucene index of the resource text fields for the {@code CONTAIN} and {@code NOT_CONTAIN}
+ * filter operators, which are the {@code like '%x%'} full scans in the database.
+ *
+ * <p>Index contains resource id and lower case values of the selected fields. Method {@link #rewrite(Filter)}
+ * searches the text conditions on the indexed fields in the index and replaces each of them with the
+ * {@code IN} condition on the id field, so the filter executed by the JPA, JDBC or in-memory backend
+ * combines matched ids with other conditions (and {@code or} groups) by the primary key:
+ * <pre>
+ * {@code
+ *     private final LuceneTextIndex<User> textIndex = LuceneTextIndex.builder(User.class)
+ *         .field("name")
+ *         .field("address.city")
+ *         .path(Path.of("/var/lib/app/users-index"))
+ *         .build();
+ *
+ *     // keep index up to date on each change
+ *     textIndex.index(user);
+ *     textIndex.delete(user.getId());
+ *
+ *     Filter filter = textIndex.rewrite(requestFilter);
+ *
+ *     if (filter.matchesNothing()) {
+ *         return Response.<List<Data<UserDto>>, UserDto>builder().emptyData().build();
+ *     }
+ *     Page<User> users = repository.findAll(compiler.toSpecification(filter), pageable);
+ * }
+ * </pre>
+ *
+ * <p>Condition without matches replaced with the filter that matches nothing, condition with more matches than
+ * {@link Builder#maxMatches(int)} is not selective and kept as is for the backend. Matching is case-insensitive
+ * substring as in other backends, {@code NOT_CONTAIN} never matches {@code null} values. Index stored in memory
+ * by default or on local disk with {@link Builder#path(Path)}. Changes visible for search after each
+ * {@code index} or {@code delete} call and persisted with {@link #commit()} or {@link #close()}.
+ *
+ * <p>Index is thread-safe. Resource class must be annotated with {@link JsonApiType}, id field
+ * is the field with {@link JsonApiId} annotation if not set with {@link Builder#idField(String)}.
+ *
+ * @param <T> resource type
+ */
+public class LuceneTextIndex<T> implements Closeable {
+    public static final int DEFAULT_MAX_MATCHES = 10_000;
+
+    private static final String ID_FIELD = "_id";
+    private static final String EXISTS_FIELD = "_exists";
+
+    @Getter
+    private final Class<T> type;
+    @Getter
+    private final String idField;
+    private final FieldAccessor idAccessor;
+    private final Map<String, FieldAccessor> fields;
+    private final int maxMatches;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    private LuceneTextIndex(final Builder<T> builder,
+                            final String idField,
+                            final FieldAccessor idAccessor,
+                            final Map<String, FieldAccessor> fields,
+                            final Directory directory) throws IOException {
+        this.type = builder.type;
+        this.idField = idField;
+        this.idAccessor = idAccessor;
+        this.fields = fields;
+        this.maxMatches = builder.maxMatches;
+        this.directory = directory;
+        this.writer = new IndexWriter(directory, new IndexWriterConfig());
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public static <T> Builder<T> builder(final @NonNull Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    /**
+     * @return indexed text fields
+     */
+    public Set<String> getFields() {
+        return Collections.unmodifiableSet(fields.keySet());
+    }
+
+    /**
+     * Add or replace resource in the index.
+     *
+     * @param resource resource with not null id
+     * @throws IllegalArgumentException if resource id is null or text value is too long for the index
+     * @throws IllegalStateException if index could not be updated
+     */
+    public void index(final @NonNull T resource) {
+        index(Collections.singletonList(resource));
+    }
+
+    /**
+     * Add or replace resources in the index, changes visible for search once after all resources indexed.
+     *
+     * @param resources resources with not null ids
+     * @throws IllegalArgumentException if resource id is null or text value is too long for the index
+     * @throws IllegalStateException if index could not be updated
+     */
+    public void index(final @NonNull Collection<? extends T> resources) {
+        try {
+            for (final T resource : resources) {
+                final String id = getId(resource);
+
+                writer.updateDocument(new Term(ID_FIELD, id), toDocument(id, resource));
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not update text index! Reason: " + exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Remove resource from the index.
+     *
+     * @param id resource id
+     * @throws IllegalStateException if index could not be updated
+     */
+    public void delete(final @NonNull Object id) {
+        try {
+            writer.deleteDocuments(new Term(ID_FIELD, id.toString()));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not update text index! Reason: " + exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Remove all resources from the index, i.e. before full reindex.
+     *
+     * @throws IllegalStateException if index could not be updated
+     */
+    public void clear() {
+        try {
+            writer.deleteAll();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not clear text index! Reason: " + exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Persist changes to the index directory.
+     *
+     * @throws IllegalStateException if index could not be committed
+     */
+    public void commit() {
+        try {
+            writer.commit();
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not commit text index! Reason: " + exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * @return number of indexed resources
+     */
+    public int size() {
+        return withSearcher(searcher -> searcher.getIndexReader().numDocs());
+    }
+
+    /**
+     * Find ids of the resources which field contains (or not contains) the text ignoring case.
+     *
+     * @param field indexed field
+     * @param text search text, empty text matches all not null values
+     * @param contain false to find resources with not null value not containing text
+     * @throws IllegalArgumentException if field is not indexed
+     * @return ids of the resources or null if more than max matches found
+     */
+    public Set<String> findIds(final @NonNull String field, final @NonNull String text, final boolean contain) {
+        if (!fields.containsKey(field)) {
+            throw new IllegalArgumentException("Could not search text index! Reason: field: " + field + " is not indexed!");
+        }
+        return withSearcher(searcher -> findIds(searcher, toQuery(field, text, contain)));
+    }
+
+    /**
+     * Replace {@code CONTAIN} and {@code NOT_CONTAIN} conditions on the indexed fields with the {@code IN}
+     * condition on the id field. All conditions searched in the same index snapshot.
+     *
+     * @param filter request filter, null means no restrictions
+     * @throws IllegalStateException if index could not be searched
+     * @return filter without text conditions on indexed fields, the same filter if nothing replaced,
+     *         filter which {@link Filter#matchesNothing()} if required text condition has no matches
+     */
+    public Filter rewrite(final Filter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return filter;
+        }
+        final FilterExpression expression = filter.getExpression();
+        final FilterExpression rewritten = withSearcher(searcher -> rewrite(searcher, expression));
+
+        return (rewritten == expression ? filter : new Filter(rewritten));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            searcherManager.close();
+            writer.close();
+        } finally {
+            directory.close();
+        }
+    }
+
+    private FilterExpression rewrite(final IndexSearcher searcher, final FilterExpression expression) throws IOException {
+        if (expression.isCondition()) {
+            return rewriteCondition(searcher, expression);
+        }
+        final boolean or = (expression.getType() == FilterExpression.Type.OR);
+        final List<FilterExpression> children = new ArrayList<>(expression.getChildren().size());
+        boolean changed = false;
+
+        for (final FilterExpression child : expression.getChildren()) {
+            final FilterExpression newChild = rewrite(searcher, child);
+
+            changed |= (newChild != child);
+
+            if (newChild.isNever() && !or || newChild.isEmpty() && or) {
+                return newChild;
+            } else if (!newChild.isEmpty() && !newChild.isNever()) {
+                children.add(newChild);
+            }
+        }
+
+        if (!changed) {
+            return expression;
+        } else if (children.isEmpty()) {
+            return (or ? FilterExpression.never() : FilterExpression.empty());
+        }
+        return (or ? FilterExpression.or(children) : FilterExpression.and(children));
+    }
+
+    private FilterExpression rewriteCondition(final IndexSearcher searcher, final FilterExpression expression) throws IOException {
+        final Filter.FilterItem item = expression.getItem();
+        final Filter.FilterItem.Operator operator = item.getOperator();
+
+        if ((operator != Filter.FilterItem.Operator.CONTAIN && operator != Filter.FilterItem.Operator.NOT_CONTAIN)
+                || !fields.containsKey(item.getField())) {
+            return expression;
+        }
+        final String text = (item.stringValue() != null ? item.stringValue() : "");
+        final Set<String> ids = findIds(searcher, toQuery(item.getField(), text, operator == Filter.FilterItem.Operator.CONTAIN));
+
+        if (ids == null) {
+            return expression;
+        } else if (ids.isEmpty()) {
+            return FilterExpression.never();
+        }
+        return FilterExpression.condition(Filter.in(new ArrayList<>(ids)).field(idField).build());
+    }
+
+    private Set<String> findIds(final IndexSearcher searcher, final Query query) throws IOException {
+        return searcher.search(query, new IdCollectorManager(maxMatches));
+    }
+
+    private static Query toQuery(final String field, final String text, final boolean contain) {
+        final Query containQuery = new WildcardQuery(new Term(field, WildcardQuery.WILDCARD_STRING + escapeWildcard(toLowerCase(text)) + WildcardQuery.WILDCARD_STRING));
+
+        if (contain) {
+            return containQuery;
+        }
+        return new BooleanQuery.Builder()
+            .add(new TermQuery(new Term(EXISTS_FIELD, field)), BooleanClause.Occur.FILTER)
+            .add(containQuery, BooleanClause.Occur.MUST_NOT)
+            .build();
+    }
+
+    private Document toDocument(final String id, final T resource) {
+        final Document document = new Document();
+
+        document.add(new StringField(ID_FIELD, id, Field.Store.NO));
+        document.add(new SortedDocValuesField(ID_FIELD, new BytesRef(id)));
+
+        fields.forEach((name, accessor) -> {
+            final Object value = accessor.get(resource);
+
+            if (value != null) {
+                final String text = toLowerCase(String.valueOf(value));
+
+                if (UnicodeUtil.MAX_UTF8_BYTES_PER_CHAR * text.length() > IndexWriter.MAX_TERM_LENGTH
+                        && new BytesRef(text).length > IndexWriter.MAX_TERM_LENGTH) {
+                    throw new IllegalArgumentException("Could not index resource: " + id + "! Reason: value of field: " + name + " is too long!");
+                }
+                document.add(new StringField(name, text, Field.Store.NO));
+                document.add(new StringField(EXISTS_FIELD, name, Field.Store.NO));
+            }
+        });
+        return document;
+    }
+
+    private String getId(final T resource) {
+        final Object id = idAccessor.get(resource);
+
+        if (id == null) {
+            throw new IllegalArgumentException("Could not index resource! Reason: id field: " + idField + " is null!");
+        }
+        return id.toString();
+    }
+
+    private <R> R withSearcher(final SearchFunction<R> function) {
+        try {
+            final IndexSearcher searcher = searcherManager.acquire();
+
+            try {
+                return function.apply(searcher);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not search text index! Reason: " + exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Lower case per char as the {@link com.slmdev.jsonapi.simple.memory.ContainsMatcher}, so length is not changed.
+     */
+    private static String toLowerCase(final String value) {
+        final char[] chars = value.toCharArray();
+
+        for (int i = 0; i < chars.length; ++i) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static String escapeWildcard(final String value) {
+        final StringBuilder buffer = new StringBuilder(value.length());
+
+        for (int i = 0; i < value.length(); ++i) {
+            final char symbol = value.charAt(i);
+
+            if (symbol == WildcardQuery.WILDCARD_STRING || symbol == WildcardQuery.WILDCARD_CHAR || symbol == WildcardQuery.WILDCARD_ESCAPE) {
+                buffer.append(WildcardQuery.WILDCARD_ESCAPE);
+            }
+            buffer.append(symbol);
+        }
+        return buffer.toString();
+    }
+
+    @FunctionalInterface
+    private interface SearchFunction<R> {
+        R apply(IndexSearcher searcher) throws IOException;
+    }
+
+    /**
+     * Collects matched ids of all index slices, result is null if more than max matches found.
+     */
+    private static final class IdCollectorManager implements CollectorManager<IdCollector, Set<String>> {
+        private final int maxMatches;
+
+        private IdCollectorManager(final int maxMatches) {
+            this.maxMatches = maxMatches;
+        }
+
+        @Override
+        public IdCollector newCollector() {
+            return new IdCollector(maxMatches);
+        }
+
+        @Override
+        public Set<String> reduce(final Collection<IdCollector> collectors) {
+            final Set<String> ids = new HashSet<>();
+
+            for (final IdCollector collector : collectors) {
+                if (collector.isOverflow()) {
+                    return null;
+                }
+                ids.addAll(collector.getIds());
+            }
+            return (ids.size() > maxMatches ? null : ids);
+        }
+    }
+
+    /**
+     * Collector of the ids from doc values, stops after max matches.
+     */
+    private static final class IdCollector extends SimpleCollector {
+        private final int maxMatches;
+        @Getter
+        private final Set<String> ids = new HashSet<>();
+        @Getter
+        private boolean overflow;
+        private SortedDocValues idValues;
+
+        private IdCollector(final int maxMatches) {
+            this.maxMatches = maxMatches;
+        }
+
+        @Override
+        protected void doSetNextReader(final LeafReaderContext context) throws IOException {
+            if (overflow) {
+                throw new CollectionTerminatedException();
+            }
+            idValues = DocValues.getSorted(context.reader(), ID_FIELD);
+        }
+
+        @Override
+        public void collect(final int doc) throws IOException {
+            if (ids.size() >= maxMatches) {
+                overflow = true;
+
+                throw new CollectionTerminatedException();
+            }
+
+            if (idValues.advanceExact(doc)) {
+                ids.add(idValues.lookupOrd(idValues.ordValue()).utf8ToString());
+            }
+        }
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+    }
+
+    /**
+     * Builder of the {@link LuceneTextIndex}, fields resolved and index opened in the {@link #build()} method.
+     *
+     * @param <T> resource type
+     */
+    public static class Builder<T> {
+        private final Class<T> type;
+        private final Set<String> fields = new HashSet<>();
+        private String idField;
+        private Path path;
+        private Directory directory;
+        private int maxMatches = DEFAULT_MAX_MATCHES;
+
+        private Builder(final Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * Index field for the text operators.
+         *
+         * @param name filter field name or dotted path of the nested field, for example {@code address.city}
+         * @return self link
+         */
+        public Builder<T> field(final @NonNull String name) {
+            Filter.validateFieldPath(name);
+            fields.add(name);
+
+            return this;
+        }
+
+        /**
+         * @param idField filter field name of the resource id, field with {@link JsonApiId} used if not set
+         * @return self link
+         */
+        public Builder<T> idField(final @NonNull String idField) {
+            this.idField = idField;
+
+            return this;
+        }
+
+        /**
+         * @param path local directory of the index, will be created if not exists, index kept in memory if not set
+         * @return self link
+         */
+        public Builder<T> path(final @NonNull Path path) {
+            this.path = path;
+
+            return this;
+        }
+
+        /**
+         * @param directory custom Lucene directory, closed with the index
+         * @return self link
+         */
+        public Builder<T> directory(final @NonNull Directory directory) {
+            this.directory = directory;
+
+            return this;
+        }
+
+        /**
+         * @param maxMatches max number of the ids found for one condition, condition with more matches is kept
+         *                   for the backend
+         * @return self link
+         */
+        public Builder<T> maxMatches(final int maxMatches) {
+            if (maxMatches < 1) {
+                throw new IllegalArgumentException("Could not set text index max matches! Reason: max matches must be positive!");
+            }
+            this.maxMatches = maxMatches;
+
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if class has no {@link JsonApiType} annotation, id or any field not exists
+         * @throws IllegalStateException if index could not be opened
+         * @return index
+         */
+        public LuceneTextIndex<T> build() {
+            if (!type.isAnnotationPresent(JsonApiType.class)) {
+                throw new IllegalArgumentException("Could not create text index! Reason: class: " + type.getName() + " has no @JsonApiType annotation!");
+            } else if (fields.isEmpty()) {
+                throw new IllegalArgumentException("Could not create text index! Reason: no fields set!");
+            }
+            final String id = (idField != null ? idField : FieldAccessor.ofJsonApiId(type).map(FieldAccessor::getName).orElseThrow(() -> new IllegalArgumentException(
+                "Could not create text index! Reason: class: " + type.getName() + " has no @JsonApiId field!"
+            )));
+            final Map<String, FieldAccessor> accessors = new LinkedHashMap<>();
+
+            for (final String field : fields) {
+                accessors.put(field, getAccessor(field));
+            }
+
+            try {
+                final Directory indexDirectory = (directory != null ? directory : (path != null ? FSDirectory.open(path) : new ByteBuffersDirectory()));
+
+                return new LuceneTextIndex<>(this, id, getAccessor(id), accessors, indexDirectory);
+            } catch (IOException exception) {
+                throw new IllegalStateException("Could not open text index! Reason: " + exception.getMessage(), exception);
+            }
+        }
+
+        private FieldAccessor getAccessor(final String field) {
+            return FieldAccessor.of(type, field).orElseThrow(() -> new IllegalArgumentException(
+                "Could not create text index! Reason: class: " + type.getName() + " has no field: " + field + "!"
+            ));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import java.util.Arrays;
+
+/**
+ * Operations over selection bitmaps: {@code long[]} words, bit {@code i % 64} of word {@code i / 64} is row {@code i}.
+ *
+ * <p>Bits after the last row are always clear, so word operations never select rows outside the table.
+ */
+final class Bitmaps {
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_MASK = Long.SIZE - 1;
+
+    private Bitmaps() {
+    }
+
+    /**
+     * @return clear bitmap for rows
+     */
+    static long[] create(final int size) {
+        return new long[(size + WORD_MASK) >>> WORD_SHIFT];
+    }
+
+    /**
+     * @return bitmap with all rows set
+     */
+    static long[] full(final int size) {
+        final long[] words = create(size);
+
+        Arrays.fill(words, -1L);
+        clearTail(words, size);
+
+        return words;
+    }
+
+    static boolean get(final long[] words, final int index) {
+        return (words[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    static void set(final long[] words, final int index) {
+        words[index >>> WORD_SHIFT] |= 1L << index;
+    }
+
+    static void and(final long[] target, final long[] other) {
+        for (int i = 0; i < target.length; ++i) {
+            target[i] &= other[i];
+        }
+    }
+
+    static void or(final long[] target, final long[] other) {
+        for (int i = 0; i < target.length; ++i) {
+            target[i] |= other[i];
+        }
+    }
+
+    /**
+     * Clear target bits set in other bitmap, null other bitmap means no bits.
+     */
+    static void andNot(final long[] target, final long[] other) {
+        if (other == null) {
+            return;
+        }
+
+        for (int i = 0; i < target.length; ++i) {
+            target[i] &= ~other[i];
+        }
+    }
+
+    /**
+     * Invert rows selection.
+     */
+    static void not(final long[] target, final int size) {
+        for (int i = 0; i < target.length; ++i) {
+            target[i] = ~target[i];
+        }
+        clearTail(target, size);
+    }
+
+    static int cardinality(final long[] words) {
+        int count = 0;
+
+        for (final long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @return set rows in ascending order
+     */
+    static int[] toRows(final long[] words) {
+        final int[] rows = new int[cardinality(words)];
+        int count = 0;
+
+        for (int i = 0; i < words.length; ++i) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                rows[count++] = (i << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return rows;
+    }
+
+    private static void clearTail(final long[] words, final int size) {
+        if ((size & WORD_MASK) != 0) {
+            words[words.length - 1] &= (1L << size) - 1;
+        }
+    }
+}
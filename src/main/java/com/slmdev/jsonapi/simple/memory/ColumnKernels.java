@@ -0,0 +1,230 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.LongValueSet;
+
+import java.util.Arrays;
+
+/**
+ * Scan kernels of the {@link ColumnarResourceTable}: compare primitive column values with the operand
+ * and write selection bitmap ({@link Bitmaps}) word by word.
+ *
+ * <p>Comparison operators are {@code EQ}, {@code NE}, {@code GT}, {@code GTE}, {@code LT} and {@code LTE},
+ * doubles compared with {@link Double#compare(double, double)} as boxed values are. Null rows are not known
+ * to kernels: caller clears them with the column null bitmap.
+ *
+ * <p>Comparison, range and short {@code IN} scans delegated to the {@link VectorKernels} if Vector API
+ * is available, scalar loops used otherwise.
+ */
+final class ColumnKernels {
+    private static final VectorKernels VECTOR_KERNELS = VectorKernels.load();
+
+    private ColumnKernels() {
+    }
+
+    /**
+     * @return true if scans are vectorized
+     */
+    static boolean isVectorized() {
+        return VECTOR_KERNELS != null;
+    }
+
+    static void select(final int[] values, final int size, final Filter.FilterItem.Operator operator, final int operand, final long[] result) {
+        if (VECTOR_KERNELS != null) {
+            VECTOR_KERNELS.select(values, size, operator, operand, result);
+        } else {
+            selectScalar(values, size, operator, operand, result);
+        }
+    }
+
+    static void select(final long[] values, final int size, final Filter.FilterItem.Operator operator, final long operand, final long[] result) {
+        if (VECTOR_KERNELS != null) {
+            VECTOR_KERNELS.select(values, size, operator, operand, result);
+        } else {
+            selectScalar(values, size, operator, operand, result);
+        }
+    }
+
+    static void select(final double[] values, final int size, final Filter.FilterItem.Operator operator, final double operand, final long[] result) {
+        if (VECTOR_KERNELS != null) {
+            VECTOR_KERNELS.select(values, size, operator, operand, result);
+        } else {
+            selectScalar(values, size, operator, operand, result);
+        }
+    }
+
+    /**
+     * Select values from {@code from} inclusive to {@code to} exclusive.
+     */
+    static void selectRange(final int[] values, final int size, final int from, final int to, final long[] result) {
+        if (VECTOR_KERNELS != null) {
+            VECTOR_KERNELS.selectRange(values, size, from, to, result);
+        } else {
+            selectRangeScalar(values, size, from, to, result);
+        }
+    }
+
+    /**
+     * Select values contained in the sorted distinct operands.
+     */
+    static void selectIn(final int[] values, final int size, final int[] operands, final long[] result) {
+        if (VECTOR_KERNELS != null && operands.length <= VectorKernels.MAX_IN_OPERANDS) {
+            VECTOR_KERNELS.selectIn(values, size, operands, result);
+        } else {
+            selectInScalar(values, size, operands, result);
+        }
+    }
+
+    static void selectIn(final long[] values, final int size, final LongValueSet operands, final long[] result) {
+        if (VECTOR_KERNELS != null && operands.size() <= VectorKernels.MAX_IN_OPERANDS) {
+            VECTOR_KERNELS.selectIn(values, size, operands.toArray(), result);
+        } else {
+            selectInScalar(values, size, operands, result);
+        }
+    }
+
+    /**
+     * Select values contained in the sorted distinct operands, values equal as {@link Double#equals(Object)}.
+     */
+    static void selectIn(final double[] values, final int size, final double[] operands, final long[] result) {
+        if (VECTOR_KERNELS != null && operands.length <= VectorKernels.MAX_IN_OPERANDS) {
+            VECTOR_KERNELS.selectIn(values, size, operands, result);
+        } else {
+            selectInScalar(values, size, operands, result);
+        }
+    }
+
+    static void selectScalar(final int[] values, final int size, final Filter.FilterItem.Operator operator, final int operand, final long[] result) {
+        for (int word = 0, start = 0; start < size; ++word, start += Long.SIZE) {
+            final int end = Math.min(start + Long.SIZE, size);
+            long bits = 0;
+
+            for (int i = start; i < end; ++i) {
+                if (matches(operator, Integer.compare(values[i], operand))) {
+                    bits |= 1L << i;
+                }
+            }
+            result[word] = bits;
+        }
+    }
+
+    static void selectScalar(final long[] values, final int size, final Filter.FilterItem.Operator operator, final long operand, final long[] result) {
+        for (int word = 0, start = 0; start < size; ++word, start += Long.SIZE) {
+            final int end = Math.min(start + Long.SIZE, size);
+            long bits = 0;
+
+            for (int i = start; i < end; ++i) {
+                if (matches(operator, Long.compare(values[i], operand))) {
+                    bits |= 1L << i;
+                }
+            }
+            result[word] = bits;
+        }
+    }
+
+    static void selectScalar(final double[] values, final int size, final Filter.FilterItem.Operator operator, final double operand, final long[] result) {
+        for (int word = 0, start = 0; start < size; ++word, start += Long.SIZE) {
+            final int end = Math.min(start + Long.SIZE, size);
+            long bits = 0;
+
+            for (int i = start; i < end; ++i) {
+                if (matches(operator, Double.compare(values[i], operand))) {
+                    bits |= 1L << i;
+                }
+            }
+            result[word] = bits;
+        }
+    }
+
+    static void selectRangeScalar(final int[] values, final int size, final int from, final int to, final long[] result) {
+        for (int word = 0, start = 0; start < size; ++word, start += Long.SIZE) {
+            final int end = Math.min(start + Long.SIZE, size);
+            long bits = 0;
+
+            for (int i = start; i < end; ++i) {
+                if (values[i] >= from && values[i] < to) {
+                    bits |= 1L << i;
+                }
+            }
+            result[word] = bits;
+        }
+    }
+
+    static void selectInScalar(final int[] values, final int size, final int[] operands, final long[] result) {
+        for (int word = 0, start = 0; start < size; ++word, start += Long.SIZE) {
+            final int end = Math.min(start + Long.SIZE, size);
+            long bits = 0;
+
+            for (int i = start; i < end; ++i) {
+                if (Arrays.binarySearch(operands, values[i]) >= 0) {
+                    bits |= 1L << i;
+                }
+            }
+            result[word] = bits;
+        }
+    }
+
+    static void selectInScalar(final long[] values, final int size, final LongValueSet operands, final long[] result) {
+        for (int word = 0, start = 0; start < size; ++word, start += Long.SIZE) {
+            final int end = Math.min(start + Long.SIZE, size);
+            long bits = 0;
+
+            for (int i = start; i < end; ++i) {
+                if (operands.contains(values[i])) {
+                    bits |= 1L << i;
+                }
+            }
+            result[word] = bits;
+        }
+    }
+
+    static void selectInScalar(final double[] values, final int size, final double[] operands, final long[] result) {
+        for (int word = 0, start = 0; start < size; ++word, start += Long.SIZE) {
+            final int end = Math.min(start + Long.SIZE, size);
+            long bits = 0;
+
+            for (int i = start; i < end; ++i) {
+                if (Arrays.binarySearch(operands, values[i]) >= 0) {
+                    bits |= 1L << i;
+                }
+            }
+            result[word] = bits;
+        }
+    }
+
+    /**
+     * Select dictionary codes set in the codes bitmap.
+     */
+    static void selectCodes(final int[] codes, final int size, final long[] selectedCodes, final long[] result) {
+        for (int word = 0, start = 0; start < size; ++word, start += Long.SIZE) {
+            final int end = Math.min(start + Long.SIZE, size);
+            long bits = 0;
+
+            for (int i = start; i < end; ++i) {
+                if (Bitmaps.get(selectedCodes, codes[i])) {
+                    bits |= 1L << i;
+                }
+            }
+            result[word] = bits;
+        }
+    }
+
+    static boolean matches(final Filter.FilterItem.Operator operator, final int comparison) {
+        switch (operator) {
+            case EQ:
+                return comparison == 0;
+            case NE:
+                return comparison != 0;
+            case GT:
+                return comparison > 0;
+            case GTE:
+                return comparison >= 0;
+            case LT:
+                return comparison < 0;
+            case LTE:
+                return comparison <= 0;
+            default:
+                throw new IllegalStateException("Could not select column values! Unsupported operator: " + operator);
+        }
+    }
+}
@@ -0,0 +1,1097 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterExpression;
+import com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException;
+import com.slmdev.jsonapi.simple.request.FilterValueConverters;
+import com.slmdev.jsonapi.simple.request.LongValueSet;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable columnar copy of the in-memory resource collection: one array per field instead of one object
+ * per resource, answers request {@link Filter}, {@link Sort} and {@link Pageable} over the columns.
+ *
+ * <p>Integral fields stored in {@code int[]} or {@code long[]}, floating point fields in {@code double[]},
+ * boolean fields in bitmap, other comparable fields ({@link String}, enums, dates etc.) dictionary encoded:
+ * {@code int[]} codes of the sorted dictionary of distinct values, so equal strings stored once and ranges
+ * and sort compare codes. {@code null} values marked in the null bitmap of the column.
+ *
+ * <p>Filter conditions are scanned column by column to selection bitmaps combined through {@code AND}
+ * and {@code or} groups, {@code CONTAIN} evaluated once per dictionary value. Operators semantic is the same
+ * as in the {@link FilterPredicateCompiler}. Resources are created only for the rows of the requested page:
+ * with the default constructor and column fields set (nested field columns are used only to filter and sort),
+ * or with the custom {@link RowMapper}. Without declared columns fields which can't be columns (nested objects,
+ * collections etc.) are kept by reference and set to the created resources. Declared columns must cover all fields
+ * of the resource or {@link RowMapper} must be set.
+ * <pre>
+ * {@code
+ *     private final ColumnarResourceTable<CountryDto> countries = ColumnarResourceTable.builder(CountryDto.class)
+ *         .build(loadCountries());
+ *
+ *     public Response<List<Data<CountryDto>>> getCountries(@RequestJsonApiFilter Filter filter, @RequestJsonApiPage Pageable pageable) {
+ *         return Response.<List<Data<CountryDto>>, CountryDto>builder()
+ *             .page(countries.query(filter, pageable))
+ *             .build();
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>Table is not changed after build, so it is thread-safe: build new table to replace data.
+ *
+ * @param <T> resource type
+ */
+public class ColumnarResourceTable<T> {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    @Getter
+    private final Class<T> type;
+    private final int size;
+    private final Map<String, Column> columns;
+    private final RowMapper<T> rowMapper;
+    private final FilterValueConverters converters;
+    private final Set<String> allowedFields;
+
+    private ColumnarResourceTable(final Builder<T> builder, final int size, final Map<String, Column> columns, final RowMapper<T> rowMapper) {
+        this.type = builder.type;
+        this.size = size;
+        this.columns = columns;
+        this.rowMapper = rowMapper;
+        this.converters = builder.converters;
+        this.allowedFields = builder.allowedFields;
+    }
+
+    public static <T> Builder<T> builder(final @NonNull Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    /**
+     * @return true if numeric column scans use the Vector API, see {@link VectorKernels}
+     */
+    public static boolean isVectorized() {
+        return ColumnKernels.isVectorized();
+    }
+
+    /**
+     * @return number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return column field names in the declaration order
+     */
+    public Set<String> getColumnNames() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    /**
+     * Create resource of the row.
+     *
+     * @param row row index in the source collection order
+     * @throws IndexOutOfBoundsException if row not exists
+     * @return resource
+     */
+    public T get(final int row) {
+        Objects.checkIndex(row, size);
+
+        return rowMapper.map(new Row(columns, row));
+    }
+
+    /**
+     * @param filter request filter, null means no restrictions
+     * @throws FilterFieldNotAllowedException if filter field is not allowed or table has no its column
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return number of matched rows
+     */
+    public int count(final Filter filter) {
+        return Bitmaps.cardinality(select(filter));
+    }
+
+    /**
+     * See {@link ColumnarResourceTable#query(Filter, Sort, Pageable)}, uses sort from pageable.
+     *
+     * @param filter request filter, null means no restrictions
+     * @param pageable request pageable, null means unpaged
+     * @throws FilterFieldNotAllowedException if filter or sort field is not allowed or table has no its column
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return page of resources
+     */
+    public Page<T> query(final Filter filter, final Pageable pageable) {
+        return query(filter, (pageable != null ? pageable.getSort() : null), pageable);
+    }
+
+    /**
+     * Filter and sort rows over the columns, then create resources of the page rows.
+     *
+     * @param filter request filter, null means no restrictions
+     * @param sort request sort, null means source collection order
+     * @param pageable request pageable (only page and size used), null means unpaged
+     * @throws FilterFieldNotAllowedException if filter or sort field is not allowed or table has no its column
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return page of resources
+     */
+    public Page<T> query(final Filter filter, final Sort sort, final Pageable pageable) {
+        final Pageable page = (pageable != null ? pageable : Pageable.unpaged());
+        final RowComparator comparator = (sort != null && sort.isSorted() ? compileSort(sort) : null);
+        final int[] rows = Bitmaps.toRows(select(filter));
+
+        if (comparator != null) {
+            sortRows(rows, comparator);
+        }
+        final int start = (page.isPaged() ? (int)Math.min(page.getOffset(), rows.length) : 0);
+        final int end = (page.isPaged() ? Math.min(start + page.getPageSize(), rows.length) : rows.length);
+        final List<T> content = new ArrayList<>(end - start);
+
+        for (int i = start; i < end; ++i) {
+            content.add(rowMapper.map(new Row(columns, rows[i])));
+        }
+        return new PageImpl<>(Collections.unmodifiableList(content), page, rows.length);
+    }
+
+    private long[] select(final Filter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return Bitmaps.full(size);
+        }
+        return select(filter.getExpression());
+    }
+
+    private long[] select(final FilterExpression expression) {
+        if (expression.isCondition()) {
+            final Filter.FilterItem item = expression.getItem();
+            final Column column = getQueryColumn(item.getField());
+
+            if (column == null) {
+                throw new FilterFieldNotAllowedException("filter[" + item.getField() + "]", "Filter field: " + item.getField() + " not allowed!");
+            }
+            return column.select((item.getOperator() != null ? item.getOperator() : Filter.FilterItem.Operator.EQ), item, converters);
+        }
+        final boolean or = (expression.getType() == FilterExpression.Type.OR);
+        final long[] result = (or ? Bitmaps.create(size) : Bitmaps.full(size));
+
+        for (final FilterExpression child : expression.getChildren()) {
+            if (or) {
+                Bitmaps.or(result, select(child));
+            } else {
+                Bitmaps.and(result, select(child));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return column of the allowed filter or sort field, null if field not allowed or has no column
+     */
+    private Column getQueryColumn(final String field) {
+        return (allowedFields == null || allowedFields.contains(field) ? columns.get(field) : null);
+    }
+
+    private RowComparator compileSort(final Sort sort) {
+        final List<SortKey> keys = new ArrayList<>();
+
+        for (final Sort.Order order : sort) {
+            final Column column = getQueryColumn(order.getProperty());
+
+            if (column == null) {
+                throw new FilterFieldNotAllowedException("sort", "Sort field: " + order.getProperty() + " not allowed!");
+            }
+            keys.add(new SortKey(column, order));
+        }
+        final SortKey[] sortKeys = keys.toArray(new SortKey[0]);
+
+        return (left, right) -> {
+            for (final SortKey key : sortKeys) {
+                final int result = key.compare(left, right);
+
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * Stable merge sort of the row indexes, equal rows stay in the source collection order.
+     */
+    private static void sortRows(final int[] rows, final RowComparator comparator) {
+        mergeSort(rows.clone(), rows, 0, rows.length, comparator);
+    }
+
+    private static void mergeSort(final int[] source, final int[] target, final int from, final int to, final RowComparator comparator) {
+        if (to - from < INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; ++i) {
+                final int row = target[i];
+                int j = i;
+
+                for (; j > from && comparator.compare(target[j - 1], row) > 0; --j) {
+                    target[j] = target[j - 1];
+                }
+                target[j] = row;
+            }
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+
+        // Halves sorted to the source, then merged to the target
+        mergeSort(target, source, from, middle, comparator);
+        mergeSort(target, source, middle, to, comparator);
+
+        for (int i = from, left = from, right = middle; i < to; ++i) {
+            if (right >= to || (left < middle && comparator.compare(source[left], source[right]) <= 0)) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+
+    /**
+     * Creates resource of the table row.
+     *
+     * @param <T> resource type
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(Row row);
+    }
+
+    /**
+     * Row of the table: column values of one resource.
+     */
+    public static final class Row {
+        private final Map<String, Column> columns;
+        @Getter
+        private final int index;
+
+        private Row(final Map<String, Column> columns, final int index) {
+            this.columns = columns;
+            this.index = index;
+        }
+
+        /**
+         * @param column column field name
+         * @throws IllegalArgumentException if table has no column
+         * @return column value, primitive value boxed to the field type
+         */
+        public Object get(final @NonNull String column) {
+            return getColumn(column).get(index);
+        }
+
+        /**
+         * @param column column field name
+         * @throws IllegalArgumentException if table has no column
+         * @return true if column value is {@code null}
+         */
+        public boolean isNull(final @NonNull String column) {
+            return getColumn(column).isNull(index);
+        }
+
+        private Column getColumn(final String column) {
+            final Column result = columns.get(column);
+
+            if (result == null) {
+                throw new IllegalArgumentException("Could not get row value! Reason: table has no column: " + column);
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowComparator {
+        int compare(int left, int right);
+    }
+
+    /**
+     * Sort order over the column, {@code null} values ordered as in the {@link SortComparatorCompiler}.
+     */
+    private static final class SortKey {
+        private final Column column;
+        private final int direction;
+        private final Sort.NullHandling nullHandling;
+        private final boolean ignoreCase;
+
+        SortKey(final Column column, final Sort.Order order) {
+            this.column = column;
+            this.direction = (order.isAscending() ? 1 : -1);
+            this.nullHandling = order.getNullHandling();
+            this.ignoreCase = order.isIgnoreCase();
+        }
+
+        int compare(final int left, final int right) {
+            final boolean isLeftNull = column.isNull(left);
+            final boolean isRightNull = column.isNull(right);
+
+            if (isLeftNull || isRightNull) {
+                return (isLeftNull == isRightNull ? 0 : compareNull(isLeftNull));
+            }
+            return direction * Integer.signum(column.compare(left, right, ignoreCase));
+        }
+
+        private int compareNull(final boolean isLeftNull) {
+            switch (nullHandling) {
+                case NULLS_FIRST:
+                    return (isLeftNull ? -1 : 1);
+                case NULLS_LAST:
+                    return (isLeftNull ? 1 : -1);
+                default:
+                    // Null is greater than any value
+                    return direction * (isLeftNull ? 1 : -1);
+            }
+        }
+    }
+
+    /**
+     * Column of the field values with the null bitmap, null rows hold default value.
+     */
+    private abstract static class Column {
+        protected final FieldAccessor accessor;
+        protected final int size;
+        protected final long[] nulls;
+
+        Column(final FieldAccessor accessor, final List<?> values) {
+            this.accessor = accessor;
+            this.size = values.size();
+
+            long[] nullRows = null;
+
+            for (int row = 0; row < size; ++row) {
+                if (values.get(row) == null) {
+                    if (nullRows == null) {
+                        nullRows = Bitmaps.create(size);
+                    }
+                    Bitmaps.set(nullRows, row);
+                }
+            }
+            this.nulls = nullRows;
+        }
+
+        boolean isNull(final int row) {
+            return nulls != null && Bitmaps.get(nulls, row);
+        }
+
+        abstract Object get(int row);
+
+        /**
+         * Compare not {@code null} values.
+         */
+        abstract int compare(int left, int right, boolean ignoreCase);
+
+        /**
+         * Select rows with {@code EQ}, {@code NE}, {@code GT}, {@code GTE}, {@code LT} or {@code LTE}
+         * comparison to the not {@code null} value, null rows may be selected.
+         */
+        abstract void selectComparison(Filter.FilterItem.Operator operator, Object value, long[] result);
+
+        /**
+         * Select rows with value from the not empty list, null rows may be selected.
+         */
+        abstract void selectIn(List<?> values, long[] result);
+
+        /**
+         * Select rows with string value containing search, null rows may be selected.
+         */
+        void selectContain(final ContainsMatcher matcher, final long[] result) {
+            for (int row = 0; row < size; ++row) {
+                if (!isNull(row) && matcher.matches(String.valueOf(get(row)))) {
+                    Bitmaps.set(result, row);
+                }
+            }
+        }
+
+        final long[] select(final Filter.FilterItem.Operator operator, final Filter.FilterItem item, final FilterValueConverters converters) {
+            final long[] result = Bitmaps.create(size);
+
+            switch (operator) {
+                case EQ:
+                case NE: {
+                    final Object value = item.value(accessor.getType(), converters).orElse(null);
+
+                    if (value == null) {
+                        if (nulls != null) {
+                            System.arraycopy(nulls, 0, result, 0, result.length);
+                        }
+
+                        if (operator == Filter.FilterItem.Operator.NE) {
+                            Bitmaps.not(result, size);
+                        }
+                        return result;
+                    }
+                    selectComparison(operator, value, result);
+                    break;
+                }
+                case GT:
+                case GTE:
+                case LT:
+                case LTE: {
+                    final Object value = item.value(accessor.getType(), converters).orElse(null);
+
+                    if (value == null) {
+                        return result;
+                    }
+                    selectComparison(operator, value, result);
+                    break;
+                }
+                case IN:
+                case NOT_IN: {
+                    final List<?> values = item.values(accessor.getType(), converters);
+
+                    if (values.isEmpty()) {
+                        return (operator == Filter.FilterItem.Operator.IN ? result : Bitmaps.full(size));
+                    }
+                    selectIn(values, result);
+
+                    if (operator == Filter.FilterItem.Operator.NOT_IN) {
+                        Bitmaps.not(result, size);
+                    }
+                    break;
+                }
+                case CONTAIN:
+                case NOT_CONTAIN:
+                    selectContain(new ContainsMatcher(Objects.requireNonNullElse(item.stringValue(), "")), result);
+
+                    if (operator == Filter.FilterItem.Operator.NOT_CONTAIN) {
+                        Bitmaps.not(result, size);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Could not select column values! Unsupported operator: " + operator);
+            }
+            Bitmaps.andNot(result, nulls);
+
+            return result;
+        }
+    }
+
+    /**
+     * Column of {@code byte}, {@code short} and {@code int} values.
+     */
+    private static final class IntColumn extends Column {
+        private final int[] values;
+        private final Class<?> valueType;
+
+        IntColumn(final FieldAccessor accessor, final List<?> values) {
+            super(accessor, values);
+            this.values = new int[size];
+            this.valueType = boxed(accessor.getType());
+
+            for (int row = 0; row < size; ++row) {
+                final Object value = values.get(row);
+
+                this.values[row] = (value != null ? ((Number)value).intValue() : 0);
+            }
+        }
+
+        @Override
+        Object get(final int row) {
+            if (isNull(row)) {
+                return null;
+            } else if (valueType == Byte.class) {
+                return (byte)values[row];
+            } else if (valueType == Short.class) {
+                return (short)values[row];
+            }
+            return values[row];
+        }
+
+        @Override
+        int compare(final int left, final int right, final boolean ignoreCase) {
+            return Integer.compare(values[left], values[right]);
+        }
+
+        @Override
+        void selectComparison(final Filter.FilterItem.Operator operator, final Object value, final long[] result) {
+            ColumnKernels.select(values, size, operator, ((Number)value).intValue(), result);
+        }
+
+        @Override
+        void selectIn(final List<?> values, final long[] result) {
+            final int[] operands = values.stream()
+                .filter(Objects::nonNull)
+                .mapToInt(value -> ((Number)value).intValue())
+                .sorted()
+                .distinct()
+                .toArray();
+
+            ColumnKernels.selectIn(this.values, size, operands, result);
+        }
+    }
+
+    /**
+     * Column of {@code long} values.
+     */
+    private static final class LongColumn extends Column {
+        private final long[] values;
+
+        LongColumn(final FieldAccessor accessor, final List<?> values) {
+            super(accessor, values);
+            this.values = new long[size];
+
+            for (int row = 0; row < size; ++row) {
+                final Object value = values.get(row);
+
+                this.values[row] = (value != null ? ((Number)value).longValue() : 0);
+            }
+        }
+
+        @Override
+        Object get(final int row) {
+            return (isNull(row) ? null : values[row]);
+        }
+
+        @Override
+        int compare(final int left, final int right, final boolean ignoreCase) {
+            return Long.compare(values[left], values[right]);
+        }
+
+        @Override
+        void selectComparison(final Filter.FilterItem.Operator operator, final Object value, final long[] result) {
+            ColumnKernels.select(values, size, operator, ((Number)value).longValue(), result);
+        }
+
+        @Override
+        void selectIn(final List<?> values, final long[] result) {
+            final LongValueSet operands = LongValueSet.of(values.stream()
+                .filter(Objects::nonNull)
+                .mapToLong(value -> ((Number)value).longValue())
+                .toArray());
+
+            ColumnKernels.selectIn(this.values, size, operands, result);
+        }
+    }
+
+    /**
+     * Column of {@code float} and {@code double} values, floats widened without loss.
+     */
+    private static final class DoubleColumn extends Column {
+        private final double[] values;
+        private final boolean singlePrecision;
+
+        DoubleColumn(final FieldAccessor accessor, final List<?> values) {
+            super(accessor, values);
+            this.values = new double[size];
+            this.singlePrecision = (boxed(accessor.getType()) == Float.class);
+
+            for (int row = 0; row < size; ++row) {
+                final Object value = values.get(row);
+
+                this.values[row] = (value != null ? ((Number)value).doubleValue() : 0);
+            }
+        }
+
+        @Override
+        Object get(final int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            return (singlePrecision ? (Object)(float)values[row] : (Object)values[row]);
+        }
+
+        @Override
+        int compare(final int left, final int right, final boolean ignoreCase) {
+            return Double.compare(values[left], values[right]);
+        }
+
+        @Override
+        void selectComparison(final Filter.FilterItem.Operator operator, final Object value, final long[] result) {
+            ColumnKernels.select(values, size, operator, ((Number)value).doubleValue(), result);
+        }
+
+        @Override
+        void selectIn(final List<?> values, final long[] result) {
+            final double[] operands = values.stream()
+                .filter(Objects::nonNull)
+                .mapToDouble(value -> ((Number)value).doubleValue())
+                .sorted()
+                .distinct()
+                .toArray();
+
+            ColumnKernels.selectIn(this.values, size, operands, result);
+        }
+    }
+
+    /**
+     * Column of {@code boolean} values stored as bitmap.
+     */
+    private static final class BooleanColumn extends Column {
+        private final long[] values;
+
+        BooleanColumn(final FieldAccessor accessor, final List<?> values) {
+            super(accessor, values);
+            this.values = Bitmaps.create(size);
+
+            for (int row = 0; row < size; ++row) {
+                if (Boolean.TRUE.equals(values.get(row))) {
+                    Bitmaps.set(this.values, row);
+                }
+            }
+        }
+
+        @Override
+        Object get(final int row) {
+            return (isNull(row) ? null : Bitmaps.get(values, row));
+        }
+
+        @Override
+        int compare(final int left, final int right, final boolean ignoreCase) {
+            return Boolean.compare(Bitmaps.get(values, left), Bitmaps.get(values, right));
+        }
+
+        @Override
+        void selectComparison(final Filter.FilterItem.Operator operator, final Object value, final long[] result) {
+            final boolean operand = (Boolean)value;
+
+            select(
+                ColumnKernels.matches(operator, Boolean.compare(true, operand)),
+                ColumnKernels.matches(operator, Boolean.compare(false, operand)),
+                result
+            );
+        }
+
+        @Override
+        void selectIn(final List<?> values, final long[] result) {
+            select(values.contains(Boolean.TRUE), values.contains(Boolean.FALSE), result);
+        }
+
+        private void select(final boolean selectTrue, final boolean selectFalse, final long[] result) {
+            if (selectTrue) {
+                Bitmaps.or(result, values);
+            }
+
+            if (selectFalse) {
+                final long[] falseValues = values.clone();
+
+                Bitmaps.not(falseValues, size);
+                Bitmaps.or(result, falseValues);
+            }
+        }
+    }
+
+    /**
+     * Column of the comparable values encoded with codes of the sorted dictionary.
+     *
+     * <p>Dictionary holds distinct (by {@link Object#equals(Object)}) values ordered by {@link Comparable#compareTo(Object)},
+     * values equal by comparison (i.e. {@code BigDecimal} 1.0 and 1.00) have adjacent codes and the same rank used to sort.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final class DictionaryColumn extends Column {
+        private final Comparable[] dictionary;
+        private final int[] ranks;
+        private final int[] codes;
+        private volatile int[] ignoreCaseRanks;
+
+        DictionaryColumn(final FieldAccessor accessor, final List<?> values) {
+            super(accessor, values);
+
+            final Set<Object> distinctValues = new LinkedHashSet<>(values);
+
+            distinctValues.remove(null);
+            this.dictionary = distinctValues.toArray(new Comparable[0]);
+            Arrays.sort(dictionary);
+            this.ranks = new int[dictionary.length];
+
+            final Map<Object, Integer> dictionaryCodes = new HashMap<>();
+
+            for (int code = 0; code < dictionary.length; ++code) {
+                ranks[code] = (code > 0 && dictionary[code - 1].compareTo(dictionary[code]) == 0 ? ranks[code - 1] : code);
+                dictionaryCodes.put(dictionary[code], code);
+            }
+            this.codes = new int[size];
+
+            for (int row = 0; row < size; ++row) {
+                final Object value = values.get(row);
+
+                codes[row] = (value != null ? dictionaryCodes.get(value) : 0);
+            }
+        }
+
+        @Override
+        Object get(final int row) {
+            return (isNull(row) ? null : dictionary[codes[row]]);
+        }
+
+        @Override
+        int compare(final int left, final int right, final boolean ignoreCase) {
+            final int[] rowRanks = (ignoreCase && dictionary.length > 0 && dictionary[0] instanceof String ? getIgnoreCaseRanks() : ranks);
+
+            return Integer.compare(rowRanks[codes[left]], rowRanks[codes[right]]);
+        }
+
+        @Override
+        void selectComparison(final Filter.FilterItem.Operator operator, final Object value, final long[] result) {
+            final int from = bound(value, false);
+            final int to = bound(value, true);
+
+            switch (operator) {
+                case EQ:
+                    ColumnKernels.selectRange(codes, size, from, to, result);
+                    break;
+                case NE:
+                    ColumnKernels.selectRange(codes, size, from, to, result);
+                    Bitmaps.not(result, size);
+                    break;
+                case GT:
+                    ColumnKernels.select(codes, size, Filter.FilterItem.Operator.GTE, to, result);
+                    break;
+                case GTE:
+                    ColumnKernels.select(codes, size, Filter.FilterItem.Operator.GTE, from, result);
+                    break;
+                case LT:
+                    ColumnKernels.select(codes, size, Filter.FilterItem.Operator.LT, from, result);
+                    break;
+                default:
+                    ColumnKernels.select(codes, size, Filter.FilterItem.Operator.LT, to, result);
+                    break;
+            }
+        }
+
+        @Override
+        void selectIn(final List<?> values, final long[] result) {
+            final long[] selectedCodes = Bitmaps.create(dictionary.length + 1);
+
+            for (final Object value : values) {
+                if (value == null) {
+                    continue;
+                }
+
+                for (int code = bound(value, false), to = bound(value, true); code < to; ++code) {
+                    if (dictionary[code].equals(value)) {
+                        Bitmaps.set(selectedCodes, code);
+                    }
+                }
+            }
+            ColumnKernels.selectCodes(codes, size, selectedCodes, result);
+        }
+
+        @Override
+        void selectContain(final ContainsMatcher matcher, final long[] result) {
+            final long[] selectedCodes = Bitmaps.create(dictionary.length + 1);
+
+            for (int code = 0; code < dictionary.length; ++code) {
+                final Object value = dictionary[code];
+
+                if (matcher.matches(value instanceof CharSequence ? (CharSequence)value : String.valueOf(value))) {
+                    Bitmaps.set(selectedCodes, code);
+                }
+            }
+            ColumnKernels.selectCodes(codes, size, selectedCodes, result);
+        }
+
+        /**
+         * @return first code with value not less (or greater for upper bound) than the value
+         */
+        private int bound(final Object value, final boolean upper) {
+            int low = 0;
+            int high = dictionary.length;
+
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                final int comparison = dictionary[middle].compareTo(value);
+
+                if (comparison < 0 || (upper && comparison == 0)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int[] getIgnoreCaseRanks() {
+            int[] result = ignoreCaseRanks;
+
+            if (result == null) {
+                final Integer[] order = new Integer[dictionary.length];
+
+                for (int code = 0; code < order.length; ++code) {
+                    order[code] = code;
+                }
+                Arrays.sort(order, (left, right) -> String.CASE_INSENSITIVE_ORDER.compare((String)dictionary[left], (String)dictionary[right]));
+                result = new int[dictionary.length];
+
+                for (int i = 0; i < order.length; ++i) {
+                    final boolean sameAsPrevious = (i > 0 && String.CASE_INSENSITIVE_ORDER.compare((String)dictionary[order[i - 1]], (String)dictionary[order[i]]) == 0);
+
+                    result[order[i]] = (sameAsPrevious ? result[order[i - 1]] : i);
+                }
+                ignoreCaseRanks = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Default row mapper: creates resource with the default constructor and sets column fields.
+     */
+    private static final class FieldRowMapper<T> implements RowMapper<T> {
+        private final MethodHandle constructor;
+        private final Map<String, MethodHandle> setters = new LinkedHashMap<>();
+
+        private final Map<MethodHandle, Object[]> references = new LinkedHashMap<>();
+
+        /**
+         * @param columns column field names
+         * @param references values of the fields without columns by field name, one value per row
+         */
+        FieldRowMapper(final Class<T> type, final Collection<String> columns, final Map<String, Object[]> references) {
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+
+                this.constructor = lookup.unreflectConstructor(type.getDeclaredConstructor());
+
+                for (final String column : columns) {
+                    if (column.indexOf(Filter.PATH_SEPARATOR) < 0) {
+                        setters.put(column, findSetter(type, column));
+                    }
+                }
+
+                for (final Map.Entry<String, Object[]> reference : references.entrySet()) {
+                    this.references.put(findSetter(type, reference.getKey()), reference.getValue());
+                }
+            } catch (NoSuchMethodException | IllegalAccessException exception) {
+                throw new IllegalArgumentException(
+                    "Could not create row mapper of: " + type.getName() + "! Reason: " + exception.getMessage() + ", set row mapper", exception
+                );
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T map(final Row row) {
+            try {
+                final T resource = (T)constructor.invoke();
+
+                for (final Map.Entry<String, MethodHandle> setter : setters.entrySet()) {
+                    final Object value = row.get(setter.getKey());
+
+                    // Primitive field keeps default value for null
+                    if (value != null || !setter.getValue().type().parameterType(1).isPrimitive()) {
+                        setter.getValue().invoke(resource, value);
+                    }
+                }
+
+                for (final Map.Entry<MethodHandle, Object[]> reference : references.entrySet()) {
+                    reference.getKey().invoke(resource, reference.getValue()[row.getIndex()]);
+                }
+                return resource;
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException("Could not create resource of the row: " + row.getIndex() + "! Reason: " + throwable.getMessage(), throwable);
+            }
+        }
+
+        private static MethodHandle findSetter(final Class<?> type, final String name) throws NoSuchMethodException, IllegalAccessException {
+            final Field field = findField(type, name);
+
+            return MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectSetter(field);
+        }
+
+        private static Field findField(final Class<?> type, final String name) throws NoSuchMethodException {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                try {
+                    return current.getDeclaredField(name);
+                } catch (NoSuchFieldException exception) {
+                    // Try superclass
+                }
+            }
+            throw new NoSuchMethodException("no field: " + name);
+        }
+    }
+
+    private static Class<?> boxed(final Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    public static class Builder<T> {
+        private static final Set<Class<?>> INT_TYPES = Set.of(int.class, Integer.class, short.class, Short.class, byte.class, Byte.class);
+        private static final Set<Class<?>> DOUBLE_TYPES = Set.of(double.class, Double.class, float.class, Float.class);
+
+        private final Class<T> type;
+        private final Set<String> fields = new LinkedHashSet<>();
+        private RowMapper<T> rowMapper;
+        private FilterValueConverters converters = FilterValueConverters.getDefault();
+        private Set<String> allowedFields;
+
+        private Builder(final Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * Add column, if no columns added all fields of supported types are columns. Declared columns must cover
+         * all fields of the resource, otherwise {@link #rowMapper(RowMapper)} must be set.
+         *
+         * @param field field name or dotted path of the nested field, field must be primitive or comparable
+         * @return self link
+         */
+        public Builder<T> column(final @NonNull String field) {
+            Filter.validateFieldPath(field);
+            fields.add(field);
+
+            return this;
+        }
+
+        /**
+         * @param rowMapper creates resource of the row, default constructor and column fields used if not set
+         * @return self link
+         */
+        public Builder<T> rowMapper(final @NonNull RowMapper<T> rowMapper) {
+            this.rowMapper = rowMapper;
+
+            return this;
+        }
+
+        /**
+         * @param converters filter value converters, default registry used if not set
+         * @return self link
+         */
+        public Builder<T> converters(final @NonNull FilterValueConverters converters) {
+            this.converters = converters;
+
+            return this;
+        }
+
+        /**
+         * Restrict filter and sort to the fields, other columns are used only to create resources.
+         *
+         * @param allowedFields field names or dotted paths allowed in filter and sort, all columns allowed if not set
+         * @return self link
+         */
+        public Builder<T> allowedFields(final @NonNull Set<String> allowedFields) {
+            this.allowedFields = Set.copyOf(allowedFields);
+
+            return this;
+        }
+
+        /**
+         * Copy resources to the columns, resources are not referenced by the table.
+         *
+         * @param resources resources in the table order
+         * @throws IllegalArgumentException if column field not exists or is not comparable, declared columns
+         *                                  not cover resource fields without row mapper, or default row mapper
+         *                                  could not be created
+         * @return table
+         */
+        public ColumnarResourceTable<T> build(final @NonNull Collection<? extends T> resources) {
+            final List<? extends T> rows = new ArrayList<>(resources);
+            final Map<String, Column> columns = new LinkedHashMap<>();
+            final List<Field> instanceFields = getInstanceFields();
+
+            for (final String field : (fields.isEmpty() ? getDefaultFields(instanceFields) : fields)) {
+                final FieldAccessor accessor = FieldAccessor.of(type, field).orElseThrow(() -> new IllegalArgumentException(
+                    "Could not create columnar table! Reason: class: " + type.getName() + " has no field: " + field
+                ));
+
+                if (!isSupported(accessor.getType())) {
+                    throw new IllegalArgumentException(
+                        "Could not create columnar table! Reason: field: " + field + " of: " + type.getName() + " is not comparable!"
+                    );
+                }
+                final List<Object> values = new ArrayList<>(rows.size());
+
+                for (final T row : rows) {
+                    values.add(accessor.get(row));
+                }
+                columns.put(field, createColumn(accessor, values));
+            }
+            final RowMapper<T> mapper = (rowMapper != null ? rowMapper : new FieldRowMapper<>(type, columns.keySet(), getReferences(instanceFields, columns.keySet(), rows)));
+
+            return new ColumnarResourceTable<>(this, rows.size(), columns, mapper);
+        }
+
+        /**
+         * @return values of the instance fields without columns, empty for declared columns
+         * @throws IllegalArgumentException if declared columns not cover all instance fields
+         */
+        private Map<String, Object[]> getReferences(final List<Field> instanceFields, final Set<String> columnNames, final List<? extends T> rows) {
+            final Map<String, Object[]> references = new LinkedHashMap<>();
+
+            for (final Field field : instanceFields) {
+                if (columnNames.contains(field.getName())) {
+                    continue;
+                }
+
+                if (!fields.isEmpty()) {
+                    throw new IllegalArgumentException(
+                        "Could not create columnar table! Reason: field: " + field.getName() + " of: " + type.getName() + " has no column, set row mapper"
+                    );
+                }
+                final FieldAccessor accessor = FieldAccessor.of(type, field.getName()).orElseThrow(() -> new IllegalArgumentException(
+                    "Could not create columnar table! Reason: field: " + field.getName() + " of: " + type.getName() + " is not accessible, set row mapper"
+                ));
+                final Object[] values = new Object[rows.size()];
+
+                for (int i = 0; i < values.length; ++i) {
+                    values[i] = accessor.get(rows.get(i));
+                }
+                references.put(field.getName(), values);
+            }
+            return references;
+        }
+
+        private List<Field> getInstanceFields() {
+            final List<Field> result = new ArrayList<>();
+
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (final Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                        result.add(field);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private static Collection<String> getDefaultFields(final List<Field> instanceFields) {
+            final Set<String> result = new LinkedHashSet<>();
+
+            for (final Field field : instanceFields) {
+                if (isSupported(field.getType())) {
+                    result.add(field.getName());
+                }
+            }
+            return result;
+        }
+
+        private static boolean isSupported(final Class<?> type) {
+            return type.isPrimitive() || Comparable.class.isAssignableFrom(type);
+        }
+
+        private static Column createColumn(final FieldAccessor accessor, final List<?> values) {
+            final Class<?> fieldType = accessor.getType();
+
+            if (INT_TYPES.contains(fieldType)) {
+                return new IntColumn(accessor, values);
+            } else if (fieldType == long.class || fieldType == Long.class) {
+                return new LongColumn(accessor, values);
+            } else if (DOUBLE_TYPES.contains(fieldType)) {
+                return new DoubleColumn(accessor, values);
+            } else if (fieldType == boolean.class || fieldType == Boolean.class) {
+                return new BooleanColumn(accessor, values);
+            }
+            return new DictionaryColumn(accessor, values);
+        }
+    }
+}
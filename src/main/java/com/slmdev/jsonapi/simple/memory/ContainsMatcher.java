@@ -0,0 +1,65 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Case-insensitive substring matcher for the {@code CONTAIN} filter operator.
+ *
+ * <p>Search string prepared once, so matching doesn't create lower case copies of the values.
+ * Matcher is immutable and can be shared between threads.
+ */
+public final class ContainsMatcher {
+    @Getter
+    private final String search;
+    private final char[] lowerCaseSearch;
+    private final char[] upperCaseSearch;
+
+    public ContainsMatcher(final @NonNull String search) {
+        this.search = search;
+        this.lowerCaseSearch = new char[search.length()];
+        this.upperCaseSearch = new char[search.length()];
+
+        for (int i = 0; i < search.length(); ++i) {
+            lowerCaseSearch[i] = Character.toLowerCase(search.charAt(i));
+            upperCaseSearch[i] = Character.toUpperCase(search.charAt(i));
+        }
+    }
+
+    /**
+     * Check if value contains search string ignoring case.
+     *
+     * @param value value, null never matches
+     * @return true if value contains search string
+     */
+    public boolean matches(final CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        final int length = lowerCaseSearch.length;
+        final int lastStart = value.length() - length;
+
+        if (length == 0) {
+            return true;
+        }
+
+        for (int start = 0; start <= lastStart; ++start) {
+            int i = 0;
+
+            while (i < length && isEqualIgnoreCase(value.charAt(start + i), i)) {
+                ++i;
+            }
+
+            if (i == length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEqualIgnoreCase(final char symbol, final int index) {
+        return symbol == lowerCaseSearch[index]
+            || symbol == upperCaseSearch[index]
+            || Character.toLowerCase(symbol) == lowerCaseSearch[index];
+    }
+}
@@ -0,0 +1,269 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import com.slmdev.jsonapi.simple.annotation.JsonApiId;
+import com.slmdev.jsonapi.simple.request.Filter;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accessor of the object field value resolved once with {@link MethodHandles}.
+ *
+ * <p>Getter ({@code getName()}, {@code isName()}, or {@code name()} backed by the declared field as record
+ * component accessors are) used if exists, otherwise the field itself (including private fields). Accessors cached per class and field name,
+ * so lookup is done once for each pair.
+ *
+ * <p>Nested fields accessed with dotted path, for example {@code address.city}: accessor is the chain
+ * of the field accessors resolved by the declared field types, so invalid path is rejected once when accessor
+ * resolved. If any intermediate value is {@code null} the path value is {@code null}.
+ */
+@Getter
+public final class FieldAccessor {
+    private static final MethodType OBJECT_GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType LONG_GETTER_TYPE = MethodType.methodType(long.class, Object.class);
+    private static final MethodType DOUBLE_GETTER_TYPE = MethodType.methodType(double.class, Object.class);
+    private static final Map<Class<?>, Map<String, Optional<FieldAccessor>>> ACCESSORS = new ConcurrentHashMap<>();
+
+    private final Class<?> declaringClass;
+    private final String name;
+    private final Class<?> type;
+    @Getter(AccessLevel.NONE)
+    private final MethodHandle getter;
+    @Getter(AccessLevel.NONE)
+    private final MethodHandle primitiveGetter;
+    @Getter(AccessLevel.NONE)
+    private final FieldAccessor parent;
+
+    private FieldAccessor(final Class<?> declaringClass, final String name, final Class<?> type, final MethodHandle getter) {
+        this(declaringClass, name, type, getter, null);
+    }
+
+    private FieldAccessor(final Class<?> declaringClass,
+                          final String name,
+                          final Class<?> type,
+                          final MethodHandle getter,
+                          final FieldAccessor parent) {
+        this.parent = parent;
+        this.declaringClass = declaringClass;
+        this.name = name;
+        this.type = type;
+        this.getter = getter.asType(OBJECT_GETTER_TYPE);
+
+        if (isIntegral()) {
+            this.primitiveGetter = getter.asType(LONG_GETTER_TYPE);
+        } else if (isFloatingPoint()) {
+            this.primitiveGetter = getter.asType(DOUBLE_GETTER_TYPE);
+        } else {
+            this.primitiveGetter = null;
+        }
+    }
+
+    /**
+     * Get cached accessor of the class field.
+     *
+     * @param type object class
+     * @param name field name or dotted path of the nested field
+     * @return accessor if class has getter or field for each path segment
+     */
+    public static Optional<FieldAccessor> of(final @NonNull Class<?> type, final @NonNull String name) {
+        final Map<String, Optional<FieldAccessor>> accessors = ACCESSORS.computeIfAbsent(type, key -> new ConcurrentHashMap<>());
+        final Optional<FieldAccessor> accessor = accessors.get(name);
+
+        if (accessor != null) {
+            return accessor;
+        }
+        // Not computeIfAbsent: nested path resolves parent path in the same map
+        final Optional<FieldAccessor> newAccessor = resolve(type, name);
+        final Optional<FieldAccessor> cachedAccessor = accessors.putIfAbsent(name, newAccessor);
+
+        return (cachedAccessor != null ? cachedAccessor : newAccessor);
+    }
+
+    /**
+     * Get cached accessor of the field with {@link JsonApiId} annotation (superclasses included).
+     *
+     * @param type resource class
+     * @return accessor if class has annotated field
+     */
+    public static Optional<FieldAccessor> ofJsonApiId(final @NonNull Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(JsonApiId.class)) {
+                    return of(type, field.getName());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get field value.
+     *
+     * @param target object
+     * @return field value (primitive values are boxed)
+     */
+    public Object get(final Object target) {
+        final Object owner = (parent != null ? parent.get(target) : target);
+
+        if (parent != null && owner == null) {
+            return null;
+        }
+
+        try {
+            return getter.invokeExact(owner);
+        } catch (RuntimeException | Error exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Could not get field: " + name + " value! Reason: " + throwable.getMessage(), throwable);
+        }
+    }
+
+    /**
+     * Get value of the primitive integral field ({@code long}, {@code int}, {@code short}, {@code byte}
+     * or {@code char}) without boxing.
+     *
+     * @param target object
+     * @throws IllegalStateException if field is not primitive integral
+     * @return field value
+     */
+    public long getLong(final Object target) {
+        if (!isIntegral()) {
+            throw new IllegalStateException("Could not get field: " + name + " value! Field is not primitive integral!");
+        }
+
+        try {
+            return (long)primitiveGetter.invokeExact(target);
+        } catch (RuntimeException | Error exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Could not get field: " + name + " value! Reason: " + throwable.getMessage(), throwable);
+        }
+    }
+
+    /**
+     * Get value of the primitive floating point field ({@code double} or {@code float}) without boxing.
+     *
+     * @param target object
+     * @throws IllegalStateException if field is not primitive floating point
+     * @return field value
+     */
+    public double getDouble(final Object target) {
+        if (!isFloatingPoint()) {
+            throw new IllegalStateException("Could not get field: " + name + " value! Field is not primitive floating point!");
+        }
+
+        try {
+            return (double)primitiveGetter.invokeExact(target);
+        } catch (RuntimeException | Error exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Could not get field: " + name + " value! Reason: " + throwable.getMessage(), throwable);
+        }
+    }
+
+    /**
+     * @return true if field type is {@code long}, {@code int}, {@code short}, {@code byte} or {@code char}
+     * and field is not nested (nested value is {@code null} if intermediate value is {@code null})
+     */
+    public boolean isIntegral() {
+        return parent == null
+            && (type == long.class
+                || type == int.class
+                || type == short.class
+                || type == byte.class
+                || type == char.class);
+    }
+
+    /**
+     * @return true if field type is {@code double} or {@code float} and field is not nested
+     */
+    public boolean isFloatingPoint() {
+        return parent == null && (type == double.class || type == float.class);
+    }
+
+    /**
+     * @return true if accessor reads nested field by dotted path
+     */
+    public boolean isNested() {
+        return parent != null;
+    }
+
+    private static Optional<FieldAccessor> resolve(final Class<?> type, final String name) {
+        if (name.isEmpty()) {
+            return Optional.empty();
+        }
+        final int separator = name.lastIndexOf(Filter.PATH_SEPARATOR);
+
+        if (separator < 0) {
+            return resolveField(type, name);
+        }
+        final Optional<FieldAccessor> parent = of(type, name.substring(0, separator));
+
+        if (parent.isEmpty() || parent.get().getType().isPrimitive()) {
+            return Optional.empty();
+        }
+        return resolveField(parent.get().getType(), name.substring(separator + 1))
+            .map(field -> new FieldAccessor(type, name, field.getType(), field.getter, parent.get()));
+    }
+
+    private static Optional<FieldAccessor> resolveField(final Class<?> type, final String name) {
+        if (name.isEmpty()) {
+            return Optional.empty();
+        }
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final String capitalizedName = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        final Field field = findDeclaredField(type, name);
+        final boolean instanceField = field != null && !Modifier.isStatic(field.getModifiers());
+        // name() is an accessor only if backed by the field (records, fluent accessors), not any method like close()
+        final String[] methodNames = instanceField
+            ? new String[] {"get" + capitalizedName, "is" + capitalizedName, name}
+            : new String[] {"get" + capitalizedName, "is" + capitalizedName};
+
+        for (final String methodName : methodNames) {
+            try {
+                final Method method = type.getMethod(methodName);
+
+                if (!Modifier.isStatic(method.getModifiers())
+                        && method.getReturnType() != void.class
+                        && method.getDeclaringClass() != Object.class) {
+                    return Optional.of(new FieldAccessor(type, name, method.getReturnType(), lookup.unreflect(method)));
+                }
+            } catch (NoSuchMethodException | IllegalAccessException exception) {
+                // Try next getter name or field
+            }
+        }
+
+        if (!instanceField) {
+            return Optional.empty();
+        }
+
+        try {
+            final MethodHandles.Lookup privateLookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), lookup);
+
+            return Optional.of(new FieldAccessor(type, name, field.getType(), privateLookup.unreflectGetter(field)));
+        } catch (IllegalAccessException exception) {
+            throw new IllegalStateException("Could not access field: " + name + " of: " + type.getName() + "! Reason: " + exception.getMessage(), exception);
+        }
+    }
+
+    private static Field findDeclaredField(final Class<?> type, final String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(name);
+            } catch (NoSuchFieldException exception) {
+                // Try superclass
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,471 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterExpression;
+import com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException;
+import com.slmdev.jsonapi.simple.request.FilterPlanCache;
+import com.slmdev.jsonapi.simple.request.FilterValueConverters;
+import com.slmdev.jsonapi.simple.request.LongValueSet;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compiler of the request {@link Filter} to the {@link Predicate} over objects of the required class,
+ * i.e. to filter cached or in-memory collections of DTO.
+ *
+ * <p>Field accessors resolved once with {@link FieldAccessor}, filter values converted to the field type
+ * once per filter, {@code CONTAIN} compiled to the {@link ContainsMatcher} and {@code IN} list to the
+ * {@link LongValueSet} for integral fields or hash set for other types. Compiled plan (accessors and operators)
+ * cached by the filter shape ({@link FilterPlanCache}): fields, operators and groups without values. Nested fields
+ * filtered by dotted paths, for example {@code filter[address.city]=Berlin}.
+ *
+ * <p>Filter {@link FilterExpression} tree ({@code or} groups and several operators on the same field) is compiled
+ * with conditions of each group ordered by estimated cost and selectivity: cheap selective conditions
+ * (equality) evaluated first, expensive ({@code CONTAIN}) last, evaluation stops as soon as group result known.
+ *
+ * <p>Any field of the class (including private fields and nested paths) can be filtered, set allowed fields to
+ * restrict filter to the public ones: {@code new FilterPredicateCompiler<>(UserDto.class, converters, Set.of("name", "status"))}.
+ *
+ * <p>Operators semantic is the same as in SQL: {@code null} field value matches only {@code EQ} with empty value
+ * ({@code NE} with empty value matches not {@code null} values), empty {@code IN} list matches nothing and empty
+ * {@code NOT_IN} list matches everything. Created predicates are immutable and can be used in parallel streams,
+ * for example:
+ * <pre>
+ * {@code
+ *     List<UserDto> users = cachedUsers.parallelStream()
+ *         .filter(FilterPredicateCompiler.forClass(UserDto.class).compile(filter))
+ *         .collect(Collectors.toList());
+ * }
+ * </pre>
+ *
+ * @param <T> object type
+ */
+public class FilterPredicateCompiler<T> {
+    private static final Map<Class<?>, FilterPredicateCompiler<?>> DEFAULT_COMPILERS = new ConcurrentHashMap<>();
+    private static final Set<Class<?>> INTEGRAL_TYPES = Set.of(
+        Long.class, long.class,
+        Integer.class, int.class,
+        Short.class, short.class,
+        Byte.class, byte.class
+    );
+
+    @Getter
+    private final Class<T> type;
+    private final FilterValueConverters converters;
+    private final Set<String> allowedFields;
+    private final FilterPlanCache<PlanNode> plans = new FilterPlanCache<>();
+
+    public FilterPredicateCompiler(final @NonNull Class<T> type) {
+        this(type, FilterValueConverters.getDefault());
+    }
+
+    /**
+     * @param type object class
+     * @param converters filter value converters
+     */
+    public FilterPredicateCompiler(final @NonNull Class<T> type, final @NonNull FilterValueConverters converters) {
+        this(type, converters, null);
+    }
+
+    /**
+     * @param type object class
+     * @param converters filter value converters
+     * @param allowedFields field names or dotted paths allowed in filter, null means all fields of the class
+     */
+    public FilterPredicateCompiler(final @NonNull Class<T> type,
+                                   final @NonNull FilterValueConverters converters,
+                                   final Set<String> allowedFields) {
+        this.type = type;
+        this.converters = converters;
+        this.allowedFields = (allowedFields != null ? Set.copyOf(allowedFields) : null);
+    }
+
+    /**
+     * Get shared compiler with default converters for the class.
+     *
+     * @param type object class
+     * @param <T> object type
+     * @return compiler
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FilterPredicateCompiler<T> forClass(final @NonNull Class<T> type) {
+        return (FilterPredicateCompiler<T>)DEFAULT_COMPILERS.computeIfAbsent(type, FilterPredicateCompiler::new);
+    }
+
+    /**
+     * Compile filter to the predicate: all conditions must match for flat filter,
+     * for {@link FilterExpression} tree {@code AND} and {@code OR} groups are evaluated with short-circuit.
+     *
+     * @param filter request filter, null means no restrictions
+     * @throws FilterFieldNotAllowedException if filter field is not allowed or class has no filter field
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return predicate
+     */
+    @SuppressWarnings("unchecked")
+    public Predicate<T> compile(final Filter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return object -> true;
+        }
+        final FilterExpression expression = filter.getExpression();
+
+        return (Predicate<T>)plans.get(expression, this::createPlan).bind(expression, converters);
+    }
+
+    /**
+     * @return number of cached filter plans
+     */
+    public int getCachedPlansCount() {
+        return plans.size();
+    }
+
+    /**
+     * @return statistics of the filter plans cache
+     */
+    public FilterPlanCache.Stats getPlanCacheStats() {
+        return plans.getStats();
+    }
+
+    private PlanNode createPlan(final FilterExpression expression) {
+        if (expression.isCondition()) {
+            final Filter.FilterItem item = expression.getItem();
+
+            if (allowedFields != null && !allowedFields.contains(item.getField())) {
+                throw notAllowed(item);
+            }
+            final FieldAccessor accessor = FieldAccessor.of(type, item.getField())
+                .orElseThrow(() -> notAllowed(item));
+
+            return PlanNode.condition(new FieldCondition(accessor, getOperator(item)));
+        }
+        final List<FilterExpression> children = expression.getChildren();
+        final PlanNode[] childPlans = new PlanNode[children.size()];
+
+        for (int i = 0; i < childPlans.length; ++i) {
+            childPlans[i] = createPlan(children.get(i));
+        }
+        return PlanNode.group(expression.getType() == FilterExpression.Type.OR, childPlans);
+    }
+
+    private static FilterFieldNotAllowedException notAllowed(final Filter.FilterItem item) {
+        return new FilterFieldNotAllowedException("filter[" + item.getField() + "]", "Filter field: " + item.getField() + " not allowed!");
+    }
+
+    private static Filter.FilterItem.Operator getOperator(final Filter.FilterItem item) {
+        return (item.getOperator() != null ? item.getOperator() : Filter.FilterItem.Operator.EQ);
+    }
+
+    /**
+     * Compiled node of the filter expression with estimated cost and selectivity.
+     *
+     * <p>Group children ordered once when plan created: for {@code AND} by cost per rejected element
+     * ({@code cost / (1 - selectivity)}), for {@code OR} by cost per matched element ({@code cost / selectivity}),
+     * so cheap and selective conditions (i.e. equality) are evaluated before expensive ones ({@code CONTAIN})
+     * and evaluation stops on the first decisive result.
+     */
+    private static final class PlanNode {
+        private static final double MIN_PROBABILITY = 0.000001;
+
+        private final FieldCondition condition;
+        private final boolean or;
+        private final PlanNode[] children;
+        private final int[] childIndexes;
+        private final double cost;
+        private final double selectivity;
+
+        private PlanNode(final FieldCondition condition,
+                         final boolean or,
+                         final PlanNode[] children,
+                         final int[] childIndexes,
+                         final double cost,
+                         final double selectivity) {
+            this.condition = condition;
+            this.or = or;
+            this.children = children;
+            this.childIndexes = childIndexes;
+            this.cost = cost;
+            this.selectivity = selectivity;
+        }
+
+        static PlanNode condition(final FieldCondition condition) {
+            return new PlanNode(condition, false, null, null, condition.estimateCost(), condition.estimateSelectivity());
+        }
+
+        static PlanNode group(final boolean or, final PlanNode[] children) {
+            final Integer[] order = new Integer[children.length];
+
+            for (int i = 0; i < order.length; ++i) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(index -> children[index].rank(or)));
+
+            final PlanNode[] orderedChildren = new PlanNode[children.length];
+            final int[] childIndexes = new int[children.length];
+            // Probability that evaluation reaches the next child
+            double reachProbability = 1;
+            double cost = 0;
+
+            for (int i = 0; i < order.length; ++i) {
+                final PlanNode child = children[order[i]];
+
+                orderedChildren[i] = child;
+                childIndexes[i] = order[i];
+                cost += reachProbability * child.cost;
+                reachProbability *= (or ? 1 - child.selectivity : child.selectivity);
+            }
+            final double selectivity = (or ? 1 - reachProbability : reachProbability);
+
+            return new PlanNode(null, or, orderedChildren, childIndexes, cost, selectivity);
+        }
+
+        private double rank(final boolean inOrGroup) {
+            return (inOrGroup
+                ? cost / Math.max(selectivity, MIN_PROBABILITY)
+                : cost / Math.max(1 - selectivity, MIN_PROBABILITY));
+        }
+
+        Predicate<Object> bind(final FilterExpression expression, final FilterValueConverters converters) {
+            if (condition != null) {
+                return condition.bind(expression.getItem(), converters);
+            }
+            final List<Predicate<Object>> predicates = new ArrayList<>(children.length);
+
+            for (int i = 0; i < children.length; ++i) {
+                predicates.add(children[i].bind(expression.getChildren().get(childIndexes[i]), converters));
+            }
+
+            if (predicates.isEmpty()) {
+                return (or ? object -> false : object -> true);
+            } else if (predicates.size() == 1) {
+                return predicates.get(0);
+            }
+
+            if (or) {
+                return object -> {
+                    for (final Predicate<Object> predicate : predicates) {
+                        if (predicate.test(object)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            }
+            return object -> {
+                for (final Predicate<Object> predicate : predicates) {
+                    if (!predicate.test(object)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+    }
+
+    /**
+     * Compiled filter condition: field accessor with operator.
+     */
+    private static class FieldCondition {
+        private final FieldAccessor accessor;
+        private final Filter.FilterItem.Operator operator;
+
+        FieldCondition(final FieldAccessor accessor, final Filter.FilterItem.Operator operator) {
+            this.accessor = accessor;
+            this.operator = operator;
+        }
+
+        /**
+         * Estimate relative cost of the single evaluation, nested fields cost more.
+         */
+        double estimateCost() {
+            final double pathCost = countPathSegments(accessor.getName());
+
+            switch (operator) {
+                case EQ:
+                case NE:
+                    return pathCost;
+                case CONTAIN:
+                case NOT_CONTAIN:
+                    return pathCost + 8;
+                default:
+                    return pathCost + 1;
+            }
+        }
+
+        /**
+         * Estimate part of the elements matching the condition.
+         */
+        double estimateSelectivity() {
+            switch (operator) {
+                case EQ:
+                    return 0.1;
+                case IN:
+                    return 0.3;
+                case CONTAIN:
+                    return 0.2;
+                case GT:
+                case GTE:
+                case LT:
+                case LTE:
+                    return 0.33;
+                case NOT_IN:
+                    return 0.7;
+                case NOT_CONTAIN:
+                    return 0.8;
+                default:
+                    return 0.9;
+            }
+        }
+
+        private static int countPathSegments(final String path) {
+            int count = 1;
+
+            for (int i = 0; i < path.length(); ++i) {
+                if (path.charAt(i) == Filter.PATH_SEPARATOR) {
+                    ++count;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Create predicate with the converted filter values.
+         */
+        Predicate<Object> bind(final Filter.FilterItem item, final FilterValueConverters converters) {
+            final Class<?> valueType = accessor.getType();
+
+            switch (operator) {
+                case EQ: {
+                    final Object value = item.value(valueType, converters).orElse(null);
+
+                    if (value == null) {
+                        return object -> accessor.get(object) == null;
+                    }
+                    return object -> isEqual(accessor.get(object), value);
+                }
+                case NE: {
+                    final Object value = item.value(valueType, converters).orElse(null);
+
+                    if (value == null) {
+                        return object -> accessor.get(object) != null;
+                    }
+                    return object -> {
+                        final Object fieldValue = accessor.get(object);
+
+                        return fieldValue != null && !isEqual(fieldValue, value);
+                    };
+                }
+                case GT:
+                    return comparison(item, converters, result -> result > 0);
+                case GTE:
+                    return comparison(item, converters, result -> result >= 0);
+                case LT:
+                    return comparison(item, converters, result -> result < 0);
+                case LTE:
+                    return comparison(item, converters, result -> result <= 0);
+                case IN: {
+                    final List<?> values = item.values(valueType, converters);
+
+                    if (values.isEmpty()) {
+                        return object -> false;
+                    }
+                    final Predicate<Object> contains = membership(values);
+
+                    return object -> contains.test(accessor.get(object));
+                }
+                case NOT_IN: {
+                    final List<?> values = item.values(valueType, converters);
+
+                    if (values.isEmpty()) {
+                        return object -> true;
+                    }
+                    final Predicate<Object> contains = membership(values);
+
+                    return object -> {
+                        final Object fieldValue = accessor.get(object);
+
+                        return fieldValue != null && !contains.test(fieldValue);
+                    };
+                }
+                case CONTAIN: {
+                    final ContainsMatcher matcher = new ContainsMatcher(Objects.requireNonNullElse(item.stringValue(), ""));
+
+                    return object -> matcher.matches(toCharSequence(accessor.get(object)));
+                }
+                case NOT_CONTAIN: {
+                    final ContainsMatcher matcher = new ContainsMatcher(Objects.requireNonNullElse(item.stringValue(), ""));
+
+                    return object -> {
+                        final CharSequence fieldValue = toCharSequence(accessor.get(object));
+
+                        return fieldValue != null && !matcher.matches(fieldValue);
+                    };
+                }
+                default:
+                    throw new IllegalStateException("Could not create filter predicate! Unsupported operator: " + operator);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Predicate<Object> comparison(final Filter.FilterItem item,
+                                             final FilterValueConverters converters,
+                                             final IntPredicate result) {
+            final Object value = item.value(accessor.getType(), converters).orElse(null);
+
+            if (!(value instanceof Comparable)) {
+                return object -> false;
+            }
+            return object -> {
+                final Object fieldValue = accessor.get(object);
+
+                return fieldValue instanceof Comparable && result.test(((Comparable)fieldValue).compareTo(value));
+            };
+        }
+
+        private Predicate<Object> membership(final List<?> values) {
+            if (INTEGRAL_TYPES.contains(accessor.getType())) {
+                final long[] longValues = new long[values.size()];
+
+                for (int i = 0; i < longValues.length; ++i) {
+                    longValues[i] = ((Number)values.get(i)).longValue();
+                }
+                final LongValueSet valueSet = LongValueSet.of(longValues);
+
+                return value -> value != null && valueSet.contains(((Number)value).longValue());
+            }
+            final Set<Object> valueSet = new HashSet<>(values);
+
+            return value -> value != null && valueSet.contains(value);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static boolean isEqual(final Object fieldValue, final Object value) {
+            if (fieldValue == null) {
+                return false;
+            }
+
+            if (value instanceof Comparable && value.getClass() == fieldValue.getClass()) {
+                // Compare instead of equals, so BigDecimal 1.0 equals 1.00
+                return ((Comparable)value).compareTo(fieldValue) == 0;
+            }
+            return value.equals(fieldValue);
+        }
+
+        private static CharSequence toCharSequence(final Object value) {
+            if (value == null || value instanceof CharSequence) {
+                return (CharSequence)value;
+            }
+            return String.valueOf(value);
+        }
+    }
+}
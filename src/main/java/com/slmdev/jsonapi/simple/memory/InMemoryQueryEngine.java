@@ -0,0 +1,255 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterValueConverters;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Query engine for in-memory collections: filter, sort and paginate with request {@link Filter} and {@link Pageable}.
+ *
+ * <p>Collection is scanned once: matched elements are counted for the page total and only elements
+ * required for the page are kept. Sorted early pages are selected with the bounded heap (top-K selection),
+ * so page {@code 1} of size {@code 25} doesn't sort all matched elements. Without filter and sort the page
+ * is a sublist view of the list without copying.
+ *
+ * <p>Result is the Spring Data {@link Page}, use it with
+ * {@link com.slmdev.jsonapi.simple.response.Response.ResponseBuilder#page(Page)} to set data, page size and total:
+ * <pre>
+ * {@code
+ *     Page<UserDto> page = InMemoryQueryEngine.forClass(UserDto.class).query(cachedUsers, filter, pageable);
+ *
+ *     return Response.<List<Data<UserDto>>, UserDto>builder()
+ *         .page(page)
+ *         .build();
+ * }
+ * </pre>
+ *
+ * @param <T> object type
+ */
+public class InMemoryQueryEngine<T> {
+    private static final int TOP_K_RATIO = 4;
+    private static final Map<Class<?>, InMemoryQueryEngine<?>> DEFAULT_ENGINES = new ConcurrentHashMap<>();
+
+    @Getter
+    private final Class<T> type;
+    private final FilterPredicateCompiler<T> predicateCompiler;
+    private final SortComparatorCompiler<T> comparatorCompiler;
+
+    public InMemoryQueryEngine(final @NonNull Class<T> type) {
+        this(type, null);
+    }
+
+    /**
+     * @param type object class
+     * @param allowedFields field names or dotted paths allowed in filter and sort, null means all fields of the class
+     */
+    public InMemoryQueryEngine(final @NonNull Class<T> type, final Set<String> allowedFields) {
+        this(new FilterPredicateCompiler<>(type, FilterValueConverters.getDefault(), allowedFields), new SortComparatorCompiler<>(type, allowedFields));
+    }
+
+    /**
+     * @param predicateCompiler filter compiler
+     * @param comparatorCompiler sort compiler
+     */
+    public InMemoryQueryEngine(final @NonNull FilterPredicateCompiler<T> predicateCompiler,
+                               final @NonNull SortComparatorCompiler<T> comparatorCompiler) {
+        if (predicateCompiler.getType() != comparatorCompiler.getType()) {
+            throw new IllegalArgumentException("Could not create query engine! Filter and sort compilers have different types!");
+        }
+        this.type = predicateCompiler.getType();
+        this.predicateCompiler = predicateCompiler;
+        this.comparatorCompiler = comparatorCompiler;
+    }
+
+    /**
+     * Get shared engine with the shared filter and sort compilers for the class.
+     *
+     * @param type object class
+     * @param <T> object type
+     * @return engine
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> InMemoryQueryEngine<T> forClass(final @NonNull Class<T> type) {
+        return (InMemoryQueryEngine<T>)DEFAULT_ENGINES.computeIfAbsent(
+            type,
+            key -> new InMemoryQueryEngine<>(FilterPredicateCompiler.forClass(type), SortComparatorCompiler.forClass(type))
+        );
+    }
+
+    /**
+     * See {@link InMemoryQueryEngine#query(Collection, Filter, Sort, Pageable)}, uses sort from pageable.
+     *
+     * @param data elements
+     * @param filter request filter, null means no restrictions
+     * @param pageable request pageable, null means unpaged
+     * @throws com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException if filter or sort field is not allowed or class has no such field
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return page of elements
+     */
+    public Page<T> query(final @NonNull Collection<? extends T> data, final Filter filter, final Pageable pageable) {
+        return query(data, filter, (pageable != null ? pageable.getSort() : null), pageable);
+    }
+
+    /**
+     * Filter, sort and paginate indexed elements: {@code CONTAIN} conditions on the indexed fields narrow
+     * the scanned elements to the {@link TrigramIndex#candidates(Filter) candidates}, other elements are skipped.
+     * Unsorted page is in the index order.
+     *
+     * @param index trigram index of the elements
+     * @param filter request filter, null means no restrictions
+     * @param pageable request pageable, null means unpaged
+     * @throws com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException if filter or sort field is not allowed or class has no such field
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return page of elements
+     */
+    public Page<T> query(final @NonNull TrigramIndex<? extends T> index, final Filter filter, final Pageable pageable) {
+        return query(index.candidates(filter), filter, pageable);
+    }
+
+    /**
+     * Filter, sort and paginate elements.
+     *
+     * <p>Returned page content is read-only and may be a view of the passed list.
+     *
+     * @param data elements
+     * @param filter request filter, null means no restrictions
+     * @param sort request sort, null means original order
+     * @param pageable request pageable (only page and size used), null means unpaged
+     * @throws com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException if filter or sort field is not allowed or class has no such field
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return page of elements
+     */
+    @SuppressWarnings("unchecked")
+    public Page<T> query(final @NonNull Collection<? extends T> data,
+                         final Filter filter,
+                         final Sort sort,
+                         final Pageable pageable) {
+        final Pageable page = (pageable != null ? pageable : Pageable.unpaged());
+        final boolean filtered = (filter != null && !filter.isEmpty());
+        final boolean sorted = (sort != null && sort.isSorted());
+        final Predicate<T> predicate = predicateCompiler.compile(filter);
+
+        if (!sorted) {
+            if (!filtered && data instanceof List) {
+                return new PageImpl<>(subList((List<T>)data, page), page, data.size());
+            }
+            return selectInOrder(data, predicate, page);
+        }
+        final Comparator<T> comparator = comparatorCompiler.compile(sort);
+
+        if (page.isPaged()
+                && page.getOffset() + page.getPageSize() <= data.size() / TOP_K_RATIO) {
+            return selectTopK(data, predicate, comparator, page);
+        }
+        final List<T> matched = new ArrayList<>();
+
+        for (final T element : data) {
+            if (predicate.test(element)) {
+                matched.add(element);
+            }
+        }
+        matched.sort(comparator);
+
+        return new PageImpl<>(subList(matched, page), page, matched.size());
+    }
+
+    /**
+     * Keep only page elements in the original order and count all matched elements.
+     */
+    private Page<T> selectInOrder(final Collection<? extends T> data, final Predicate<T> predicate, final Pageable page) {
+        final long start = (page.isPaged() ? page.getOffset() : 0);
+        final long end = (page.isPaged() ? start + page.getPageSize() : Long.MAX_VALUE);
+        final List<T> content = new ArrayList<>();
+        long total = 0;
+
+        for (final T element : data) {
+            if (predicate.test(element)) {
+                if (total >= start && total < end) {
+                    content.add(element);
+                }
+                ++total;
+            }
+        }
+        return new PageImpl<>(Collections.unmodifiableList(content), page, total);
+    }
+
+    /**
+     * Select first {@code offset + size} matched elements with the bounded heap and count all matched elements.
+     *
+     * <p>Heap head is the greatest selected element, so each new element compared with it only.
+     * Equal elements ordered by the position in collection, the same as stable sort.
+     */
+    private Page<T> selectTopK(final Collection<? extends T> data,
+                               final Predicate<T> predicate,
+                               final Comparator<T> comparator,
+                               final Pageable page) {
+        final int limit = (int)(page.getOffset() + page.getPageSize());
+        final Comparator<IndexedElement<T>> indexedComparator = (left, right) -> {
+            final int result = comparator.compare(left.element, right.element);
+
+            return (result != 0 ? result : Long.compare(left.index, right.index));
+        };
+        final PriorityQueue<IndexedElement<T>> heap = new PriorityQueue<>(limit + 1, indexedComparator.reversed());
+        long total = 0;
+
+        for (final T element : data) {
+            if (!predicate.test(element)) {
+                continue;
+            }
+            final IndexedElement<T> indexedElement = new IndexedElement<>(element, total++);
+
+            if (heap.size() < limit) {
+                heap.add(indexedElement);
+            } else if (indexedComparator.compare(indexedElement, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(indexedElement);
+            }
+        }
+        final List<IndexedElement<T>> selected = new ArrayList<>(heap);
+
+        selected.sort(indexedComparator);
+
+        final List<T> content = new ArrayList<>(page.getPageSize());
+
+        for (int i = (int)page.getOffset(); i < selected.size(); ++i) {
+            content.add(selected.get(i).element);
+        }
+        return new PageImpl<>(Collections.unmodifiableList(content), page, total);
+    }
+
+    private static <T> List<T> subList(final List<T> list, final Pageable page) {
+        if (page.isUnpaged()) {
+            return Collections.unmodifiableList(list);
+        }
+        final int start = (int)Math.min(page.getOffset(), list.size());
+        final int end = (int)Math.min((long)start + page.getPageSize(), list.size());
+
+        return Collections.unmodifiableList(list.subList(start, end));
+    }
+
+    private static final class IndexedElement<T> {
+        private final T element;
+        private final long index;
+
+        private IndexedElement(final T element, final long index) {
+            this.element = element;
+            this.index = index;
+        }
+    }
+}
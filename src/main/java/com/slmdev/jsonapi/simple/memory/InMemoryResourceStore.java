@@ -0,0 +1,664 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import com.slmdev.jsonapi.simple.annotation.JsonApiId;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterExpression;
+import com.slmdev.jsonapi.simple.request.FilterValueConverters;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory store of the resources keyed by the {@link JsonApiId} field with declared secondary indexes,
+ * answers request {@link Filter}, {@link Sort} and {@link Pageable} without full scan.
+ *
+ * <p>Hash index answers {@code EQ} and {@code IN} conditions, sorted index answers {@code EQ}, {@code IN},
+ * {@code GT}, {@code GTE}, {@code LT} and {@code LTE} conditions and the sort order. Index results are intersected
+ * through {@code AND} and united through {@code or} groups, then candidates are checked with the full filter
+ * predicate, so conditions without index ({@code NE}, {@code CONTAIN} etc.) are still applied. Sorted by the
+ * sorted index field page selected with the ordered index traversal: only equal keys inside the page are sorted
+ * by other sort fields. Selective filters (few candidates) sorted with the {@link InMemoryQueryEngine} instead.
+ * <pre>
+ * {@code
+ *     private final InMemoryResourceStore<CountryDto> store = InMemoryResourceStore.builder(CountryDto.class)
+ *         .hashIndex("region")
+ *         .sortedIndex("population")
+ *         .build();
+ *
+ *     store.putAll(countries);
+ *
+ *     public Response<List<Data<CountryDto>>> getCountries(@RequestJsonApiFilter Filter filter, @RequestJsonApiPage Pageable pageable) {
+ *         return Response.<List<Data<CountryDto>>, CountryDto>builder()
+ *             .page(store.query(filter, pageable))
+ *             .build();
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>Index keys are copied when resource put, so resources should not be changed after put: put changed
+ * resource again to update indexes. Store is thread-safe: queries share the read lock, changes take the write lock.
+ *
+ * @param <T> resource type
+ */
+public class InMemoryResourceStore<T> {
+    private static final int ORDERED_SCAN_RATIO = 8;
+
+    @Getter
+    private final Class<T> type;
+    @Getter
+    private final String idField;
+    private final FieldAccessor idAccessor;
+    private final Map<String, HashIndex> hashIndexes;
+    private final Map<String, SortedIndex> sortedIndexes;
+    private final FilterValueConverters converters;
+    private final Set<String> allowedFields;
+    private final FilterPredicateCompiler<T> predicateCompiler;
+    private final SortComparatorCompiler<T> comparatorCompiler;
+    private final InMemoryQueryEngine<T> engine;
+    private final List<T> elements = new ArrayList<>();
+    private final Map<Object, Integer> slots = new HashMap<>();
+    private final SlotList freeSlots = new SlotList();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private InMemoryResourceStore(final Builder<T> builder,
+                                  final FieldAccessor idAccessor,
+                                  final Map<String, HashIndex> hashIndexes,
+                                  final Map<String, SortedIndex> sortedIndexes) {
+        this.type = builder.type;
+        this.idField = idAccessor.getName();
+        this.idAccessor = idAccessor;
+        this.hashIndexes = hashIndexes;
+        this.sortedIndexes = sortedIndexes;
+        this.converters = builder.converters;
+        this.allowedFields = builder.allowedFields;
+        this.predicateCompiler = new FilterPredicateCompiler<>(type, converters, allowedFields);
+        this.comparatorCompiler = new SortComparatorCompiler<>(type, allowedFields);
+        this.engine = new InMemoryQueryEngine<>(predicateCompiler, comparatorCompiler);
+    }
+
+    public static <T> Builder<T> builder(final @NonNull Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    /**
+     * Add or replace resource with the same id.
+     *
+     * @param resource resource with not null id
+     * @throws IllegalArgumentException if resource id is null
+     */
+    public void put(final @NonNull T resource) {
+        putAll(Collections.singletonList(resource));
+    }
+
+    /**
+     * Add or replace resources under one lock.
+     *
+     * @param resources resources with not null ids
+     * @throws IllegalArgumentException if resource id is null
+     */
+    public void putAll(final @NonNull Collection<? extends T> resources) {
+        lock.writeLock().lock();
+
+        try {
+            for (final T resource : resources) {
+                final Object id = idAccessor.get(resource);
+
+                if (id == null) {
+                    throw new IllegalArgumentException("Could not put resource to the store! Reason: id field: " + idField + " is null!");
+                }
+                final Integer existingSlot = slots.get(id);
+                final int slot;
+
+                if (existingSlot != null) {
+                    slot = existingSlot;
+                    removeFromIndexes(slot);
+                    elements.set(slot, resource);
+                } else if (freeSlots.isEmpty()) {
+                    slot = elements.size();
+                    elements.add(resource);
+                } else {
+                    slot = freeSlots.removeLast();
+                    elements.set(slot, resource);
+                }
+                slots.put(id, slot);
+                hashIndexes.values().forEach(index -> index.add(slot, resource));
+                sortedIndexes.values().forEach(index -> index.add(slot, resource));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove resource by id.
+     *
+     * @param id resource id, string id converted to the id field type
+     * @return removed resource
+     */
+    public Optional<T> remove(final @NonNull Object id) {
+        lock.writeLock().lock();
+
+        try {
+            final Integer slot = slots.remove(toId(id));
+
+            if (slot == null) {
+                return Optional.empty();
+            }
+            final T resource = elements.get(slot);
+
+            removeFromIndexes(slot);
+            elements.set(slot, null);
+            freeSlots.add(slot);
+
+            return Optional.of(resource);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id resource id, string id converted to the id field type
+     * @return resource
+     */
+    public Optional<T> get(final @NonNull Object id) {
+        lock.readLock().lock();
+
+        try {
+            final Integer slot = slots.get(toId(id));
+
+            return (slot != null ? Optional.of(elements.get(slot)) : Optional.empty());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of resources
+     */
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all resources.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+
+        try {
+            elements.clear();
+            slots.clear();
+            freeSlots.clear();
+            hashIndexes.values().forEach(HashIndex::clear);
+            sortedIndexes.values().forEach(SortedIndex::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * See {@link InMemoryResourceStore#query(Filter, Sort, Pageable)}, uses sort from pageable.
+     *
+     * @param filter request filter, null means no restrictions
+     * @param pageable request pageable, null means unpaged
+     * @throws com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException if filter or sort field is not allowed or class has no such field
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return page of resources
+     */
+    public Page<T> query(final Filter filter, final Pageable pageable) {
+        return query(filter, (pageable != null ? pageable.getSort() : null), pageable);
+    }
+
+    /**
+     * Filter, sort and paginate resources with indexes.
+     *
+     * @param filter request filter, null means no restrictions
+     * @param sort request sort, null means store order
+     * @param pageable request pageable (only page and size used), null means unpaged
+     * @throws com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException if filter or sort field is not allowed or class has no such field
+     * @throws com.slmdev.jsonapi.simple.request.FilterValueConversionException if filter value could not be converted
+     * @return page of resources
+     */
+    public Page<T> query(final Filter filter, final Sort sort, final Pageable pageable) {
+        final Pageable page = (pageable != null ? pageable : Pageable.unpaged());
+        final Predicate<T> predicate = predicateCompiler.compile(filter);
+        final Sort.Order firstOrder = (sort != null && sort.isSorted() ? sort.iterator().next() : null);
+        // Not allowed sort field rejected by the sort compiler of the query engine
+        final SortedIndex orderIndex = (firstOrder != null && !firstOrder.isIgnoreCase() && (allowedFields == null || allowedFields.contains(firstOrder.getProperty()))
+            ? sortedIndexes.get(firstOrder.getProperty())
+            : null);
+
+        lock.readLock().lock();
+
+        try {
+            final BitSet candidates = (filter != null && !filter.isEmpty() ? narrow(filter.getExpression()) : null);
+
+            if (orderIndex != null && (candidates == null || candidates.cardinality() > slots.size() / ORDERED_SCAN_RATIO)) {
+                return selectOrdered(orderIndex, firstOrder, sort, candidates, predicate, page);
+            }
+            final List<T> data = new ArrayList<>(candidates != null ? candidates.cardinality() : slots.size());
+
+            if (candidates != null) {
+                for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                    data.add(elements.get(slot));
+                }
+            } else {
+                for (final T element : elements) {
+                    if (element != null) {
+                        data.add(element);
+                    }
+                }
+            }
+            return engine.query(data, filter, sort, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Traverse sorted index in the order, count matched resources and keep only page resources.
+     */
+    private Page<T> selectOrdered(final SortedIndex index,
+                                  final Sort.Order firstOrder,
+                                  final Sort sort,
+                                  final BitSet candidates,
+                                  final Predicate<T> predicate,
+                                  final Pageable page) {
+        final Sort tieSort = Sort.by(sort.stream().skip(1).toArray(Sort.Order[]::new));
+        final Comparator<T> tieComparator = (tieSort.isSorted() ? comparatorCompiler.compile(tieSort) : null);
+        final long start = (page.isPaged() ? page.getOffset() : 0);
+        final long end = (page.isPaged() ? start + page.getPageSize() : Long.MAX_VALUE);
+        final List<T> content = new ArrayList<>();
+        final List<T> group = new ArrayList<>();
+        long total = 0;
+
+        for (final Iterator<SlotList> iterator = index.iterator(firstOrder); iterator.hasNext(); ) {
+            final SlotList slotList = iterator.next();
+
+            group.clear();
+
+            for (int i = 0; i < slotList.size(); ++i) {
+                final int slot = slotList.get(i);
+
+                if (candidates == null || candidates.get(slot)) {
+                    final T element = elements.get(slot);
+
+                    if (predicate.test(element)) {
+                        group.add(element);
+                    }
+                }
+            }
+            final long groupEnd = total + group.size();
+
+            if (groupEnd > start && total < end) {
+                if (tieComparator != null && group.size() > 1) {
+                    group.sort(tieComparator);
+                }
+
+                for (int i = (int)Math.max(0, start - total); i < group.size() && total + i < end; ++i) {
+                    content.add(group.get(i));
+                }
+            }
+            total = groupEnd;
+        }
+        return new PageImpl<>(Collections.unmodifiableList(content), page, total);
+    }
+
+    /**
+     * @return candidate slots or null if expression could not be narrowed with indexes
+     */
+    private BitSet narrow(final FilterExpression expression) {
+        if (expression.isCondition()) {
+            final Filter.FilterItem item = expression.getItem();
+            final SortedIndex sortedIndex = sortedIndexes.get(item.getField());
+
+            if (sortedIndex != null) {
+                return sortedIndex.find(item);
+            }
+            final HashIndex hashIndex = hashIndexes.get(item.getField());
+
+            return (hashIndex != null ? hashIndex.find(item) : null);
+        }
+        final boolean or = (expression.getType() == FilterExpression.Type.OR);
+        BitSet result = null;
+
+        for (final FilterExpression child : expression.getChildren()) {
+            final BitSet childSlots = narrow(child);
+
+            if (childSlots == null) {
+                if (or) {
+                    return null;
+                }
+            } else if (result == null) {
+                result = childSlots;
+            } else if (or) {
+                result.or(childSlots);
+            } else {
+                result.and(childSlots);
+            }
+        }
+        return (or && result == null ? new BitSet() : result);
+    }
+
+    private void removeFromIndexes(final int slot) {
+        hashIndexes.values().forEach(index -> index.remove(slot));
+        sortedIndexes.values().forEach(index -> index.remove(slot));
+    }
+
+    private Object toId(final Object id) {
+        if (id instanceof String && idAccessor.getType() != String.class) {
+            return converters.getConverter(idAccessor.getType()).convert((String)id);
+        }
+        return id;
+    }
+
+    /**
+     * Hash and {@code BigDecimal} equality by value, so {@code 1.0} and {@code 1.00} are the same key.
+     */
+    private static Object toKey(final Object value) {
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal)value).stripTrailingZeros();
+        }
+        return value;
+    }
+
+    private static Filter.FilterItem.Operator getOperator(final Filter.FilterItem item) {
+        return (item.getOperator() != null ? item.getOperator() : Filter.FilterItem.Operator.EQ);
+    }
+
+    /**
+     * Index of the field values, stores key of each slot to remove it without reading changed resource.
+     */
+    private abstract class FieldIndex {
+        final FieldAccessor accessor;
+        final Map<Integer, Object> slotKeys = new HashMap<>();
+
+        FieldIndex(final FieldAccessor accessor) {
+            this.accessor = accessor;
+        }
+
+        void add(final int slot, final T resource) {
+            final Object key = toKey(accessor.get(resource));
+
+            slotKeys.put(slot, key);
+            getSlots(key, true).insertSorted(slot);
+        }
+
+        void remove(final int slot) {
+            final Object key = slotKeys.remove(slot);
+            final SlotList slotList = getSlots(key, false);
+
+            if (slotList != null && slotList.removeSorted(slot) && slotList.isEmpty()) {
+                removeKey(key);
+            }
+        }
+
+        void clear() {
+            slotKeys.clear();
+        }
+
+        /**
+         * @return slots of the {@code EQ} and {@code IN} conditions or null if operator not supported
+         */
+        BitSet find(final Filter.FilterItem item) {
+            final Filter.FilterItem.Operator operator = getOperator(item);
+            final BitSet result = new BitSet();
+
+            if (operator == Filter.FilterItem.Operator.EQ) {
+                final SlotList slotList = getSlots(toKey(item.value(accessor.getType(), converters).orElse(null)), false);
+
+                if (slotList != null) {
+                    slotList.setBits(result);
+                }
+                return result;
+            } else if (operator == Filter.FilterItem.Operator.IN) {
+                for (final Object value : item.values(accessor.getType(), converters)) {
+                    final SlotList slotList = (value != null ? getSlots(toKey(value), false) : null);
+
+                    if (slotList != null) {
+                        slotList.setBits(result);
+                    }
+                }
+                return result;
+            }
+            return null;
+        }
+
+        abstract SlotList getSlots(Object key, boolean create);
+
+        abstract void removeKey(Object key);
+    }
+
+    private final class HashIndex extends FieldIndex {
+        private final Map<Object, SlotList> keys = new HashMap<>();
+
+        HashIndex(final FieldAccessor accessor) {
+            super(accessor);
+        }
+
+        @Override
+        SlotList getSlots(final Object key, final boolean create) {
+            return (create ? keys.computeIfAbsent(key, value -> new SlotList()) : keys.get(key));
+        }
+
+        @Override
+        void removeKey(final Object key) {
+            keys.remove(key);
+        }
+
+        @Override
+        void clear() {
+            super.clear();
+            keys.clear();
+        }
+    }
+
+    /**
+     * Sorted index, {@code null} values kept separately as the tree has no {@code null} keys.
+     */
+    private final class SortedIndex extends FieldIndex {
+        private final NavigableMap<Object, SlotList> keys = new TreeMap<>();
+        private final SlotList nulls = new SlotList();
+
+        SortedIndex(final FieldAccessor accessor) {
+            super(accessor);
+        }
+
+        @Override
+        SlotList getSlots(final Object key, final boolean create) {
+            if (key == null) {
+                return nulls;
+            }
+            return (create ? keys.computeIfAbsent(key, value -> new SlotList()) : keys.get(key));
+        }
+
+        @Override
+        void removeKey(final Object key) {
+            if (key != null) {
+                keys.remove(key);
+            }
+        }
+
+        @Override
+        void clear() {
+            super.clear();
+            keys.clear();
+            nulls.clear();
+        }
+
+        @Override
+        BitSet find(final Filter.FilterItem item) {
+            final Filter.FilterItem.Operator operator = getOperator(item);
+            final NavigableMap<Object, SlotList> range;
+
+            switch (operator) {
+                case GT:
+                case GTE:
+                case LT:
+                case LTE: {
+                    final Object value = item.value(accessor.getType(), converters).orElse(null);
+
+                    if (value == null) {
+                        return new BitSet();
+                    }
+                    final boolean inclusive = (operator == Filter.FilterItem.Operator.GTE || operator == Filter.FilterItem.Operator.LTE);
+
+                    range = (operator == Filter.FilterItem.Operator.GT || operator == Filter.FilterItem.Operator.GTE)
+                        ? keys.tailMap(value, inclusive)
+                        : keys.headMap(value, inclusive);
+                    break;
+                }
+                default:
+                    return super.find(item);
+            }
+            final BitSet result = new BitSet();
+
+            range.values().forEach(slotList -> slotList.setBits(result));
+
+            return result;
+        }
+
+        /**
+         * @return slot lists of the equal keys in the order, {@code null} values are greater than any value
+         *         unless null handling set in the order
+         */
+        Iterator<SlotList> iterator(final Sort.Order order) {
+            final boolean nullsFirst = (order.getNullHandling() == Sort.NullHandling.NULLS_FIRST
+                || order.getNullHandling() == Sort.NullHandling.NATIVE && order.isDescending());
+            final List<SlotList> lists = new ArrayList<>(keys.size() + 1);
+
+            if (nullsFirst) {
+                lists.add(nulls);
+            }
+            lists.addAll(order.isAscending() ? keys.values() : keys.descendingMap().values());
+
+            if (!nullsFirst) {
+                lists.add(nulls);
+            }
+            return lists.iterator();
+        }
+    }
+
+    /**
+     * Builder of the {@link InMemoryResourceStore}, field accessors resolved in the {@link #build()} method.
+     *
+     * @param <T> resource type
+     */
+    public static class Builder<T> {
+        private final Class<T> type;
+        private final List<String> hashFields = new ArrayList<>();
+        private final List<String> sortedFields = new ArrayList<>();
+        private FilterValueConverters converters = FilterValueConverters.getDefault();
+        private Set<String> allowedFields;
+
+        private Builder(final Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * Add hash index for the {@code EQ} and {@code IN} conditions.
+         *
+         * @param field field name or dotted path of the nested field
+         * @return self link
+         */
+        public Builder<T> hashIndex(final @NonNull String field) {
+            Filter.validateFieldPath(field);
+            hashFields.add(field);
+
+            return this;
+        }
+
+        /**
+         * Add sorted index for the {@code EQ}, {@code IN}, range conditions and sort order, field must be comparable.
+         *
+         * @param field field name or dotted path of the nested field
+         * @return self link
+         */
+        public Builder<T> sortedIndex(final @NonNull String field) {
+            Filter.validateFieldPath(field);
+            sortedFields.add(field);
+
+            return this;
+        }
+
+        /**
+         * @param converters filter value converters, default registry used if not set
+         * @return self link
+         */
+        public Builder<T> converters(final @NonNull FilterValueConverters converters) {
+            this.converters = converters;
+
+            return this;
+        }
+
+        /**
+         * @param allowedFields field names or dotted paths allowed in filter and sort, all fields allowed if not set
+         * @return self link
+         */
+        public Builder<T> allowedFields(final @NonNull Set<String> allowedFields) {
+            this.allowedFields = Set.copyOf(allowedFields);
+
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if class has no {@link JsonApiId} field, index field not exists
+         *                                  or sorted index field is not comparable
+         * @return store
+         */
+        public InMemoryResourceStore<T> build() {
+            final FieldAccessor idAccessor = FieldAccessor.ofJsonApiId(type).orElseThrow(() -> new IllegalArgumentException(
+                "Could not create resource store! Reason: class: " + type.getName() + " has no @JsonApiId field!"
+            ));
+            final InMemoryResourceStore<T> store = new InMemoryResourceStore<>(this, idAccessor, new LinkedHashMap<>(), new LinkedHashMap<>());
+
+            for (final String field : hashFields) {
+                store.hashIndexes.put(field, store.new HashIndex(getAccessor(field)));
+            }
+
+            for (final String field : sortedFields) {
+                final FieldAccessor accessor = getAccessor(field);
+
+                if (!accessor.getType().isPrimitive() && !Comparable.class.isAssignableFrom(accessor.getType())) {
+                    throw new IllegalArgumentException("Could not create resource store! Reason: field: " + field + " is not comparable!");
+                }
+                store.sortedIndexes.put(field, store.new SortedIndex(accessor));
+            }
+            return store;
+        }
+
+        private FieldAccessor getAccessor(final String field) {
+            return FieldAccessor.of(type, field).orElseThrow(() -> new IllegalArgumentException(
+                "Could not create resource store! Reason: class: " + type.getName() + " has no field: " + field + "!"
+            ));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Growable int array of the element slots: stack of the free slots or sorted posting list of the index.
+ */
+final class SlotList {
+    private int[] values = new int[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int get(final int index) {
+        return values[index];
+    }
+
+    void add(final int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    int removeLast() {
+        return values[--size];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Insert slot keeping the list sorted, new slots usually greater than others and appended.
+     */
+    void insertSorted(final int value) {
+        if (size == 0 || values[size - 1] < value) {
+            add(value);
+
+            return;
+        }
+        final int index = Arrays.binarySearch(values, 0, size, value);
+
+        if (index >= 0) {
+            return;
+        }
+        final int position = -index - 1;
+
+        add(0);
+        System.arraycopy(values, position, values, position + 1, size - position - 1);
+        values[position] = value;
+    }
+
+    boolean removeSorted(final int value) {
+        final int index = Arrays.binarySearch(values, 0, size, value);
+
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        --size;
+
+        return true;
+    }
+
+    /**
+     * @param candidates sorted slots, not longer than the list
+     * @return candidates contained in the list, searched with binary search from the last position
+     */
+    int[] retain(final int[] candidates) {
+        final int[] result = new int[candidates.length];
+        int count = 0;
+        int from = 0;
+
+        for (final int candidate : candidates) {
+            final int index = Arrays.binarySearch(values, from, size, candidate);
+
+            if (index >= 0) {
+                result[count++] = candidate;
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    void setBits(final BitSet bits) {
+        for (int i = 0; i < size; ++i) {
+            bits.set(values[i]);
+        }
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
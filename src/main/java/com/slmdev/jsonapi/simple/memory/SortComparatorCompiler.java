@@ -0,0 +1,260 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiler of the request {@link Sort} to the {@link Comparator} over objects of the required class,
+ * i.e. to sort cached or in-memory collections of DTO.
+ *
+ * <p>Field accessors resolved once with {@link FieldAccessor}, primitive numeric fields compared without boxing.
+ * Compiled sort keys (accessors, directions and null handling) cached per sort, nested fields sorted
+ * by dotted paths ({@code sort=-owner.name}).
+ *
+ * <p>Descending order ({@code sort=-field}) reverses comparison of values. If null handling not set in the
+ * sort order {@code null} values are greater than any value (the same as in PostgreSQL): they are last
+ * in ascending order and first in descending order. With {@link Sort.NullHandling#NULLS_FIRST} or
+ * {@link Sort.NullHandling#NULLS_LAST} {@code null} values are first or last in any order. For example:
+ * <pre>
+ * {@code
+ *     cachedUsers.sort(SortComparatorCompiler.forClass(UserDto.class).compile(pageable.getSort()));
+ * }
+ * </pre>
+ *
+ * <p>Any field of the class can be used in sort, set allowed fields to restrict sort to the public ones:
+ * {@code new SortComparatorCompiler<>(UserDto.class, Set.of("name", "createDate"))}.
+ *
+ * <p>For expensive sort keys or sort by multiple fields use {@link #sort(Collection, Sort)}, it extracts
+ * sort keys once per element (decorate-sort-undecorate) instead of on each comparison.
+ *
+ * @param <T> object type
+ */
+public class SortComparatorCompiler<T> {
+    private static final int MAX_CACHED_COMPARATORS = 1024;
+    private static final Map<Class<?>, SortComparatorCompiler<?>> DEFAULT_COMPILERS = new ConcurrentHashMap<>();
+
+    @Getter
+    private final Class<T> type;
+    private final Set<String> allowedFields;
+    private final Map<Sort, List<SortKey>> sortKeys = new ConcurrentHashMap<>();
+
+    public SortComparatorCompiler(final @NonNull Class<T> type) {
+        this(type, null);
+    }
+
+    /**
+     * @param type object class
+     * @param allowedFields field names or dotted paths allowed in sort, null means all fields of the class
+     */
+    public SortComparatorCompiler(final @NonNull Class<T> type, final Set<String> allowedFields) {
+        this.type = type;
+        this.allowedFields = (allowedFields != null ? Set.copyOf(allowedFields) : null);
+    }
+
+    /**
+     * Get shared compiler for the class.
+     *
+     * @param type object class
+     * @param <T> object type
+     * @return compiler
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SortComparatorCompiler<T> forClass(final @NonNull Class<T> type) {
+        return (SortComparatorCompiler<T>)DEFAULT_COMPILERS.computeIfAbsent(type, SortComparatorCompiler::new);
+    }
+
+    /**
+     * Compile sort to the comparator.
+     *
+     * @param sort request sort, null or unsorted means all elements are equal
+     * @throws FilterFieldNotAllowedException if sort field is not allowed, class has no sort field or field is not comparable
+     * @return comparator
+     */
+    public Comparator<T> compile(final Sort sort) {
+        final List<SortKey> keys = getSortKeys(sort);
+
+        if (keys.isEmpty()) {
+            return (left, right) -> 0;
+        }
+
+        if (keys.size() == 1) {
+            final SortKey key = keys.get(0);
+
+            return key::compareObjects;
+        }
+        final SortKey[] keysArray = keys.toArray(new SortKey[0]);
+
+        return (left, right) -> {
+            for (final SortKey key : keysArray) {
+                final int result = key.compareObjects(left, right);
+
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * Sort elements to the new list with sort keys extracted once per element (decorate-sort-undecorate).
+     *
+     * <p>Sort is stable, equal elements keep their order.
+     *
+     * @param elements elements to sort, collection is not modified
+     * @param sort request sort, null or unsorted means original order
+     * @throws FilterFieldNotAllowedException if sort field is not allowed, class has no sort field or field is not comparable
+     * @return new sorted list
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> sort(final @NonNull Collection<? extends T> elements, final Sort sort) {
+        final List<SortKey> keys = getSortKeys(sort);
+
+        if (keys.isEmpty() || elements.size() < 2) {
+            return new ArrayList<>(elements);
+        }
+        final SortKey[] keysArray = keys.toArray(new SortKey[0]);
+        final int elementIndex = keysArray.length;
+        final Object[][] rows = new Object[elements.size()][];
+        int index = 0;
+
+        for (final T element : elements) {
+            final Object[] row = new Object[keysArray.length + 1];
+
+            for (int i = 0; i < keysArray.length; ++i) {
+                row[i] = keysArray[i].extract(element);
+            }
+            row[elementIndex] = element;
+            rows[index++] = row;
+        }
+        Arrays.sort(rows, (left, right) -> {
+            for (int i = 0; i < keysArray.length; ++i) {
+                final int result = keysArray[i].compareValues(left[i], right[i]);
+
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        });
+
+        final List<T> result = new ArrayList<>(rows.length);
+
+        for (final Object[] row : rows) {
+            result.add((T)row[elementIndex]);
+        }
+        return result;
+    }
+
+    private List<SortKey> getSortKeys(final Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return Collections.emptyList();
+        }
+        final List<SortKey> keys = sortKeys.get(sort);
+
+        if (keys != null) {
+            return keys;
+        }
+        final List<SortKey> newKeys = new ArrayList<>();
+
+        for (final Sort.Order order : sort) {
+            if (allowedFields != null && !allowedFields.contains(order.getProperty())) {
+                throw notAllowed(order);
+            }
+            final FieldAccessor accessor = FieldAccessor.of(type, order.getProperty())
+                .orElseThrow(() -> notAllowed(order));
+
+            if (!isComparable(accessor)) {
+                throw new FilterFieldNotAllowedException("sort", "Sort field: " + order.getProperty() + " is not comparable!");
+            }
+            newKeys.add(new SortKey(accessor, order));
+        }
+
+        if (sortKeys.size() < MAX_CACHED_COMPARATORS) {
+            sortKeys.putIfAbsent(sort, Collections.unmodifiableList(newKeys));
+        }
+        return newKeys;
+    }
+
+    private static FilterFieldNotAllowedException notAllowed(final Sort.Order order) {
+        return new FilterFieldNotAllowedException("sort", "Sort field: " + order.getProperty() + " not allowed!");
+    }
+
+    private static boolean isComparable(final FieldAccessor accessor) {
+        return accessor.getType().isPrimitive()
+            || accessor.getType() == Object.class
+            || Comparable.class.isAssignableFrom(accessor.getType());
+    }
+
+    /**
+     * Compiled sort order: field accessor with direction and null handling.
+     */
+    private static final class SortKey {
+        private final FieldAccessor accessor;
+        private final int direction;
+        private final Sort.NullHandling nullHandling;
+        private final boolean ignoreCase;
+        private final boolean integral;
+        private final boolean floatingPoint;
+
+        SortKey(final FieldAccessor accessor, final Sort.Order order) {
+            this.accessor = accessor;
+            this.direction = (order.isAscending() ? 1 : -1);
+            this.nullHandling = order.getNullHandling();
+            this.ignoreCase = order.isIgnoreCase();
+            this.integral = accessor.isIntegral();
+            this.floatingPoint = accessor.isFloatingPoint();
+        }
+
+        Object extract(final Object object) {
+            return accessor.get(object);
+        }
+
+        int compareObjects(final Object left, final Object right) {
+            if (integral) {
+                return direction * Long.compare(accessor.getLong(left), accessor.getLong(right));
+            } else if (floatingPoint) {
+                return direction * Double.compare(accessor.getDouble(left), accessor.getDouble(right));
+            }
+            return compareValues(accessor.get(left), accessor.get(right));
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        int compareValues(final Object left, final Object right) {
+            if (left == right) {
+                return 0;
+            } else if (left == null || right == null) {
+                return compareNull(left == null);
+            }
+
+            if (ignoreCase && left instanceof String && right instanceof String) {
+                return direction * Integer.signum(String.CASE_INSENSITIVE_ORDER.compare((String)left, (String)right));
+            }
+            return direction * Integer.signum(((Comparable)left).compareTo(right));
+        }
+
+        private int compareNull(final boolean isLeftNull) {
+            switch (nullHandling) {
+                case NULLS_FIRST:
+                    return (isLeftNull ? -1 : 1);
+                case NULLS_LAST:
+                    return (isLeftNull ? 1 : -1);
+                default:
+                    // Null is greater than any value
+                    return direction * (isLeftNull ? 1 : -1);
+            }
+        }
+    }
+}
@@ -0,0 +1,469 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterExpression;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index of the string fields for the {@code CONTAIN} filter operator over in-memory data.
+ *
+ * <p>Each indexed value split to the case-folded trigrams (three chars sequences), each trigram has the sorted
+ * posting list of the element slots. Search text with at least three chars narrows candidates to the intersection
+ * of its trigram posting lists (the smallest list first), so only candidates are checked with the {@link ContainsMatcher}
+ * instead of the full scan. Shorter search text can't be narrowed.
+ *
+ * <p>Index maintained incrementally with {@link #add} and {@link #remove}. Indexed field value must not be changed
+ * while element is in the index: remove element, change it and add again. Index plugged into the in-memory
+ * evaluation with {@link InMemoryQueryEngine#query(TrigramIndex, Filter, org.springframework.data.domain.Pageable)}:
+ * <pre>
+ * {@code
+ *     private final TrigramIndex<ProductDto> index = TrigramIndex.builder(ProductDto.class)
+ *         .field("name")
+ *         .field("vendor.name")
+ *         .build();
+ *
+ *     index.addAll(products);
+ *
+ *     Page<ProductDto> page = InMemoryQueryEngine.forClass(ProductDto.class).query(index, filter, pageable);
+ * }
+ * </pre>
+ *
+ * <p>Index is thread-safe: searches share the read lock, changes take the write lock.
+ *
+ * @param <T> element type
+ */
+public class TrigramIndex<T> {
+    private static final int GRAM_LENGTH = 3;
+    private static final int[] NO_SLOTS = new int[0];
+
+    @Getter
+    private final Class<T> type;
+    private final Map<String, FieldIndex> fields;
+    private final List<T> elements = new ArrayList<>();
+    private final Map<T, Integer> slots = new HashMap<>();
+    private final SlotList freeSlots = new SlotList();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private TrigramIndex(final Class<T> type, final Map<String, FieldIndex> fields) {
+        this.type = type;
+        this.fields = fields;
+    }
+
+    public static <T> Builder<T> builder(final @NonNull Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    /**
+     * @return indexed fields
+     */
+    public Set<String> getFields() {
+        return Collections.unmodifiableSet(fields.keySet());
+    }
+
+    /**
+     * Add element to the index.
+     *
+     * @param element element
+     * @return false if equal element already indexed
+     */
+    public boolean add(final @NonNull T element) {
+        lock.writeLock().lock();
+
+        try {
+            return addElement(element);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add elements to the index under one lock.
+     *
+     * @param elements elements
+     */
+    public void addAll(final @NonNull Collection<? extends T> elements) {
+        lock.writeLock().lock();
+
+        try {
+            for (final T element : elements) {
+                addElement(element);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove element from the index, its indexed field values must be the same as when element added.
+     *
+     * @param element element
+     * @return false if element is not indexed
+     */
+    public boolean remove(final @NonNull T element) {
+        lock.writeLock().lock();
+
+        try {
+            final Integer slot = slots.remove(element);
+
+            if (slot == null) {
+                return false;
+            }
+            final T indexed = elements.get(slot);
+
+            fields.values().forEach(field -> field.remove(indexed, slot));
+            elements.set(slot, null);
+            freeSlots.add(slot);
+
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all elements.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+
+        try {
+            elements.clear();
+            slots.clear();
+            freeSlots.clear();
+            fields.values().forEach(field -> field.postings.clear());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of indexed elements
+     */
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find elements which field contains the text ignoring case.
+     *
+     * @param field indexed field
+     * @param text search text
+     * @throws IllegalArgumentException if field is not indexed
+     * @return matched elements in the index order
+     */
+    public List<T> search(final @NonNull String field, final @NonNull String text) {
+        final FieldIndex fieldIndex = fields.get(field);
+
+        if (fieldIndex == null) {
+            throw new IllegalArgumentException("Could not search trigram index! Reason: field: " + field + " is not indexed!");
+        }
+        final ContainsMatcher matcher = new ContainsMatcher(text);
+
+        lock.readLock().lock();
+
+        try {
+            final int[] candidates = fieldIndex.find(text);
+            final List<T> result = new ArrayList<>();
+
+            if (candidates == null) {
+                for (final T element : elements) {
+                    if (element != null && fieldIndex.matches(element, matcher)) {
+                        result.add(element);
+                    }
+                }
+                return result;
+            }
+
+            for (final int slot : candidates) {
+                final T element = elements.get(slot);
+
+                if (fieldIndex.matches(element, matcher)) {
+                    result.add(element);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get candidates of the filter: elements which can match {@code CONTAIN} conditions on the indexed fields.
+     * Conditions combined through {@code AND} (intersection) and {@code or} groups (union), candidates must be
+     * checked with the full filter predicate.
+     *
+     * @param filter request filter, null means no restrictions
+     * @return candidate elements in the index order, all elements if filter could not be narrowed
+     */
+    public List<T> candidates(final Filter filter) {
+        lock.readLock().lock();
+
+        try {
+            final int[] candidates = (filter != null && !filter.isEmpty() ? narrow(filter.getExpression()) : null);
+            final List<T> result = new ArrayList<>(candidates != null ? candidates.length : slots.size());
+
+            if (candidates == null) {
+                for (final T element : elements) {
+                    if (element != null) {
+                        result.add(element);
+                    }
+                }
+                return result;
+            }
+
+            for (final int slot : candidates) {
+                result.add(elements.get(slot));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return sorted candidate slots or null if expression could not be narrowed
+     */
+    private int[] narrow(final FilterExpression expression) {
+        if (expression.isCondition()) {
+            final Filter.FilterItem item = expression.getItem();
+            final FieldIndex fieldIndex = fields.get(item.getField());
+
+            if (item.getOperator() != Filter.FilterItem.Operator.CONTAIN || fieldIndex == null || item.stringValue() == null) {
+                return null;
+            }
+            return fieldIndex.find(item.stringValue());
+        }
+        final boolean or = (expression.getType() == FilterExpression.Type.OR);
+        int[] result = null;
+
+        for (final FilterExpression child : expression.getChildren()) {
+            final int[] childSlots = narrow(child);
+
+            if (childSlots == null) {
+                if (or) {
+                    return null;
+                }
+            } else if (result == null) {
+                result = childSlots;
+            } else {
+                result = (or ? union(result, childSlots) : intersect(result, childSlots));
+            }
+        }
+        return (or && result == null ? NO_SLOTS : result);
+    }
+
+    private boolean addElement(final T element) {
+        if (slots.containsKey(element)) {
+            return false;
+        }
+        final int slot;
+
+        if (freeSlots.isEmpty()) {
+            slot = elements.size();
+            elements.add(element);
+        } else {
+            slot = freeSlots.removeLast();
+            elements.set(slot, element);
+        }
+        slots.put(element, slot);
+        fields.values().forEach(field -> field.add(element, slot));
+
+        return true;
+    }
+
+    /**
+     * Case folding of the char, the same for any case of the char.
+     */
+    private static char fold(final char symbol) {
+        return Character.toLowerCase(Character.toUpperCase(symbol));
+    }
+
+    /**
+     * @return distinct trigrams of the folded text packed to long
+     */
+    private static Set<Long> trigrams(final CharSequence text) {
+        final Set<Long> trigrams = new LinkedHashSet<>();
+
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); ++i) {
+            trigrams.add(((long)fold(text.charAt(i)) << 32) | ((long)fold(text.charAt(i + 1)) << 16) | fold(text.charAt(i + 2)));
+        }
+        return trigrams;
+    }
+
+    private static int[] intersect(final int[] left, final int[] right) {
+        final int[] result = new int[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                ++i;
+            } else if (left[i] > right[j]) {
+                ++j;
+            } else {
+                result[size++] = left[i];
+                ++i;
+                ++j;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int[] union(final int[] left, final int[] right) {
+        final int[] result = new int[left.length + right.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < left.length || j < right.length) {
+            if (j >= right.length || i < left.length && left[i] < right[j]) {
+                result[size++] = left[i++];
+            } else if (i >= left.length || right[j] < left[i]) {
+                result[size++] = right[j++];
+            } else {
+                result[size++] = left[i];
+                ++i;
+                ++j;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Posting lists of the single field.
+     */
+    private static final class FieldIndex {
+        private final FieldAccessor accessor;
+        private final Map<Long, SlotList> postings = new HashMap<>();
+
+        private FieldIndex(final FieldAccessor accessor) {
+            this.accessor = accessor;
+        }
+
+        private void add(final Object element, final int slot) {
+            final CharSequence value = getValue(element);
+
+            if (value != null) {
+                for (final Long trigram : trigrams(value)) {
+                    postings.computeIfAbsent(trigram, key -> new SlotList()).insertSorted(slot);
+                }
+            }
+        }
+
+        private void remove(final Object element, final int slot) {
+            final CharSequence value = getValue(element);
+
+            if (value != null) {
+                for (final Long trigram : trigrams(value)) {
+                    final SlotList posting = postings.get(trigram);
+
+                    if (posting != null && posting.removeSorted(slot) && posting.isEmpty()) {
+                        postings.remove(trigram);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return sorted candidate slots or null if text is too short
+         */
+        private int[] find(final String text) {
+            if (text.length() < GRAM_LENGTH) {
+                return null;
+            }
+            final List<SlotList> lists = new ArrayList<>();
+
+            for (final Long trigram : trigrams(text)) {
+                final SlotList posting = postings.get(trigram);
+
+                if (posting == null) {
+                    return NO_SLOTS;
+                }
+                lists.add(posting);
+            }
+            lists.sort((left, right) -> Integer.compare(left.size(), right.size()));
+
+            int[] result = lists.get(0).toArray();
+
+            for (int i = 1; i < lists.size() && result.length > 0; ++i) {
+                result = lists.get(i).retain(result);
+            }
+            return result;
+        }
+
+        private boolean matches(final Object element, final ContainsMatcher matcher) {
+            return matcher.matches(getValue(element));
+        }
+
+        private CharSequence getValue(final Object element) {
+            final Object value = accessor.get(element);
+
+            if (value == null || value instanceof CharSequence) {
+                return (CharSequence)value;
+            }
+            return String.valueOf(value);
+        }
+    }
+
+    /**
+     * Builder of the {@link TrigramIndex}, field accessors resolved in the {@link #build()} method.
+     *
+     * @param <T> element type
+     */
+    public static class Builder<T> {
+        private final Class<T> type;
+        private final Set<String> fields = new LinkedHashSet<>();
+
+        private Builder(final Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * @param name field name or dotted path of the nested field, for example {@code vendor.name}
+         * @return self link
+         */
+        public Builder<T> field(final @NonNull String name) {
+            Filter.validateFieldPath(name);
+            fields.add(name);
+
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if class has no field
+         * @return index
+         */
+        public TrigramIndex<T> build() {
+            final Map<String, FieldIndex> fieldIndexes = new LinkedHashMap<>();
+
+            for (final String field : fields) {
+                final FieldAccessor accessor = FieldAccessor.of(type, field).orElseThrow(() -> new IllegalArgumentException(
+                    "Could not create trigram index! Reason: class: " + type.getName() + " has no field: " + field + "!"
+                ));
+                fieldIndexes.put(field, new FieldIndex(accessor));
+            }
+            return new TrigramIndex<>(type, fieldIndexes);
+        }
+    }
+}
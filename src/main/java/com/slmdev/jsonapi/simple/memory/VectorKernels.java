@@ -0,0 +1,52 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import com.slmdev.jsonapi.simple.request.Filter;
+
+/**
+ * Vectorized versions of the {@link ColumnKernels} comparison and {@code IN} scans with the same semantic.
+ *
+ * <p>Implementation uses the incubator Vector API and is compiled only on JDK 17+ to the {@code META-INF/versions/17}
+ * of the multi-release jar, so it is loaded only if running JVM is 17+ with {@code --add-modules jdk.incubator.vector}
+ * and not disabled with {@code -Djsonapi.simple.vector=false}. Otherwise scalar kernels used.
+ */
+interface VectorKernels {
+    String ENABLED_PROPERTY = "jsonapi.simple.vector";
+    String VECTOR_MODULE = "jdk.incubator.vector";
+    String IMPLEMENTATION_CLASS = "com.slmdev.jsonapi.simple.memory.VectorColumnKernels";
+
+    /**
+     * Max {@code IN} operands compared lane by lane, longer lists scanned by scalar set lookup.
+     */
+    int MAX_IN_OPERANDS = 16;
+
+    void select(int[] values, int size, Filter.FilterItem.Operator operator, int operand, long[] result);
+
+    void select(long[] values, int size, Filter.FilterItem.Operator operator, long operand, long[] result);
+
+    void select(double[] values, int size, Filter.FilterItem.Operator operator, double operand, long[] result);
+
+    void selectRange(int[] values, int size, int from, int to, long[] result);
+
+    void selectIn(int[] values, int size, int[] operands, long[] result);
+
+    void selectIn(long[] values, int size, long[] operands, long[] result);
+
+    void selectIn(double[] values, int size, double[] operands, long[] result);
+
+    /**
+     * @return vector kernels or null if Vector API is not available
+     */
+    static VectorKernels load() {
+        if (!Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))
+                || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+
+        try {
+            return (VectorKernels)Class.forName(IMPLEMENTATION_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError exception) {
+            // Java 11 build or class path without the multi-release versions
+            return null;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import com.slmdev.jsonapi.simple.annotation.JsonApiId;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterValueConverters;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Versioned in-memory collection of the resources keyed by the {@link JsonApiId} field: readers work with
+ * the immutable {@link Snapshot} without any locking, writers publish new snapshot versions atomically.
+ *
+ * <p>Resources are partitioned to the fixed number of buckets by the id hash. Change copies only changed buckets
+ * and the bucket table, other buckets are shared with the previous snapshot, so writes don't copy all resources
+ * and old snapshots stay valid while readers use them. Writers are serialized, each write method publishes
+ * one version (batch methods publish all changes at once):
+ * <pre>
+ * {@code
+ *     private final VersionedResourceCollection<ProductDto> products = new VersionedResourceCollection<>(ProductDto.class);
+ *
+ *     // background consumer
+ *     products.putAll(changedProducts);
+ *
+ *     @GetMapping("/products")
+ *     public ResponseEntity<Response<List<Data<ProductDto>>>> getProducts(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+ *                                                                         @RequestJsonApiFilter Filter filter,
+ *                                                                         @RequestJsonApiPage Pageable pageable) {
+ *         final VersionedResourceCollection.Snapshot<ProductDto> snapshot = products.snapshot();
+ *
+ *         if (snapshot.isNotModified(ifNoneMatch)) {
+ *             return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getETag()).build();
+ *         }
+ *         return ResponseEntity.ok()
+ *             .eTag(snapshot.getETag())
+ *             .body(Response.<List<Data<ProductDto>>, ProductDto>builder().page(snapshot.query(filter, pageable)).build());
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>Resources must not be changed after put, put the changed copy instead.
+ *
+ * @param <T> resource type
+ */
+public class VersionedResourceCollection<T> {
+    public static final int DEFAULT_BUCKETS = 1024;
+
+    private static final Object[] EMPTY_BUCKET = new Object[0];
+
+    @Getter
+    private final Class<T> type;
+    private final FieldAccessor idAccessor;
+    private final FilterValueConverters converters;
+    private final InMemoryQueryEngine<T> engine;
+    private final String epoch;
+    private final Object writeLock = new Object();
+    private volatile Snapshot<T> current;
+
+    public VersionedResourceCollection(final @NonNull Class<T> type) {
+        this(type, DEFAULT_BUCKETS, InMemoryQueryEngine.forClass(type));
+    }
+
+    /**
+     * @param type resource class with {@link JsonApiId} field
+     * @param buckets number of buckets, rounded up to the power of two, more buckets make writes cheaper
+     *                for large collections and snapshot table larger
+     * @param engine query engine for snapshot queries
+     * @throws IllegalArgumentException if class has no {@link JsonApiId} field or buckets number is not positive
+     */
+    public VersionedResourceCollection(final @NonNull Class<T> type, final int buckets, final @NonNull InMemoryQueryEngine<T> engine) {
+        if (buckets < 1 || buckets > 1 << 30) {
+            throw new IllegalArgumentException("Could not create versioned collection! Reason: invalid buckets number: " + buckets);
+        }
+        this.type = type;
+        this.idAccessor = FieldAccessor.ofJsonApiId(type).orElseThrow(() -> new IllegalArgumentException(
+            "Could not create versioned collection! Reason: class: " + type.getName() + " has no @JsonApiId field!"
+        ));
+        this.converters = FilterValueConverters.getDefault();
+        this.engine = engine;
+        this.epoch = Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+
+        final Object[][] table = new Object[Integer.highestOneBit(buckets * 2 - 1)][];
+
+        Arrays.fill(table, EMPTY_BUCKET);
+
+        this.current = new Snapshot<>(this, 0, table);
+    }
+
+    /**
+     * Get the current snapshot, lock-free.
+     *
+     * @return immutable snapshot
+     */
+    public Snapshot<T> snapshot() {
+        return current;
+    }
+
+    /**
+     * Add or replace resource with the same id.
+     *
+     * @param resource resource with not null id
+     * @throws IllegalArgumentException if resource id is null
+     * @return published snapshot
+     */
+    public Snapshot<T> put(final @NonNull T resource) {
+        return update(Collections.singletonList(resource), Collections.emptyList(), false);
+    }
+
+    /**
+     * Add or replace resources, all changes published in one version.
+     *
+     * @param resources resources with not null ids
+     * @throws IllegalArgumentException if resource id is null
+     * @return published snapshot
+     */
+    public Snapshot<T> putAll(final @NonNull Collection<? extends T> resources) {
+        return update(resources, Collections.emptyList(), false);
+    }
+
+    /**
+     * Remove resource by id.
+     *
+     * @param id resource id, string id converted to the id field type
+     * @return published snapshot, the same snapshot if resource not exists
+     */
+    public Snapshot<T> remove(final @NonNull Object id) {
+        return update(Collections.emptyList(), Collections.singletonList(id), false);
+    }
+
+    /**
+     * Remove resources by ids, all changes published in one version.
+     *
+     * @param ids resource ids, string ids converted to the id field type
+     * @return published snapshot, the same snapshot if no resource removed
+     */
+    public Snapshot<T> removeAll(final @NonNull Collection<?> ids) {
+        return update(Collections.emptyList(), ids, false);
+    }
+
+    /**
+     * Replace all resources, i.e. full reload.
+     *
+     * @param resources resources with not null ids
+     * @throws IllegalArgumentException if resource id is null
+     * @return published snapshot
+     */
+    public Snapshot<T> replaceAll(final @NonNull Collection<? extends T> resources) {
+        return update(resources, Collections.emptyList(), true);
+    }
+
+    private Snapshot<T> update(final Collection<? extends T> puts, final Collection<?> removes, final boolean replace) {
+        synchronized (writeLock) {
+            final Snapshot<T> base = current;
+            final Object[][] table = base.table.clone();
+            final Map<Integer, List<Object>> changedBuckets = new HashMap<>();
+            boolean changed = replace;
+
+            if (replace) {
+                Arrays.fill(table, EMPTY_BUCKET);
+            }
+
+            for (final Object removeId : removes) {
+                final Object id = toId(removeId);
+                final List<Object> bucket = getBucket(table, changedBuckets, id);
+                final int index = indexOf(bucket, id);
+
+                if (index >= 0) {
+                    bucket.remove(index);
+                    changed = true;
+                }
+            }
+
+            for (final T resource : puts) {
+                final Object id = idAccessor.get(resource);
+
+                if (id == null) {
+                    throw new IllegalArgumentException("Could not put resource to the versioned collection! Reason: id field: " + idAccessor.getName() + " is null!");
+                }
+                final List<Object> bucket = getBucket(table, changedBuckets, id);
+                final int index = indexOf(bucket, id);
+
+                if (index >= 0) {
+                    bucket.set(index, resource);
+                } else {
+                    bucket.add(resource);
+                }
+                changed = true;
+            }
+
+            if (!changed) {
+                return base;
+            }
+            changedBuckets.forEach((index, bucket) -> table[index] = (bucket.isEmpty() ? EMPTY_BUCKET : bucket.toArray()));
+
+            final Snapshot<T> snapshot = new Snapshot<>(this, base.version + 1, table);
+
+            current = snapshot;
+
+            return snapshot;
+        }
+    }
+
+    /**
+     * Get mutable copy of the bucket, copied once per write.
+     */
+    private List<Object> getBucket(final Object[][] table, final Map<Integer, List<Object>> changedBuckets, final Object id) {
+        return changedBuckets.computeIfAbsent(bucketIndex(table.length, id), index -> new ArrayList<>(Arrays.asList(table[index])));
+    }
+
+    private int indexOf(final List<Object> bucket, final Object id) {
+        for (int i = 0; i < bucket.size(); ++i) {
+            if (id.equals(idAccessor.get(bucket.get(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Object toId(final Object id) {
+        if (id instanceof String && idAccessor.getType() != String.class) {
+            return converters.getConverter(idAccessor.getType()).convert((String)id);
+        }
+        return id;
+    }
+
+    private static int bucketIndex(final int buckets, final Object id) {
+        final int hash = id.hashCode();
+
+        return (hash ^ (hash >>> 16)) & (buckets - 1);
+    }
+
+    /**
+     * Immutable version of the collection. Snapshot is a read-only {@link List} of the resources in the bucket
+     * order, so it can be used with any in-memory query, and its version is the entity tag of the data.
+     *
+     * @param <T> resource type
+     */
+    public static final class Snapshot<T> extends AbstractList<T> implements RandomAccess {
+        private final VersionedResourceCollection<T> collection;
+        @Getter
+        private final long version;
+        private final Object[][] table;
+        private final int[] offsets;
+        private volatile String eTag;
+
+        private Snapshot(final VersionedResourceCollection<T> collection, final long version, final Object[][] table) {
+            this.collection = collection;
+            this.version = version;
+            this.table = table;
+            this.offsets = new int[table.length + 1];
+
+            for (int i = 0; i < table.length; ++i) {
+                offsets[i + 1] = offsets[i] + table[i].length;
+            }
+        }
+
+        /**
+         * Get strong entity tag of the snapshot: collection instance epoch and version, so tags of different
+         * collections or application restarts are different.
+         *
+         * @return quoted entity tag, for example {@code "5f3a9c1e2b-42"}
+         */
+        public String getETag() {
+            String result = eTag;
+
+            if (result == null) {
+                result = '"' + collection.epoch + '-' + Long.toHexString(version) + '"';
+                eTag = result;
+            }
+            return result;
+        }
+
+        /**
+         * Check {@code If-None-Match} request header.
+         *
+         * @param ifNoneMatch header value, comma separated entity tags (weak tags compared by value) or {@code *}
+         * @return true if header matches snapshot entity tag and response can be {@code 304 Not Modified}
+         */
+        public boolean isNotModified(final String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+
+            for (final String tag : ifNoneMatch.split(",")) {
+                final String value = tag.trim();
+
+                if (value.equals("*") || getETag().equals(value.startsWith("W/") ? value.substring(2) : value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @param id resource id, string id converted to the id field type
+         * @return resource
+         */
+        @SuppressWarnings("unchecked")
+        public Optional<T> findById(final @NonNull Object id) {
+            final Object resourceId = collection.toId(id);
+            final Object[] bucket = table[bucketIndex(table.length, resourceId)];
+
+            for (final Object resource : bucket) {
+                if (resourceId.equals(collection.idAccessor.get(resource))) {
+                    return Optional.of((T)resource);
+                }
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Filter, sort and paginate snapshot resources, see {@link InMemoryQueryEngine#query(Collection, Filter, Pageable)}.
+         *
+         * @param filter request filter, null means no restrictions
+         * @param pageable request pageable, null means unpaged
+         * @return page of resources
+         */
+        public Page<T> query(final Filter filter, final Pageable pageable) {
+            return collection.engine.query(this, filter, pageable);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(final int index) {
+            Objects.checkIndex(index, size());
+
+            int low = 0;
+            int high = table.length - 1;
+
+            // Last bucket which starts before or at the index
+            while (low < high) {
+                final int middle = (low + high + 1) >>> 1;
+
+                if (offsets[middle] <= index) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return (T)table[low][index - offsets[low]];
+        }
+
+        @Override
+        public int size() {
+            return offsets[table.length];
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private int bucket;
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    while (bucket < table.length && index >= table[bucket].length) {
+                        ++bucket;
+                        index = 0;
+                    }
+                    return bucket < table.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return (T)table[bucket][index++];
+                }
+            };
+        }
+    }
+}
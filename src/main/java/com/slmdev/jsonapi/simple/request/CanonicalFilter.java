@@ -0,0 +1,332 @@
+package com.slmdev.jsonapi.simple.request;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Frozen canonical snapshot of the {@link Filter}, i.e. key for response caches and request coalescing.
+ *
+ * <p>Canonical form doesn't depend on the params order: conditions of groups are sorted, nested groups of the same
+ * type flattened, duplicated conditions removed, {@code IN} and {@code NOT_IN} values sorted without duplicates and
+ * all values converted to strings. So {@code filter[b]=2&filter[a][in]=3,1,1} and {@code filter[a][in]=1,3&filter[b]=2}
+ * are equal. The 64-bit hash is calculated once, equality of different filters is checked by hash first:
+ * <pre>
+ * {@code
+ *     CanonicalFilter key = filter.toCanonical();
+ *     Response<List<Data<UserDto>>> response = responseCache.computeIfAbsent(key, this::findUsers);
+ * }
+ * </pre>
+ *
+ * <p>Method {@link #toQueryString(String)} encodes filter back to the request params
+ * ({@code filter[field][operator]=value1,value2} with {@code or} groups), i.e. for pagination links. Values
+ * with commas and several conditions with the same field and operator in one group can't be encoded exactly
+ * because request values are split by comma and merged for the same param.
+ */
+public final class CanonicalFilter {
+    private static final String DEFAULT_NAME = "filter";
+    private static final String OR_GROUP_KEY = "or";
+    private static final CanonicalFilter EMPTY = new CanonicalFilter(FilterExpression.empty());
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Canonical expression tree, conditions have {@code List<String>} values and non-null operators.
+     */
+    @Getter
+    private final FilterExpression expression;
+    private final String key;
+    private final long hash;
+    private volatile String queryString;
+
+    private CanonicalFilter(final FilterExpression expression) {
+        this.expression = expression;
+        this.key = toKey(expression);
+        this.hash = hash(key);
+    }
+
+    /**
+     * Create snapshot of the filter, next changes of the filter don't change snapshot.
+     *
+     * @param filter request filter, null means no restrictions
+     * @return canonical filter
+     */
+    public static CanonicalFilter of(final Filter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return EMPTY;
+        }
+        return of(filter.getExpression());
+    }
+
+    /**
+     * @param expression filter expression
+     * @return canonical filter
+     */
+    public static CanonicalFilter of(final @NonNull FilterExpression expression) {
+        final FilterExpression canonical = canonicalize(expression);
+
+        return (canonical.isEmpty() ? EMPTY : new CanonicalFilter(canonical));
+    }
+
+    /**
+     * Get 64-bit hash of the canonical form, the same for equal filters in any JVM.
+     *
+     * @return hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return true if filter has no conditions
+     */
+    public boolean isEmpty() {
+        return expression.isEmpty();
+    }
+
+    /**
+     * Create new mutable filter with canonical conditions.
+     *
+     * @return filter
+     */
+    public Filter toFilter() {
+        return new Filter(expression);
+    }
+
+    /**
+     * See {@link #toQueryString(String)}, params are named {@code filter}. Result is cached.
+     *
+     * @throws IllegalStateException if filter matches nothing and can't be encoded
+     * @return encoded params
+     */
+    public String toQueryString() {
+        String result = queryString;
+
+        if (result == null) {
+            result = toQueryString(DEFAULT_NAME);
+            queryString = result;
+        }
+        return result;
+    }
+
+    /**
+     * Encode filter to the URL-encoded request params without leading {@code &},
+     * for example {@code filter[age][gte]=18&filter[status][in]=active,blocked}.
+     *
+     * <p>Equality operator is omitted ({@code filter[name]=John}), empty filter encoded as empty string.
+     * Several {@code or} groups of the same level encoded as one group of their combined branches.
+     *
+     * @param name filter param name
+     * @throws IllegalStateException if filter matches nothing and can't be encoded
+     * @return encoded params
+     */
+    public String toQueryString(final @NonNull String name) {
+        if (expression.isNever()) {
+            throw new IllegalStateException("Could not encode filter! Reason: filter matches nothing!");
+        }
+        final StringBuilder buffer = new StringBuilder();
+
+        encodeGroup(buffer, encode(name), toGroupChildren(expression));
+
+        return buffer.toString();
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        } else if (!(object instanceof CanonicalFilter)) {
+            return false;
+        }
+        final CanonicalFilter other = (CanonicalFilter)object;
+
+        return hash == other.hash && key.equals(other.key);
+    }
+
+    @Override
+    public int hashCode() {
+        return (int)(hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "CanonicalFilter(" + key + ")";
+    }
+
+    private static FilterExpression canonicalize(final FilterExpression expression) {
+        if (expression.isCondition()) {
+            return FilterExpression.condition(canonicalize(expression.getItem()));
+        }
+        // Sorted by key without duplicates
+        final TreeMap<String, FilterExpression> children = new TreeMap<>();
+
+        for (final FilterExpression child : expression.getChildren()) {
+            final FilterExpression canonicalChild = canonicalize(child);
+
+            // AND with never group matches nothing, OR with empty group matches everything
+            if (expression.getType() == FilterExpression.Type.AND && canonicalChild.isNever()) {
+                return FilterExpression.never();
+            } else if (expression.getType() == FilterExpression.Type.OR && canonicalChild.isEmpty()) {
+                return FilterExpression.empty();
+            } else if (canonicalChild.getType() == expression.getType()) {
+                for (final FilterExpression nestedChild : canonicalChild.getChildren()) {
+                    children.put(toKey(nestedChild), nestedChild);
+                }
+            } else {
+                children.put(toKey(canonicalChild), canonicalChild);
+            }
+        }
+        final List<FilterExpression> distinctChildren = new ArrayList<>(children.values());
+
+        return (expression.getType() == FilterExpression.Type.AND
+            ? FilterExpression.and(distinctChildren)
+            : FilterExpression.or(distinctChildren));
+    }
+
+    private static Filter.FilterItem canonicalize(final Filter.FilterItem item) {
+        final Filter.FilterItem.Operator operator = (item.getOperator() != null ? item.getOperator() : Filter.FilterItem.Operator.EQ);
+        final List<String> values = new ArrayList<>();
+
+        if (item.stringValue() != null) {
+            for (final Object value : item.getValues()) {
+                if (value != null) {
+                    values.add(value.toString());
+                }
+            }
+        }
+
+        if (operator == Filter.FilterItem.Operator.IN || operator == Filter.FilterItem.Operator.NOT_IN) {
+            final TreeSet<String> sortedValues = new TreeSet<>(values);
+
+            values.clear();
+            values.addAll(sortedValues);
+        }
+        return Filter.FilterItem.builder()
+            .field(item.getField())
+            .operator(operator)
+            .value(Collections.unmodifiableList(values))
+            .build();
+    }
+
+    /**
+     * Unambiguous compact form of the canonical expression, strings are prefixed with length.
+     */
+    private static String toKey(final FilterExpression expression) {
+        final StringBuilder buffer = new StringBuilder();
+
+        appendKey(buffer, expression);
+
+        return buffer.toString();
+    }
+
+    private static void appendKey(final StringBuilder buffer, final FilterExpression expression) {
+        if (expression.isCondition()) {
+            final Filter.FilterItem item = expression.getItem();
+
+            appendKeyString(buffer.append('('), item.getField());
+            buffer.append(item.getOperator().ordinal());
+
+            for (final Object value : item.getValues()) {
+                appendKeyString(buffer.append(','), value.toString());
+            }
+            buffer.append(')');
+
+            return;
+        }
+        buffer.append(expression.getType() == FilterExpression.Type.AND ? "&(" : "|(");
+
+        for (final FilterExpression child : expression.getChildren()) {
+            appendKey(buffer, child);
+        }
+        buffer.append(')');
+    }
+
+    private static void appendKeyString(final StringBuilder buffer, final String value) {
+        buffer.append(value.length()).append(':').append(value);
+    }
+
+    /**
+     * FNV-1a hash of the key chars with final avalanche mix.
+     */
+    private static long hash(final String key) {
+        long result = FNV_OFFSET_BASIS;
+
+        for (int i = 0; i < key.length(); ++i) {
+            result = (result ^ key.charAt(i)) * FNV_PRIME;
+        }
+        result = (result ^ (result >>> 33)) * 0xff51afd7ed558ccdL;
+        result = (result ^ (result >>> 33)) * 0xc4ceb9fe1a85ec53L;
+
+        return result ^ (result >>> 33);
+    }
+
+    private static List<FilterExpression> toGroupChildren(final FilterExpression expression) {
+        return (expression.getType() == FilterExpression.Type.AND
+            ? expression.getChildren()
+            : Collections.singletonList(expression));
+    }
+
+    /**
+     * Encode {@code AND} group: conditions as params of the prefix and {@code OR} groups
+     * as branches of the prefix {@code or} group.
+     */
+    private static void encodeGroup(final StringBuilder buffer, final String prefix, final List<FilterExpression> children) {
+        final List<FilterExpression> orGroups = new ArrayList<>();
+
+        for (final FilterExpression child : children) {
+            if (child.isCondition()) {
+                encodeCondition(buffer, prefix, child.getItem());
+            } else {
+                orGroups.add(child);
+            }
+        }
+
+        if (orGroups.isEmpty()) {
+            return;
+        }
+        // Request has one or group per level: (a OR b) AND rest == (a AND rest) OR (b AND rest)
+        final List<FilterExpression> rest = orGroups.subList(1, orGroups.size());
+        final List<FilterExpression> branches = orGroups.get(0).getChildren();
+
+        for (int i = 0; i < branches.size(); ++i) {
+            final List<FilterExpression> branchChildren = new ArrayList<>(toGroupChildren(branches.get(i)));
+
+            branchChildren.addAll(rest);
+            encodeGroup(buffer, prefix + "[" + OR_GROUP_KEY + "][" + i + "]", branchChildren);
+        }
+    }
+
+    private static void encodeCondition(final StringBuilder buffer, final String prefix, final Filter.FilterItem item) {
+        if (buffer.length() > 0) {
+            buffer.append('&');
+        }
+        buffer.append(prefix).append('[').append(encode(item.getField())).append(']');
+
+        if (item.getOperator() != Filter.FilterItem.Operator.EQ) {
+            buffer.append('[').append(item.getOperator().name().toLowerCase(Locale.ROOT)).append(']');
+        }
+        buffer.append('=');
+
+        boolean first = true;
+
+        for (final Object value : item.getValues()) {
+            if (!first) {
+                buffer.append(',');
+            }
+            buffer.append(encode(value.toString()));
+            first = false;
+        }
+    }
+
+    private static String encode(final String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
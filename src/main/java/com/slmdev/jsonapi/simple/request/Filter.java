@@ -3,29 +3,134 @@ package com.slmdev.jsonapi.simple.request;
 import lombok.*;
 import org.springframework.util.StringUtils;
 
+import java.lang.reflect.Field;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Class contains filter values from {@code GET} requests.
+ *
+ * <p>Flat params (one condition per field, all conditions must match) are the view over the
+ * {@link FilterExpression} tree. For the tree with {@code or} groups or several operators on the same field
+ * ({@link #isFlat()} is false, only parsed with {@code @RequestJsonApiFilter(expressions = true)}) flat view
+ * could not represent the filter, so param accessors
+ * ({@link #getParam(String)}, {@link #getAllParams()}, typed values) throw {@link IllegalStateException}:
+ * use {@link #getExpression()} to evaluate the whole filter.
  */
 @ToString
-@AllArgsConstructor
 @EqualsAndHashCode
 public class Filter {
+    /**
+     * Separator of the nested field path segments, for example {@code filter[address.city]=Berlin}.
+     */
+    public static final char PATH_SEPARATOR = '.';
+
     private static final List<FilterItem.Operator> OPERATORS_REQUIRED_ARRAY_VALUES = Arrays.asList(
         FilterItem.Operator.IN,
         FilterItem.Operator.NOT_IN
     );
 
     private final Map<String, FilterItem> requestParams;
+    private FilterExpression expression;
 
     public Filter() {
         this.requestParams = new HashMap<>();
     }
 
+    public Filter(final Map<String, FilterItem> requestParams) {
+        this.requestParams = requestParams;
+    }
+
+    /**
+     * Create filter from the expression tree, flat params available only if expression is flat.
+     *
+     * @param expression filter expression
+     */
+    public Filter(final @NonNull FilterExpression expression) {
+        this.requestParams = new HashMap<>();
+
+        final List<FilterExpression> topLevel = (expression.getType() == FilterExpression.Type.AND
+            ? expression.getChildren()
+            : Collections.singletonList(expression));
+
+        for (final FilterExpression child : topLevel) {
+            if (child.isCondition()) {
+                requestParams.put(child.getItem().getField(), child.getItem());
+            }
+        }
+        this.expression = (expression.isFlat() ? null : expression);
+    }
+
+    /**
+     * Get filter expression tree, for flat filter it is {@code AND} of all params ordered by field.
+     *
+     * @return expression
+     */
+    public FilterExpression getExpression() {
+        if (expression != null) {
+            return expression;
+        }
+        final List<FilterItem> items = getAllParams();
+
+        if (items.isEmpty()) {
+            return FilterExpression.empty();
+        }
+        items.sort(Comparator.comparing(FilterItem::getField));
+
+        final List<FilterExpression> conditions = new ArrayList<>(items.size());
+
+        for (final FilterItem item : items) {
+            conditions.add(FilterExpression.condition(item));
+        }
+        return FilterExpression.and(conditions);
+    }
+
+    /**
+     * Check if flat params represent the whole filter (no {@code or} groups and one condition per field).
+     *
+     * @return true if filter is flat
+     */
+    public boolean isFlat() {
+        return expression == null;
+    }
+
+    /**
+     * @return true if filter has no conditions
+     */
+    public boolean isEmpty() {
+        return (expression != null ? expression.isEmpty() : requestParams.isEmpty());
+    }
+
+    /**
+     * Check if filter is known to match nothing, i.e. normalized by {@link FilterNormalizer} contradictory filter.
+     *
+     * @return true if filter matches nothing
+     */
+    public boolean matchesNothing() {
+        return expression != null && expression.isNever();
+    }
+
+    /**
+     * Get shape signature of the filter (fields, operators and groups without values), see {@link FilterExpression#getShape()}.
+     *
+     * @return shape signature
+     */
+    public String getShape() {
+        return getExpression().getShape();
+    }
+
+    /**
+     * Create frozen canonical snapshot of the filter with precomputed hash, i.e. for cache keys and links.
+     *
+     * @return canonical filter
+     */
+    public CanonicalFilter toCanonical() {
+        return CanonicalFilter.of(this);
+    }
+
     public Set<String> getAllKeys() {
-        return requestParams.keySet();
+        return flatParams().keySet();
     }
 
     /**
@@ -35,7 +140,7 @@ public class Filter {
      * @return true if exists and false otherwise
      */
     public boolean hasParam(final @NonNull String name) {
-        return requestParams.containsKey(name);
+        return flatParams().containsKey(name);
     }
 
     /**
@@ -43,10 +148,11 @@ public class Filter {
      *
      * <p>Value always is a list of strings.
      *
+     * @throws IllegalStateException if filter is not flat
      * @return list of all param values
      */
     public List<FilterItem> getAllParams() {
-        return new ArrayList<>(requestParams.values());
+        return new ArrayList<>(flatParams().values());
     }
 
     /**
@@ -55,10 +161,11 @@ public class Filter {
      * <p>Value always is a list of strings.
      *
      * @param name filter param name
+     * @throws IllegalStateException if filter is not flat
      * @return param value
      */
     public FilterItem getParam(final @NonNull String name) {
-        return requestParams.get(name);
+        return flatParams().get(name);
     }
 
     public Filter addParam(final @NonNull String key, final @NonNull Object value) {
@@ -73,42 +180,132 @@ public class Filter {
                            final @NonNull Filter.FilterItem filterItem) {
         requestParams.put(key, filterItem);
 
+        if (expression != null) {
+            expression = FilterExpression.and(List.of(expression, FilterExpression.condition(filterItem)));
+        }
+
         return this;
     }
 
     @SuppressWarnings("unchecked")
     public Optional<List<String>> listOfStringValues(final @NonNull String name) {
         if (hasParam(name)
-                && requestParams.get(name).getValue() instanceof Collection) {
+                && flatParams().get(name).getValue() instanceof Collection) {
             return Optional.of(
-                (List<String>)requestParams.get(name).getValue()
+                (List<String>)flatParams().get(name).getValue()
             );
         }
         return Optional.empty();
     }
 
-    @SuppressWarnings("unchecked")
     public Optional<List<Integer>> listOfIntegerValues(final @NonNull String name) {
-        if (hasParam(name)
-                && requestParams.get(name).getValue() instanceof Collection) {
-            return Optional.of(
-                ((List<String>)requestParams.get(name).getValue()).stream()
-                    .map(Integer::parseInt)
-                    .collect(Collectors.toList())
-            );
+        return arrayOfIntValues(name)
+            .map(Filter::asList);
+    }
+
+    public Optional<List<UUID>> listOfUuidValues(final @NonNull String name) {
+        return arrayOfUuidBits(name)
+            .map(Filter::asUuidList);
+    }
+
+    /**
+     * Get list values as primitive array.
+     *
+     * <p>Values parsed once on first call, each call returns a new copy of the array.
+     *
+     * @param name filter param name
+     * @throws NumberFormatException if any value is not a number
+     * @return array of values if param has list values
+     */
+    public Optional<int[]> arrayOfIntValues(final @NonNull String name) {
+        if (hasListValues(name)) {
+            return Optional.of(flatParams().get(name).intValues());
         }
         return Optional.empty();
     }
 
-    @SuppressWarnings("unchecked")
-    public Optional<List<UUID>> listOfUuidValues(final @NonNull String name) {
-        if (hasParam(name)
-                && requestParams.get(name).getValue() instanceof Collection) {
-            return Optional.of(
-                ((List<String>)requestParams.get(name).getValue()).stream()
-                    .map(UUID::fromString)
-                    .collect(Collectors.toList())
-            );
+    /**
+     * Get list values as primitive array.
+     *
+     * <p>Values parsed once on first call, each call returns a new copy of the array.
+     *
+     * @param name filter param name
+     * @throws NumberFormatException if any value is not a number
+     * @return array of values if param has list values
+     */
+    public Optional<long[]> arrayOfLongValues(final @NonNull String name) {
+        if (hasListValues(name)) {
+            return Optional.of(flatParams().get(name).longValues());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get distinct list values as primitive array sorted in ascending order.
+     *
+     * <p>Useful for large {@code IN} lists: duplicates removed and sorted values
+     * can be split to batches or used for binary search. Values parsed once on first call,
+     * each call returns a new copy of the array.
+     *
+     * @param name filter param name
+     * @throws NumberFormatException if any value is not a number
+     * @return sorted array of distinct values if param has list values
+     */
+    public Optional<int[]> arrayOfDistinctIntValues(final @NonNull String name) {
+        if (hasListValues(name)) {
+            return Optional.of(flatParams().get(name).distinctIntValues());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get distinct list values as primitive array sorted in ascending order.
+     *
+     * <p>Useful for large {@code IN} lists: duplicates removed and sorted values
+     * can be split to batches with {@link FilterValueBatches} or used for binary search.
+     * Values parsed once on first call, each call returns a new copy of the array.
+     *
+     * @param name filter param name
+     * @throws NumberFormatException if any value is not a number
+     * @return sorted array of distinct values if param has list values
+     */
+    public Optional<long[]> arrayOfDistinctLongValues(final @NonNull String name) {
+        if (hasListValues(name)) {
+            return Optional.of(flatParams().get(name).distinctLongValues());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get list values as set for membership tests over in-memory data.
+     *
+     * <p>Set created once on first call and returned for all next calls.
+     *
+     * @param name filter param name
+     * @throws NumberFormatException if any value is not a number
+     * @return set of values if param has list values
+     */
+    public Optional<LongValueSet> longValueSet(final @NonNull String name) {
+        if (hasListValues(name)) {
+            return Optional.of(flatParams().get(name).longValueSet());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Get list of UUID values packed in the primitive array.
+     *
+     * <p>Each UUID stored as two elements: most significant bits at index {@code 2 * i}
+     * and least significant bits at index {@code 2 * i + 1}. Values parsed once on first call,
+     * each call returns a new copy of the array.
+     *
+     * @param name filter param name
+     * @throws IllegalArgumentException if any value is not a UUID
+     * @return array of packed values if param has list values
+     */
+    public Optional<long[]> arrayOfUuidBits(final @NonNull String name) {
+        if (hasListValues(name)) {
+            return Optional.of(flatParams().get(name).uuidBits());
         }
         return Optional.empty();
     }
@@ -123,19 +320,15 @@ public class Filter {
     }
 
     public Optional<Integer> intValue(final @NonNull String name) {
-        final String param = getFilterValue(name);
-
-        if (param != null) {
-            return Optional.of(Integer.parseInt(param));
+        if (getFilterValue(name) != null) {
+            return Optional.of(flatParams().get(name).intValue());
         }
         return Optional.empty();
     }
 
     public Optional<Long> longValue(final @NonNull String name) {
-        final String param = getFilterValue(name);
-
-        if (param != null) {
-            return Optional.of(Long.parseLong(param));
+        if (getFilterValue(name) != null) {
+            return Optional.of(flatParams().get(name).longValue());
         }
         return Optional.empty();
     }
@@ -150,38 +343,161 @@ public class Filter {
     }
 
     public Optional<UUID> uuidValue(final @NonNull String name){
-        final String param = getFilterValue(name);
-
-        if (param != null) {
-            return Optional.of(UUID.fromString(param));
+        if (getFilterValue(name) != null) {
+            return Optional.of(flatParams().get(name).uuidValue());
         }
         return Optional.empty();
     }
 
+    /**
+     * See {@link Filter#value(String, Class, FilterValueConverters)}, uses default converters.
+     *
+     * @param name filter param name
+     * @param type required value type
+     * @param <T> required value type
+     * @throws FilterValueConversionException if value could not be converted
+     * @return converted value if param present
+     */
+    public <T> Optional<T> value(final @NonNull String name, final @NonNull Class<T> type) {
+        return value(name, type, FilterValueConverters.getDefault());
+    }
+
+    /**
+     * Get first filter value converted to the required type.
+     *
+     * <p>Value converted once and stored in the filter item for all next calls.
+     *
+     * @param name filter param name
+     * @param type required value type
+     * @param converters value converters registry
+     * @param <T> required value type
+     * @throws FilterValueConversionException if value could not be converted
+     * @throws IllegalArgumentException if no converter for the required type
+     * @return converted value if param present
+     */
+    public <T> Optional<T> value(final @NonNull String name,
+                                 final @NonNull Class<T> type,
+                                 final @NonNull FilterValueConverters converters) {
+        final FilterItem filterItem = flatParams().get(name);
+
+        if (filterItem == null) {
+            return Optional.empty();
+        }
+        return filterItem.value(type, converters);
+    }
+
+    /**
+     * See {@link Filter#values(String, Class, FilterValueConverters)}, uses default converters.
+     *
+     * @param name filter param name
+     * @param type required value type
+     * @param <T> required value type
+     * @throws FilterValueConversionException if any value could not be converted
+     * @return list of converted values if param present
+     */
+    public <T> Optional<List<T>> values(final @NonNull String name, final @NonNull Class<T> type) {
+        return values(name, type, FilterValueConverters.getDefault());
+    }
+
+    /**
+     * Get all filter values converted to the required type.
+     *
+     * <p>Values converted once and stored in the filter item for all next calls,
+     * returned list is read-only.
+     *
+     * @param name filter param name
+     * @param type required value type
+     * @param converters value converters registry
+     * @param <T> required value type
+     * @throws FilterValueConversionException if any value could not be converted
+     * @throws IllegalArgumentException if no converter for the required type
+     * @return list of converted values if param present
+     */
+    public <T> Optional<List<T>> values(final @NonNull String name,
+                                        final @NonNull Class<T> type,
+                                        final @NonNull FilterValueConverters converters) {
+        final FilterItem filterItem = flatParams().get(name);
+
+        if (filterItem == null) {
+            return Optional.empty();
+        }
+        return Optional.of(filterItem.values(type, converters));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T convert(final String name,
+                                 final Object value,
+                                 final Class<T> type,
+                                 final FilterValueConverter<T> converter) {
+        if (type.isInstance(value)) {
+            return (T)value;
+        }
+
+        try {
+            return converter.convert(String.valueOf(value));
+        } catch (RuntimeException exception) {
+            throw new FilterValueConversionException("filter[" + name + "]", value, type, exception);
+        }
+    }
+
     public Optional<Object> getAsObject(final @NonNull String name) {
         if (hasParam(name)) {
             return Optional.of(
-                requestParams.get(name).getValue()
+                flatParams().get(name).getValue()
             );
         }
         return Optional.empty();
     }
 
+    private Map<String, FilterItem> flatParams() {
+        if (expression != null) {
+            throw new IllegalStateException(
+                "Could not read filter params! Reason: filter has or groups or several conditions on the same field, use getExpression()"
+            );
+        }
+        return requestParams;
+    }
+
     private String getFilterValue(final @NonNull String name) {
-        final StringBuilder param = new StringBuilder();
+        final FilterItem filterItem = flatParams().get(name);
 
-        getAsObject(name).ifPresent(value -> {
-            if (value instanceof Collection) {
-                final List values = (List)value;
+        if (filterItem == null) {
+            return null;
+        }
+        return filterItem.stringValue();
+    }
 
-                if (!values.isEmpty()) {
-                    param.append(values.get(0));
-                }
-            } else {
-                param.append(value);
+    private boolean hasListValues(final @NonNull String name) {
+        return hasParam(name)
+            && flatParams().get(name).getValue() instanceof Collection;
+    }
+
+    private static List<Integer> asList(final int[] values) {
+        return new AbstractList<>() {
+            @Override
+            public Integer get(final int index) {
+                return values[index];
             }
-        });
-        return (param.length() > 0 ? param.toString() : null);
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    private static List<UUID> asUuidList(final long[] bits) {
+        return new AbstractList<>() {
+            @Override
+            public UUID get(final int index) {
+                return new UUID(bits[index * 2], bits[index * 2 + 1]);
+            }
+
+            @Override
+            public int size() {
+                return bits.length / 2;
+            }
+        };
     }
 
     public static Filter.FilterItem.FilterItemBuilder in(final @NonNull List<?> values) {
@@ -250,14 +566,385 @@ public class Filter {
         }
     }
 
+    /**
+     * Validate field name or dotted path of the nested field, for example {@code address.city}.
+     *
+     * @param path field path
+     * @throws IllegalArgumentException if path is empty or contains empty segments
+     */
+    public static void validateFieldPath(final @NonNull String path) {
+        int segmentStart = 0;
+
+        for (int i = 0; i <= path.length(); ++i) {
+            if (i == path.length() || path.charAt(i) == PATH_SEPARATOR) {
+                if (i == segmentStart) {
+                    throw new IllegalArgumentException("Could not prepare filter! Invalid field path: " + path + "!");
+                }
+                segmentStart = i + 1;
+            }
+        }
+    }
+
+    /**
+     * Split field path to the nested field names.
+     *
+     * @param path field name or dotted path, for example {@code address.city}
+     * @throws IllegalArgumentException if path is empty or contains empty segments
+     * @return field names, single name for not nested field
+     */
+    public static String[] splitFieldPath(final @NonNull String path) {
+        validateFieldPath(path);
+
+        if (path.indexOf(PATH_SEPARATOR) < 0) {
+            return new String[] {path};
+        }
+        return StringUtils.delimitedListToStringArray(path, String.valueOf(PATH_SEPARATOR));
+    }
+
+    /**
+     * Find type of the field declared in the class or its superclasses by the field name or dotted path.
+     *
+     * @param type resource class
+     * @param path field name or dotted path, for example {@code address.city}
+     * @throws IllegalArgumentException if path is empty or contains empty segments
+     * @return field type or null if any field of the path not exists
+     */
+    public static Class<?> findFieldType(final @NonNull Class<?> type, final @NonNull String path) {
+        Class<?> fieldType = type;
+
+        for (final String name : splitFieldPath(path)) {
+            fieldType = findDeclaredFieldType(fieldType, name);
+
+            if (fieldType == null) {
+                return null;
+            }
+        }
+        return fieldType;
+    }
+
+    private static Class<?> findDeclaredFieldType(final Class<?> type, final String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (final Field declaredField : current.getDeclaredFields()) {
+                if (declaredField.getName().equals(name)) {
+                    return declaredField.getType();
+                }
+            }
+        }
+        return null;
+    }
+
     @Getter
-    @Builder
     @ToString
     @EqualsAndHashCode
     public static class FilterItem {
+        private static final Object NO_VALUE = new Object();
+        private static final Object INT_VALUE_KEY = new Object();
+        private static final Object LONG_VALUE_KEY = new Object();
+        private static final Object UUID_VALUE_KEY = new Object();
+        private static final Object STRING_VALUE_KEY = new Object();
+        private static final Object INT_VALUES_KEY = new Object();
+        private static final Object LONG_VALUES_KEY = new Object();
+        private static final Object UUID_BITS_KEY = new Object();
+        private static final Object DISTINCT_INT_VALUES_KEY = new Object();
+        private static final Object DISTINCT_LONG_VALUES_KEY = new Object();
+        private static final Object LONG_VALUE_SET_KEY = new Object();
+
         private final String field;
         private final Object value;
         private final Operator operator;
+        @Getter(AccessLevel.NONE)
+        @ToString.Exclude
+        @EqualsAndHashCode.Exclude
+        private volatile Map<Object, Object> typedValues;
+
+        @Builder
+        public FilterItem(final String field, final Object value, final Operator operator) {
+            this.field = field;
+            this.value = value;
+            this.operator = operator;
+        }
+
+        /**
+         * Get first value as string.
+         *
+         * @return first value or null if value is empty
+         */
+        public String stringValue() {
+            final Object firstValue = getTypedValue(STRING_VALUE_KEY, filterItem -> {
+                final Object param = filterItem.getFirstValue();
+
+                if (param == null) {
+                    return NO_VALUE;
+                }
+                final String stringParam = param.toString();
+
+                return (stringParam.isEmpty() ? NO_VALUE : stringParam);
+            });
+            return (firstValue != NO_VALUE ? (String)firstValue : null);
+        }
+
+        /**
+         * Get first value as int, value parsed once.
+         *
+         * @throws NumberFormatException if value is not a number
+         * @return first value
+         */
+        public int intValue() {
+            return getTypedValue(INT_VALUE_KEY, filterItem -> toInt(filterItem.getFirstValue()));
+        }
+
+        /**
+         * Get first value as long, value parsed once.
+         *
+         * @throws NumberFormatException if value is not a number
+         * @return first value
+         */
+        public long longValue() {
+            return getTypedValue(LONG_VALUE_KEY, filterItem -> toLong(filterItem.getFirstValue()));
+        }
+
+        /**
+         * Get first value as UUID, value parsed once.
+         *
+         * @throws IllegalArgumentException if value is not a UUID
+         * @return first value
+         */
+        public UUID uuidValue() {
+            return getTypedValue(UUID_VALUE_KEY, filterItem -> toUuid(filterItem.getFirstValue()));
+        }
+
+        /**
+         * Get all values as int array, values parsed once
+         * and each call returns a new copy of the array.
+         *
+         * @throws NumberFormatException if any value is not a number
+         * @return array of values
+         */
+        public int[] intValues() {
+            return parsedIntValues().clone();
+        }
+
+        /**
+         * Get all values as long array, values parsed once
+         * and each call returns a new copy of the array.
+         *
+         * @throws NumberFormatException if any value is not a number
+         * @return array of values
+         */
+        public long[] longValues() {
+            return parsedLongValues().clone();
+        }
+
+        /**
+         * Get all distinct values as int array sorted in ascending order,
+         * values parsed once and each call returns a new copy of the array.
+         *
+         * @throws NumberFormatException if any value is not a number
+         * @return sorted array of distinct values
+         */
+        public int[] distinctIntValues() {
+            return getTypedValue(DISTINCT_INT_VALUES_KEY, filterItem -> {
+                // Values checked to be int, so distinct long values are in the int range
+                filterItem.parsedIntValues();
+
+                return Arrays.stream(filterItem.parsedDistinctLongValues())
+                    .mapToInt(value -> (int)value)
+                    .toArray();
+            }).clone();
+        }
+
+        /**
+         * Get all distinct values as long array sorted in ascending order,
+         * values parsed once and each call returns a new copy of the array.
+         *
+         * @throws NumberFormatException if any value is not a number
+         * @return sorted array of distinct values
+         */
+        public long[] distinctLongValues() {
+            return parsedDistinctLongValues().clone();
+        }
+
+        /**
+         * Get all values as set for membership tests, i.e. for {@code IN} filter over in-memory data,
+         * set created once and returned for all next calls.
+         *
+         * @throws NumberFormatException if any value is not a number
+         * @return set of values
+         */
+        public LongValueSet longValueSet() {
+            return getTypedValue(LONG_VALUE_SET_KEY, filterItem -> LongValueSet.ofSorted(filterItem.parsedDistinctLongValues()));
+        }
+
+        /**
+         * Get all UUID values packed as pairs of most and least significant bits,
+         * values parsed once and each call returns a new copy of the array.
+         *
+         * @throws IllegalArgumentException if any value is not a UUID
+         * @return array of packed values with length {@code 2 * number of values}
+         */
+        public long[] uuidBits() {
+            return parsedUuidBits().clone();
+        }
+
+        private int[] parsedIntValues() {
+            return getTypedValue(INT_VALUES_KEY, filterItem -> {
+                final Collection<?> values = filterItem.getValues();
+                final int[] intValues = new int[values.size()];
+                int index = 0;
+
+                for (final Object item : values) {
+                    intValues[index++] = toInt(item);
+                }
+                return intValues;
+            });
+        }
+
+        private long[] parsedLongValues() {
+            return getTypedValue(LONG_VALUES_KEY, filterItem -> {
+                final Collection<?> values = filterItem.getValues();
+                final long[] longValues = new long[values.size()];
+                int index = 0;
+
+                for (final Object item : values) {
+                    longValues[index++] = toLong(item);
+                }
+                return longValues;
+            });
+        }
+
+        private long[] parsedDistinctLongValues() {
+            return getTypedValue(DISTINCT_LONG_VALUES_KEY, filterItem -> LongValueSet.distinctSorted(filterItem.parsedLongValues()));
+        }
+
+        private long[] parsedUuidBits() {
+            return getTypedValue(UUID_BITS_KEY, filterItem -> {
+                final Collection<?> values = filterItem.getValues();
+                final long[] bits = new long[values.size() * 2];
+                int index = 0;
+
+                for (final Object item : values) {
+                    final UUID uuid = toUuid(item);
+
+                    bits[index++] = uuid.getMostSignificantBits();
+                    bits[index++] = uuid.getLeastSignificantBits();
+                }
+                return bits;
+            });
+        }
+
+        /**
+         * Get first value converted to the required type, value converted once and stored in this item.
+         *
+         * @param type required value type
+         * @param converters value converters registry
+         * @param <T> required value type
+         * @throws FilterValueConversionException if value could not be converted
+         * @throws IllegalArgumentException if no converter for the required type
+         * @return converted value if value is not empty
+         */
+        public <T> Optional<T> value(final @NonNull Class<T> type, final @NonNull FilterValueConverters converters) {
+            if (stringValue() == null) {
+                return Optional.empty();
+            }
+            final FilterValueConverter<T> converter = converters.getConverter(type);
+
+            return getTypedValue(converter, item -> Optional.ofNullable(
+                convert(field, item.getFirstValue(), type, converter)
+            ));
+        }
+
+        /**
+         * Get all values converted to the required type, values converted once and stored in this item.
+         *
+         * @param type required value type
+         * @param converters value converters registry
+         * @param <T> required value type
+         * @throws FilterValueConversionException if any value could not be converted
+         * @throws IllegalArgumentException if no converter for the required type
+         * @return read-only list of converted values
+         */
+        public <T> List<T> values(final @NonNull Class<T> type, final @NonNull FilterValueConverters converters) {
+            final FilterValueConverter<T> converter = converters.getConverter(type);
+
+            return getTypedValue(Map.entry(converter, List.class), item -> {
+                final List<T> values = new ArrayList<>();
+
+                for (final Object value : item.getValues()) {
+                    values.add(convert(field, value, type, converter));
+                }
+                return Collections.unmodifiableList(values);
+            });
+        }
+
+        /**
+         * Get value converted once by the converter and stored in this item
+         * for all next calls with the same key.
+         *
+         * @param key converted value key, i.e. target type
+         * @param converter value converter, must not return null
+         * @param <T> converted value type
+         * @return converted value
+         */
+        @SuppressWarnings("unchecked")
+        <T> T getTypedValue(final @NonNull Object key, final @NonNull Function<FilterItem, T> converter) {
+            Map<Object, Object> values = typedValues;
+
+            if (values == null) {
+                synchronized (this) {
+                    values = typedValues;
+
+                    if (values == null) {
+                        values = new ConcurrentHashMap<>(4);
+                        typedValues = values;
+                    }
+                }
+            }
+            Object typedValue = values.get(key);
+
+            if (typedValue == null) {
+                typedValue = converter.apply(this);
+
+                values.putIfAbsent(key, typedValue);
+            }
+            return (T)typedValue;
+        }
+
+        Object getFirstValue() {
+            if (value instanceof Collection) {
+                final Collection<?> values = (Collection<?>)value;
+
+                return (values.isEmpty() ? null : values.iterator().next());
+            }
+            return value;
+        }
+
+        Collection<?> getValues() {
+            if (value instanceof Collection) {
+                return (Collection<?>)value;
+            }
+            return (value != null ? Collections.singletonList(value) : Collections.emptyList());
+        }
+
+        private static int toInt(final Object value) {
+            if (value instanceof Integer) {
+                return (Integer)value;
+            }
+            return Integer.parseInt(String.valueOf(value));
+        }
+
+        private static long toLong(final Object value) {
+            if (value instanceof Long || value instanceof Integer) {
+                return ((Number)value).longValue();
+            }
+            return Long.parseLong(String.valueOf(value));
+        }
+
+        private static UUID toUuid(final Object value) {
+            if (value instanceof UUID) {
+                return (UUID)value;
+            }
+            return FilterValueConverters.parseUuid(String.valueOf(value));
+        }
 
         public enum Operator {
             IN,
@@ -271,14 +958,25 @@ public class Filter {
             CONTAIN,
             NOT_CONTAIN;
 
+            private static final Map<String, Operator> OPERATORS_BY_NAME = new HashMap<>();
+
+            static {
+                for (final Operator operator : values()) {
+                    OPERATORS_BY_NAME.put(operator.name(), operator);
+                    OPERATORS_BY_NAME.put(operator.name().toLowerCase(Locale.ROOT), operator);
+                }
+            }
+
             public static Operator of(final @NonNull String operatorName) {
                 if (!StringUtils.hasText(operatorName)) {
                     return null;
                 }
-                return Arrays.stream(values())
-                    .filter(operator -> operator.name().equalsIgnoreCase(operatorName))
-                    .findFirst()
-                    .orElse(null);
+                final Operator operator = OPERATORS_BY_NAME.get(operatorName);
+
+                if (operator != null) {
+                    return operator;
+                }
+                return OPERATORS_BY_NAME.get(operatorName.toLowerCase(Locale.ROOT));
             }
         }
     }
@@ -0,0 +1,210 @@
+package com.slmdev.jsonapi.simple.request;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Boolean expression tree of the filter conditions.
+ *
+ * <p>Leaf is the single condition ({@link Filter.FilterItem} with field, operator and values),
+ * group combines children with {@code AND} or {@code OR}. Tree is parsed from the query params,
+ * for example {@code filter[age][gte]=18&filter[age][lte]=65&filter[or][0][status]=active&filter[or][1][name][contain]=john}
+ * means {@code age >= 18 AND age <= 65 AND (status = active OR name contains john)}: each {@code or} branch
+ * is the {@code AND} group of its conditions. Expression is immutable.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class FilterExpression {
+    private static final FilterExpression EMPTY = new FilterExpression(Type.AND, null, Collections.emptyList());
+    private static final FilterExpression NEVER = new FilterExpression(Type.OR, null, Collections.emptyList());
+    private static final char SHAPE_SEPARATOR = ';';
+    private static final char OPERATOR_SEPARATOR = ':';
+    private static final char AND_SHAPE = '&';
+    private static final char OR_SHAPE = '|';
+
+    public enum Type {
+        CONDITION,
+        AND,
+        OR
+    }
+
+    private final Type type;
+    private final Filter.FilterItem item;
+    private final List<FilterExpression> children;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile String shape;
+
+    private FilterExpression(final Type type, final Filter.FilterItem item, final List<FilterExpression> children) {
+        this.type = type;
+        this.item = item;
+        this.children = children;
+    }
+
+    /**
+     * @return empty {@code AND} group, matches everything
+     */
+    public static FilterExpression empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return empty {@code OR} group, matches nothing (i.e. result of contradictory conditions)
+     */
+    public static FilterExpression never() {
+        return NEVER;
+    }
+
+    /**
+     * @param item filter condition
+     * @return condition expression
+     */
+    public static FilterExpression condition(final @NonNull Filter.FilterItem item) {
+        return new FilterExpression(Type.CONDITION, item, Collections.emptyList());
+    }
+
+    /**
+     * @param children expressions, all must match
+     * @return {@code AND} group, single child returned as is
+     */
+    public static FilterExpression and(final @NonNull List<FilterExpression> children) {
+        return group(Type.AND, children);
+    }
+
+    /**
+     * @param children expressions, at least one must match
+     * @return {@code OR} group, single child returned as is
+     */
+    public static FilterExpression or(final @NonNull List<FilterExpression> children) {
+        return group(Type.OR, children);
+    }
+
+    private static FilterExpression group(final Type type, final List<FilterExpression> children) {
+        if (children.size() == 1) {
+            return children.get(0);
+        }
+        return new FilterExpression(type, null, Collections.unmodifiableList(new ArrayList<>(children)));
+    }
+
+    public boolean isCondition() {
+        return type == Type.CONDITION;
+    }
+
+    /**
+     * Check if expression is the empty {@code AND} group, it matches everything
+     * (empty {@code OR} group matches nothing and is not empty).
+     *
+     * @return true if expression has no restrictions
+     */
+    public boolean isEmpty() {
+        return type == Type.AND && children.isEmpty();
+    }
+
+    /**
+     * @return true if expression is the empty {@code OR} group and matches nothing
+     */
+    public boolean isNever() {
+        return type == Type.OR && children.isEmpty();
+    }
+
+    /**
+     * Check if expression can be represented by the flat {@link Filter}: single condition or {@code AND}
+     * of conditions with different fields.
+     *
+     * @return true if expression is flat
+     */
+    public boolean isFlat() {
+        if (type == Type.CONDITION) {
+            return true;
+        } else if (type == Type.OR) {
+            return false;
+        }
+        final Set<String> fields = new HashSet<>();
+
+        for (final FilterExpression child : children) {
+            if (!child.isCondition() || !fields.add(child.getItem().getField())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get shape signature of the expression: fields, operators and groups without values, for example
+     * {@code &(3:age:5;|(4:name:8;6:status:2;))}. Field names are prefixed with the length, so separators
+     * in names could not make different expressions look the same. Expressions with the same shape have
+     * the same plan, see {@link FilterPlanCache}. Signature is calculated once.
+     *
+     * @return shape signature
+     */
+    public String getShape() {
+        String result = shape;
+
+        if (result == null) {
+            final StringBuilder buffer = new StringBuilder();
+
+            appendShape(buffer, this);
+            result = buffer.toString();
+            shape = result;
+        }
+        return result;
+    }
+
+    private static void appendShape(final StringBuilder buffer, final FilterExpression expression) {
+        if (expression.isCondition()) {
+            final Filter.FilterItem item = expression.getItem();
+            final Filter.FilterItem.Operator operator = (item.getOperator() != null ? item.getOperator() : Filter.FilterItem.Operator.EQ);
+
+            buffer.append(item.getField().length())
+                .append(OPERATOR_SEPARATOR)
+                .append(item.getField())
+                .append(OPERATOR_SEPARATOR)
+                .append(operator.ordinal())
+                .append(SHAPE_SEPARATOR);
+
+            return;
+        }
+        buffer.append(expression.getType() == Type.OR ? OR_SHAPE : AND_SHAPE).append('(');
+
+        for (final FilterExpression child : expression.getChildren()) {
+            appendShape(buffer, child);
+        }
+        buffer.append(')');
+    }
+
+    /**
+     * Get all conditions of the tree in depth-first order.
+     *
+     * @return conditions
+     */
+    public List<Filter.FilterItem> getConditions() {
+        final List<Filter.FilterItem> conditions = new ArrayList<>();
+
+        collectConditions(this, conditions);
+
+        return conditions;
+    }
+
+    private static void collectConditions(final FilterExpression expression, final List<Filter.FilterItem> conditions) {
+        if (expression.isCondition()) {
+            conditions.add(expression.getItem());
+
+            return;
+        }
+
+        for (final FilterExpression child : expression.getChildren()) {
+            collectConditions(child, conditions);
+        }
+    }
+}
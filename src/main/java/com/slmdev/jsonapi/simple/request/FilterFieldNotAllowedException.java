@@ -0,0 +1,13 @@
+package com.slmdev.jsonapi.simple.request;
+
+/**
+ * Exception thrown when filter or sort field (or filter operator for the field)
+ * is not in the list of the allowed fields.
+ */
+public class FilterFieldNotAllowedException extends JsonApiValidationException {
+    private static final long serialVersionUID = 1L;
+
+    public FilterFieldNotAllowedException(final String parameter, final String message) {
+        super(parameter, message);
+    }
+}
@@ -0,0 +1,568 @@
+package com.slmdev.jsonapi.simple.request;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Optimization pass over the {@link Filter}: merges conditions of the same field and detects contradictory filters.
+ *
+ * <p>Conditions of the same field in {@code AND} group are merged: {@code EQ} and {@code IN} values intersected
+ * ({@code filter[a]=1&filter[a][in]=2,3} matches nothing), {@code NE} and {@code NOT_IN} values merged to one
+ * {@code NOT_IN} list, duplicates removed, ranges ({@code GT}, {@code GTE}, {@code LT}, {@code LTE}) merged to the
+ * tightest bounds and empty ranges detected. {@code EQ} and {@code IN} conditions of the same field in {@code OR}
+ * group collapsed to one {@code IN}. Filter which can't match anything normalized to the
+ * {@link FilterExpression#never()}, check it with {@link Filter#matchesNothing()} to skip the data source:
+ * <pre>
+ * {@code
+ *     Filter normalized = FilterNormalizer.forClass(UserDto.class).normalize(filter);
+ *
+ *     if (normalized.matchesNothing()) {
+ *         return Response.<List<Data<UserDto>>, UserDto>builder()
+ *             .emptyData()
+ *             .build();
+ *     }
+ *     Page<User> users = repository.findAll(compiler.toSpecification(normalized), pageable);
+ * }
+ * </pre>
+ *
+ * <p>Values compared after conversion to the field types, so ranges merged only for fields with known number
+ * or date / time types. Conditions of the fields without known type (all fields of the {@link #untyped()} normalizer)
+ * are not merged: different strings may be the same value ({@code 1} and {@code 01}), so only identical conditions
+ * and values are removed. Normalized filter has the same result as the original one and can be passed to any translator.
+ */
+public class FilterNormalizer {
+    private static final FilterNormalizer UNTYPED = new FilterNormalizer(field -> null, FilterValueConverters.getDefault());
+    private static final Map<Class<?>, FilterNormalizer> DEFAULT_NORMALIZERS = new ConcurrentHashMap<>();
+
+    private final Function<String, Class<?>> fieldTypes;
+    private final FilterValueConverters converters;
+
+    /**
+     * @param fieldTypes field type by filter field name (or dotted path), null if type unknown
+     * @param converters filter value converters
+     */
+    public FilterNormalizer(final @NonNull Function<String, Class<?>> fieldTypes, final @NonNull FilterValueConverters converters) {
+        this.fieldTypes = fieldTypes;
+        this.converters = converters;
+    }
+
+    /**
+     * Get normalizer without field types, only identical conditions and values are removed.
+     *
+     * @return normalizer
+     */
+    public static FilterNormalizer untyped() {
+        return UNTYPED;
+    }
+
+    /**
+     * Get shared normalizer with field types resolved from the class fields (including nested dotted paths)
+     * and default converters.
+     *
+     * @param type resource class
+     * @return normalizer
+     */
+    public static FilterNormalizer forClass(final @NonNull Class<?> type) {
+        return DEFAULT_NORMALIZERS.computeIfAbsent(type, key -> {
+            final Map<String, Optional<Class<?>>> types = new ConcurrentHashMap<>();
+
+            return new FilterNormalizer(
+                field -> types.computeIfAbsent(field, path -> Optional.ofNullable(Filter.findFieldType(type, path))).orElse(null),
+                FilterValueConverters.getDefault()
+            );
+        });
+    }
+
+    /**
+     * Normalize filter.
+     *
+     * @param filter request filter
+     * @throws FilterValueConversionException if value of the typed field could not be converted
+     * @return normalized filter
+     */
+    public Filter normalize(final @NonNull Filter filter) {
+        if (filter.isEmpty()) {
+            return filter;
+        }
+        return new Filter(normalize(filter.getExpression()));
+    }
+
+    /**
+     * Normalize filter expression.
+     *
+     * @param expression filter expression
+     * @throws FilterValueConversionException if value of the typed field could not be converted
+     * @return normalized expression, {@link FilterExpression#never()} if expression matches nothing
+     */
+    public FilterExpression normalize(final @NonNull FilterExpression expression) {
+        switch (expression.getType()) {
+            case CONDITION:
+                return normalizeAnd(Collections.singletonList(expression));
+            case AND:
+                return normalizeAnd(expression.getChildren());
+            default:
+                return normalizeOr(expression.getChildren());
+        }
+    }
+
+    private FilterExpression normalizeAnd(final List<FilterExpression> children) {
+        final Map<String, List<Filter.FilterItem>> fieldConditions = new LinkedHashMap<>();
+        final List<FilterExpression> groups = new ArrayList<>();
+
+        for (final FilterExpression child : children) {
+            if (child.isCondition()) {
+                fieldConditions.computeIfAbsent(child.getItem().getField(), field -> new ArrayList<>()).add(child.getItem());
+
+                continue;
+            }
+            final FilterExpression normalizedChild = normalize(child);
+
+            if (normalizedChild.isNever()) {
+                return FilterExpression.never();
+            } else if (normalizedChild.getType() == FilterExpression.Type.AND) {
+                // Nested AND group contains normalized conditions and OR groups only
+                for (final FilterExpression nestedChild : normalizedChild.getChildren()) {
+                    if (nestedChild.isCondition()) {
+                        fieldConditions.computeIfAbsent(nestedChild.getItem().getField(), field -> new ArrayList<>()).add(nestedChild.getItem());
+                    } else {
+                        groups.add(nestedChild);
+                    }
+                }
+            } else if (normalizedChild.isCondition()) {
+                fieldConditions.computeIfAbsent(normalizedChild.getItem().getField(), field -> new ArrayList<>()).add(normalizedChild.getItem());
+            } else {
+                groups.add(normalizedChild);
+            }
+        }
+        final List<FilterExpression> result = new ArrayList<>();
+
+        for (final Map.Entry<String, List<Filter.FilterItem>> entry : fieldConditions.entrySet()) {
+            final List<Filter.FilterItem> merged = (getFieldType(entry.getKey()) != null
+                ? new FieldConstraint(entry.getKey()).merge(entry.getValue())
+                : distinct(entry.getKey(), entry.getValue()));
+
+            if (merged == null) {
+                return FilterExpression.never();
+            } else if (entry.getValue().size() == 1 && merged.size() == 1 && !isValueList(entry.getValue().get(0))) {
+                // Keep the single condition as is, only lists of values deduplicated
+                result.add(FilterExpression.condition(entry.getValue().get(0)));
+
+                continue;
+            }
+
+            for (final Filter.FilterItem item : merged) {
+                result.add(FilterExpression.condition(item));
+            }
+        }
+        result.addAll(groups);
+
+        return FilterExpression.and(result);
+    }
+
+    private FilterExpression normalizeOr(final List<FilterExpression> children) {
+        final List<FilterExpression> result = new ArrayList<>();
+        final Map<String, LinkedHashMap<Object, Object>> fieldValues = new LinkedHashMap<>();
+        final Set<String> mergedFields = new HashSet<>();
+
+        for (final FilterExpression child : children) {
+            final FilterExpression normalizedChild = normalize(child);
+
+            if (normalizedChild.isEmpty()) {
+                // One branch matches everything
+                return FilterExpression.empty();
+            } else if (normalizedChild.isNever()) {
+                continue;
+            }
+
+            if (normalizedChild.getType() == FilterExpression.Type.OR) {
+                result.addAll(normalizedChild.getChildren());
+            } else {
+                result.add(normalizedChild);
+            }
+        }
+        final Iterator<FilterExpression> iterator = result.iterator();
+
+        // Collapse EQ and IN of the same field to one IN
+        while (iterator.hasNext()) {
+            final FilterExpression child = iterator.next();
+
+            if (!child.isCondition() || !isValueMembership(child.getItem())) {
+                continue;
+            }
+            final String field = child.getItem().getField();
+            final LinkedHashMap<Object, Object> values = fieldValues.get(field);
+
+            if (values == null) {
+                fieldValues.put(field, toKeyedValues(field, child.getItem()));
+            } else {
+                values.putAll(toKeyedValues(field, child.getItem()));
+                mergedFields.add(field);
+                iterator.remove();
+            }
+        }
+
+        for (int i = 0; i < result.size(); ++i) {
+            final FilterExpression child = result.get(i);
+
+            if (child.isCondition() && mergedFields.contains(child.getItem().getField()) && isValueMembership(child.getItem())) {
+                result.set(i, FilterExpression.condition(toMembership(child.getItem().getField(), fieldValues.get(child.getItem().getField()))));
+            }
+        }
+
+        if (result.isEmpty()) {
+            return FilterExpression.never();
+        }
+        return FilterExpression.or(result);
+    }
+
+    /**
+     * Remove identical conditions and identical values of the lists, used for fields without known type.
+     */
+    private List<Filter.FilterItem> distinct(final String field, final List<Filter.FilterItem> items) {
+        final Set<Filter.FilterItem> result = new LinkedHashSet<>();
+
+        for (final Filter.FilterItem item : items) {
+            result.add(isValueList(item) ? createItem(field, getOperator(item), toKeyedValues(field, item).values()) : item);
+        }
+        return new ArrayList<>(result);
+    }
+
+    private static boolean isValueMembership(final Filter.FilterItem item) {
+        final Filter.FilterItem.Operator operator = getOperator(item);
+
+        return operator == Filter.FilterItem.Operator.IN
+            || (operator == Filter.FilterItem.Operator.EQ && item.stringValue() != null);
+    }
+
+    private static boolean isValueList(final Filter.FilterItem item) {
+        final Filter.FilterItem.Operator operator = getOperator(item);
+
+        return operator == Filter.FilterItem.Operator.IN || operator == Filter.FilterItem.Operator.NOT_IN;
+    }
+
+    private LinkedHashMap<Object, Object> toKeyedValues(final String field, final Filter.FilterItem item) {
+        final LinkedHashMap<Object, Object> values = new LinkedHashMap<>();
+        final Class<?> type = getFieldType(field);
+
+        for (final Object value : item.getValues()) {
+            values.putIfAbsent(toKey(field, type, value), value);
+        }
+        return values;
+    }
+
+    /**
+     * @return field type or null if type unknown or has no converter
+     */
+    private Class<?> getFieldType(final String field) {
+        final Class<?> type = fieldTypes.apply(field);
+
+        if (type == null) {
+            return null;
+        }
+
+        try {
+            converters.getConverter(type);
+
+            return type;
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    private Object toKey(final String field, final Class<?> type, final Object value) {
+        if (type == null) {
+            return String.valueOf(value);
+        }
+        final Object converted = (type.isInstance(value) ? value : convert(field, type, String.valueOf(value)));
+
+        return (converted instanceof BigDecimal ? ((BigDecimal)converted).stripTrailingZeros() : converted);
+    }
+
+    private Object convert(final String field, final Class<?> type, final String value) {
+        try {
+            return converters.getConverter(type).convert(value);
+        } catch (RuntimeException exception) {
+            throw new FilterValueConversionException("filter[" + field + "]", value, type, exception);
+        }
+    }
+
+    private static Filter.FilterItem toMembership(final String field, final Map<Object, Object> values) {
+        if (values.size() == 1) {
+            return createItem(field, Filter.FilterItem.Operator.EQ, values.values());
+        }
+        return createItem(field, Filter.FilterItem.Operator.IN, values.values());
+    }
+
+    private static Filter.FilterItem createItem(final String field,
+                                                final Filter.FilterItem.Operator operator,
+                                                final Iterable<?> values) {
+        final List<Object> valueList = new ArrayList<>();
+
+        values.forEach(valueList::add);
+
+        return Filter.FilterItem.builder()
+            .field(field)
+            .operator(operator)
+            .value(valueList)
+            .build();
+    }
+
+    private static Filter.FilterItem.Operator getOperator(final Filter.FilterItem item) {
+        return (item.getOperator() != null ? item.getOperator() : Filter.FilterItem.Operator.EQ);
+    }
+
+    /**
+     * Range bound with the original value.
+     */
+    @RequiredArgsConstructor
+    private static class Bound {
+        private final Comparable<Object> value;
+        private final Object originalValue;
+        private final boolean inclusive;
+    }
+
+    /**
+     * Merged conditions of the single field with known type in {@code AND} group.
+     */
+    private class FieldConstraint {
+        private final String field;
+        private final Class<?> type;
+        private Filter.FilterItem isNull;
+        private Filter.FilterItem notNull;
+        private LinkedHashMap<Object, Object> allowed;
+        private final LinkedHashMap<Object, Object> excluded = new LinkedHashMap<>();
+        private Bound lower;
+        private Bound upper;
+        private final List<Filter.FilterItem> others = new ArrayList<>();
+        private final Set<String> contains = new HashSet<>();
+        private final Set<String> notContains = new HashSet<>();
+
+        FieldConstraint(final String field) {
+            this.field = field;
+            this.type = getFieldType(field);
+        }
+
+        /**
+         * @return merged conditions or null if conditions are contradictory
+         */
+        List<Filter.FilterItem> merge(final List<Filter.FilterItem> items) {
+            for (final Filter.FilterItem item : items) {
+                if (!add(item)) {
+                    return null;
+                }
+            }
+
+            if (isNull != null) {
+                final boolean hasValueConditions = (allowed != null || !excluded.isEmpty() || lower != null || upper != null || !others.isEmpty());
+
+                // Any value condition doesn't match null
+                return (hasValueConditions || notNull != null ? null : Collections.singletonList(isNull));
+            }
+            final List<Filter.FilterItem> result = new ArrayList<>();
+
+            if (allowed != null) {
+                allowed.keySet().removeIf(key -> excluded.containsKey(key) || !isInRange(key));
+
+                if (allowed.isEmpty()) {
+                    return null;
+                }
+                result.add(toMembership(field, allowed));
+            } else {
+                if (!appendRange(result)) {
+                    return null;
+                }
+                excluded.keySet().removeIf(key -> !isInRange(key));
+
+                if (excluded.size() == 1) {
+                    result.add(createItem(field, Filter.FilterItem.Operator.NE, excluded.values()));
+                } else if (excluded.size() > 1) {
+                    result.add(createItem(field, Filter.FilterItem.Operator.NOT_IN, excluded.values()));
+                }
+            }
+            result.addAll(others);
+
+            if (result.isEmpty() && notNull != null) {
+                result.add(notNull);
+            }
+            return result;
+        }
+
+        /**
+         * @return false if condition matches nothing
+         */
+        private boolean add(final Filter.FilterItem item) {
+            final Filter.FilterItem.Operator operator = getOperator(item);
+
+            switch (operator) {
+                case EQ:
+                    if (item.stringValue() == null) {
+                        isNull = item;
+                    } else {
+                        intersect(toKeyedValues(field, item));
+                    }
+                    return true;
+                case NE:
+                    if (item.stringValue() == null) {
+                        notNull = item;
+                    } else {
+                        excluded.putAll(toKeyedValues(field, item));
+                    }
+                    return true;
+                case IN:
+                    intersect(toKeyedValues(field, item));
+
+                    return true;
+                case NOT_IN:
+                    excluded.putAll(toKeyedValues(field, item));
+
+                    return true;
+                case GT:
+                case GTE:
+                case LT:
+                case LTE:
+                    return addComparison(item, operator);
+                case CONTAIN:
+                case NOT_CONTAIN:
+                    return addContain(item, operator);
+                default:
+                    others.add(item);
+
+                    return true;
+            }
+        }
+
+        private void intersect(final LinkedHashMap<Object, Object> values) {
+            if (allowed == null) {
+                allowed = values;
+            } else {
+                allowed.keySet().retainAll(values.keySet());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean addComparison(final Filter.FilterItem item, final Filter.FilterItem.Operator operator) {
+            if (item.stringValue() == null) {
+                // Comparison with null is never true
+                return false;
+            }
+            final Object value = item.getValues().iterator().next();
+            final Object key = toKey(field, type, value);
+
+            if (!isOrderable(key)) {
+                others.add(item);
+
+                return true;
+            }
+            final boolean inclusive = (operator == Filter.FilterItem.Operator.GTE || operator == Filter.FilterItem.Operator.LTE);
+            final Bound bound = new Bound((Comparable<Object>)key, value, inclusive);
+
+            if (operator == Filter.FilterItem.Operator.GT || operator == Filter.FilterItem.Operator.GTE) {
+                if (lower == null || isTighter(bound, lower, 1)) {
+                    lower = bound;
+                }
+            } else if (upper == null || isTighter(bound, upper, -1)) {
+                upper = bound;
+            }
+            return true;
+        }
+
+        /**
+         * @param direction 1 for lower bound (greater is tighter), -1 for upper bound
+         */
+        private boolean isTighter(final Bound bound, final Bound current, final int direction) {
+            final int result = bound.value.compareTo(current.value) * direction;
+
+            return result > 0 || (result == 0 && !bound.inclusive);
+        }
+
+        private boolean addContain(final Filter.FilterItem item, final Filter.FilterItem.Operator operator) {
+            final String value = Optional.ofNullable(item.stringValue()).orElse("").toLowerCase(Locale.ROOT);
+            final boolean contain = (operator == Filter.FilterItem.Operator.CONTAIN);
+
+            if (contain ? notContains.contains(value) : contains.contains(value)) {
+                return false;
+            }
+
+            if ((contain ? contains : notContains).add(value)) {
+                others.add(item);
+            }
+            return true;
+        }
+
+        /**
+         * @return false if range is empty
+         */
+        private boolean appendRange(final List<Filter.FilterItem> result) {
+            if (lower != null && upper != null) {
+                final int comparison = lower.value.compareTo(upper.value);
+
+                if (comparison > 0 || (comparison == 0 && !(lower.inclusive && upper.inclusive))) {
+                    return false;
+                } else if (comparison == 0) {
+                    if (excluded.containsKey(lower.value)) {
+                        return false;
+                    }
+                    result.add(createItem(field, Filter.FilterItem.Operator.EQ, Collections.singletonList(lower.originalValue)));
+                    excluded.clear();
+
+                    return true;
+                }
+            }
+
+            if (lower != null) {
+                result.add(createItem(field, (lower.inclusive ? Filter.FilterItem.Operator.GTE : Filter.FilterItem.Operator.GT), Collections.singletonList(lower.originalValue)));
+            }
+
+            if (upper != null) {
+                result.add(createItem(field, (upper.inclusive ? Filter.FilterItem.Operator.LTE : Filter.FilterItem.Operator.LT), Collections.singletonList(upper.originalValue)));
+            }
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean isInRange(final Object key) {
+            if (!isOrderable(key)) {
+                return true;
+            }
+            final Comparable<Object> value = (Comparable<Object>)key;
+
+            if (lower != null) {
+                final int comparison = value.compareTo(lower.value);
+
+                if (comparison < 0 || (comparison == 0 && !lower.inclusive)) {
+                    return false;
+                }
+            }
+
+            if (upper != null) {
+                final int comparison = value.compareTo(upper.value);
+
+                return comparison < 0 || (comparison == 0 && upper.inclusive);
+            }
+            return true;
+        }
+
+        private boolean isOrderable(final Object key) {
+            return key instanceof Number && key instanceof Comparable
+                || key instanceof Temporal && key instanceof Comparable
+                || key instanceof Date;
+        }
+    }
+}
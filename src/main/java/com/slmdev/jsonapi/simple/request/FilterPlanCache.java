@@ -0,0 +1,159 @@
+package com.slmdev.jsonapi.simple.request;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache of the compiled filter plans by the filter shape ({@link FilterExpression#getShape()}): fields, operators
+ * and groups without values. Requests with the same shape and different values reuse the plan and only bind
+ * their values, so planning work (field resolution, operator checks, SQL text) done once per shape.
+ *
+ * <p>Cache is bounded: plans of new shapes are not cached after the limit reached, so crafted requests can't
+ * fill the memory. Hit and miss statistics show the number of distinct shapes of the traffic:
+ * <pre>
+ * {@code
+ *     FilterPlanCache.Stats stats = compiler.getPlanCacheStats();
+ *     log.info("Filter plans: {}, hit rate: {}", stats.getSize(), stats.getHitRate());
+ * }
+ * </pre>
+ *
+ * @param <P> plan type
+ */
+public class FilterPlanCache<P> {
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    @Getter
+    private final int maxSize;
+    private final Map<String, P> plans = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FilterPlanCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize max number of cached plans
+     */
+    public FilterPlanCache(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Could not create plan cache! Reason: max size is negative!");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Planner of the filter expression, i.e. SQL, JPA or in-memory compiler.
+     *
+     * @param <P> plan type
+     */
+    @FunctionalInterface
+    public interface Planner<P> {
+        /**
+         * Create plan for the expression shape, values of the expression must not be captured by the plan.
+         *
+         * @param expression filter expression
+         * @return plan
+         */
+        P plan(FilterExpression expression);
+    }
+
+    /**
+     * Get cached plan for the expression shape or create it with the planner.
+     *
+     * @param expression filter expression
+     * @param planner planner
+     * @return plan
+     */
+    public P get(final @NonNull FilterExpression expression, final @NonNull Planner<P> planner) {
+        return get(expression.getShape(), shape -> planner.plan(expression));
+    }
+
+    /**
+     * Get cached plan by the shape key or create it, i.e. for keys extended with sort and paging.
+     *
+     * <p>Plan may be created concurrently for the same key, the first cached plan is returned.
+     *
+     * @param shape shape key
+     * @param planner plan factory
+     * @return plan
+     */
+    public P get(final @NonNull String shape, final @NonNull Function<String, P> planner) {
+        final P plan = plans.get(shape);
+
+        if (plan != null) {
+            hits.increment();
+
+            return plan;
+        }
+        misses.increment();
+
+        final P newPlan = planner.apply(shape);
+
+        if (plans.size() < maxSize) {
+            final P cachedPlan = plans.putIfAbsent(shape, newPlan);
+
+            if (cachedPlan != null) {
+                return cachedPlan;
+            }
+        }
+        return newPlan;
+    }
+
+    /**
+     * @return number of cached plans
+     */
+    public int size() {
+        return plans.size();
+    }
+
+    /**
+     * Remove all plans and reset statistics.
+     */
+    public void clear() {
+        plans.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * @return snapshot of the cache statistics
+     */
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), plans.size(), maxSize);
+    }
+
+    /**
+     * Statistics of the plan cache.
+     */
+    @Getter
+    @ToString
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final int size;
+        private final int maxSize;
+
+        Stats(final long hits, final long misses, final int size, final int maxSize) {
+            this.hits = hits;
+            this.misses = misses;
+            this.size = size;
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * @return share of requests with cached plan, zero if no requests
+         */
+        public double getHitRate() {
+            final long requests = hits + misses;
+
+            return (requests > 0 ? (double)hits / requests : 0);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.slmdev.jsonapi.simple.request;
+
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Utility to split large {@code IN} lists to batches, so each query has a small {@code IN} clause.
+ *
+ * <p>For example, fetch users by ids from {@code filter[id][in]=...} with batches of 500 ids in parallel:
+ * <pre>
+ * {@code
+ *     long[] ids = filter.arrayOfDistinctLongValues("id").orElse(new long[0]);
+ *     List<User> users = FilterValueBatches.fetch(ids, 500, executor, batch -> repository.findAllByIds(batch));
+ * }
+ * </pre>
+ */
+public final class FilterValueBatches {
+    private FilterValueBatches() {
+    }
+
+    /**
+     * Split values to batches, the last batch can be smaller than others.
+     *
+     * @param values values
+     * @param batchSize max number of values in a batch
+     * @return list of batches
+     */
+    public static List<long[]> split(final @NonNull long[] values, final int batchSize) {
+        validateBatchSize(batchSize);
+
+        final List<long[]> batches = new ArrayList<>((values.length + batchSize - 1) / batchSize);
+
+        for (int start = 0; start < values.length; start += batchSize) {
+            batches.add(Arrays.copyOfRange(values, start, Math.min(values.length, start + batchSize)));
+        }
+        return batches;
+    }
+
+    /**
+     * Fetch results for each batch of values in parallel with passed executor.
+     *
+     * <p>If all values fit in one batch fetcher called in the current thread.
+     * Results are returned in order of batches.
+     *
+     * @param values values
+     * @param batchSize max number of values in a batch
+     * @param executor executor for batches
+     * @param fetcher function fetching results for a batch
+     * @param <R> result type
+     * @throws RuntimeException the first fetcher exception if any batch failed
+     * @return results of all batches
+     */
+    public static <R> List<R> fetch(final @NonNull long[] values,
+                                    final int batchSize,
+                                    final @NonNull Executor executor,
+                                    final @NonNull Function<long[], ? extends Collection<? extends R>> fetcher) {
+        validateBatchSize(batchSize);
+
+        if (values.length <= batchSize) {
+            return new ArrayList<>(fetcher.apply(values.clone()));
+        }
+        final List<long[]> batches = split(values, batchSize);
+        final List<CompletableFuture<? extends Collection<? extends R>>> futures = new ArrayList<>(batches.size());
+
+        for (final long[] batch : batches) {
+            futures.add(CompletableFuture.supplyAsync(() -> fetcher.apply(batch), executor));
+        }
+        final List<R> results = new ArrayList<>();
+
+        try {
+            for (final CompletableFuture<? extends Collection<? extends R>> future : futures) {
+                results.addAll(future.join());
+            }
+        } catch (CompletionException exception) {
+            futures.forEach(future -> future.cancel(false));
+
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)exception.getCause();
+            }
+            throw new IllegalStateException("Could not fetch batch! Reason: " + exception.getCause().getMessage(), exception.getCause());
+        }
+        return results;
+    }
+
+    private static void validateBatchSize(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Could not split values to batches! Batch size must be greater than 0!");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.slmdev.jsonapi.simple.request;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when filter value could not be converted to the required type.
+ */
+@Getter
+public class FilterValueConversionException extends JsonApiValidationException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Object value;
+    private final Class<?> type;
+
+    public FilterValueConversionException(final String parameter,
+                                          final Object value,
+                                          final Class<?> type,
+                                          final Throwable cause) {
+        super(parameter, "Invalid filter value: '" + value + "' for parameter: " + parameter + ", expected: " + type.getSimpleName(), cause);
+
+        this.value = value;
+        this.type = type;
+    }
+}
@@ -0,0 +1,21 @@
+package com.slmdev.jsonapi.simple.request;
+
+/**
+ * Converter of the filter string value to the required type.
+ *
+ * <p>Converter may throw any runtime exception if value is invalid, it will be
+ * wrapped in the {@link FilterValueConversionException}.
+ *
+ * @param <T> target type
+ * @see FilterValueConverters
+ */
+@FunctionalInterface
+public interface FilterValueConverter<T> {
+    /**
+     * Convert filter value.
+     *
+     * @param value filter value
+     * @return converted value
+     */
+    T convert(String value);
+}
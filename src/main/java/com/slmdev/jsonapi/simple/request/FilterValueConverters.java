@@ -0,0 +1,241 @@
+package com.slmdev.jsonapi.simple.request;
+
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the filter value converters by target type.
+ *
+ * <p>Built-in converters support strings, numbers ({@code int}, {@code long}, {@code BigDecimal} etc.),
+ * booleans ({@code true} or {@code false} ignoring case), {@link UUID}, java.time types
+ * ({@link LocalDate}, {@link LocalDateTime}, {@link Instant} etc. in ISO-8601 format, {@link Instant} also
+ * as epoch milliseconds) and any enum (by constant name ignoring case).
+ *
+ * <p>Converter for each type resolved once and cached, so we can use it on each request
+ * without additional lookups. Custom converters can be registered in the default registry
+ * used by {@link Filter#value(String, Class)} or in separate registry instance.
+ */
+public class FilterValueConverters {
+    private static final FilterValueConverters DEFAULT_CONVERTERS = new FilterValueConverters();
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_TYPES = Map.of(
+        int.class, Integer.class,
+        long.class, Long.class,
+        short.class, Short.class,
+        byte.class, Byte.class,
+        double.class, Double.class,
+        float.class, Float.class,
+        boolean.class, Boolean.class,
+        char.class, Character.class
+    );
+    private static final int UUID_STRING_LENGTH = 36;
+
+    private final Map<Class<?>, FilterValueConverter<?>> converters = new ConcurrentHashMap<>();
+
+    public FilterValueConverters() {
+        register(String.class, value -> value);
+        register(Integer.class, Integer::parseInt);
+        register(Long.class, Long::parseLong);
+        register(Short.class, Short::parseShort);
+        register(Byte.class, Byte::parseByte);
+        register(Double.class, Double::parseDouble);
+        register(Float.class, Float::parseFloat);
+        register(Character.class, FilterValueConverters::parseCharacter);
+        register(Boolean.class, FilterValueConverters::parseBoolean);
+        register(BigDecimal.class, BigDecimal::new);
+        register(BigInteger.class, BigInteger::new);
+        register(UUID.class, FilterValueConverters::parseUuid);
+        register(LocalDate.class, FilterValueConverters::parseLocalDate);
+        register(LocalDateTime.class, LocalDateTime::parse);
+        register(LocalTime.class, LocalTime::parse);
+        register(OffsetDateTime.class, OffsetDateTime::parse);
+        register(ZonedDateTime.class, ZonedDateTime::parse);
+        register(Instant.class, FilterValueConverters::parseInstant);
+        register(Duration.class, Duration::parse);
+        register(Year.class, Year::parse);
+        register(YearMonth.class, YearMonth::parse);
+    }
+
+    /**
+     * Get default registry used by {@link Filter} typed value methods.
+     *
+     * @return default registry
+     */
+    public static FilterValueConverters getDefault() {
+        return DEFAULT_CONVERTERS;
+    }
+
+    /**
+     * Register converter for the target type, existing converter will be replaced.
+     *
+     * @param type target type
+     * @param converter converter
+     * @param <T> target type
+     * @return self link
+     */
+    public <T> FilterValueConverters register(final @NonNull Class<T> type, final @NonNull FilterValueConverter<? extends T> converter) {
+        converters.put(type, converter);
+
+        return this;
+    }
+
+    /**
+     * Get converter for the target type.
+     *
+     * <p>Primitive types resolved to converters of the wrapper types.
+     *
+     * @param type target type
+     * @param <T> target type
+     * @throws IllegalArgumentException if no converter for the type
+     * @return converter
+     */
+    @SuppressWarnings("unchecked")
+    public <T> FilterValueConverter<T> getConverter(final @NonNull Class<T> type) {
+        final FilterValueConverter<?> converter = converters.get(type);
+
+        if (converter != null) {
+            return (FilterValueConverter<T>)converter;
+        }
+        return (FilterValueConverter<T>)converters.computeIfAbsent(type, this::createConverter);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private FilterValueConverter<?> createConverter(final Class<?> type) {
+        if (type.isPrimitive()) {
+            return getConverter(PRIMITIVE_TYPES.get(type));
+        } else if (type.isEnum()) {
+            return createEnumConverter((Class<? extends Enum>)type);
+        }
+        throw new IllegalArgumentException("Could not convert filter value! No converter for type: " + type.getName());
+    }
+
+    private static <E extends Enum<E>> FilterValueConverter<E> createEnumConverter(final Class<E> type) {
+        final Map<String, E> constants = new HashMap<>();
+
+        for (final E constant : type.getEnumConstants()) {
+            constants.put(constant.name(), constant);
+            constants.putIfAbsent(constant.name().toLowerCase(Locale.ROOT), constant);
+        }
+        return value -> {
+            E constant = constants.get(value);
+
+            if (constant == null) {
+                constant = constants.get(value.toLowerCase(Locale.ROOT));
+            }
+
+            if (constant == null) {
+                throw new IllegalArgumentException("No enum constant: " + value + " in: " + type.getName());
+            }
+            return constant;
+        };
+    }
+
+    private static Character parseCharacter(final String value) {
+        if (value.length() != 1) {
+            throw new IllegalArgumentException("Value must contain one character: " + value);
+        }
+        return value.charAt(0);
+    }
+
+    private static Boolean parseBoolean(final String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        } else if ("false".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Value must be true or false: " + value);
+    }
+
+    private static Instant parseInstant(final String value) {
+        if (isDigits(value, 0, value.length())) {
+            return Instant.ofEpochMilli(Long.parseLong(value));
+        }
+        return Instant.parse(value);
+    }
+
+    /**
+     * Parse date in the {@code yyyy-MM-dd} format without formatter,
+     * other ISO formats parsed with {@link LocalDate#parse}.
+     */
+    private static LocalDate parseLocalDate(final String value) {
+        if (value.length() == 10
+                && value.charAt(4) == '-'
+                && value.charAt(7) == '-'
+                && isDigits(value, 0, 4)
+                && isDigits(value, 5, 7)
+                && isDigits(value, 8, 10)) {
+            return LocalDate.of(
+                parseDigits(value, 0, 4),
+                parseDigits(value, 5, 7),
+                parseDigits(value, 8, 10)
+            );
+        }
+        return LocalDate.parse(value);
+    }
+
+    /**
+     * Parse UUID in the canonical {@code 8-4-4-4-12} format without splitting,
+     * other formats parsed with {@link UUID#fromString}.
+     */
+    static UUID parseUuid(final String value) {
+        if (value.length() != UUID_STRING_LENGTH
+                || value.charAt(8) != '-'
+                || value.charAt(13) != '-'
+                || value.charAt(18) != '-'
+                || value.charAt(23) != '-') {
+            return UUID.fromString(value);
+        }
+        final long mostSignificantBits = (parseHex(value, 0, 8) << 32)
+            | (parseHex(value, 9, 13) << 16)
+            | parseHex(value, 14, 18);
+        final long leastSignificantBits = (parseHex(value, 19, 23) << 48)
+            | parseHex(value, 24, 36);
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private static long parseHex(final String value, final int start, final int end) {
+        long result = 0;
+
+        for (int i = start; i < end; ++i) {
+            final int digit = Character.digit(value.charAt(i), 16);
+
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid UUID string: " + value);
+            }
+            result = (result << 4) | digit;
+        }
+        return result;
+    }
+
+    private static boolean isDigits(final String value, final int start, final int end) {
+        if (start >= end) {
+            return false;
+        }
+
+        for (int i = start; i < end; ++i) {
+            final char symbol = value.charAt(i);
+
+            if (symbol < '0' || symbol > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int parseDigits(final String value, final int start, final int end) {
+        int result = 0;
+
+        for (int i = start; i < end; ++i) {
+            result = result * 10 + (value.charAt(i) - '0');
+        }
+        return result;
+    }
+}
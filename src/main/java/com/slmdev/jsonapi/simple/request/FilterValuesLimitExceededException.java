@@ -0,0 +1,20 @@
+package com.slmdev.jsonapi.simple.request;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when filter parameter contains more list values than allowed,
+ * see {@link com.slmdev.jsonapi.simple.annotation.RequestJsonApiFilter#maxListValues()}.
+ */
+@Getter
+public class FilterValuesLimitExceededException extends JsonApiValidationException {
+    private static final long serialVersionUID = 1L;
+
+    private final int maxValues;
+
+    public FilterValuesLimitExceededException(final String parameter, final int maxValues) {
+        super(parameter, "Too many values for parameter: " + parameter + ", max: " + maxValues);
+
+        this.maxValues = maxValues;
+    }
+}
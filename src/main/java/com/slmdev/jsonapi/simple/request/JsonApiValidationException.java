@@ -0,0 +1,46 @@
+package com.slmdev.jsonapi.simple.request;
+
+import com.slmdev.jsonapi.simple.response.Error;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base exception of the invalid request params.
+ *
+ * <p>Contains the request parameter name, i.e. {@code filter[name]} or {@code sort}, so the JSON API
+ * validation error can be created with {@link #toError()} or with
+ * {@code Response.builder().validationError(exception.getParameter(), exception.getMessage())}.
+ */
+@Getter
+public class JsonApiValidationException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+    private static final String VALIDATION_ERROR_CODE = "VALIDATION_ERROR";
+
+    private final String parameter;
+
+    public JsonApiValidationException(final String parameter, final String message) {
+        this(parameter, message, null);
+    }
+
+    public JsonApiValidationException(final String parameter, final String message, final Throwable cause) {
+        super(message, cause);
+
+        this.parameter = parameter;
+    }
+
+    /**
+     * Create JSON API validation error with request parameter as source.
+     *
+     * @return validation error
+     */
+    public Error toError() {
+        return new Error(
+            HttpStatus.BAD_REQUEST.value(),
+            VALIDATION_ERROR_CODE,
+            getMessage(),
+            new Error.Source(parameter),
+            null,
+            null
+        );
+    }
+}
@@ -0,0 +1,144 @@
+package com.slmdev.jsonapi.simple.request;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of long values for fast membership tests, i.e. {@code IN} filter over in-memory data.
+ *
+ * <p>Values stored as sorted array of distinct values and tested with binary search. If values are dense
+ * (range of values is not greater than {@code 64 * size}) bitmap is created too, so test is a single bit check
+ * and bitmap never takes more memory than the sorted array.
+ */
+public final class LongValueSet {
+    private static final LongValueSet EMPTY = new LongValueSet(new long[0]);
+    private static final int BITS_PER_WORD = Long.SIZE;
+
+    private final long[] values;
+    private final long[] bitmap;
+
+    private LongValueSet(final long[] values) {
+        this.values = values;
+        this.bitmap = createBitmap(values);
+    }
+
+    /**
+     * Create set from values in any order, duplicates are removed.
+     *
+     * @param values values, array is not modified
+     * @return set of values
+     */
+    public static LongValueSet of(final @NonNull long... values) {
+        return ofSorted(distinctSorted(values));
+    }
+
+    /**
+     * Create set from sorted distinct values, array is used as is and must not be modified.
+     */
+    static LongValueSet ofSorted(final long[] values) {
+        return (values.length == 0 ? EMPTY : new LongValueSet(values));
+    }
+
+    /**
+     * Copy values, sort them in ascending order and remove duplicates.
+     */
+    static long[] distinctSorted(final long[] values) {
+        final long[] result = values.clone();
+        int size = 0;
+
+        Arrays.sort(result);
+
+        for (int i = 0; i < result.length; ++i) {
+            if (size == 0 || result[size - 1] != result[i]) {
+                result[size++] = result[i];
+            }
+        }
+        return (size == result.length ? result : Arrays.copyOf(result, size));
+    }
+
+    /**
+     * Check if value in the set.
+     *
+     * @param value value
+     * @return true if set contains value
+     */
+    public boolean contains(final long value) {
+        if (values.length == 0
+                || value < values[0]
+                || value > values[values.length - 1]) {
+            return false;
+        }
+
+        if (bitmap != null) {
+            final long offset = value - values[0];
+
+            return (bitmap[(int)(offset / BITS_PER_WORD)] & (1L << (offset % BITS_PER_WORD))) != 0;
+        }
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    /**
+     * @return number of distinct values
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return true if set has no values
+     */
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    /**
+     * @return copy of values sorted in ascending order
+     */
+    public long[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * @return true if membership tested with bitmap
+     */
+    boolean hasBitmap() {
+        return bitmap != null;
+    }
+
+    private static long[] createBitmap(final long[] values) {
+        if (values.length == 0) {
+            return null;
+        }
+        final long range = values[values.length - 1] - values[0];
+
+        // Negative range means overflow, so values are too sparse
+        if (range < 0 || range >= (long)values.length * BITS_PER_WORD) {
+            return null;
+        }
+        final long[] words = new long[(int)(range / BITS_PER_WORD) + 1];
+
+        for (final long value : values) {
+            final long offset = value - values[0];
+
+            words[(int)(offset / BITS_PER_WORD)] |= 1L << (offset % BITS_PER_WORD);
+        }
+        return words;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other
+            || (other instanceof LongValueSet && Arrays.equals(values, ((LongValueSet)other).values));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "LongValueSet(size=" + values.length + ")";
+    }
+}
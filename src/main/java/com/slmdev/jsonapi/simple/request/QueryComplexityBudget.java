@@ -0,0 +1,384 @@
+package com.slmdev.jsonapi.simple.request;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Complexity budget of the request filter, page and sort: estimated cost of the query is checked before any
+ * data access and too expensive requests are rejected with the {@link QueryComplexityExceededException}.
+ *
+ * <p>Cost is the sum of points:
+ * <ul>
+ *     <li>each filter condition costs by operator: {@code 1} for equality and lists, {@code 2} for ranges
+ *     and {@code 10} for {@code contain} (usually full scan)</li>
+ *     <li>each filter value costs {@code 1} and one more point per each full {@code 256} chars of value,
+ *     so {@code filter[id][in]=1,2,3} costs {@code 4}</li>
+ *     <li>each nested path segment ({@code filter[owner.name]}, {@code sort=owner.name}) costs {@code 5}
+ *     as the join</li>
+ *     <li>each {@code or} group costs {@code 5}</li>
+ *     <li>each sort field costs {@code 2}</li>
+ *     <li>page costs one point per each started {@code 100} rows read from the start ({@code offset + size}),
+ *     so deep pages are expensive</li>
+ * </ul>
+ * Costs are configured with the {@link #builder()}, max cost zero means no limit. Budget is set globally in the
+ * resolver constructor and max cost overridden per parameter with
+ * {@link com.slmdev.jsonapi.simple.annotation.RequestJsonApiFilter#maxCost()} and
+ * {@link com.slmdev.jsonapi.simple.annotation.RequestJsonApiPage#maxCost()}:
+ * <pre>
+ * {@code
+ *     QueryComplexityBudget budget = QueryComplexityBudget.builder()
+ *         .maxCost(1000)
+ *         .operatorCost(Filter.FilterItem.Operator.CONTAIN, 50)
+ *         .build();
+ *
+ *     resolvers.add(new JsonApiFilterArgumentResolver(budget));
+ *     resolvers.add(new JsonApiPageArgumentResolver(budget));
+ * }
+ * </pre>
+ */
+@Getter
+public class QueryComplexityBudget {
+    private static final QueryComplexityBudget UNLIMITED = builder().build();
+
+    private final long maxCost;
+    @Getter(AccessLevel.NONE)
+    private final Map<Filter.FilterItem.Operator, Integer> operatorCosts;
+    private final int valueCost;
+    private final int valueLengthUnit;
+    private final int joinCost;
+    private final int orGroupCost;
+    private final int sortFieldCost;
+    private final int pageRowsUnit;
+    @Getter(AccessLevel.NONE)
+    private final Map<Long, QueryComplexityBudget> annotationBudgets = new ConcurrentHashMap<>();
+
+    private QueryComplexityBudget(final Builder builder) {
+        this.maxCost = builder.maxCost;
+        this.operatorCosts = new EnumMap<>(builder.operatorCosts);
+        this.valueCost = builder.valueCost;
+        this.valueLengthUnit = builder.valueLengthUnit;
+        this.joinCost = builder.joinCost;
+        this.orGroupCost = builder.orGroupCost;
+        this.sortFieldCost = builder.sortFieldCost;
+        this.pageRowsUnit = builder.pageRowsUnit;
+    }
+
+    /**
+     * @return budget with default costs and without limit
+     */
+    public static QueryComplexityBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * @return builder with default costs and without limit
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return builder with costs of this budget
+     */
+    public Builder toBuilder() {
+        final Builder builder = new Builder();
+
+        builder.maxCost = maxCost;
+        builder.operatorCosts.putAll(operatorCosts);
+        builder.valueCost = valueCost;
+        builder.valueLengthUnit = valueLengthUnit;
+        builder.joinCost = joinCost;
+        builder.orGroupCost = orGroupCost;
+        builder.sortFieldCost = sortFieldCost;
+        builder.pageRowsUnit = pageRowsUnit;
+
+        return builder;
+    }
+
+    /**
+     * Get budget with the same costs and other max cost.
+     *
+     * @param maxCost max cost, zero or negative means no limit
+     * @return budget
+     */
+    public QueryComplexityBudget withMaxCost(final long maxCost) {
+        if (maxCost == this.maxCost) {
+            return this;
+        }
+        return toBuilder().maxCost(maxCost).build();
+    }
+
+    /**
+     * Get budget with max cost of the request annotation, budgets cached per max cost.
+     *
+     * @param maxCost annotation max cost, zero means max cost of this budget, negative means no limit
+     * @return budget
+     */
+    public QueryComplexityBudget withAnnotationMaxCost(final long maxCost) {
+        return (maxCost != 0 ? annotationBudgets.computeIfAbsent(maxCost, this::withMaxCost) : this);
+    }
+
+    /**
+     * @return true if budget has max cost
+     */
+    public boolean isLimited() {
+        return maxCost > 0;
+    }
+
+    /**
+     * @param operator filter operator
+     * @return cost of the condition with operator
+     */
+    public int getOperatorCost(final @NonNull Filter.FilterItem.Operator operator) {
+        return operatorCosts.get(operator);
+    }
+
+    /**
+     * Estimate cost of the filter conditions and {@code or} groups.
+     *
+     * @param filter request filter, null means no restrictions
+     * @return cost
+     */
+    public long estimate(final Filter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return 0;
+        }
+        return estimate(filter.getExpression());
+    }
+
+    /**
+     * Estimate cost of the page and its sort.
+     *
+     * @param pageable request page, null means unpaged
+     * @return cost
+     */
+    public long estimate(final Pageable pageable) {
+        if (pageable == null) {
+            return 0;
+        }
+        final long sortCost = estimate(pageable.getSort());
+
+        if (pageable.isUnpaged()) {
+            return sortCost;
+        }
+        final long rows = pageable.getOffset() + pageable.getPageSize();
+
+        return sortCost + divideRoundUp(rows, pageRowsUnit);
+    }
+
+    /**
+     * Estimate cost of the sort fields.
+     *
+     * @param sort request sort, null means unsorted
+     * @return cost
+     */
+    public long estimate(final Sort sort) {
+        if (sort == null) {
+            return 0;
+        }
+        long cost = 0;
+
+        for (final Sort.Order order : sort) {
+            cost += sortFieldCost + getJoinsCost(order.getProperty());
+        }
+        return cost;
+    }
+
+    /**
+     * Check filter cost.
+     *
+     * @param filter request filter, null means no restrictions
+     * @param parameter request parameter name for the error, for example {@code filter}
+     * @throws QueryComplexityExceededException if filter cost exceeds max cost
+     */
+    public void check(final Filter filter, final @NonNull String parameter) {
+        if (isLimited()) {
+            check(estimate(filter), parameter);
+        }
+    }
+
+    /**
+     * Check page and sort cost.
+     *
+     * @param pageable request page, null means unpaged
+     * @param parameter request parameter name for the error, for example {@code page}
+     * @throws QueryComplexityExceededException if page cost exceeds max cost
+     */
+    public void check(final Pageable pageable, final @NonNull String parameter) {
+        if (isLimited()) {
+            check(estimate(pageable), parameter);
+        }
+    }
+
+    private void check(final long cost, final String parameter) {
+        if (cost > maxCost) {
+            throw new QueryComplexityExceededException(parameter, cost, maxCost);
+        }
+    }
+
+    private long estimate(final FilterExpression expression) {
+        if (expression.isCondition()) {
+            final Filter.FilterItem item = expression.getItem();
+            final Filter.FilterItem.Operator operator = (item.getOperator() != null ? item.getOperator() : Filter.FilterItem.Operator.EQ);
+            long cost = operatorCosts.get(operator) + getJoinsCost(item.getField());
+
+            for (final Object value : item.getValues()) {
+                cost += valueCost + (value != null ? value.toString().length() / valueLengthUnit : 0);
+            }
+            return cost;
+        }
+        long cost = (expression.getType() == FilterExpression.Type.OR ? orGroupCost : 0);
+
+        for (final FilterExpression child : expression.getChildren()) {
+            cost += estimate(child);
+        }
+        return cost;
+    }
+
+    private long getJoinsCost(final String path) {
+        long joins = 0;
+
+        for (int i = 0; i < path.length(); ++i) {
+            if (path.charAt(i) == Filter.PATH_SEPARATOR) {
+                ++joins;
+            }
+        }
+        return joins * joinCost;
+    }
+
+    private static long divideRoundUp(final long value, final int unit) {
+        return (value + unit - 1) / unit;
+    }
+
+    /**
+     * Builder of the {@link QueryComplexityBudget}.
+     */
+    public static class Builder {
+        private long maxCost;
+        private final Map<Filter.FilterItem.Operator, Integer> operatorCosts = new EnumMap<>(Filter.FilterItem.Operator.class);
+        private int valueCost = 1;
+        private int valueLengthUnit = 256;
+        private int joinCost = 5;
+        private int orGroupCost = 5;
+        private int sortFieldCost = 2;
+        private int pageRowsUnit = 100;
+
+        private Builder() {
+            for (final Filter.FilterItem.Operator operator : Filter.FilterItem.Operator.values()) {
+                operatorCosts.put(operator, 1);
+            }
+            operatorCosts.put(Filter.FilterItem.Operator.GT, 2);
+            operatorCosts.put(Filter.FilterItem.Operator.GTE, 2);
+            operatorCosts.put(Filter.FilterItem.Operator.LT, 2);
+            operatorCosts.put(Filter.FilterItem.Operator.LTE, 2);
+            operatorCosts.put(Filter.FilterItem.Operator.CONTAIN, 10);
+            operatorCosts.put(Filter.FilterItem.Operator.NOT_CONTAIN, 10);
+        }
+
+        /**
+         * @param maxCost max cost of the filter or page with sort, zero or negative means no limit
+         * @return self link
+         */
+        public Builder maxCost(final long maxCost) {
+            this.maxCost = maxCost;
+
+            return this;
+        }
+
+        /**
+         * @param operator filter operator
+         * @param cost cost of the condition with operator
+         * @return self link
+         */
+        public Builder operatorCost(final @NonNull Filter.FilterItem.Operator operator, final int cost) {
+            operatorCosts.put(operator, requireNotNegative(cost, "operator cost"));
+
+            return this;
+        }
+
+        /**
+         * @param valueCost cost of each filter value
+         * @return self link
+         */
+        public Builder valueCost(final int valueCost) {
+            this.valueCost = requireNotNegative(valueCost, "value cost");
+
+            return this;
+        }
+
+        /**
+         * @param valueLengthUnit number of value chars costs one more point
+         * @return self link
+         */
+        public Builder valueLengthUnit(final int valueLengthUnit) {
+            this.valueLengthUnit = requirePositive(valueLengthUnit, "value length unit");
+
+            return this;
+        }
+
+        /**
+         * @param joinCost cost of each nested path segment of filter and sort fields
+         * @return self link
+         */
+        public Builder joinCost(final int joinCost) {
+            this.joinCost = requireNotNegative(joinCost, "join cost");
+
+            return this;
+        }
+
+        /**
+         * @param orGroupCost cost of each {@code or} group
+         * @return self link
+         */
+        public Builder orGroupCost(final int orGroupCost) {
+            this.orGroupCost = requireNotNegative(orGroupCost, "or group cost");
+
+            return this;
+        }
+
+        /**
+         * @param sortFieldCost cost of each sort field
+         * @return self link
+         */
+        public Builder sortFieldCost(final int sortFieldCost) {
+            this.sortFieldCost = requireNotNegative(sortFieldCost, "sort field cost");
+
+            return this;
+        }
+
+        /**
+         * @param pageRowsUnit number of rows read for the page ({@code offset + size}) costs one point
+         * @return self link
+         */
+        public Builder pageRowsUnit(final int pageRowsUnit) {
+            this.pageRowsUnit = requirePositive(pageRowsUnit, "page rows unit");
+
+            return this;
+        }
+
+        public QueryComplexityBudget build() {
+            return new QueryComplexityBudget(this);
+        }
+
+        private static int requireNotNegative(final int value, final String name) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Could not set complexity budget! Reason: " + name + " is negative!");
+            }
+            return value;
+        }
+
+        private static int requirePositive(final int value, final String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException("Could not set complexity budget! Reason: " + name + " must be positive!");
+            }
+            return value;
+        }
+    }
+}
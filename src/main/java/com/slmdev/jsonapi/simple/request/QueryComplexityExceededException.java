@@ -0,0 +1,21 @@
+package com.slmdev.jsonapi.simple.request;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when estimated cost of the request filter, page or sort exceeds the {@link QueryComplexityBudget}.
+ */
+@Getter
+public class QueryComplexityExceededException extends JsonApiValidationException {
+    private static final long serialVersionUID = 1L;
+
+    private final long cost;
+    private final long maxCost;
+
+    public QueryComplexityExceededException(final String parameter, final long cost, final long maxCost) {
+        super(parameter, "Query is too complex for parameter: " + parameter + ", cost: " + cost + ", max: " + maxCost);
+
+        this.cost = cost;
+        this.maxCost = maxCost;
+    }
+}
@@ -2,15 +2,14 @@ package com.slmdev.jsonapi.simple.resolver;
 
 import com.slmdev.jsonapi.simple.annotation.RequestJsonApiFilter;
 import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.QueryComplexityBudget;
+import lombok.NonNull;
 import org.springframework.core.MethodParameter;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
-import java.util.*;
-import java.util.stream.Stream;
-
 /**
  * Spring resolver using for extract filter values from the request.
  *
@@ -24,11 +23,24 @@ import java.util.stream.Stream;
  * After parsing will be create new {@link Filter} object with the map of found filters.
  * Each value is {@link Filter.FilterItem} object.
  *
+ * <p>Request params are parsed once by {@link JsonApiQueryParser} and shared
+ * with other JSON:API resolvers.
+ *
  * <p>This resolver must be registered in Spring application.
  */
 public class JsonApiFilterArgumentResolver implements HandlerMethodArgumentResolver {
-    private static final String REQUEST_FILTER_KEY_BRACKET_START = "[";
-    private static final String REQUEST_FILTER_KEY_BRACKET_END = "]";
+    private final QueryComplexityBudget budget;
+
+    public JsonApiFilterArgumentResolver() {
+        this(QueryComplexityBudget.unlimited());
+    }
+
+    /**
+     * @param budget global complexity budget of the filter, max cost may be overridden by the annotation
+     */
+    public JsonApiFilterArgumentResolver(final @NonNull QueryComplexityBudget budget) {
+        this.budget = budget;
+    }
 
     public boolean supportsParameter(MethodParameter parameter) {
         return parameter.getParameterAnnotation(RequestJsonApiFilter.class) != null;
@@ -39,53 +51,11 @@ public class JsonApiFilterArgumentResolver implements HandlerMethodArgumentResol
                                   final NativeWebRequest nativeWebRequest,
                                   final WebDataBinderFactory webDataBinderFactory) {
         final RequestJsonApiFilter requestJsonApiFilter = methodParameter.getParameterAnnotation(RequestJsonApiFilter.class);
-        final Map<String, Filter.FilterItem> filterParams = new HashMap<>();
-        final String filterKeyStart = requestJsonApiFilter.name() + REQUEST_FILTER_KEY_BRACKET_START;
-
-        nativeWebRequest.getParameterMap()
-            .entrySet()
-            .stream()
-            .filter(entry -> entry.getKey().startsWith(filterKeyStart) && entry.getKey().contains(REQUEST_FILTER_KEY_BRACKET_END))
-            .forEach(entry -> {
-                final String fieldName;
-                final Filter.FilterItem.Operator operator;
-                final List<String> valueItems = valueToList(entry.getValue());
-                final String[] items = entry.getKey().split("\\" + REQUEST_FILTER_KEY_BRACKET_START);
-
-                if (items.length == 3) {
-                    fieldName = items[1].replace(REQUEST_FILTER_KEY_BRACKET_END, "");
-                    operator = Filter.FilterItem.Operator.of(items[2].replace(REQUEST_FILTER_KEY_BRACKET_END, ""));
-                } else {
-                    fieldName = entry.getKey().replace(filterKeyStart, "").replace(REQUEST_FILTER_KEY_BRACKET_END, "");
-                    operator = Filter.FilterItem.Operator.EQ;
-                }
-                Filter.validateOperatorWithValue(operator, valueItems);
-
-                filterParams.put(
-                    fieldName,
-                    Filter.FilterItem.builder()
-                        .field(fieldName)
-                        .value(valueItems)
-                        .operator(operator)
-                        .build()
-                );
-            });
-
-        return new Filter(filterParams);
-    }
-
-    private List<String> valueToList(final String[] values) {
-        final List<String> valueItems = new ArrayList<>();
+        final Filter filter = JsonApiQueryParser.parse(nativeWebRequest)
+            .toFilter(requestJsonApiFilter.name(), requestJsonApiFilter.maxListValues(), requestJsonApiFilter.expressions());
 
-        Stream.of(values)
-            .map(value -> {
-                if (!value.startsWith("{")
-                        && !value.startsWith("[{")) {
-                    return (Arrays.asList(value.split(",")));
-                }
-                return Collections.singletonList(value);
-            }).forEach(valueItems::addAll);
+        budget.withAnnotationMaxCost(requestJsonApiFilter.maxCost()).check(filter, requestJsonApiFilter.name());
 
-        return valueItems;
+        return filter;
     }
 }
@@ -0,0 +1,332 @@
+package com.slmdev.jsonapi.simple.resolver;
+
+import com.slmdev.jsonapi.simple.request.FieldSet;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterExpression;
+import com.slmdev.jsonapi.simple.request.FilterValuesLimitExceededException;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+
+/**
+ * Query params of the single request tokenized by {@link JsonApiQueryParser}.
+ *
+ * <p>Each param with square brackets, for example {@code filter[id][in]=1,2},
+ * stored under the root name ({@code filter}) with the list of bracket keys
+ * ({@code id} and {@code in}). All other params (i.e. {@code sort}) stored as is.
+ *
+ * <p>The same object is shared by all JSON:API argument resolvers
+ * so the request params are parsed only once.
+ */
+@ToString
+public class JsonApiQuery {
+    private static final String REQUEST_SORT_PARAM_NAME = "sort";
+    private static final String OR_GROUP_KEY = "or";
+    private static final int DEFAULT_PAGE_SIZE = 25;
+
+    private final Map<String, List<BracketParam>> bracketParams;
+    private final Map<String, String[]> plainParams;
+
+    JsonApiQuery(final @NonNull Map<String, List<BracketParam>> bracketParams,
+                 final @NonNull Map<String, String[]> plainParams) {
+        this.bracketParams = bracketParams;
+        this.plainParams = plainParams;
+    }
+
+    /**
+     * Get all params with square brackets by root name.
+     *
+     * @param name root param name, for example {@code filter}
+     * @return list of params if present and empty list otherwise
+     */
+    public List<BracketParam> getBracketParams(final @NonNull String name) {
+        return bracketParams.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * Get param values without square brackets by name.
+     *
+     * @param name param name, for example {@code sort}
+     * @return param values if present and null otherwise
+     */
+    public String[] getPlainParam(final @NonNull String name) {
+        return plainParams.get(name);
+    }
+
+    /**
+     * Build filter from params with required root name.
+     *
+     * @param name filter param name, for example {@code filter}
+     * @throws IllegalArgumentException if operator unknown or not permit array values, or field path is invalid
+     * @return filter object
+     */
+    public Filter toFilter(final @NonNull String name) {
+        return toFilter(name, 0);
+    }
+
+    /**
+     * Build flat filter from params with required root name and limited number of values per param.
+     *
+     * <p>Values are counted before splitting, so too large lists are rejected without allocating them.
+     * Each field has one condition, the last param of the same field wins.
+     *
+     * @param name filter param name, for example {@code filter}
+     * @param maxListValues max number of values in one param, zero or negative means no limit
+     * @throws FilterValuesLimitExceededException if param contains more values than allowed
+     * @throws IllegalArgumentException if operator unknown or not permit array values, or field path is invalid
+     * @return filter object
+     */
+    public Filter toFilter(final @NonNull String name, final int maxListValues) {
+        return toFilter(name, maxListValues, false);
+    }
+
+    /**
+     * Build filter from params with required root name, limited number of values per param and optional expressions.
+     *
+     * <p>Values are counted before splitting, so too large lists are rejected without allocating them.
+     *
+     * <p>Without expressions filter is flat: each field has one condition and the last param of the same field wins.
+     * With expressions params with the same field and different operators are all kept
+     * ({@code filter[age][gte]=18&filter[age][lte]=65}), params with {@code or} key are grouped:
+     * {@code filter[or][<branch>][<field>][<operator>]}, conditions of the same branch must all match and at least
+     * one branch must match. Branch may contain own {@code or} group, so field named {@code or} can't be used
+     * in filter with expressions. See {@link FilterExpression}.
+     *
+     * @param name filter param name, for example {@code filter}
+     * @param maxListValues max number of values in one param, zero or negative means no limit
+     * @param expressions true to parse {@code or} groups and several conditions of the same field
+     * @throws FilterValuesLimitExceededException if param contains more values than allowed
+     * @throws IllegalArgumentException if operator unknown or not permit array values, or field path is invalid
+     * @return filter object
+     */
+    public Filter toFilter(final @NonNull String name, final int maxListValues, final boolean expressions) {
+        if (!expressions) {
+            final Map<String, Filter.FilterItem> filterParams = new HashMap<>();
+
+            for (final BracketParam param : getBracketParams(name)) {
+                final Filter.FilterItem filterItem = toFilterItem(name, param, 0, maxListValues);
+
+                filterParams.put(filterItem.getField(), filterItem);
+            }
+            return new Filter(filterParams);
+        }
+        final FilterGroup root = new FilterGroup();
+
+        for (final BracketParam param : getBracketParams(name)) {
+            addCondition(root, name, param, 0, maxListValues);
+        }
+        return new Filter(root.toExpression());
+    }
+
+    /**
+     * Add condition to the group, keys starting with {@code or} add condition to the branch of the {@code or} group.
+     */
+    private static void addCondition(final FilterGroup group,
+                                     final String name,
+                                     final BracketParam param,
+                                     final int keyIndex,
+                                     final int maxListValues) {
+        final String[] keys = param.getKeys();
+
+        if (OR_GROUP_KEY.equals(keys[keyIndex])) {
+            if (keys.length < keyIndex + 3) {
+                throw new IllegalArgumentException("Could not prepare filter! Invalid or group: " + toParameterName(name, keys, keys.length) + "!");
+            }
+            addCondition(group.getBranch(keys[keyIndex + 1]), name, param, keyIndex + 2, maxListValues);
+
+            return;
+        }
+        group.getConditions().add(FilterExpression.condition(toFilterItem(name, param, keyIndex, maxListValues)));
+    }
+
+    /**
+     * Create condition of the field at the key index, next key (if present) is the operator.
+     */
+    private static Filter.FilterItem toFilterItem(final String name,
+                                                  final BracketParam param,
+                                                  final int keyIndex,
+                                                  final int maxListValues) {
+        final String[] keys = param.getKeys();
+        final String fieldName = keys[keyIndex];
+
+        Filter.validateFieldPath(fieldName);
+
+        if (maxListValues > 0
+                && JsonApiQueryParser.countValues(param.getValues()) > maxListValues) {
+            throw new FilterValuesLimitExceededException(toParameterName(name, keys, keyIndex + 1), maxListValues);
+        }
+        final Filter.FilterItem.Operator operator;
+        final List<String> valueItems = JsonApiQueryParser.valueToList(param.getValues());
+
+        if (keys.length > keyIndex + 1) {
+            operator = Filter.FilterItem.Operator.of(keys[keyIndex + 1]);
+        } else {
+            operator = Filter.FilterItem.Operator.EQ;
+        }
+        Filter.validateOperatorWithValue(operator, valueItems);
+
+        return Filter.FilterItem.builder()
+            .field(fieldName)
+            .value(valueItems)
+            .operator(operator)
+            .build();
+    }
+
+    private static String toParameterName(final String name, final String[] keys, final int keysCount) {
+        final StringBuilder parameterName = new StringBuilder(name);
+
+        for (int i = 0; i < keysCount; ++i) {
+            parameterName.append('[').append(keys[i]).append(']');
+        }
+        return parameterName.toString();
+    }
+
+    /**
+     * Build page request from params with required root name and {@code sort} param.
+     *
+     * @param name page param name, for example {@code page}
+     * @throws NumberFormatException if page number or size not a number
+     * @return page request
+     */
+    public Pageable toPageable(final @NonNull String name) {
+        final Sort sort = toSort();
+        int page = 0;
+        int size = DEFAULT_PAGE_SIZE;
+
+        for (final BracketParam param : getBracketParams(name)) {
+            final List<String> valueItems = JsonApiQueryParser.valueToList(param.getValues());
+
+            if (valueItems.isEmpty()) {
+                continue;
+            }
+            final int value = Integer.parseInt(valueItems.get(0));
+
+            switch (param.getKeys()[0]) {
+                case "page":
+                case "number":
+                    page = value - 1;
+                    break;
+                case "size":
+                case "limit":
+                    size = value;
+                    break;
+                default:
+                    // Skip unknown fields
+            }
+        }
+
+        if (page < 1) {
+            page = 0;
+        }
+
+        if (size < 1) {
+            size = DEFAULT_PAGE_SIZE;
+        }
+
+        if (sort != null) {
+            return PageRequest.of(page, size, sort);
+        }
+        return PageRequest.of(page, size);
+    }
+
+    /**
+     * Build sort from {@code sort} param.
+     *
+     * <p>Fields with {@code -} prefix sorted in descending order, nested fields set with
+     * dotted path, for example {@code sort=-owner.name}.
+     *
+     * @throws IllegalArgumentException if field path is invalid
+     * @return sort if param present and null otherwise
+     */
+    public Sort toSort() {
+        final String[] fields = plainParams.get(REQUEST_SORT_PARAM_NAME);
+
+        if (fields == null) {
+            return null;
+        }
+        final List<Sort.Order> sortOrders = new ArrayList<>(fields.length);
+
+        for (final String field : fields) {
+            final boolean descending = field.startsWith("-");
+            final String path = (descending ? field.substring(1) : field);
+
+            Filter.validateFieldPath(path);
+
+            sortOrders.add(descending ? Sort.Order.desc(path) : Sort.Order.asc(path));
+        }
+        return Sort.by(sortOrders);
+    }
+
+    /**
+     * Build sparse fieldsets from params with required root name.
+     *
+     * @param name sparse fieldsets param name, for example {@code fields}
+     * @throws IllegalArgumentException if resource type is empty
+     * @return sparse fieldsets
+     */
+    public FieldSet toFieldSet(final @NonNull String name) {
+        final Map<String, Set<String>> fieldSet = new HashMap<>();
+
+        for (final BracketParam param : getBracketParams(name)) {
+            final String resourceType = param.getKeys()[0];
+
+            if (!StringUtils.hasText(resourceType)) {
+                throw new IllegalArgumentException(
+                    "Could not prepare spread fields set! " +
+                        "Argument format wrong! Valid format example: fields[resource-type]=field_1,field_2"
+                );
+            } else if (param.getValues().length == 1) {
+                fieldSet.put(resourceType, Set.of(JsonApiQueryParser.split(param.getValues()[0])));
+            } else {
+                fieldSet.put(resourceType, Collections.emptySet());
+            }
+        }
+        return new FieldSet(fieldSet);
+    }
+
+    /**
+     * Request param with square brackets, for example {@code filter[id][in]=1,2}
+     * has keys {@code id} and {@code in}.
+     */
+    @Getter
+    @ToString
+    @RequiredArgsConstructor
+    public static class BracketParam {
+        private final String[] keys;
+        private final String[] values;
+    }
+
+    /**
+     * Mutable group of conditions with {@code or} branches used while parsing.
+     */
+    private static class FilterGroup {
+        @Getter
+        private final List<FilterExpression> conditions = new ArrayList<>();
+        private final Map<String, FilterGroup> branches = new LinkedHashMap<>();
+
+        FilterGroup getBranch(final String key) {
+            return branches.computeIfAbsent(key, branchKey -> new FilterGroup());
+        }
+
+        FilterExpression toExpression() {
+            final List<FilterExpression> children = new ArrayList<>(conditions);
+
+            if (!branches.isEmpty()) {
+                final List<FilterExpression> orChildren = new ArrayList<>(branches.size());
+
+                for (final FilterGroup branch : branches.values()) {
+                    orChildren.add(branch.toExpression());
+                }
+                children.add(FilterExpression.or(orChildren));
+            }
+            return FilterExpression.and(children);
+        }
+    }
+}
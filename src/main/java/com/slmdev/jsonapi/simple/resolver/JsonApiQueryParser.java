@@ -0,0 +1,261 @@
+package com.slmdev.jsonapi.simple.resolver;
+
+import lombok.NonNull;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Hand-written parser of the JSON:API query params.
+ *
+ * <p>Tokenize all params once without regular expressions, for example
+ * {@code filter[id][in]=1,2&page[size]=10&fields[user]=name&sort=-id},
+ * and store result in the {@link JsonApiQuery} object. For servlet requests
+ * parsed query stored in the request attribute and shared by
+ * {@link JsonApiFilterArgumentResolver}, {@link JsonApiPageArgumentResolver}
+ * and {@link JsonApiSpreadFieldSetArgumentResolver}.
+ */
+public final class JsonApiQueryParser {
+    /**
+     * Request attribute name with the parsed {@link JsonApiQuery} object.
+     */
+    public static final String REQUEST_ATTRIBUTE_NAME = JsonApiQuery.class.getName();
+
+    private static final char KEY_BRACKET_START = '[';
+    private static final char KEY_BRACKET_END = ']';
+    private static final char VALUE_SEPARATOR = ',';
+    private static final char PARAM_SEPARATOR = '&';
+    private static final char PARAM_VALUE_SEPARATOR = '=';
+    private static final String[] EMPTY_VALUES = new String[0];
+
+    private JsonApiQueryParser() {
+    }
+
+    /**
+     * Get parsed query from the request attribute or parse request params
+     * and store result in the request attribute.
+     *
+     * @param nativeWebRequest current request
+     * @return parsed query
+     */
+    public static JsonApiQuery parse(final @NonNull NativeWebRequest nativeWebRequest) {
+        final Object cachedQuery = nativeWebRequest.getAttribute(REQUEST_ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+
+        if (cachedQuery instanceof JsonApiQuery) {
+            return (JsonApiQuery)cachedQuery;
+        }
+        final JsonApiQuery query = parse(nativeWebRequest.getParameterMap());
+
+        nativeWebRequest.setAttribute(REQUEST_ATTRIBUTE_NAME, query, RequestAttributes.SCOPE_REQUEST);
+
+        return query;
+    }
+
+    /**
+     * Parse already decoded request params.
+     *
+     * @param parameterMap request params with values
+     * @return parsed query
+     */
+    public static JsonApiQuery parse(final Map<String, String[]> parameterMap) {
+        final Map<String, List<JsonApiQuery.BracketParam>> bracketParams = new LinkedHashMap<>();
+        final Map<String, String[]> plainParams = new LinkedHashMap<>();
+
+        if (parameterMap == null) {
+            return new JsonApiQuery(bracketParams, plainParams);
+        }
+
+        for (final Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+            final String key = entry.getKey();
+            final String[] values = (entry.getValue() != null ? entry.getValue() : EMPTY_VALUES);
+            final int bracketStart = key.indexOf(KEY_BRACKET_START);
+            final String[] keys = (bracketStart > 0 ? tokenizeKeys(key, bracketStart) : null);
+
+            if (keys != null) {
+                bracketParams.computeIfAbsent(key.substring(0, bracketStart), name -> new ArrayList<>())
+                    .add(new JsonApiQuery.BracketParam(keys, values));
+            } else {
+                plainParams.put(key, values);
+            }
+        }
+        return new JsonApiQuery(bracketParams, plainParams);
+    }
+
+    /**
+     * Parse raw (not decoded) query string, for example {@code filter[id]=1&sort=-id}.
+     *
+     * <p>Param names and values are decoded as {@code application/x-www-form-urlencoded} in UTF-8.
+     *
+     * @param rawQuery raw query string without leading {@code ?}
+     * @return parsed query
+     */
+    public static JsonApiQuery parse(final String rawQuery) {
+        final Map<String, List<String>> params = new LinkedHashMap<>();
+
+        if (rawQuery != null) {
+            final int length = rawQuery.length();
+            int position = 0;
+
+            while (position < length) {
+                int paramEnd = rawQuery.indexOf(PARAM_SEPARATOR, position);
+
+                if (paramEnd < 0) {
+                    paramEnd = length;
+                }
+
+                if (paramEnd > position) {
+                    final int valueStart = rawQuery.indexOf(PARAM_VALUE_SEPARATOR, position);
+                    final String key;
+                    final String value;
+
+                    if (valueStart < 0 || valueStart > paramEnd) {
+                        key = decode(rawQuery, position, paramEnd);
+                        value = "";
+                    } else {
+                        key = decode(rawQuery, position, valueStart);
+                        value = decode(rawQuery, valueStart + 1, paramEnd);
+                    }
+
+                    if (!key.isEmpty()) {
+                        params.computeIfAbsent(key, name -> new ArrayList<>(1)).add(value);
+                    }
+                }
+                position = paramEnd + 1;
+            }
+        }
+        final Map<String, String[]> parameterMap = new LinkedHashMap<>(params.size() * 2);
+
+        params.forEach((key, values) -> parameterMap.put(key, values.toArray(EMPTY_VALUES)));
+
+        return parse(parameterMap);
+    }
+
+    /**
+     * Split each value by comma except JSON objects.
+     *
+     * @param values param values
+     * @return list of all values
+     */
+    static List<String> valueToList(final String[] values) {
+        final List<String> valueItems = new ArrayList<>(values.length);
+
+        for (final String value : values) {
+            if (!value.startsWith("{")
+                    && !value.startsWith("[{")) {
+                Collections.addAll(valueItems, split(value));
+            } else {
+                valueItems.add(value);
+            }
+        }
+        return valueItems;
+    }
+
+    /**
+     * Count values the same as {@link #valueToList(String[])} would split them without splitting.
+     *
+     * @param values raw param values
+     * @return number of values
+     */
+    static int countValues(final String[] values) {
+        int count = 0;
+
+        for (final String value : values) {
+            if (!value.startsWith("{")
+                    && !value.startsWith("[{")) {
+                count += countSplitItems(value);
+            } else {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Count items the same as {@code value.split(",").length}.
+     */
+    private static int countSplitItems(final String value) {
+        int end = value.length();
+
+        // Trailing empty strings are removed by split
+        while (end > 0 && value.charAt(end - 1) == VALUE_SEPARATOR) {
+            --end;
+        }
+
+        if (end == 0) {
+            return (value.isEmpty() ? 1 : 0);
+        }
+        int count = 1;
+
+        for (int i = 0; i < end; ++i) {
+            if (value.charAt(i) == VALUE_SEPARATOR) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Split value by comma the same as {@code value.split(",")}
+     * (trailing empty strings are removed).
+     *
+     * @param value value to split
+     * @return array of values
+     */
+    static String[] split(final String value) {
+        if (value.indexOf(VALUE_SEPARATOR) < 0) {
+            return new String[] {value};
+        }
+        final List<String> items = new ArrayList<>();
+        int start = 0;
+        int end;
+
+        while ((end = value.indexOf(VALUE_SEPARATOR, start)) >= 0) {
+            items.add(value.substring(start, end));
+
+            start = end + 1;
+        }
+        items.add(value.substring(start));
+
+        int size = items.size();
+
+        while (size > 0 && items.get(size - 1).isEmpty()) {
+            --size;
+        }
+        return items.subList(0, size).toArray(EMPTY_VALUES);
+    }
+
+    private static String[] tokenizeKeys(final String key, final int bracketStart) {
+        final List<String> keys = new ArrayList<>(2);
+        final int length = key.length();
+        int position = bracketStart;
+
+        while (position < length) {
+            if (key.charAt(position) != KEY_BRACKET_START) {
+                return null;
+            }
+            final int bracketEnd = key.indexOf(KEY_BRACKET_END, position + 1);
+
+            if (bracketEnd < 0) {
+                return null;
+            }
+            keys.add(key.substring(position + 1, bracketEnd));
+
+            position = bracketEnd + 1;
+        }
+        return keys.toArray(EMPTY_VALUES);
+    }
+
+    private static String decode(final String rawQuery, final int start, final int end) {
+        for (int i = start; i < end; ++i) {
+            final char symbol = rawQuery.charAt(i);
+
+            if (symbol == '%' || symbol == '+') {
+                return URLDecoder.decode(rawQuery.substring(start, end), StandardCharsets.UTF_8);
+            }
+        }
+        return rawQuery.substring(start, end);
+    }
+}
@@ -0,0 +1,53 @@
+package com.slmdev.jsonapi.simple.resolver.reactive;
+
+import com.slmdev.jsonapi.simple.annotation.RequestJsonApiFilter;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.QueryComplexityBudget;
+import lombok.NonNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.SyncHandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Spring WebFlux resolver using for extract filter values from the request.
+ *
+ * <p>Reactive counterpart of the {@link com.slmdev.jsonapi.simple.resolver.JsonApiFilterArgumentResolver},
+ * supports the same {@code filter[id][in]=123,345} format and creates the same {@link Filter} object.
+ * Values are parsed from the exchange query string without blocking.
+ *
+ * <p>This resolver must be registered in Spring WebFlux application, for example in
+ * {@code WebFluxConfigurer#configureArgumentResolvers}.
+ */
+public class ReactiveJsonApiFilterArgumentResolver implements SyncHandlerMethodArgumentResolver {
+    private final QueryComplexityBudget budget;
+
+    public ReactiveJsonApiFilterArgumentResolver() {
+        this(QueryComplexityBudget.unlimited());
+    }
+
+    /**
+     * @param budget global complexity budget of the filter, max cost may be overridden by the annotation
+     */
+    public ReactiveJsonApiFilterArgumentResolver(final @NonNull QueryComplexityBudget budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterAnnotation(RequestJsonApiFilter.class) != null;
+    }
+
+    @Override
+    public Object resolveArgumentValue(final MethodParameter methodParameter,
+                                       final BindingContext bindingContext,
+                                       final ServerWebExchange exchange) {
+        final RequestJsonApiFilter requestJsonApiFilter = methodParameter.getParameterAnnotation(RequestJsonApiFilter.class);
+        final Filter filter = ReactiveJsonApiQueryParser.parse(exchange)
+            .toFilter(requestJsonApiFilter.name(), requestJsonApiFilter.maxListValues(), requestJsonApiFilter.expressions());
+
+        budget.withAnnotationMaxCost(requestJsonApiFilter.maxCost()).check(filter, requestJsonApiFilter.name());
+
+        return filter;
+    }
+}
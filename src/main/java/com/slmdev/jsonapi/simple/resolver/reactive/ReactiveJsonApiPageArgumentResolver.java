@@ -0,0 +1,54 @@
+package com.slmdev.jsonapi.simple.resolver.reactive;
+
+import com.slmdev.jsonapi.simple.annotation.RequestJsonApiPage;
+import com.slmdev.jsonapi.simple.request.QueryComplexityBudget;
+import lombok.NonNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.SyncHandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Spring WebFlux resolver using for extract page values from the request.
+ *
+ * <p>Reactive counterpart of the {@link com.slmdev.jsonapi.simple.resolver.JsonApiPageArgumentResolver},
+ * supports the same {@code page[number]=3&page[size]=15&sort=-id} format and creates
+ * the same spring {@link Pageable} object. Values are parsed from the exchange
+ * query string without blocking.
+ *
+ * <p>This resolver must be registered in Spring WebFlux application, for example in
+ * {@code WebFluxConfigurer#configureArgumentResolvers}.
+ */
+public class ReactiveJsonApiPageArgumentResolver implements SyncHandlerMethodArgumentResolver {
+    private final QueryComplexityBudget budget;
+
+    public ReactiveJsonApiPageArgumentResolver() {
+        this(QueryComplexityBudget.unlimited());
+    }
+
+    /**
+     * @param budget global complexity budget of the page and sort, max cost may be overridden by the annotation
+     */
+    public ReactiveJsonApiPageArgumentResolver(final @NonNull QueryComplexityBudget budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterAnnotation(RequestJsonApiPage.class) != null;
+    }
+
+    @Override
+    public Pageable resolveArgumentValue(final MethodParameter methodParameter,
+                                         final BindingContext bindingContext,
+                                         final ServerWebExchange exchange) {
+        final RequestJsonApiPage requestJsonApiPage = methodParameter.getParameterAnnotation(RequestJsonApiPage.class);
+        final Pageable pageable = ReactiveJsonApiQueryParser.parse(exchange)
+            .toPageable(requestJsonApiPage.name());
+
+        budget.withAnnotationMaxCost(requestJsonApiPage.maxCost()).check(pageable, requestJsonApiPage.name());
+
+        return pageable;
+    }
+}
@@ -0,0 +1,31 @@
+package com.slmdev.jsonapi.simple.resolver.reactive;
+
+import com.slmdev.jsonapi.simple.resolver.JsonApiQuery;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+import lombok.NonNull;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Parse JSON:API query params from the WebFlux exchange.
+ *
+ * <p>Raw query string parsed once by {@link JsonApiQueryParser} and stored
+ * in the exchange attribute, so all reactive JSON:API resolvers share
+ * the same {@link JsonApiQuery} object.
+ */
+final class ReactiveJsonApiQueryParser {
+    private ReactiveJsonApiQueryParser() {
+    }
+
+    static JsonApiQuery parse(final @NonNull ServerWebExchange exchange) {
+        final Object cachedQuery = exchange.getAttribute(JsonApiQueryParser.REQUEST_ATTRIBUTE_NAME);
+
+        if (cachedQuery instanceof JsonApiQuery) {
+            return (JsonApiQuery)cachedQuery;
+        }
+        final JsonApiQuery query = JsonApiQueryParser.parse(exchange.getRequest().getURI().getRawQuery());
+
+        exchange.getAttributes().put(JsonApiQueryParser.REQUEST_ATTRIBUTE_NAME, query);
+
+        return query;
+    }
+}
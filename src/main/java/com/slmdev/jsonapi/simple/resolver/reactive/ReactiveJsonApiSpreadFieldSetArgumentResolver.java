@@ -0,0 +1,35 @@
+package com.slmdev.jsonapi.simple.resolver.reactive;
+
+import com.slmdev.jsonapi.simple.annotation.RequestJsonApiFieldSet;
+import com.slmdev.jsonapi.simple.request.FieldSet;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.SyncHandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Spring WebFlux resolver using for extract sparse fieldsets from the request.
+ *
+ * <p>Reactive counterpart of the {@link com.slmdev.jsonapi.simple.resolver.JsonApiSpreadFieldSetArgumentResolver},
+ * supports the same {@code fields[resource-type]=field_1,field_2} format and creates
+ * the same {@link FieldSet} object. Values are parsed from the exchange query string without blocking.
+ *
+ * <p>This resolver must be registered in Spring WebFlux application, for example in
+ * {@code WebFluxConfigurer#configureArgumentResolvers}.
+ */
+public class ReactiveJsonApiSpreadFieldSetArgumentResolver implements SyncHandlerMethodArgumentResolver {
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterAnnotation(RequestJsonApiFieldSet.class) != null;
+    }
+
+    @Override
+    public Object resolveArgumentValue(final MethodParameter methodParameter,
+                                       final BindingContext bindingContext,
+                                       final ServerWebExchange exchange) {
+        final RequestJsonApiFieldSet requestJsonApiFieldSet = methodParameter.getParameterAnnotation(RequestJsonApiFieldSet.class);
+
+        return ReactiveJsonApiQueryParser.parse(exchange)
+            .toFieldSet(requestJsonApiFieldSet.name());
+    }
+}
@@ -0,0 +1,188 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.annotation.JsonApiId;
+import com.slmdev.jsonapi.simple.annotation.JsonApiType;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Factory that pack primary objects in the {@link Data} objects one by one.
+ *
+ * <p>Resource type extracted from the {@link JsonApiType} class annotation of the first
+ * packed object (if not set manually) and resource id from the field with {@link JsonApiId}
+ * annotation. Annotated fields are resolved once per class and reused by all factories.
+ *
+ * <p>When data type set manually resource id is the manual id (if passed)
+ * or random UUID for each object.
+ *
+ * <p>Factory is not thread safe and should be used for one response only.
+ *
+ * @param <V> primary object type we work with
+ */
+@Slf4j
+public class JsonApiDataFactory<V> {
+    private static final Map<Class<?>, Optional<Field>> JSON_API_ID_FIELDS = new ConcurrentHashMap<>();
+
+    private final String uriPrefix;
+    private final boolean isManualDataType;
+    private final String jsonApiId;
+    private String jsonApiType;
+    private String selfLinkPrefix;
+
+    /**
+     * Create factory with resource type and id from annotations.
+     *
+     * @param uriPrefix uri prefix for self links
+     */
+    public JsonApiDataFactory(final @NonNull String uriPrefix) {
+        this(uriPrefix, null, false, null);
+    }
+
+    /**
+     * Create factory with manual resource type and id.
+     *
+     * @param uriPrefix uri prefix for self links
+     * @param jsonApiType custom json api data type
+     * @param jsonApiId custom json api id, if null random UUID will be generated for each object
+     */
+    public JsonApiDataFactory(final @NonNull String uriPrefix, final @NonNull String jsonApiType, final String jsonApiId) {
+        this(uriPrefix, jsonApiType, true, jsonApiId);
+    }
+
+    JsonApiDataFactory(final @NonNull String uriPrefix,
+                       final String jsonApiType,
+                       final boolean isManualDataType,
+                       final String jsonApiId) {
+        this.uriPrefix = uriPrefix;
+        this.isManualDataType = isManualDataType;
+        this.jsonApiId = (StringUtils.hasText(jsonApiId) ? jsonApiId : null);
+
+        if (jsonApiType != null) {
+            setJsonApiType(jsonApiType);
+        }
+    }
+
+    /**
+     * Get resource type.
+     *
+     * @return resource type or null if not set manually and no objects packed yet
+     */
+    public String getJsonApiType() {
+        return jsonApiType;
+    }
+
+    /**
+     * Pack object in the {@link Data} object with type, id and self link.
+     *
+     * @param object primary object
+     * @throws RuntimeException if object class has no {@link JsonApiType} annotation
+     * @return data object
+     */
+    public Data<V> toData(final @NonNull V object) {
+        if (jsonApiType == null) {
+            setJsonApiType(getJsonApiType(object.getClass()));
+        }
+        final String dataId;
+
+        if (!isManualDataType) {
+            dataId = getJsonApiIdFieldValue(object);
+        } else if (jsonApiId != null) {
+            dataId = jsonApiId;
+        } else {
+            dataId = UUID.randomUUID().toString();
+
+            LOGGER.trace("Create JSON API response random response id: {}", dataId);
+        }
+        return new Data<>(jsonApiType, dataId, object, new Data.Link(selfLinkPrefix + dataId, null));
+    }
+
+    private void setJsonApiType(final String jsonApiType) {
+        this.jsonApiType = jsonApiType;
+
+        if (uriPrefix.endsWith("/" + jsonApiType)) {
+            this.selfLinkPrefix = uriPrefix + "/";
+        } else {
+            this.selfLinkPrefix = uriPrefix + "/" + jsonApiType + "/";
+        }
+    }
+
+    /**
+     * Get resource type from the {@link JsonApiType} class annotation.
+     *
+     * @param type object class
+     * @throws RuntimeException if class has no {@link JsonApiType} annotation
+     * @return resource type
+     */
+    public static String getJsonApiType(final @NonNull Class<?> type) {
+        final JsonApiType jsonApiTypeAnnotation = type.getAnnotation(JsonApiType.class);
+
+        if (jsonApiTypeAnnotation == null) {
+            throw new RuntimeException(
+                "Could not create response! Response entity must contain the class annotation @JsonApiType! " +
+                    "See: https://jsonapi.org/format/#document-resource-object-identification for more information"
+            );
+        }
+        return jsonApiTypeAnnotation.value();
+    }
+
+    /**
+     * Get resource id from the field with {@link JsonApiId} annotation.
+     *
+     * @param object primary object
+     * @throws RuntimeException if annotated field value is null
+     * @return resource id or null if object has no annotated field
+     */
+    public static String getJsonApiIdFieldValue(final @NonNull Object object) {
+        final Optional<Field> jsonApiIdField = JSON_API_ID_FIELDS.computeIfAbsent(
+            object.getClass(),
+            JsonApiDataFactory::findJsonApiIdField
+        );
+        if (jsonApiIdField.isEmpty()) {
+            return null;
+        }
+        Object value = null;
+
+        try {
+            value = jsonApiIdField.get().get(object);
+        } catch (Exception exception) {
+            LOGGER.error("Could not retrieve json api id field from: {}! Reason: {}",
+                object.getClass().getName(), exception.getMessage());
+        }
+
+        if (value == null) {
+            throw new RuntimeException(
+                "Could not create response! Response entity must contain the field with @JsonApiId annotation! " +
+                    "See: https://jsonapi.org/format/#document-resource-object-identification for more information"
+            );
+        }
+        return value.toString();
+    }
+
+    private static Optional<Field> findJsonApiIdField(final Class<?> objectType) {
+        Field jsonApiIdField = null;
+        Class<?> type = objectType;
+
+        while (type != null) {
+            for (final Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(JsonApiId.class)) {
+                    jsonApiIdField = field;
+
+                    break;
+                }
+            }
+            type = type.getSuperclass();
+        }
+
+        if (jsonApiIdField != null) {
+            jsonApiIdField.setAccessible(true);
+        }
+        return Optional.ofNullable(jsonApiIdField);
+    }
+}
@@ -0,0 +1,146 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writer of the JSON API resources in the NDJSON (newline delimited JSON) format.
+ *
+ * <p>Each element packed in the {@link Data} object (type, id, attributes and links) by the
+ * {@link JsonApiDataFactory} and written as one line, after the last element written
+ * the line with the {@code meta} object only, for example:
+ * <pre>
+ * {@code
+ *     {"type":"user","id":"1","attributes":{"id":1,"name":"John"},"links":{"self":"/api/v1/user/1"}}
+ *     {"type":"user","id":"2","attributes":{"id":2,"name":"Jane"},"links":{"self":"/api/v1/user/2"}}
+ *     {"meta":{"api":{"version":"1"},"page":{"maxSize":25,"total":2}}}
+ * }
+ * </pre>
+ *
+ * <p>Elements are consumed one by one and output flushed every {@code flushSize} lines,
+ * so memory usage doesn't depend on the number of elements. Using with Spring MVC
+ * {@code StreamingResponseBody} response will be written chunked, for example:
+ * <pre>
+ * {@code
+ *     public ResponseEntity<StreamingResponseBody> export() {
+ *         return ResponseEntity.ok()
+ *             .contentType(MediaType.parseMediaType(JsonApiNdjsonWriter.MEDIA_TYPE))
+ *             .body(out -> ndjsonWriter.write(out, repository.streamAll(), new JsonApiDataFactory<>("/api/v1"), null));
+ *     }
+ * }
+ * </pre>
+ */
+public class JsonApiNdjsonWriter {
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final int DEFAULT_FLUSH_SIZE = 1000;
+    private static final String DEFAULT_API_VERSION = "1";
+    private static final int DEFAULT_MAX_PAGE_SIZE = 25;
+    private static final char LINE_SEPARATOR = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter dataWriter;
+    private final ObjectWriter metaLineWriter;
+    private final int flushSize;
+
+    public JsonApiNdjsonWriter(final @NonNull ObjectMapper objectMapper) {
+        this(objectMapper, DEFAULT_FLUSH_SIZE);
+    }
+
+    /**
+     * @param objectMapper object mapper for data and meta objects
+     * @param flushSize number of lines written before output flushed
+     */
+    public JsonApiNdjsonWriter(final @NonNull ObjectMapper objectMapper, final int flushSize) {
+        if (flushSize < 1) {
+            throw new IllegalArgumentException("Could not create NDJSON writer! Flush size must be greater than 0!");
+        }
+        this.objectMapper = objectMapper;
+        this.dataWriter = objectMapper.writerFor(Data.class);
+        this.metaLineWriter = objectMapper.writerFor(Response.class);
+        this.flushSize = flushSize;
+    }
+
+    /**
+     * See {@link JsonApiNdjsonWriter#write(OutputStream, Iterator, JsonApiDataFactory, Meta)}.
+     *
+     * <p>Stream is closed after writing.
+     *
+     * @param outputStream output stream, it will not be closed
+     * @param data data elements
+     * @param dataFactory factory to pack elements in the {@link Data} objects
+     * @param meta meta object for the last line, if null default meta will be used
+     * @param <V> primary object type
+     * @throws IOException if could not write to the output stream
+     * @return number of written elements
+     */
+    public <V> long write(final @NonNull OutputStream outputStream,
+                          final @NonNull Stream<? extends V> data,
+                          final @NonNull JsonApiDataFactory<V> dataFactory,
+                          final Meta meta) throws IOException {
+        try (data) {
+            return write(outputStream, data.iterator(), dataFactory, meta);
+        }
+    }
+
+    /**
+     * Write each element as the {@link Data} object per line and the {@code meta} object
+     * in the last line.
+     *
+     * <p>If meta page total not set (less than 0) it will be equal to number of written elements.
+     *
+     * @param outputStream output stream, it will not be closed
+     * @param data data elements
+     * @param dataFactory factory to pack elements in the {@link Data} objects
+     * @param meta meta object for the last line, if null default meta will be used
+     * @param <V> primary object type
+     * @throws IOException if could not write to the output stream
+     * @return number of written elements
+     */
+    public <V> long write(final @NonNull OutputStream outputStream,
+                          final @NonNull Iterator<? extends V> data,
+                          final @NonNull JsonApiDataFactory<V> dataFactory,
+                          final Meta meta) throws IOException {
+        final Meta responseMeta = (meta != null ? meta : buildDefaultMeta());
+        long count = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            while (data.hasNext()) {
+                dataWriter.writeValue(generator, dataFactory.toData(data.next()));
+                generator.writeRaw(LINE_SEPARATOR);
+
+                if (++count % flushSize == 0) {
+                    generator.flush();
+                }
+            }
+
+            if (responseMeta.getPage() != null
+                    && responseMeta.getPage().getTotal() < 0) {
+                responseMeta.getPage().setTotal(count);
+            }
+            metaLineWriter.writeValue(generator, new Response<>(null, null, responseMeta));
+            generator.writeRaw(LINE_SEPARATOR);
+            generator.flush();
+        }
+        return count;
+    }
+
+    private static Meta buildDefaultMeta() {
+        return new Meta(
+            new Api(DEFAULT_API_VERSION),
+            new Meta.Page(DEFAULT_MAX_PAGE_SIZE, -1, null, null),
+            null,
+            null
+        );
+    }
+}
@@ -7,15 +7,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Rest response data type in JSON API format.
@@ -243,96 +243,44 @@ public class Response<T> {
             if (StringUtils.hasText(jsonApiType)) {
                 return;
             }
-            JsonApiType jsonApiTypeAnnotation = null;
 
             if (object instanceof Collection) {
                 if (((Collection)object).size() > 0) {
-                    jsonApiTypeAnnotation = ((Collection)object).stream()
-                        .findFirst()
-                        .get()
-                        .getClass()
-                        .getAnnotation(JsonApiType.class);
+                    jsonApiType = JsonApiDataFactory.getJsonApiType(
+                        ((Collection)object).stream()
+                            .findFirst()
+                            .get()
+                            .getClass()
+                    );
                 } else {
                     jsonApiType = "";
-
-                    return;
                 }
             } else {
-                jsonApiTypeAnnotation = object.getClass().getAnnotation(JsonApiType.class);
+                jsonApiType = JsonApiDataFactory.getJsonApiType(object.getClass());
             }
-
-            if (jsonApiTypeAnnotation == null) {
-                throw new RuntimeException(
-                    "Could not create response! Response entity must contain the class annotation @JsonApiType! " +
-                        "See: https://jsonapi.org/format/#document-resource-object-identification for more information"
-                );
-            }
-            jsonApiType = jsonApiTypeAnnotation.value();
         }
 
         private List<Data<V>> toJsonApiData(final Collection<V> data) {
-            final List<Data<V>> datas = new ArrayList<>();
+            final JsonApiDataFactory<V> dataFactory = createDataFactory();
+            final List<Data<V>> datas = new ArrayList<>(data.size());
 
             for (final V object : data) {
-                datas.add(toJsonApiData(object));
+                datas.add(dataFactory.toData(object));
             }
             return datas;
         }
 
         private Data<V> toJsonApiData(final V data) {
-            final String dataId;
-
-            if (!isManualDataType) {
-                dataId = getJsonApiIdFieldValue(data);
-            } else {
-                if (isManualDataId) {
-                    dataId = jsonApiId;
-                } else {
-                    dataId = UUID.randomUUID().toString();
-
-                    LOGGER.trace("Create JSON API response random response id: {}", dataId);
-                }
-            }
-            return new Data<>(jsonApiType, dataId, data, buildDataLink(dataId));
+            return createDataFactory().toData(data);
         }
 
-        private Data.Link buildDataLink(final @NonNull String dataId) {
-            return new Data.Link(this.uriPrefix + "/" + dataId, null);
-        }
-
-        private String getJsonApiIdFieldValue(final Object object) {
-            String value = null;
-            boolean isJsonApiIdFieldPresent = false;
-            Class<?> type = object.getClass();
-
-            while (type != null) {
-                for (final Field field : type.getDeclaredFields()) {
-                    if (field.isAnnotationPresent(JsonApiId.class)) {
-                        try {
-                            field.setAccessible(true);
-
-                            value = field.get(object).toString();
-                            isJsonApiIdFieldPresent = true;
-
-                            field.setAccessible(false);
-                        } catch (Exception exception) {
-                            LOGGER.error("Could not retrieve json api id field from: {}! Reason: {}",
-                                object.getClass().getName(), exception.getMessage());
-                        }
-                        break;
-                    }
-                }
-                type = type.getSuperclass();
-            }
-
-            if (isJsonApiIdFieldPresent
-                    && value == null) {
-                throw new RuntimeException(
-                    "Could not create response! Response entity must contain the field with @JsonApiId annotation! " +
-                        "See: https://jsonapi.org/format/#document-resource-object-identification for more information"
-                );
-            }
-            return value;
+        private JsonApiDataFactory<V> createDataFactory() {
+            return new JsonApiDataFactory<>(
+                uriPrefix,
+                jsonApiType,
+                isManualDataType,
+                (isManualDataId ? jsonApiId : null)
+            );
         }
 
         /**
@@ -524,6 +472,39 @@ public class Response<T> {
             return this;
         }
 
+        /**
+         * Set page content as data, page size and total number of elements (i.e. from
+         * {@link com.slmdev.jsonapi.simple.memory.InMemoryQueryEngine} or Spring Data repository).
+         *
+         * <p>Page size not changed if page is unpaged.
+         *
+         * @param page page of elements
+         * @return self link
+         */
+        public ResponseBuilder<T, V> page(final @NonNull Page<?> page) {
+            data(page.getContent());
+
+            if (page.getPageable().isPaged()) {
+                this.meta.getPage().setMaxSize(page.getSize());
+            }
+            this.meta.getPage().setTotal(page.getTotalElements());
+
+            return this;
+        }
+
+        /**
+         * Set empty data list with zero total, i.e. when normalized filter matches nothing
+         * (see {@link com.slmdev.jsonapi.simple.request.Filter#matchesNothing()}).
+         *
+         * @return self link
+         */
+        public ResponseBuilder<T, V> emptyData() {
+            data(Collections.emptyList());
+            this.meta.getPage().setTotal(0);
+
+            return this;
+        }
+
         /**
          * Override page size only.
          *
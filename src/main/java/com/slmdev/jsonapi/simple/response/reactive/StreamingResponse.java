@@ -0,0 +1,236 @@
+package com.slmdev.jsonapi.simple.response.reactive;
+
+import com.slmdev.jsonapi.simple.annotation.JsonApiId;
+import com.slmdev.jsonapi.simple.annotation.JsonApiType;
+import com.slmdev.jsonapi.simple.response.Api;
+import com.slmdev.jsonapi.simple.response.JsonApiDataFactory;
+import com.slmdev.jsonapi.simple.response.Meta;
+import com.slmdev.jsonapi.simple.response.Response;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import org.reactivestreams.Publisher;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming response in JSON API format for Spring WebFlux.
+ *
+ * <p>Unlike {@link Response} data is not collected in memory: each element of the
+ * data publisher packed in the {@link com.slmdev.jsonapi.simple.response.Data} object
+ * and written to the {@code data} array as soon as it arrives, {@code meta} object
+ * written after the last element. See {@link StreamingResponseHttpMessageWriter}.
+ *
+ * <p>Response can be written only once because data publisher consumed while writing.
+ *
+ * @param <V> primary object type we work with, each object will be
+ *            packed in the {@link com.slmdev.jsonapi.simple.response.Data} object
+ */
+@Getter
+@ToString
+public class StreamingResponse<V> {
+    private final Flux<V> data;
+    private final JsonApiDataFactory<V> dataFactory;
+    private final Meta meta;
+
+    private StreamingResponse(final Flux<V> data, final JsonApiDataFactory<V> dataFactory, final Meta meta) {
+        this.data = data;
+        this.dataFactory = dataFactory;
+        this.meta = meta;
+    }
+
+    /**
+     * Builder that construct streaming response in JSON API format.
+     *
+     * <p>Each response entity must contain annotations: {@link JsonApiType} and {@link JsonApiId}
+     * the same as for {@link Response.ResponseBuilder} or data type must be set manually.
+     *
+     * @param <V> primary object type we work with
+     */
+    public static class StreamingResponseBuilder<V> {
+        private static final String DEFAULT_API_VERSION = "1";
+        private static final int DEFAULT_MAX_PAGE_SIZE = 25;
+
+        private final Meta meta;
+
+        private Flux<V> data;
+        private String jsonApiId;
+        private String jsonApiType;
+        private String uriPrefix;
+
+        public StreamingResponseBuilder() {
+            this.uriPrefix = "";
+            this.data = Flux.empty();
+            this.meta = new Meta(
+                new Api(DEFAULT_API_VERSION),
+                new Meta.Page(DEFAULT_MAX_PAGE_SIZE, -1, null, null),
+                null,
+                null
+            );
+        }
+
+        /**
+         * Set uri prefix for generated self links.
+         *
+         * @param uriPrefix uri prefix
+         * @return self link
+         */
+        public StreamingResponseBuilder<V> uri(final @NonNull String uriPrefix) {
+            this.uriPrefix = uriPrefix;
+
+            return this;
+        }
+
+        /**
+         * Set api version.
+         *
+         * @param apiVersion api version for meta data
+         * @return self link
+         */
+        public StreamingResponseBuilder<V> apiVersion(final @NonNull String apiVersion) {
+            this.meta.getApi().setVersion(apiVersion);
+
+            return this;
+        }
+
+        /**
+         * Set manually json api id for all data objects.
+         *
+         * <p>Used only with manual data type, see {@link #jsonApiType(String)}.
+         *
+         * @param id custom json api id for the response
+         * @return self link
+         */
+        public StreamingResponseBuilder<V> jsonApiId(final String id) {
+            this.jsonApiId = id;
+
+            return this;
+        }
+
+        /**
+         * Set manually json api data type for response.
+         *
+         * <p>If data type set manually {@link JsonApiType} and {@link JsonApiId} annotations
+         * are ignored and random id (UUID) generated for each data object if id not set manually.
+         *
+         * @param type custom json api data type for the response
+         * @return self link
+         */
+        public StreamingResponseBuilder<V> jsonApiType(final String type) {
+            this.jsonApiType = type;
+
+            return this;
+        }
+
+        /**
+         * Set data publisher for response.
+         *
+         * @param data data publisher, i.e. {@link Flux}
+         * @return self link
+         */
+        public StreamingResponseBuilder<V> data(final @NonNull Publisher<? extends V> data) {
+            this.data = Flux.from(data);
+
+            return this;
+        }
+
+        /**
+         * Override total size of the response collection.
+         *
+         * <p>If not passed the total field will be calculated automatically
+         * by the number of written data objects.
+         *
+         * @param total collection size
+         * @return self link
+         */
+        public StreamingResponseBuilder<V> total(final long total) {
+            return page(DEFAULT_MAX_PAGE_SIZE, total);
+        }
+
+        /**
+         * Override page size and total size of the response collection.
+         *
+         * @param maxSize max page size
+         * @param total collection size
+         * @return self link
+         */
+        public StreamingResponseBuilder<V> page(final int maxSize, final long total) {
+            this.meta.getPage().setMaxSize(maxSize);
+            this.meta.getPage().setTotal(total);
+
+            return this;
+        }
+
+        /**
+         * Override page size only.
+         *
+         * @param maxSize page size
+         * @return self link
+         */
+        public StreamingResponseBuilder<V> pageSize(final int maxSize) {
+            this.meta.getPage().setMaxSize(maxSize);
+
+            return this;
+        }
+
+        /**
+         * Facebook previous page (cursor before).
+         *
+         * @param prev previous page cursor
+         * @return self link
+         */
+        public StreamingResponseBuilder<V> pagePrev(final String prev) {
+            this.meta.getPage().setPrev(prev);
+
+            return this;
+        }
+
+        /**
+         * Facebook next page (cursor after).
+         *
+         * @param next next page cursor
+         * @return self link
+         */
+        public StreamingResponseBuilder<V> pageNext(final String next) {
+            this.meta.getPage().setNext(next);
+
+            return this;
+        }
+
+        /**
+         * @param trace trace specific meta information
+         * @return self link
+         */
+        public StreamingResponseBuilder<V> metaTrace(final @NonNull Meta.Trace trace) {
+            meta.setTrace(trace);
+
+            return this;
+        }
+
+        /**
+         * Build response.
+         *
+         * @return streaming response
+         */
+        public StreamingResponse<V> build() {
+            final JsonApiDataFactory<V> dataFactory;
+
+            if (StringUtils.hasText(jsonApiType)) {
+                dataFactory = new JsonApiDataFactory<>(uriPrefix, jsonApiType, jsonApiId);
+            } else {
+                dataFactory = new JsonApiDataFactory<>(uriPrefix);
+            }
+            return new StreamingResponse<>(data, dataFactory, meta);
+        }
+    }
+
+    /**
+     * @see StreamingResponseBuilder
+     *
+     * @param <V> data object type using for prepare data field in response
+     * @return {@link StreamingResponseBuilder} new instance
+     */
+    public static <V> StreamingResponseBuilder<V> builder() {
+        return new StreamingResponseBuilder<>();
+    }
+}
@@ -0,0 +1,176 @@
+package com.slmdev.jsonapi.simple.response.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.slmdev.jsonapi.simple.response.Data;
+import com.slmdev.jsonapi.simple.response.JsonApiDataFactory;
+import com.slmdev.jsonapi.simple.response.Meta;
+import lombok.NonNull;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.HttpMessageWriter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spring WebFlux writer for the {@link StreamingResponse} objects.
+ *
+ * <p>Write single JSON API document with the {@code data} array written incrementally:
+ * each element packed in the {@link Data} object and serialized as soon as it arrives,
+ * elements are requested from the data publisher only when the connection
+ * is ready to write (backpressure). The {@code meta} object written after the last element,
+ * if total not set manually it equals to the number of written elements.
+ *
+ * <p>If requested media type is {@code application/x-ndjson} each element written as one
+ * {@link Data} object per line and the {@code meta} object in the last line
+ * (the same format as {@link com.slmdev.jsonapi.simple.response.JsonApiNdjsonWriter}).
+ *
+ * <p>If data publisher fails after the first element response is already committed,
+ * so the error only terminates the response stream.
+ *
+ * <p>This writer must be registered in Spring WebFlux application, for example:
+ * <pre>
+ * {@code
+ *     public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+ *         configurer.customCodecs().register(new StreamingResponseHttpMessageWriter(objectMapper));
+ *     }
+ * }
+ * </pre>
+ */
+public class StreamingResponseHttpMessageWriter implements HttpMessageWriter<StreamingResponse<?>> {
+    private static final byte[] DOCUMENT_START = "{\"data\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DATA_SEPARATOR = ",".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] META_START = "],\"meta\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DOCUMENT_END = "}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NDJSON_META_START = "{\"meta\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NDJSON_LINE_END = "}\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LINE_SEPARATOR = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectWriter dataWriter;
+    private final ObjectWriter metaWriter;
+
+    public StreamingResponseHttpMessageWriter(final @NonNull ObjectMapper objectMapper) {
+        this.dataWriter = objectMapper.writerFor(Data.class);
+        this.metaWriter = objectMapper.writerFor(Meta.class);
+    }
+
+    @Override
+    public List<MediaType> getWritableMediaTypes() {
+        return List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON);
+    }
+
+    @Override
+    public boolean canWrite(final ResolvableType elementType, final MediaType mediaType) {
+        return StreamingResponse.class.isAssignableFrom(elementType.toClass())
+            && (mediaType == null
+                || mediaType.isWildcardType()
+                || MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)
+                || MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType));
+    }
+
+    @Override
+    public Mono<Void> write(final Publisher<? extends StreamingResponse<?>> inputStream,
+                            final ResolvableType elementType,
+                            final MediaType mediaType,
+                            final ReactiveHttpOutputMessage message,
+                            final Map<String, Object> hints) {
+        return Mono.from(inputStream)
+            .flatMap(response -> {
+                if (isNdjson(mediaType)) {
+                    message.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+
+                    return message.writeWith(encodeNdjson(response, message.bufferFactory()));
+                }
+                message.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+                return message.writeWith(encode(response, message.bufferFactory()));
+            });
+    }
+
+    private static boolean isNdjson(final MediaType mediaType) {
+        return mediaType != null
+            && !mediaType.isWildcardType()
+            && MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType);
+    }
+
+    private <V> Flux<DataBuffer> encode(final StreamingResponse<V> response, final DataBufferFactory bufferFactory) {
+        final JsonApiDataFactory<V> dataFactory = response.getDataFactory();
+        final Meta meta = response.getMeta();
+        final AtomicLong count = new AtomicLong();
+
+        final Flux<DataBuffer> dataBuffers = response.getData()
+            .map(element -> {
+                final byte[] data = writeValue(dataWriter, dataFactory.toData(element));
+
+                if (count.getAndIncrement() == 0) {
+                    return bufferFactory.wrap(data);
+                }
+                final DataBuffer buffer = bufferFactory.allocateBuffer(data.length + DATA_SEPARATOR.length);
+
+                return buffer.write(DATA_SEPARATOR).write(data);
+            });
+
+        return Flux.concat(
+            Mono.fromSupplier(() -> bufferFactory.wrap(DOCUMENT_START)),
+            dataBuffers,
+            Mono.fromSupplier(() -> {
+                if (meta.getPage().getTotal() < 0) {
+                    meta.getPage().setTotal(count.get());
+                }
+                final byte[] metaBytes = writeValue(metaWriter, meta);
+                final DataBuffer buffer = bufferFactory.allocateBuffer(
+                    META_START.length + metaBytes.length + DOCUMENT_END.length
+                );
+                return buffer.write(META_START).write(metaBytes).write(DOCUMENT_END);
+            })
+        );
+    }
+
+    private <V> Flux<DataBuffer> encodeNdjson(final StreamingResponse<V> response, final DataBufferFactory bufferFactory) {
+        final JsonApiDataFactory<V> dataFactory = response.getDataFactory();
+        final Meta meta = response.getMeta();
+        final AtomicLong count = new AtomicLong();
+
+        final Flux<DataBuffer> dataBuffers = response.getData()
+            .map(element -> {
+                final byte[] data = writeValue(dataWriter, dataFactory.toData(element));
+                final DataBuffer buffer = bufferFactory.allocateBuffer(data.length + LINE_SEPARATOR.length);
+
+                count.incrementAndGet();
+
+                return buffer.write(data).write(LINE_SEPARATOR);
+            });
+
+        return Flux.concat(
+            dataBuffers,
+            Mono.fromSupplier(() -> {
+                if (meta.getPage().getTotal() < 0) {
+                    meta.getPage().setTotal(count.get());
+                }
+                final byte[] metaBytes = writeValue(metaWriter, meta);
+                final DataBuffer buffer = bufferFactory.allocateBuffer(
+                    NDJSON_META_START.length + metaBytes.length + NDJSON_LINE_END.length
+                );
+                return buffer.write(NDJSON_META_START).write(metaBytes).write(NDJSON_LINE_END);
+            })
+        );
+    }
+
+    private static byte[] writeValue(final ObjectWriter writer, final Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Could not write JSON API streaming response! Reason: " + exception.getMessage(), exception);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.slmdev.jsonapi.simple.memory;
+
+import com.slmdev.jsonapi.simple.request.Filter;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * {@link VectorKernels} with the incubator Vector API: each selection word is built from the lane masks
+ * of the preferred species up to 512 bits ({@code 64 / lanes} vectors per word), rows of the last incomplete
+ * word compared by scalar loop. Mask bits collected by blend of the lane bits and {@code OR} reduction:
+ * {@link VectorMask#toLong()} and comparison with not constant operator are not intrinsified on JDK 17,
+ * so operator is selected with switch of constant operators.
+ *
+ * <p>Doubles compared as sortable long keys (sign-flipped {@link Double#doubleToLongBits(double)}), so vector
+ * comparison has the {@link Double#compare(double, double)} semantic: {@code NaN} equals {@code NaN} and is
+ * greater than any value, {@code -0.0} is less than {@code 0.0}.
+ */
+final class VectorColumnKernels implements VectorKernels {
+    private static final VectorShape SHAPE = (VectorShape.preferredShape().vectorBitSize() > VectorShape.S_512_BIT.vectorBitSize()
+        ? VectorShape.S_512_BIT
+        : VectorShape.preferredShape());
+    private static final VectorSpecies<Integer> INT_SPECIES = VectorSpecies.of(int.class, SHAPE);
+    private static final VectorSpecies<Long> LONG_SPECIES = VectorSpecies.of(long.class, SHAPE);
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = VectorSpecies.of(double.class, SHAPE);
+    private static final IntVector INT_ZERO = IntVector.zero(INT_SPECIES);
+    private static final IntVector INT_LANE_BITS = IntVector.fromArray(
+        INT_SPECIES, IntStream.range(0, INT_SPECIES.length()).map(lane -> 1 << lane).toArray(), 0
+    );
+    private static final LongVector LONG_ZERO = LongVector.zero(LONG_SPECIES);
+    private static final LongVector LONG_LANE_BITS = LongVector.fromArray(
+        LONG_SPECIES, LongStream.range(0, LONG_SPECIES.length()).map(lane -> 1L << lane).toArray(), 0
+    );
+    private static final long CANONICAL_NAN_BITS = Double.doubleToLongBits(Double.NaN);
+
+    @Override
+    public void select(final int[] values, final int size, final Filter.FilterItem.Operator operator, final int operand, final long[] result) {
+        final int lanes = INT_SPECIES.length();
+        final int vectorWords = size / Long.SIZE;
+
+        for (int word = 0; word < vectorWords; ++word) {
+            final int start = word * Long.SIZE;
+            long bits = 0;
+
+            for (int offset = 0; offset < Long.SIZE; offset += lanes) {
+                bits |= toIntBits(compare(IntVector.fromArray(INT_SPECIES, values, start + offset), operator, operand)) << offset;
+            }
+            result[word] = bits;
+        }
+
+        if (vectorWords * Long.SIZE < size) {
+            long bits = 0;
+
+            for (int i = vectorWords * Long.SIZE; i < size; ++i) {
+                if (ColumnKernels.matches(operator, Integer.compare(values[i], operand))) {
+                    bits |= 1L << i;
+                }
+            }
+            result[vectorWords] = bits;
+        }
+    }
+
+    @Override
+    public void select(final long[] values, final int size, final Filter.FilterItem.Operator operator, final long operand, final long[] result) {
+        final int lanes = LONG_SPECIES.length();
+        final int vectorWords = size / Long.SIZE;
+
+        for (int word = 0; word < vectorWords; ++word) {
+            final int start = word * Long.SIZE;
+            long bits = 0;
+
+            for (int offset = 0; offset < Long.SIZE; offset += lanes) {
+                bits |= toLongBits(compare(LongVector.fromArray(LONG_SPECIES, values, start + offset), operator, operand)) << offset;
+            }
+            result[word] = bits;
+        }
+
+        if (vectorWords * Long.SIZE < size) {
+            long bits = 0;
+
+            for (int i = vectorWords * Long.SIZE; i < size; ++i) {
+                if (ColumnKernels.matches(operator, Long.compare(values[i], operand))) {
+                    bits |= 1L << i;
+                }
+            }
+            result[vectorWords] = bits;
+        }
+    }
+
+    @Override
+    public void select(final double[] values, final int size, final Filter.FilterItem.Operator operator, final double operand, final long[] result) {
+        final long operandKey = toSortableKey(operand);
+        final int lanes = DOUBLE_SPECIES.length();
+        final int vectorWords = size / Long.SIZE;
+
+        for (int word = 0; word < vectorWords; ++word) {
+            final int start = word * Long.SIZE;
+            long bits = 0;
+
+            for (int offset = 0; offset < Long.SIZE; offset += lanes) {
+                bits |= toLongBits(compare(toSortableKeys(DoubleVector.fromArray(DOUBLE_SPECIES, values, start + offset)), operator, operandKey)) << offset;
+            }
+            result[word] = bits;
+        }
+
+        if (vectorWords * Long.SIZE < size) {
+            long bits = 0;
+
+            for (int i = vectorWords * Long.SIZE; i < size; ++i) {
+                if (ColumnKernels.matches(operator, Double.compare(values[i], operand))) {
+                    bits |= 1L << i;
+                }
+            }
+            result[vectorWords] = bits;
+        }
+    }
+
+    @Override
+    public void selectRange(final int[] values, final int size, final int from, final int to, final long[] result) {
+        final int lanes = INT_SPECIES.length();
+        final int vectorWords = size / Long.SIZE;
+
+        for (int word = 0; word < vectorWords; ++word) {
+            final int start = word * Long.SIZE;
+            long bits = 0;
+
+            for (int offset = 0; offset < Long.SIZE; offset += lanes) {
+                final IntVector vector = IntVector.fromArray(INT_SPECIES, values, start + offset);
+
+                bits |= toIntBits(vector.compare(VectorOperators.GE, from).and(vector.compare(VectorOperators.LT, to))) << offset;
+            }
+            result[word] = bits;
+        }
+
+        if (vectorWords * Long.SIZE < size) {
+            long bits = 0;
+
+            for (int i = vectorWords * Long.SIZE; i < size; ++i) {
+                if (values[i] >= from && values[i] < to) {
+                    bits |= 1L << i;
+                }
+            }
+            result[vectorWords] = bits;
+        }
+    }
+
+    @Override
+    public void selectIn(final int[] values, final int size, final int[] operands, final long[] result) {
+        final int lanes = INT_SPECIES.length();
+        final int vectorWords = size / Long.SIZE;
+
+        for (int word = 0; word < vectorWords; ++word) {
+            final int start = word * Long.SIZE;
+            long bits = 0;
+
+            for (int offset = 0; offset < Long.SIZE; offset += lanes) {
+                final IntVector vector = IntVector.fromArray(INT_SPECIES, values, start + offset);
+                VectorMask<Integer> mask = INT_SPECIES.maskAll(false);
+
+                for (final int operand : operands) {
+                    mask = mask.or(vector.eq(operand));
+                }
+                bits |= toIntBits(mask) << offset;
+            }
+            result[word] = bits;
+        }
+
+        if (vectorWords * Long.SIZE < size) {
+            long bits = 0;
+
+            for (int i = vectorWords * Long.SIZE; i < size; ++i) {
+                if (contains(operands, values[i])) {
+                    bits |= 1L << i;
+                }
+            }
+            result[vectorWords] = bits;
+        }
+    }
+
+    @Override
+    public void selectIn(final long[] values, final int size, final long[] operands, final long[] result) {
+        final int lanes = LONG_SPECIES.length();
+        final int vectorWords = size / Long.SIZE;
+
+        for (int word = 0; word < vectorWords; ++word) {
+            final int start = word * Long.SIZE;
+            long bits = 0;
+
+            for (int offset = 0; offset < Long.SIZE; offset += lanes) {
+                bits |= toLongBits(selectIn(LongVector.fromArray(LONG_SPECIES, values, start + offset), operands)) << offset;
+            }
+            result[word] = bits;
+        }
+
+        if (vectorWords * Long.SIZE < size) {
+            long bits = 0;
+
+            for (int i = vectorWords * Long.SIZE; i < size; ++i) {
+                if (contains(operands, values[i])) {
+                    bits |= 1L << i;
+                }
+            }
+            result[vectorWords] = bits;
+        }
+    }
+
+    @Override
+    public void selectIn(final double[] values, final int size, final double[] operands, final long[] result) {
+        final long[] operandKeys = new long[operands.length];
+        final int lanes = DOUBLE_SPECIES.length();
+        final int vectorWords = size / Long.SIZE;
+
+        for (int i = 0; i < operands.length; ++i) {
+            operandKeys[i] = toSortableKey(operands[i]);
+        }
+
+        for (int word = 0; word < vectorWords; ++word) {
+            final int start = word * Long.SIZE;
+            long bits = 0;
+
+            for (int offset = 0; offset < Long.SIZE; offset += lanes) {
+                bits |= toLongBits(selectIn(toSortableKeys(DoubleVector.fromArray(DOUBLE_SPECIES, values, start + offset)), operandKeys)) << offset;
+            }
+            result[word] = bits;
+        }
+
+        if (vectorWords * Long.SIZE < size) {
+            long bits = 0;
+
+            for (int i = vectorWords * Long.SIZE; i < size; ++i) {
+                if (contains(operandKeys, toSortableKey(values[i]))) {
+                    bits |= 1L << i;
+                }
+            }
+            result[vectorWords] = bits;
+        }
+    }
+
+    private static VectorMask<Long> selectIn(final LongVector vector, final long[] operands) {
+        VectorMask<Long> mask = LONG_SPECIES.maskAll(false);
+
+        for (final long operand : operands) {
+            mask = mask.or(vector.eq(operand));
+        }
+        return mask;
+    }
+
+    private static boolean contains(final int[] operands, final int value) {
+        for (final int operand : operands) {
+            if (operand == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(final long[] operands, final long value) {
+        for (final long operand : operands) {
+            if (operand == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Map double to long with the same order as {@link Double#compare(double, double)}.
+     */
+    private static long toSortableKey(final double value) {
+        final long bits = Double.doubleToLongBits(value);
+
+        return bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+    }
+
+    private static LongVector toSortableKeys(final DoubleVector vector) {
+        final LongVector bits = vector.reinterpretAsLongs()
+            .blend(CANONICAL_NAN_BITS, vector.test(VectorOperators.IS_NAN).cast(LONG_SPECIES));
+
+        return bits.lanewise(VectorOperators.XOR, bits.lanewise(VectorOperators.ASHR, Long.SIZE - 1).lanewise(VectorOperators.AND, Long.MAX_VALUE));
+    }
+
+    private static long toIntBits(final VectorMask<Integer> mask) {
+        return Integer.toUnsignedLong(INT_ZERO.blend(INT_LANE_BITS, mask).reduceLanes(VectorOperators.OR));
+    }
+
+    private static long toLongBits(final VectorMask<Long> mask) {
+        return LONG_ZERO.blend(LONG_LANE_BITS, mask).reduceLanes(VectorOperators.OR);
+    }
+
+    private static VectorMask<Integer> compare(final IntVector vector, final Filter.FilterItem.Operator operator, final int operand) {
+        switch (operator) {
+            case EQ:
+                return vector.compare(VectorOperators.EQ, operand);
+            case NE:
+                return vector.compare(VectorOperators.NE, operand);
+            case GT:
+                return vector.compare(VectorOperators.GT, operand);
+            case GTE:
+                return vector.compare(VectorOperators.GE, operand);
+            case LT:
+                return vector.compare(VectorOperators.LT, operand);
+            case LTE:
+                return vector.compare(VectorOperators.LE, operand);
+            default:
+                throw new IllegalStateException("Could not select column values! Unsupported operator: " + operator);
+        }
+    }
+
+    private static VectorMask<Long> compare(final LongVector vector, final Filter.FilterItem.Operator operator, final long operand) {
+        switch (operator) {
+            case EQ:
+                return vector.compare(VectorOperators.EQ, operand);
+            case NE:
+                return vector.compare(VectorOperators.NE, operand);
+            case GT:
+                return vector.compare(VectorOperators.GT, operand);
+            case GTE:
+                return vector.compare(VectorOperators.GE, operand);
+            case LT:
+                return vector.compare(VectorOperators.LT, operand);
+            case LTE:
+                return vector.compare(VectorOperators.LE, operand);
+            default:
+                throw new IllegalStateException("Could not select column values! Unsupported operator: " + operator);
+        }
+    }
+}
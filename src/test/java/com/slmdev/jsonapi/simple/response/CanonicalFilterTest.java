@@ -0,0 +1,125 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.request.CanonicalFilter;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterExpression;
+import com.slmdev.jsonapi.simple.request.FilterNormalizer;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.findIds;
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class CanonicalFilterTest {
+    @Test
+    public void shouldBeEqualForTheSameConditionsInAnyOrder() {
+        final CanonicalFilter first = parseFilter("filter[name]=John&filter[id][in]=3,1,1&filter[or][0][age][gte]=30&filter[or][1][status]=active")
+            .toCanonical();
+        final CanonicalFilter second = parseFilter("filter[or][0][status]=active&filter[or][1][age][gte]=30&filter[id][in]=1,3&filter[name][eq]=John")
+            .toCanonical();
+
+        assertThat(first, is(second));
+        assertThat(first.hashCode(), is(second.hashCode()));
+        assertThat(first.getHash(), is(second.getHash()));
+        assertThat(first.toQueryString(), is(second.toQueryString()));
+
+        assertThat(first, not(parseFilter("filter[name]=John&filter[id][in]=1,3").toCanonical()));
+        assertThat(first.getHash(), not(parseFilter("filter[name]=John&filter[id][in]=1,3").toCanonical().getHash()));
+        assertThat(parseFilter("filter[id]=1").toCanonical(), not(parseFilter("filter[id][ne]=1").toCanonical()));
+        assertThat(new Filter().toCanonical(), is(CanonicalFilter.of((Filter)null)));
+        assertThat(new Filter().toCanonical().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldNotChangeAfterFilterChanged() {
+        final Filter filter = parseFilter("filter[name]=John");
+        final CanonicalFilter canonical = filter.toCanonical();
+
+        filter.addParam("age", "30");
+
+        assertThat(canonical.toQueryString(), is("filter[name]=John"));
+        assertThat(canonical.toFilter().hasParam("age"), is(false));
+        assertThat(filter.toCanonical().toQueryString(), is("filter[age]=30&filter[name]=John"));
+    }
+
+    @Test
+    public void shouldEncodeQueryString() {
+        final CanonicalFilter canonical = parseFilter("filter[name][contain]=Johnny %26 Co&filter[status][in]=blocked,active&filter[createDate][lt]=2024-04-01")
+            .toCanonical();
+
+        assertThat(
+            canonical.toQueryString(),
+            is("filter[createDate][lt]=2024-04-01&filter[name][contain]=Johnny+%26+Co&filter[status][in]=active,blocked")
+        );
+        assertThat(canonical.toQueryString("f"), startsWith("f[createDate][lt]="));
+        assertThat(parseFilter("filter[status]=").toCanonical().toQueryString(), is("filter[status]="));
+        assertThat(
+            parseFilter("filter[id][gt]=0&filter[or][0][age][lt]=30&filter[or][1][name]=Bob").toCanonical().toQueryString(),
+            is("filter[id][gt]=0&filter[or][0][age][lt]=30&filter[or][1][name]=Bob")
+        );
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> FilterNormalizer.forClass(TestEntity.class).normalize(parseFilter("filter[id]=1&filter[id][in]=2,3")).toCanonical().toQueryString()
+        );
+    }
+
+    @Test
+    public void shouldParseEncodedQueryStringToTheSameFilter() {
+        final Filter.FilterItem statusActive = Filter.FilterItem.builder().field("status").operator(Filter.FilterItem.Operator.EQ).value("active").build();
+        final Filter.FilterItem idOne = Filter.FilterItem.builder().field("id").operator(Filter.FilterItem.Operator.EQ).value("1").build();
+        final Filter.FilterItem ageOld = Filter.FilterItem.builder().field("age").operator(Filter.FilterItem.Operator.GTE).value("35").build();
+        final Filter.FilterItem nameJ = Filter.FilterItem.builder().field("name").operator(Filter.FilterItem.Operator.CONTAIN).value("j").build();
+        // Two or groups in the same group can't be set by params directly
+        final FilterExpression expression = FilterExpression.and(List.of(
+            FilterExpression.or(List.of(FilterExpression.condition(statusActive), FilterExpression.condition(ageOld))),
+            FilterExpression.or(List.of(FilterExpression.condition(idOne), FilterExpression.condition(nameJ)))
+        ));
+        final List<Filter> filters = List.of(
+            new Filter(expression),
+            parseFilter("filter[name][contain]=Johnny %26 Co"),
+            parseFilter("filter[name][contain]=100%25"),
+            parseFilter("filter[age][gt]=20&filter[or][0][status]=&filter[or][1][or][0][id]=1&filter[or][1][or][1][id][in]=2,3")
+        );
+
+        for (final Filter filter : filters) {
+            final CanonicalFilter canonical = filter.toCanonical();
+            final Filter parsed = JsonApiQueryParser.parse(canonical.toQueryString()).toFilter("filter", 0, true);
+
+            assertThat(canonical.toQueryString(), findIds(parsed), is(findIds(filter)));
+            assertThat(canonical.toQueryString(), findIds(canonical.toFilter()), is(findIds(filter)));
+        }
+        assertThat(findIds(new Filter(expression)), is(List.of(1L, 3L)));
+    }
+
+    @Test
+    public void shouldEncodeGroupWithNestedNeverGroupAsNever() {
+        final FilterExpression ageOld = FilterExpression.condition(
+            Filter.FilterItem.builder().field("age").operator(Filter.FilterItem.Operator.GT).value("20").build()
+        );
+        final FilterExpression ids = FilterExpression.or(List.of(
+            FilterExpression.condition(Filter.FilterItem.builder().field("id").operator(Filter.FilterItem.Operator.EQ).value("1").build()),
+            FilterExpression.condition(Filter.FilterItem.builder().field("id").operator(Filter.FilterItem.Operator.EQ).value("4").build())
+        ));
+        final FilterExpression statusBlocked = FilterExpression.condition(
+            Filter.FilterItem.builder().field("status").operator(Filter.FilterItem.Operator.EQ).value("blocked").build()
+        );
+        final Filter never = new Filter(FilterExpression.and(List.of(ageOld, FilterExpression.never(), ids)));
+        final Filter branch = new Filter(FilterExpression.or(List.of(
+            statusBlocked,
+            FilterExpression.and(List.of(ageOld, FilterExpression.never(), ids))
+        )));
+
+        assertThat(findIds(never), empty());
+        assertThat(never.toCanonical().toFilter().matchesNothing(), is(true));
+        Assertions.assertThrows(IllegalStateException.class, () -> never.toCanonical().toQueryString());
+
+        assertThat(findIds(branch), is(List.of(2L)));
+        assertThat(branch.toCanonical().toQueryString(), is("filter[status]=blocked"));
+        assertThat(findIds(JsonApiQueryParser.parse(branch.toCanonical().toQueryString()).toFilter("filter", 0, true)), is(List.of(2L)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.memory.ColumnarResourceTable;
+import com.slmdev.jsonapi.simple.request.Filter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+
+/**
+ * Filtered count over one numeric column of the {@link ColumnarResourceTable}, run on JDK 17+ with the benchmark profile:
+ * <pre>
+ * {@code
+ *     mvn -P java17,benchmark test-compile exec:exec
+ * }
+ * </pre>
+ * Each filter is measured in the fork with vector scans and in the fork with {@code -Djsonapi.simple.vector=false}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ColumnarResourceTableBenchmark {
+    @Param({"1000", "1000000"})
+    private int size;
+
+    @Param({"filter[count][gt]=50", "filter[total][eq]=42", "filter[value][lte]=25.5", "filter[count][in]=3,17,42,99", "filter[total][in]=3,17,42,99"})
+    private String query;
+
+    private ColumnarResourceTable<Sample> table;
+    private Filter filter;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(1);
+        final List<Sample> samples = IntStream.range(0, size)
+            .mapToObj(id -> new Sample(id, random.nextInt(100), random.nextInt(100), random.nextDouble() * 100))
+            .collect(Collectors.toList());
+
+        table = ColumnarResourceTable.builder(Sample.class).build(samples);
+        filter = parseFilter(query);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Djsonapi.simple.vector=false"})
+    public int countScalar() {
+        return table.count(filter);
+    }
+
+    @Benchmark
+    public int countVector() {
+        if (!ColumnarResourceTable.isVectorized()) {
+            throw new IllegalStateException("Vector API is not available");
+        }
+        return table.count(filter);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ColumnarResourceTableBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Sample {
+        private long id;
+        private int count;
+        private long total;
+        private double value;
+    }
+}
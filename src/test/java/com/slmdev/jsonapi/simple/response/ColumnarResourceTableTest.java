@@ -0,0 +1,207 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.memory.ColumnarResourceTable;
+import com.slmdev.jsonapi.simple.memory.InMemoryQueryEngine;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static com.slmdev.jsonapi.simple.response.TestEntities.randomEntities;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ColumnarResourceTableTest {
+    private static final List<TestEntity> ENTITIES = randomEntities(5, 1000);
+
+    private static final int[] SIZES = {0, 1, 63, 64, 65, 1000, 4099};
+    private static final String[] SPECIAL_DOUBLES = {"NaN", "-0.0", "0.0", "-Infinity", "Infinity", "1.5"};
+    private static final List<String> OPERATORS = List.of("eq", "ne", "gt", "gte", "lt", "lte");
+
+    private final InMemoryQueryEngine<TestEntity> engine = InMemoryQueryEngine.forClass(TestEntity.class);
+
+    @Test
+    public void shouldSelectTheSamePagesAsObjects() {
+        final ColumnarResourceTable<TestEntity> table = ColumnarResourceTable.builder(TestEntity.class).build(ENTITIES);
+
+        assertThat(table.getColumnNames(), contains("id", "name", "age", "status", "createDate"));
+
+        for (final String query : List.of(
+            "",
+            "filter[status]=ACTIVE",
+            "filter[status]=",
+            "filter[status][ne]=",
+            "filter[status][ne]=BLOCKED",
+            "filter[age][in]=1,2,3&filter[status]=BLOCKED",
+            "filter[age][not_in]=1,2,3",
+            "filter[age][gte]=10&filter[age][lt]=20",
+            "filter[id][gt]=500&filter[id][lte]=600&filter[age][ne]=7",
+            "filter[createDate][gt]=2024-06-01&filter[name][contain]=1",
+            "filter[createDate][lte]=2024-03-01",
+            "filter[name][gte]=user-5",
+            "filter[name][in]=user-1,User-3,unknown",
+            "filter[name][not_in]=user-1",
+            "filter[name][not_contain]=ER-2",
+            "filter[age][contain]=4",
+            "filter[or][0][age][lte]=2&filter[or][1][status]=ACTIVE&filter[name][ne]=user-5",
+            "filter[or][0][age]=1&filter[or][1][name][contain]=user-9",
+            "filter[name]=",
+            "filter[age][gt]=100"
+        )) {
+            final Filter filter = parseFilter(query);
+
+            assertThat(query, (long)table.count(filter), is(engine.query(ENTITIES, filter, Pageable.unpaged()).getTotalElements()));
+
+            for (final Sort sort : List.of(
+                Sort.unsorted(),
+                Sort.by("age"),
+                Sort.by(Sort.Order.desc("age"), Sort.Order.asc("name").nullsFirst()),
+                Sort.by(Sort.Order.asc("createDate"), Sort.Order.desc("id")),
+                Sort.by(Sort.Order.desc("status").nullsLast(), Sort.Order.asc("createDate")),
+                Sort.by(Sort.Order.asc("name").ignoreCase(), Sort.Order.desc("age"))
+            )) {
+                for (final int pageNumber : new int[] {0, 3, 40}) {
+                    final Pageable pageable = PageRequest.of(pageNumber, 25, sort);
+                    final Page<TestEntity> expected = engine.query(ENTITIES, filter, pageable);
+                    final Page<TestEntity> page = table.query(filter, pageable);
+
+                    assertThat(query + " " + sort, page.getTotalElements(), is(expected.getTotalElements()));
+                    assertThat(query + " " + sort, page.getContent(), is(expected.getContent()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldUseDeclaredColumnsAndRowMapper() {
+        final List<TestEntity> entities = IntStream.range(0, 100)
+            .mapToObj(id -> new TestEntity(id, "user-" + id, id % 20, TestEntity.Status.ACTIVE, null)
+                .setAddress(id % 4 == 0 ? null : new TestAddress("city-" + id % 3)))
+            .collect(Collectors.toList());
+        final ColumnarResourceTable<TestEntity> table = ColumnarResourceTable.builder(TestEntity.class)
+            .column("id")
+            .column("age")
+            .column("address.city")
+            .rowMapper(row -> new TestEntity()
+                .setId((Long)row.get("id"))
+                .setAddress(row.isNull("address.city") ? null : new TestAddress((String)row.get("address.city"))))
+            .build(entities);
+        final Filter filter = parseFilter("filter[address.city]=city-1&filter[age][lt]=10");
+        final Page<TestEntity> page = table.query(filter, PageRequest.of(0, 5, Sort.by(Sort.Order.desc("id"))));
+
+        assertThat(page.getTotalElements(), is(engine.query(entities, filter, Pageable.unpaged()).getTotalElements()));
+        assertThat(
+            page.getContent().stream().map(TestEntity::getId).collect(Collectors.toList()),
+            is(engine.query(entities, filter, PageRequest.of(0, 5, Sort.by(Sort.Order.desc("id")))).map(TestEntity::getId).getContent())
+        );
+        assertThat(page.getContent().get(0).getAddress().getCity(), is("city-1"));
+        assertThat(page.getContent().get(0).getName(), nullValue());
+        assertThat(table.get(4).getAddress(), nullValue());
+        assertThat(table.size(), is(100));
+
+        Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> table.count(parseFilter("filter[name]=user-1")));
+        Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> table.query(null, PageRequest.of(0, 5, Sort.by("name"))));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> table.get(100));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ColumnarResourceTable.builder(TestEntity.class).column("address").build(entities));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ColumnarResourceTable.builder(TestEntity.class).column("unknown").build(entities));
+    }
+
+    @Test
+    public void shouldKeepFieldsWithoutColumns() {
+        final TestAddress address = new TestAddress("Paris");
+        final List<TestEntity> entities = List.of(
+            new TestEntity(1, "John", 30, TestEntity.Status.ACTIVE, null).setAddress(address).setOwner(new TestOwner(7L, "Jane")),
+            new TestEntity(2, "Bob", 35, null, null)
+        );
+        final ColumnarResourceTable<TestEntity> table = ColumnarResourceTable.builder(TestEntity.class).build(entities);
+
+        assertThat(table.get(0), is(entities.get(0)));
+        assertThat(table.get(0).getAddress(), sameInstance(address));
+        assertThat(table.get(1), is(entities.get(1)));
+
+        Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> table.count(parseFilter("filter[address]=Paris")));
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> ColumnarResourceTable.builder(TestEntity.class).column("id").column("name").build(entities)
+        );
+    }
+
+    @Test
+    public void shouldSelectTheSameRowsWithVectorScans() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && Boolean.parseBoolean(System.getProperty("jsonapi.simple.vector", "true"))) {
+            // Tests run with jdk.incubator.vector module on JDK 17+, see java17 profile
+            assertThat(ColumnarResourceTable.isVectorized(), is(true));
+        }
+        final InMemoryQueryEngine<Sample> sampleEngine = InMemoryQueryEngine.forClass(Sample.class);
+        final Random random = new Random(17);
+
+        for (final int size : SIZES) {
+            final List<Sample> samples = IntStream.range(0, size)
+                .mapToObj(id -> new Sample(
+                    id,
+                    random.nextInt(10) - 5,
+                    random.nextInt(10) - 5,
+                    Double.parseDouble(SPECIAL_DOUBLES[random.nextInt(SPECIAL_DOUBLES.length)]),
+                    "code-" + random.nextInt(10)
+                ))
+                .collect(Collectors.toList());
+            final ColumnarResourceTable<Sample> table = ColumnarResourceTable.builder(Sample.class).build(samples);
+            final List<String> queries = new ArrayList<>(List.of(
+                "filter[count][in]=-4,0,3",
+                "filter[total][in]=-4,0,3",
+                "filter[value][in]=NaN,-0.0,1.5",
+                "filter[code][gte]=code-3&filter[code][lt]=code-6",
+                "filter[code][lt]=code-3",
+                "filter[code][gte]=code-7"
+            ));
+
+            for (final String operator : OPERATORS) {
+                for (int operand = -6; operand <= 6; operand += 3) {
+                    queries.add("filter[count][" + operator + "]=" + operand);
+                    queries.add("filter[total][" + operator + "]=" + operand);
+                }
+
+                for (final String operand : SPECIAL_DOUBLES) {
+                    queries.add("filter[value][" + operator + "]=" + operand);
+                }
+            }
+
+            for (final String query : queries) {
+                final Filter filter = parseFilter(query);
+                final Pageable pageable = PageRequest.of(0, Math.max(size, 1), Sort.by("id"));
+
+                assertThat(
+                    size + " " + query,
+                    table.query(filter, pageable).map(Sample::getId).getContent(),
+                    is(sampleEngine.query(samples, filter, pageable).map(Sample::getId).getContent())
+                );
+            }
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Sample {
+        private long id;
+        private int count;
+        private long total;
+        private double value;
+        private String code;
+    }
+}
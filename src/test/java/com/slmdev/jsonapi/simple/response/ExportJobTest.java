@@ -0,0 +1,207 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.export.ExportFormat;
+import com.slmdev.jsonapi.simple.export.ExportJob;
+import com.slmdev.jsonapi.simple.export.ExportJobManager;
+import com.slmdev.jsonapi.simple.request.Filter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ExportJobTest extends BaseTest {
+    @TempDir
+    private Path directory;
+
+    private ExportJobManager exportJobManager;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        exportJobManager = new ExportJobManager(objectMapper, directory, Runnable::run);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldExportJsonDocumentAndTransferFile() throws Exception {
+        final Filter filter = new Filter().addParam("name", TEST_DTO_1_NAME);
+        final Sort sort = Sort.by("name");
+        final AtomicReference<Filter> requestedFilter = new AtomicReference<>();
+        final ExportJob job = exportJobManager.submit(
+            filter,
+            sort,
+            (jobFilter, jobSort) -> {
+                requestedFilter.set(jobFilter);
+
+                return List.of(buildTestDto1(), buildTestDto2()).stream();
+            },
+            new JsonApiDataFactory<TestDto>(TEST_RESPONSE_URI),
+            ExportFormat.JSON
+        );
+
+        assertThat(job.getStatus(), is(ExportJob.Status.COMPLETED));
+        assertThat(job.getTotal(), is(2L));
+        assertThat(requestedFilter.get(), is(filter));
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final long transferred = exportJobManager.transferTo(job.getId(), Channels.newChannel(outputStream));
+        final Response<List<Map<String, Object>>> response = objectMapper.readValue(outputStream.toByteArray(), Response.class);
+
+        assertThat(transferred, is(job.getSize()));
+        assertThat(response.getData(), hasSize(2));
+        assertThat(response.getData().get(0).get("id"), is(TEST_DTO_1_ID.toString()));
+        assertThat(response.getMeta().getPage().getTotal(), is(2L));
+    }
+
+    @Test
+    public void shouldExportNdjson() throws Exception {
+        final ExportJob job = exportJobManager.submit(
+            null,
+            null,
+            (jobFilter, jobSort) -> List.of(buildTestDto1(), buildTestDto2()).stream(),
+            new JsonApiDataFactory<TestDto>(TEST_RESPONSE_URI),
+            ExportFormat.NDJSON
+        );
+        final Path file = exportJobManager.getFile(job.getId()).get();
+
+        assertThat(file.getFileName().toString(), endsWith(".ndjson"));
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8), hasSize(3));
+    }
+
+    @Test
+    public void shouldMarkJobFailedAndRemoveFileWhenDataSourceFails() throws Exception {
+        final ExportJob job = exportJobManager.submit(
+            null,
+            null,
+            (jobFilter, jobSort) -> {
+                throw new IllegalStateException("Data source unavailable");
+            },
+            new JsonApiDataFactory<TestDto>(TEST_RESPONSE_URI),
+            ExportFormat.JSON
+        );
+
+        assertThat(job.getStatus(), is(ExportJob.Status.FAILED));
+        assertThat(job.getError(), is("Data source unavailable"));
+        assertThat(exportJobManager.getFile(job.getId()).isPresent(), is(false));
+        assertThat(Files.list(directory).count(), is(0L));
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> exportJobManager.transferTo(job.getId(), Channels.newChannel(new ByteArrayOutputStream()))
+        );
+    }
+
+    @Test
+    public void shouldBuildJobResponseAndDeleteJob() throws Exception {
+        final ExportJob job = exportJobManager.submit(
+            null,
+            null,
+            (jobFilter, jobSort) -> List.of(buildTestDto1()).stream(),
+            new JsonApiDataFactory<TestDto>(TEST_RESPONSE_URI),
+            ExportFormat.JSON
+        );
+        final Response<Data<ExportJob>> response = Response.<Data<ExportJob>, ExportJob>builder()
+            .data(exportJobManager.getJob(job.getId()).get())
+            .build();
+
+        assertThat(response.getData().getType(), is(ExportJob.API_TYPE));
+        assertThat(response.getData().getId(), is(job.getId().toString()));
+        assertThat(objectMapper.writeValueAsString(response), not(containsString(directory.toString())));
+
+        assertThat(exportJobManager.delete(job.getId()), is(true));
+        assertThat(exportJobManager.getJob(job.getId()).isPresent(), is(false));
+        assertThat(exportJobManager.delete(UUID.randomUUID()), is(false));
+        assertThat(Files.list(directory).count(), is(0L));
+    }
+
+    @Test
+    public void shouldNotCreateFileWhenJobDeletedWhileRunning() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        final ExportJobManager deferredJobManager = new ExportJobManager(objectMapper, directory, tasks::add);
+        final AtomicReference<UUID> jobId = new AtomicReference<>();
+        final ExportJob job = deferredJobManager.submit(
+            null,
+            null,
+            (jobFilter, jobSort) -> Stream.of(buildTestDto1(), buildTestDto2())
+                .peek(testDto -> {
+                    try {
+                        deferredJobManager.delete(jobId.get());
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                }),
+            new JsonApiDataFactory<TestDto>(TEST_RESPONSE_URI),
+            ExportFormat.JSON
+        );
+
+        jobId.set(job.getId());
+        tasks.forEach(Runnable::run);
+
+        assertThat(job.getStatus(), is(ExportJob.Status.FAILED));
+        assertThat(deferredJobManager.getJob(job.getId()).isPresent(), is(false));
+        assertThat(Files.list(directory).count(), is(0L));
+    }
+
+    @Test
+    public void shouldNotRunJobDeletedBeforeStart() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        final ExportJobManager deferredJobManager = new ExportJobManager(objectMapper, directory, tasks::add);
+        final AtomicBoolean fetched = new AtomicBoolean();
+        final ExportJob job = deferredJobManager.submit(
+            null,
+            null,
+            (jobFilter, jobSort) -> {
+                fetched.set(true);
+
+                return Stream.of(buildTestDto1());
+            },
+            new JsonApiDataFactory<TestDto>(TEST_RESPONSE_URI),
+            ExportFormat.NDJSON
+        );
+
+        assertThat(deferredJobManager.delete(job.getId()), is(true));
+        tasks.forEach(Runnable::run);
+
+        assertThat(fetched.get(), is(false));
+        assertThat(job.getStatus(), is(ExportJob.Status.FAILED));
+        assertThat(Files.list(directory).count(), is(0L));
+    }
+
+    @Test
+    public void shouldMarkJobFailedWhenExecutorRejectsIt() throws Exception {
+        final ExportJobManager rejectingJobManager = new ExportJobManager(objectMapper, directory, task -> {
+            throw new RejectedExecutionException("Export queue is full");
+        });
+        final RejectedExecutionException exception = Assertions.assertThrows(
+            RejectedExecutionException.class,
+            () -> rejectingJobManager.submit(
+                null,
+                null,
+                (jobFilter, jobSort) -> Stream.of(buildTestDto1()),
+                new JsonApiDataFactory<TestDto>(TEST_RESPONSE_URI),
+                ExportFormat.JSON
+            )
+        );
+
+        assertThat(exception.getMessage(), is("Export queue is full"));
+        assertThat(Files.list(directory).count(), is(0L));
+    }
+}
@@ -0,0 +1,95 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.memory.FilterPredicateCompiler;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterExpression;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.findIds;
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class FilterExpressionTest {
+    public static class CountingDto {
+        private static final AtomicInteger DESCRIPTION_READS = new AtomicInteger();
+
+        private final long id;
+        private final String description;
+
+        CountingDto(final long id, final String description) {
+            this.id = id;
+            this.description = description;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getDescription() {
+            DESCRIPTION_READS.incrementAndGet();
+
+            return description;
+        }
+    }
+
+    @Test
+    public void shouldParseExpressionTreeWithFlatView() {
+        final Filter filter = parseFilter("filter[name]=John&filter[age][gte]=18&filter[age][lte]=65&filter[or][0][status]=active&filter[or][1][id]=4");
+        final FilterExpression expression = filter.getExpression();
+
+        assertThat(filter.isFlat(), is(false));
+        assertThat(expression.getType(), is(FilterExpression.Type.AND));
+        assertThat(expression.getChildren().size(), is(4));
+        assertThat(expression.getChildren().get(3).getType(), is(FilterExpression.Type.OR));
+        assertThat(expression.getConditions().size(), is(5));
+        Assertions.assertThrows(IllegalStateException.class, filter::getAllParams);
+        Assertions.assertThrows(IllegalStateException.class, () -> filter.getParam("name"));
+        Assertions.assertThrows(IllegalStateException.class, () -> filter.stringValue("name"));
+        Assertions.assertThrows(IllegalStateException.class, () -> new Filter(expression).getAllKeys());
+
+        final Filter flatFilter = parseFilter("filter[name]=John&filter[age][gte]=18");
+
+        assertThat(flatFilter.isFlat(), is(true));
+        assertThat(flatFilter.getParam("age").getOperator(), is(Filter.FilterItem.Operator.GTE));
+        assertThat(
+            flatFilter.getExpression().getConditions().stream().map(Filter.FilterItem::getField).collect(Collectors.toList()),
+            is(List.of("age", "name"))
+        );
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parseFilter("filter[or][0]=active"));
+    }
+
+    @Test
+    public void shouldEvaluateGroupsInMemory() {
+        assertThat(findIds("filter[age][gte]=30&filter[age][lte]=40"), is(List.of(1L, 4L)));
+        assertThat(findIds("filter[or][0][status]=blocked&filter[or][1][name][contain]=bob"), is(List.of(2L, 4L)));
+        assertThat(findIds("filter[age][gt]=26&filter[or][a][status]=active&filter[or][a][name][contain]=johnny&filter[or][b][id]=4"), is(List.of(3L, 4L)));
+        assertThat(findIds("filter[or][0][or][0][id]=1&filter[or][0][or][1][id]=2&filter[or][1][id]=3"), is(List.of(1L, 2L, 3L)));
+        assertThat(findIds("filter[id]=1&filter[or][0][id]=2&filter[or][1][id]=3"), is(List.of()));
+    }
+
+    @Test
+    public void shouldEvaluateCheapConditionsFirst() {
+        final List<CountingDto> dtos = IntStream.range(0, 100)
+            .mapToObj(id -> new CountingDto(id, "item " + id))
+            .collect(Collectors.toList());
+        final FilterPredicateCompiler<CountingDto> compiler = FilterPredicateCompiler.forClass(CountingDto.class);
+
+        CountingDto.DESCRIPTION_READS.set(0);
+
+        assertThat(dtos.stream().filter(compiler.compile(parseFilter("filter[description][contain]=item&filter[id]=7"))).count(), is(1L));
+        assertThat(CountingDto.DESCRIPTION_READS.get(), is(1));
+
+        CountingDto.DESCRIPTION_READS.set(0);
+
+        assertThat(dtos.stream().filter(compiler.compile(parseFilter("filter[or][0][description][contain]=item 5&filter[or][1][id][in]=1,2,3"))).count(), is(14L));
+        assertThat(CountingDto.DESCRIPTION_READS.get(), is(97));
+    }
+}
@@ -0,0 +1,113 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterExpression;
+import com.slmdev.jsonapi.simple.request.FilterNormalizer;
+import com.slmdev.jsonapi.simple.request.FilterValueConversionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.findIds;
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class FilterNormalizerTest {
+    private final FilterNormalizer normalizer = FilterNormalizer.forClass(TestEntity.class);
+
+    @Test
+    public void shouldDetectContradictoryFilters() {
+        assertThat(normalize("filter[id]=1&filter[id][in]=2,3").matchesNothing(), is(true));
+        assertThat(normalize("filter[age][gt]=40&filter[age][lte]=40").matchesNothing(), is(true));
+        assertThat(normalize("filter[age][gte]=40&filter[age][lte]=40&filter[age][ne]=40").matchesNothing(), is(true));
+        assertThat(normalize("filter[createDate][gte]=2024-05-01&filter[createDate][lt]=2024-04-01").matchesNothing(), is(true));
+        assertThat(normalize("filter[status]=&filter[status][in]=active").matchesNothing(), is(true));
+        assertThat(normalize("filter[name][contain]=jo&filter[name][not_contain]=JO").matchesNothing(), is(true));
+        assertThat(normalize("filter[or][0][id]=1&filter[or][0][id][in]=2,3&filter[or][1][age][gt]=5&filter[or][1][age][lt]=5").matchesNothing(), is(true));
+
+        assertThat(normalize("filter[id]=1&filter[id][in]=1,3").matchesNothing(), is(false));
+        assertThat(FilterNormalizer.untyped().normalize(parseFilter("filter[age][gt]=40&filter[age][lte]=40")).matchesNothing(), is(false));
+        assertThat(FilterNormalizer.untyped().normalize(parseFilter("filter[status]=active&filter[status][in]=ACTIVE")).matchesNothing(), is(false));
+        assertThat(normalize("filter[name]=John").matchesNothing(), is(false));
+    }
+
+    @Test
+    public void shouldMergeConditionsOfTheSameField() {
+        final Filter ranges = normalize("filter[age][gt]=20&filter[age][gte]=25&filter[age][lt]=50&filter[age][lte]=40&filter[age][not_in]=10,30,30,60");
+
+        assertThat(ranges.isFlat(), is(false));
+        assertThat(
+            ranges.getExpression().getConditions(),
+            contains(
+                item("age", Filter.FilterItem.Operator.GTE, List.of("25")),
+                item("age", Filter.FilterItem.Operator.LTE, List.of("40")),
+                item("age", Filter.FilterItem.Operator.NE, List.of("30"))
+            )
+        );
+
+        final Filter membership = normalize("filter[id][in]=1,2,2,3,01&filter[id][not_in]=3&filter[name]=John");
+
+        assertThat(membership.isFlat(), is(true));
+        assertThat(membership.getParam("id"), is(item("id", Filter.FilterItem.Operator.IN, List.of("1", "2"))));
+        assertThat(normalize("filter[age][gte]=30&filter[age][lte]=30").getParam("age"), is(item("age", Filter.FilterItem.Operator.EQ, List.of("30"))));
+        assertThat(
+            FilterNormalizer.untyped().normalize(parseFilter("filter[id][in]=1,1,01&filter[id][not_in]=01&filter[id][in]=1,1,01")).getExpression().getConditions(),
+            contains(item("id", Filter.FilterItem.Operator.IN, List.of("1", "01")), item("id", Filter.FilterItem.Operator.NOT_IN, List.of("01")))
+        );
+
+        final FilterExpression or = normalize("filter[or][0][id]=1&filter[or][1][id][in]=2,1&filter[or][2][name]=Bob").getExpression();
+
+        assertThat(or.getType(), is(FilterExpression.Type.OR));
+        assertThat(
+            or.getConditions(),
+            contains(item("id", Filter.FilterItem.Operator.IN, List.of("1", "2")), item("name", Filter.FilterItem.Operator.EQ, List.of("Bob")))
+        );
+        assertThat(normalize("filter[or][0][id]=1&filter[or][1][age][gt]=5&filter[or][1][age][lte]=5").getParam("id").stringValue(), is("1"));
+        Assertions.assertThrows(IllegalStateException.class, () -> normalize("filter[or][0][id]=1&filter[or][1][name]=").getParam("id"));
+        Assertions.assertThrows(FilterValueConversionException.class, () -> normalize("filter[age][gt]=old"));
+    }
+
+    @Test
+    public void shouldKeepResultsOfNormalizedFilter() {
+        final List<String> queries = List.of(
+            "filter[age][gt]=20&filter[age][gte]=25&filter[age][lt]=50&filter[age][not_in]=30,60",
+            "filter[id][in]=1,2,3&filter[id][ne]=2&filter[status]=active",
+            "filter[or][0][id]=1&filter[or][1][id][in]=2,4&filter[or][2][name][contain]=john",
+            "filter[createDate][gte]=2024-02-01&filter[or][0][status]=&filter[or][1][age][lte]=30",
+            "filter[status]=active&filter[status][in]=ACTIVE",
+            "filter[age]=30&filter[age][ne]=030",
+            "filter[id][in]=1,3&filter[id][not_in]=01"
+        );
+
+        for (final String query : queries) {
+            final Filter filter = parseFilter(query);
+
+            assertThat(query, findIds(normalizer.normalize(filter)), is(findIds(filter)));
+            assertThat(query, findIds(FilterNormalizer.untyped().normalize(filter)), is(findIds(filter)));
+        }
+    }
+
+    @Test
+    public void shouldBuildEmptyResponse() {
+        final Response<List<Data<TestEntity>>> response = Response.<List<Data<TestEntity>>, TestEntity>builder()
+            .emptyData()
+            .build();
+
+        assertThat(response.getData(), empty());
+        assertThat(response.getMeta().getPage().getTotal(), is(0L));
+    }
+
+    private static Filter.FilterItem item(final String field, final Filter.FilterItem.Operator operator, final Object value) {
+        return Filter.FilterItem.builder()
+            .field(field)
+            .operator(operator)
+            .value(value)
+            .build();
+    }
+
+    private Filter normalize(final String query) {
+        return normalizer.normalize(parseFilter(query));
+    }
+}
@@ -0,0 +1,96 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.jdbc.JdbcQueryTranslator;
+import com.slmdev.jsonapi.simple.memory.FilterPredicateCompiler;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException;
+import com.slmdev.jsonapi.simple.request.FilterPlanCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class FilterPlanCacheTest {
+    @Test
+    public void shouldBuildShapeWithoutValues() {
+        assertThat(parseFilter("filter[id]=1").getShape(), is(parseFilter("filter[id]=2").getShape()));
+        assertThat(parseFilter("filter[id][in]=1,2").getShape(), is(parseFilter("filter[id][in]=3,4,5").getShape()));
+        assertThat(parseFilter("filter[id]=1").getShape(), not(parseFilter("filter[id][ne]=1").getShape()));
+        assertThat(parseFilter("filter[id]=1").getShape(), not(parseFilter("filter[name]=1").getShape()));
+        assertThat(
+            parseFilter("filter[or][0][id]=1&filter[or][1][name]=John").getShape(),
+            is(parseFilter("filter[or][a][id]=5&filter[or][b][name]=Jane").getShape())
+        );
+        assertThat(
+            parseFilter("filter[or][0][id]=1&filter[or][1][name]=John").getShape(),
+            not(parseFilter("filter[id]=1&filter[name]=John").getShape())
+        );
+    }
+
+    @Test
+    public void shouldNotMixShapesOfFieldNamesWithSeparators() {
+        final FilterPredicateCompiler<TestEntity> compiler = new FilterPredicateCompiler<>(TestEntity.class);
+        final Filter filter = parseFilter("filter[name]=John&filter[age]=1&filter[id]=1");
+        final Filter collidingFilter = parseFilter("filter[name:2;age]=John&filter[id]=1");
+
+        assertThat(collidingFilter.getShape(), not(filter.getShape()));
+
+        compiler.compile(filter);
+
+        Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> compiler.compile(collidingFilter));
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        final FilterPredicateCompiler<TestEntity> compiler = new FilterPredicateCompiler<>(TestEntity.class);
+
+        compiler.compile(parseFilter("filter[id]=1"));
+        compiler.compile(parseFilter("filter[id]=2"));
+        compiler.compile(parseFilter("filter[id]=3"));
+        compiler.compile(parseFilter("filter[name]=John"));
+
+        final FilterPlanCache.Stats stats = compiler.getPlanCacheStats();
+
+        assertThat(stats.getHits(), is(2L));
+        assertThat(stats.getMisses(), is(2L));
+        assertThat(stats.getSize(), is(2));
+        assertThat(stats.getHitRate(), is(0.5));
+
+        final JdbcQueryTranslator translator = JdbcQueryTranslator.builder(TestEntity.class)
+            .column("id")
+            .column("name")
+            .build();
+
+        translator.translate(parseFilter("filter[id]=1"), Sort.by("id"), null);
+        translator.translate(parseFilter("filter[id]=2"), Sort.by("id"), null);
+        translator.translate(parseFilter("filter[id]=2"), Sort.by("name"), null);
+
+        assertThat(translator.getPlanCacheStats().getHits(), is(1L));
+        assertThat(translator.getPlanCacheStats().getSize(), is(2));
+    }
+
+    @Test
+    public void shouldLimitCachedPlans() {
+        final FilterPlanCache<String> cache = new FilterPlanCache<>(1);
+        final AtomicInteger plans = new AtomicInteger();
+        final FilterPlanCache.Planner<String> planner = expression -> "plan" + plans.incrementAndGet();
+
+        assertThat(cache.get(parseFilter("filter[id]=1").getExpression(), planner), is("plan1"));
+        assertThat(cache.get(parseFilter("filter[id]=2").getExpression(), planner), is("plan1"));
+        assertThat(cache.get(parseFilter("filter[name]=John").getExpression(), planner), is("plan2"));
+        assertThat(cache.get(parseFilter("filter[name]=Jane").getExpression(), planner), is("plan3"));
+        assertThat(cache.size(), is(1));
+        assertThat(cache.getStats().getMisses(), is(3L));
+
+        cache.clear();
+
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getStats().getHitRate(), is(0.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new FilterPlanCache<>(-1));
+    }
+}
@@ -0,0 +1,169 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.memory.ColumnarResourceTable;
+import com.slmdev.jsonapi.simple.memory.ContainsMatcher;
+import com.slmdev.jsonapi.simple.memory.FieldAccessor;
+import com.slmdev.jsonapi.simple.memory.FilterPredicateCompiler;
+import com.slmdev.jsonapi.simple.memory.InMemoryQueryEngine;
+import com.slmdev.jsonapi.simple.memory.SortComparatorCompiler;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException;
+import com.slmdev.jsonapi.simple.request.FilterValueConverters;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.ENTITIES;
+import static com.slmdev.jsonapi.simple.response.TestEntities.findIds;
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class FilterPredicateTest {
+    private static final class Price {
+        private final BigDecimal amount;
+
+        private Price(final BigDecimal amount) {
+            this.amount = amount;
+        }
+    }
+
+    private static final class Account implements AutoCloseable, Iterable<String> {
+        private final String owner;
+
+        private Account(final String owner) {
+            this.owner = owner;
+        }
+
+        public String owner() {
+            return owner;
+        }
+
+        public Account toBuilder() {
+            return this;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return List.of(owner).iterator();
+        }
+    }
+
+    @Test
+    public void shouldFilterWithAllOperators() {
+        assertThat(findIds("filter[status]=active"), is(List.of(1L, 3L)));
+        assertThat(findIds("filter[status][ne]=ACTIVE"), is(List.of(2L)));
+        assertThat(findIds("filter[status]="), is(List.of(4L)));
+        assertThat(findIds("filter[status][ne]="), is(List.of(1L, 2L, 3L)));
+        assertThat(findIds("filter[age][gt]=30"), is(List.of(3L, 4L)));
+        assertThat(findIds("filter[age][gte]=30&filter[createDate][lt]=2024-04-01"), is(List.of(1L, 3L)));
+        assertThat(findIds("filter[age][lte]=30"), is(List.of(1L, 2L)));
+        assertThat(findIds("filter[id][in]=1,4,5"), is(List.of(1L, 4L)));
+        assertThat(findIds("filter[id][not_in]=1,4"), is(List.of(2L, 3L)));
+        assertThat(findIds("filter[status][in]=blocked,active"), is(List.of(1L, 2L, 3L)));
+        assertThat(findIds("filter[status][not_in]=BLOCKED"), is(List.of(1L, 3L)));
+        assertThat(findIds("filter[name][contain]=JOHN"), is(List.of(1L, 3L)));
+        assertThat(findIds("filter[name][contain]=100%25"), is(List.of(3L)));
+        assertThat(findIds("filter[name][not_contain]=john"), is(List.of(2L, 4L)));
+        assertThat(findIds("filter[age][contain]=5"), is(List.of(2L, 4L)));
+        assertThat(findIds(""), is(List.of(1L, 2L, 3L, 4L)));
+    }
+
+    @Test
+    public void shouldCachePlanByFilterShape() {
+        final FilterPredicateCompiler<TestEntity> compiler = new FilterPredicateCompiler<>(TestEntity.class);
+
+        compiler.compile(parseFilter("filter[name][contain]=bob&filter[age][gt]=1"));
+        compiler.compile(parseFilter("filter[age][gt]=31&filter[name][contain]=john"));
+        compiler.compile(parseFilter("filter[age][lt]=31&filter[name][contain]=john"));
+
+        assertThat(compiler.getCachedPlansCount(), is(2));
+        assertThat(FilterPredicateCompiler.forClass(TestEntity.class), sameInstance(FilterPredicateCompiler.forClass(TestEntity.class)));
+    }
+
+    @Test
+    public void shouldUsePrivateFieldsAndCompareValues() {
+        final List<Price> prices = List.of(new Price(new BigDecimal("1.00")), new Price(new BigDecimal("2.50")), new Price(null));
+        final FilterPredicateCompiler<Price> compiler = FilterPredicateCompiler.forClass(Price.class);
+
+        assertThat(prices.stream().filter(compiler.compile(parseFilter("filter[amount]=1"))).count(), is(1L));
+        assertThat(prices.stream().filter(compiler.compile(parseFilter("filter[amount][gte]=1.5"))).count(), is(1L));
+        assertThat(FieldAccessor.of(Price.class, "amount").get().getType(), is(BigDecimal.class));
+        assertThat(FieldAccessor.of(Price.class, "unknown").isPresent(), is(false));
+
+        Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> compiler.compile(parseFilter("filter[unknown]=1")));
+    }
+
+    @Test
+    public void shouldNotUseMethodsWithoutFieldAsAccessors() {
+        final FilterPredicateCompiler<Account> compiler = FilterPredicateCompiler.forClass(Account.class);
+
+        assertThat(FieldAccessor.of(Account.class, "owner").isPresent(), is(true));
+        assertThat(Stream.of(new Account("John"), new Account("Jane")).filter(compiler.compile(parseFilter("filter[owner]=Jane"))).count(), is(1L));
+
+        for (final String name : List.of("close", "iterator", "toBuilder", "hashCode", "toString")) {
+            assertThat(FieldAccessor.of(Account.class, name).isPresent(), is(false));
+            Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> compiler.compile(parseFilter("filter[" + name + "]=1")));
+        }
+    }
+
+    @Test
+    public void shouldRejectNotAllowedFields() {
+        final Set<String> allowedFields = Set.of("name", "age");
+        final FilterPredicateCompiler<TestEntity> predicateCompiler = new FilterPredicateCompiler<>(TestEntity.class, FilterValueConverters.getDefault(), allowedFields);
+        final SortComparatorCompiler<TestEntity> comparatorCompiler = new SortComparatorCompiler<>(TestEntity.class, allowedFields);
+        final InMemoryQueryEngine<TestEntity> engine = new InMemoryQueryEngine<>(TestEntity.class, allowedFields);
+        final ColumnarResourceTable<TestEntity> table = ColumnarResourceTable.builder(TestEntity.class)
+            .allowedFields(allowedFields)
+            .build(ENTITIES);
+        final Filter hidden = parseFilter("filter[or][0][age][gt]=30&filter[or][1][status][contain]=a");
+
+        assertThat(ENTITIES.stream().filter(predicateCompiler.compile(parseFilter("filter[name][contain]=jo"))).count(), is(2L));
+        assertThat(engine.query(ENTITIES, parseFilter("filter[age][gt]=30"), PageRequest.of(0, 10, Sort.by("name"))).getTotalElements(), is(2L));
+        assertThat(table.count(parseFilter("filter[age][gt]=30")), is(2));
+
+        Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> predicateCompiler.compile(hidden));
+        Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> comparatorCompiler.compile(Sort.by("id")));
+        Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> engine.query(ENTITIES, hidden, null));
+        Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> engine.query(ENTITIES, null, PageRequest.of(0, 10, Sort.by("createDate"))));
+        Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> table.count(hidden));
+        Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> table.query(null, PageRequest.of(0, 10, Sort.by("id"))));
+    }
+
+    @Test
+    public void shouldFilterInParallel() {
+        final List<TestEntity> entities = LongStream.range(0, 10_000)
+            .mapToObj(id -> new TestEntity(id, "user-" + id, (int)(id % 100), TestEntity.Status.ACTIVE, null))
+            .collect(Collectors.toList());
+        final Filter filter = parseFilter("filter[age][in]=1,2,3&filter[name][contain]=USER-1");
+
+        assertThat(
+            entities.parallelStream().filter(FilterPredicateCompiler.forClass(TestEntity.class).compile(filter)).count(),
+            is(entities.stream().filter(entity -> entity.getAge() >= 1 && entity.getAge() <= 3 && entity.getName().startsWith("user-1")).count())
+        );
+    }
+
+    @Test
+    public void shouldMatchIgnoringCase() {
+        final ContainsMatcher matcher = new ContainsMatcher("BoB");
+
+        assertThat(matcher.matches("bob"), is(true));
+        assertThat(matcher.matches("Mr. BOB Smith"), is(true));
+        assertThat(matcher.matches("Bo"), is(false));
+        assertThat(matcher.matches(null), is(false));
+        assertThat(new ContainsMatcher("").matches(""), is(true));
+    }
+}
@@ -17,6 +17,8 @@ import java.util.*;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 
 public class FilterTest {
@@ -125,6 +127,44 @@ public class FilterTest {
         assertThat(filter.getAllParams(), is(List.of(requiedFilterItem)));
     }
 
+    @Test
+    public void shouldKeepFilterFlatWithoutExpressions() {
+        final Map<String, String[]> filterParams = new LinkedHashMap<>();
+        filterParams.put(REQUEST_FILTER_ARGUMENT_NAME + "[age][gte]", new String[] {"18"});
+        filterParams.put(REQUEST_FILTER_ARGUMENT_NAME + "[age][lte]", new String[] {"65"});
+        filterParams.put(REQUEST_FILTER_ARGUMENT_NAME + "[or]", new String[] {"yes"});
+
+        Mockito.when(nativeWebRequest.getParameterMap())
+            .thenReturn(filterParams);
+
+        final Filter filter = (Filter)jsonApiFilterArgumentResolver.resolveArgument(methodParameter, null, nativeWebRequest, null);
+
+        assertThat(filter.isFlat(), is(true));
+        assertThat(filter.getAllKeys(), is(Set.of("age", "or")));
+        assertThat(filter.getParam("age").getOperator(), is(Filter.FilterItem.Operator.LTE));
+        assertThat(filter.stringValue("or").get(), is("yes"));
+    }
+
+    @Test
+    public void shouldParseFilterExpressionsWhenEnabled() {
+        final Map<String, String[]> filterParams = new LinkedHashMap<>();
+        filterParams.put(REQUEST_FILTER_ARGUMENT_NAME + "[age][gte]", new String[] {"18"});
+        filterParams.put(REQUEST_FILTER_ARGUMENT_NAME + "[age][lte]", new String[] {"65"});
+        filterParams.put(REQUEST_FILTER_ARGUMENT_NAME + "[or][0][name]", new String[] {"John"});
+        filterParams.put(REQUEST_FILTER_ARGUMENT_NAME + "[or][1][id]", new String[] {"1"});
+
+        Mockito.when(requestJsonApiFilter.expressions())
+            .thenReturn(true);
+        Mockito.when(nativeWebRequest.getParameterMap())
+            .thenReturn(filterParams);
+
+        final Filter filter = (Filter)jsonApiFilterArgumentResolver.resolveArgument(methodParameter, null, nativeWebRequest, null);
+
+        assertThat(filter.isFlat(), is(false));
+        assertThat(filter.getExpression().getChildren().size(), is(3));
+        Assertions.assertThrows(IllegalStateException.class, () -> filter.getParam("age"));
+    }
+
     @Test
     public void shouldParseFilterWithOperatorNotIn() {
         shouldParseFilterWithOperator(TEST_FILTER_KEY, Filter.FilterItem.Operator.NOT_IN, TEST_FILTER_LIST_VALUE);
@@ -206,6 +246,62 @@ public class FilterTest {
         assertThat(filter.uuidValue(TEST_FILTER_KEY).get(), is(TEST_FILTER_VALUE_UUID));
     }
 
+    @Test
+    public void shouldParseFilterAndGetPrimitiveArrayValuesOnce() {
+        final Filter filter = shouldParseFilterWithOperator(TEST_FILTER_KEY, Filter.FilterItem.Operator.IN, new String[] {"123", "678"});
+        final int[] intValues = filter.arrayOfIntValues(TEST_FILTER_KEY).get();
+        final long[] longValues = filter.arrayOfLongValues(TEST_FILTER_KEY).get();
+
+        assertThat(intValues, is(new int[] {123, 678}));
+        assertThat(longValues, is(new long[] {123L, 678L}));
+
+        intValues[0] = 0;
+        longValues[0] = 0;
+
+        assertThat(filter.arrayOfIntValues(TEST_FILTER_KEY).get(), is(new int[] {123, 678}));
+        assertThat(filter.arrayOfLongValues(TEST_FILTER_KEY).get(), is(new long[] {123L, 678L}));
+        assertThat(filter.listOfIntegerValues(TEST_FILTER_KEY).get(), is(List.of(123, 678)));
+    }
+
+    @Test
+    public void shouldParseFilterAndGetPackedUuidValues() {
+        final UUID value1 = UUID.randomUUID();
+        final UUID value2 = UUID.randomUUID();
+        final Filter filter = shouldParseFilterWithOperator(TEST_FILTER_KEY, Filter.FilterItem.Operator.IN, new String[] {value1.toString(), value2.toString()});
+        final long[] bits = filter.arrayOfUuidBits(TEST_FILTER_KEY).get();
+
+        assertThat(bits, is(new long[] {
+            value1.getMostSignificantBits(), value1.getLeastSignificantBits(),
+            value2.getMostSignificantBits(), value2.getLeastSignificantBits()
+        }));
+        assertThat(filter.arrayOfUuidBits(TEST_FILTER_KEY).get(), not(sameInstance(bits)));
+        assertThat(filter.arrayOfUuidBits(TEST_FILTER_KEY).get(), is(bits));
+    }
+
+    @Test
+    public void shouldGetTypedValuesFromNotStringFilterValues() {
+        final Filter filter = new Filter()
+            .addParam(TEST_FILTER_KEY, TEST_FILTER_VALUE_INT)
+            .addParam(TEST_FILTER_KEY_2, Filter.in(List.of(1, 2)).field(TEST_FILTER_KEY_2).build());
+
+        assertThat(filter.intValue(TEST_FILTER_KEY).get(), is(TEST_FILTER_VALUE_INT));
+        assertThat(filter.longValue(TEST_FILTER_KEY).get(), is((long)TEST_FILTER_VALUE_INT));
+        assertThat(filter.stringValue(TEST_FILTER_KEY).get(), is(String.valueOf(TEST_FILTER_VALUE_INT)));
+        assertThat(filter.arrayOfIntValues(TEST_FILTER_KEY).isPresent(), is(false));
+        assertThat(filter.listOfIntegerValues(TEST_FILTER_KEY_2).get(), is(List.of(1, 2)));
+    }
+
+    @Test
+    public void shouldNotUseTypedValuesInFilterEquality() {
+        final Filter filter1 = shouldParseFilterWithOperator(TEST_FILTER_KEY, Filter.FilterItem.Operator.IN, new String[] {"1", "2"});
+        final Filter filter2 = shouldParseFilterWithOperator(TEST_FILTER_KEY, Filter.FilterItem.Operator.IN, new String[] {"1", "2"});
+
+        filter1.arrayOfIntValues(TEST_FILTER_KEY);
+
+        assertThat(filter1, is(filter2));
+        assertThat(filter1.hashCode(), is(filter2.hashCode()));
+    }
+
     @Test
     public Filter shouldParseFilterWith2Keys() {
         final Map<String, String[]> filterParams = new HashMap<>();
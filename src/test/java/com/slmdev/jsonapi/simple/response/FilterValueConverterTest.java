@@ -0,0 +1,110 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterValueConversionException;
+import com.slmdev.jsonapi.simple.request.FilterValueConverters;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class FilterValueConverterTest {
+    private enum Status {
+        ACTIVE,
+        BLOCKED
+    }
+
+    private static final class CustomId {
+        private final String value;
+
+        private CustomId(final String value) {
+            this.value = value;
+        }
+    }
+
+    @Test
+    public void shouldConvertValuesWithBuiltInConverters() {
+        final UUID id = UUID.randomUUID();
+        final Filter filter = parseFilter(
+            "filter[date]=2024-02-29&filter[time]=2024-02-29T10:15:30&filter[instant]=1700000000000" +
+                "&filter[amount]=10.50&filter[status]=active&filter[id]=" + id + "&filter[enabled]=TRUE&filter[count]=7"
+        );
+
+        assertThat(filter.value("date", LocalDate.class).get(), is(LocalDate.of(2024, 2, 29)));
+        assertThat(filter.value("time", LocalDateTime.class).get(), is(LocalDateTime.of(2024, 2, 29, 10, 15, 30)));
+        assertThat(filter.value("instant", Instant.class).get(), is(Instant.ofEpochMilli(1700000000000L)));
+        assertThat(filter.value("amount", BigDecimal.class).get(), is(new BigDecimal("10.50")));
+        assertThat(filter.value("status", Status.class).get(), is(Status.ACTIVE));
+        assertThat(filter.value("id", UUID.class).get(), is(id));
+        assertThat(filter.value("enabled", Boolean.class).get(), is(true));
+        assertThat(filter.value("count", int.class).get(), is(7));
+        assertThat(filter.value("unknown", int.class).isPresent(), is(false));
+    }
+
+    @Test
+    public void shouldConvertListValuesOnce() {
+        final Filter filter = parseFilter("filter[status][in]=ACTIVE,blocked");
+        final List<Status> values = filter.values("status", Status.class).get();
+
+        assertThat(values, is(List.of(Status.ACTIVE, Status.BLOCKED)));
+        assertThat(filter.values("status", Status.class).get(), sameInstance(values));
+    }
+
+    @Test
+    public void shouldParseUuidInCanonicalAndShortFormats() {
+        final UUID id = UUID.randomUUID();
+        final Filter filter = parseFilter("filter[id][in]=" + id + "," + id.toString().toUpperCase() + ",1-2-3-4-5");
+
+        assertThat(
+            filter.values("id", UUID.class).get(),
+            is(List.of(id, id, UUID.fromString("1-2-3-4-5")))
+        );
+    }
+
+    @Test
+    public void shouldUseCustomConverters() {
+        final FilterValueConverters converters = new FilterValueConverters()
+            .register(CustomId.class, CustomId::new);
+        final Filter filter = parseFilter("filter[id]=abc");
+
+        assertThat(filter.value("id", CustomId.class, converters).get().value, is("abc"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> filter.value("id", CustomId.class));
+    }
+
+    @Test
+    public void shouldThrowValidationErrorWhenValueInvalid() {
+        final Filter filter = parseFilter("filter[date]=2024-13-45");
+        final FilterValueConversionException exception = Assertions.assertThrows(
+            FilterValueConversionException.class,
+            () -> filter.value("date", LocalDate.class)
+        );
+        final Error error = exception.toError();
+
+        assertThat(exception.getParameter(), is("filter[date]"));
+        assertThat(error.getStatus(), is(HttpStatus.BAD_REQUEST.value()));
+        assertThat(error.getCode(), is("VALIDATION_ERROR"));
+        assertThat(error.getSource().getParameter(), is("filter[date]"));
+        assertThat(error.getDetail(), containsString("2024-13-45"));
+    }
+
+    @Test
+    public void shouldRejectNotBooleanValue() {
+        final Filter filter = parseFilter("filter[enabled]=yes");
+
+        Assertions.assertThrows(FilterValueConversionException.class, () -> filter.value("enabled", Boolean.class));
+    }
+
+    private Filter parseFilter(final String query) {
+        return JsonApiQueryParser.parse(query).toFilter("filter");
+    }
+}
@@ -0,0 +1,75 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.memory.InMemoryQueryEngine;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQuery;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static com.slmdev.jsonapi.simple.response.TestEntities.randomEntities;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class InMemoryQueryTest {
+    private static final List<TestEntity> ENTITIES = randomEntities(7, 1000);
+
+    private final InMemoryQueryEngine<TestEntity> engine = InMemoryQueryEngine.forClass(TestEntity.class);
+
+    @Test
+    public void shouldSelectTheSamePagesAsFullSort() {
+        final Filter filter = parseFilter("filter[age][gte]=10");
+        final Sort sort = Sort.by(Sort.Order.desc("age"), Sort.Order.asc("name"));
+        final List<TestEntity> expected = ENTITIES.stream()
+            .filter(entity -> entity.getAge() >= 10)
+            .sorted(Comparator.comparing(TestEntity::getAge).reversed()
+                .thenComparing(TestEntity::getName, Comparator.nullsLast(Comparator.naturalOrder())))
+            .collect(Collectors.toList());
+
+        for (final int pageNumber : new int[] {0, 1, 3, 10, 40, 100}) {
+            final Page<TestEntity> page = engine.query(ENTITIES, filter, PageRequest.of(pageNumber, 25, sort));
+            final int start = Math.min(pageNumber * 25, expected.size());
+
+            assertThat(page.getContent(), is(expected.subList(start, Math.min(start + 25, expected.size()))));
+            assertThat(page.getTotalElements(), is((long)expected.size()));
+        }
+    }
+
+    @Test
+    public void shouldKeepOriginalOrderWithoutSort() {
+        final Page<TestEntity> page = engine.query(ENTITIES, parseFilter("filter[age][lt]=5"), PageRequest.of(1, 10));
+        final List<TestEntity> expected = ENTITIES.stream().filter(entity -> entity.getAge() < 5).collect(Collectors.toList());
+
+        assertThat(page.getContent(), is(expected.subList(10, 20)));
+        assertThat(page.getTotalElements(), is((long)expected.size()));
+
+        final Page<TestEntity> all = engine.query(ENTITIES, null, PageRequest.of(2, 100));
+
+        assertThat(all.getContent(), is(ENTITIES.subList(200, 300)));
+        assertThat(all.getTotalElements(), is(1000L));
+        assertThat(engine.query(ENTITIES, null, Pageable.unpaged()).getContent().size(), is(1000));
+        assertThat(engine.query(ENTITIES, null, PageRequest.of(50, 25)).getContent(), empty());
+    }
+
+    @Test
+    public void shouldBuildResponseFromPage() {
+        final JsonApiQuery query = JsonApiQueryParser.parse("filter[name][contain]=user-1&sort=-id&page[number]=1&page[size]=5");
+        final Page<TestEntity> page = engine.query(ENTITIES, query.toFilter("filter"), query.toPageable("page"));
+        final Response<List<Data<TestEntity>>> response = Response.<List<Data<TestEntity>>, TestEntity>builder()
+            .page(page)
+            .build();
+
+        assertThat(response.getData().size(), is(5));
+        assertThat(response.getMeta().getPage().getMaxSize(), is(5));
+        assertThat(response.getMeta().getPage().getTotal(), is(page.getTotalElements()));
+        assertThat(response.getData().get(0).getId(), is(String.valueOf(page.getContent().get(0).getId())));
+    }
+}
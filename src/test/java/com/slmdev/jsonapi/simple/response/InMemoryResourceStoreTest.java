@@ -0,0 +1,112 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.memory.InMemoryQueryEngine;
+import com.slmdev.jsonapi.simple.memory.InMemoryResourceStore;
+import com.slmdev.jsonapi.simple.request.Filter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static com.slmdev.jsonapi.simple.response.TestEntities.randomEntities;
+import static com.slmdev.jsonapi.simple.response.TestEntities.toIds;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class InMemoryResourceStoreTest {
+    private static final List<TestEntity> ENTITIES = randomEntities(3, 1000);
+
+    private final InMemoryQueryEngine<TestEntity> engine = InMemoryQueryEngine.forClass(TestEntity.class);
+
+    @Test
+    public void shouldSelectTheSamePagesAsFullScan() {
+        final InMemoryResourceStore<TestEntity> store = createStore();
+
+        for (final String query : List.of(
+            "",
+            "filter[status]=ACTIVE",
+            "filter[age][in]=1,2,3&filter[status]=BLOCKED",
+            "filter[age][gte]=10&filter[age][lt]=20",
+            "filter[createDate][gt]=2024-06-01&filter[name][contain]=1",
+            "filter[or][0][age][lte]=2&filter[or][1][status]=ACTIVE&filter[name][ne]=user-5",
+            "filter[or][0][age]=1&filter[or][1][name][contain]=user-9",
+            "filter[name]=",
+            "filter[age][gt]=100"
+        )) {
+            final Filter filter = parseFilter(query);
+
+            for (final Sort sort : List.of(
+                Sort.unsorted(),
+                Sort.by("age"),
+                Sort.by(Sort.Order.desc("age"), Sort.Order.asc("id")),
+                Sort.by(Sort.Order.asc("createDate"), Sort.Order.desc("id")),
+                Sort.by(Sort.Order.desc("createDate").nullsLast(), Sort.Order.asc("id")),
+                Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id"))
+            )) {
+                for (final int pageNumber : new int[] {0, 1, 7}) {
+                    final Pageable pageable = PageRequest.of(pageNumber, 30, sort);
+                    final Page<TestEntity> expected = engine.query(ENTITIES, filter, pageable);
+                    final Page<TestEntity> page = store.query(filter, pageable);
+
+                    assertThat(query + " " + sort, page.getTotalElements(), is(expected.getTotalElements()));
+
+                    if (sort.isSorted()) {
+                        assertThat(query + " " + sort, toIds(page.getContent()), is(toIds(expected.getContent())));
+                    } else {
+                        assertThat(query, toIds(page.getContent()), everyItem(is(in(toIds(engine.query(ENTITIES, filter, Pageable.unpaged()).getContent())))));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldUpdateIndexesOnPutAndRemove() {
+        final InMemoryResourceStore<TestEntity> store = createStore();
+        final Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Order.desc("age"), Sort.Order.asc("id")));
+
+        assertThat(store.size(), is(1000));
+        assertThat(store.get("5").orElseThrow(), sameInstance(ENTITIES.get(5)));
+
+        store.put(new TestEntity(5, "updated", 99, TestEntity.Status.BLOCKED, null));
+
+        assertThat(store.size(), is(1000));
+        assertThat(toIds(store.query(parseFilter("filter[age][gte]=99"), pageable).getContent()), contains(5L));
+        assertThat(store.query(parseFilter("filter[age]=" + ENTITIES.get(5).getAge() + "&filter[id]=5"), pageable).getTotalElements(), is(0L));
+        assertThat(toIds(store.query(null, pageable).getContent()).get(0), is(5L));
+
+        assertThat(store.remove(5L).orElseThrow().getName(), is("updated"));
+        assertThat(store.remove(5L).isPresent(), is(false));
+        assertThat(store.query(parseFilter("filter[age][gte]=99"), pageable).getTotalElements(), is(0L));
+
+        store.put(new TestEntity(1000, "new", 98, TestEntity.Status.ACTIVE, null));
+
+        assertThat(toIds(store.query(parseFilter("filter[status]=ACTIVE"), pageable).getContent()).get(0), is(1000L));
+
+        store.clear();
+
+        assertThat(store.query(null, pageable).getTotalElements(), is(0L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> InMemoryResourceStore.builder(TestAddress.class).build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> InMemoryResourceStore.builder(TestEntity.class).sortedIndex("address").build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> InMemoryResourceStore.builder(TestEntity.class).hashIndex("unknown").build());
+    }
+
+    private static InMemoryResourceStore<TestEntity> createStore() {
+        final InMemoryResourceStore<TestEntity> store = InMemoryResourceStore.builder(TestEntity.class)
+            .hashIndex("status")
+            .hashIndex("name")
+            .sortedIndex("age")
+            .sortedIndex("createDate")
+            .build();
+
+        store.putAll(ENTITIES);
+
+        return store;
+    }
+}
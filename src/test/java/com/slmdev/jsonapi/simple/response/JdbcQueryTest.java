@@ -0,0 +1,150 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.jdbc.JdbcQuery;
+import com.slmdev.jsonapi.simple.jdbc.JdbcQueryTranslator;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQuery;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class JdbcQueryTest {
+    private static final String SELECT_IDS = "SELECT id FROM test_entity";
+
+    private static Connection connection;
+    private static JdbcQueryTranslator translator;
+
+    @BeforeAll
+    public static void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:jdbc-query-test;DB_CLOSE_DELAY=-1", "sa", "");
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE test_entity (id BIGINT PRIMARY KEY, name VARCHAR(255), age INT, state VARCHAR(32), create_date DATE)");
+            statement.execute("INSERT INTO test_entity VALUES " +
+                "(1, 'John', 30, 'ACTIVE', DATE '2024-01-10'), " +
+                "(2, 'Jane', 25, 'BLOCKED', DATE '2024-02-20'), " +
+                "(3, 'Johnny 100%', 41, 'ACTIVE', DATE '2024-03-30'), " +
+                "(4, 'Bob', 35, NULL, DATE '2024-04-15')");
+        }
+        translator = JdbcQueryTranslator.builder(TestEntity.class)
+            .column("id")
+            .column("name")
+            .column("age")
+            .column("status", "state", Filter.FilterItem.Operator.EQ, Filter.FilterItem.Operator.NE, Filter.FilterItem.Operator.IN)
+            .column("createDate", "create_date")
+            .build();
+    }
+
+    @AfterAll
+    public static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void shouldTranslateAllOperators() throws SQLException {
+        assertThat(translator.getJsonApiType(), is(TestEntity.API_TYPE));
+        assertThat(findIds("filter[status]=active"), is(List.of(1L, 3L)));
+        assertThat(findIds("filter[status][ne]=ACTIVE"), is(List.of(2L)));
+        assertThat(findIds("filter[status]="), is(List.of(4L)));
+        assertThat(findIds("filter[age][gt]=30"), is(List.of(3L, 4L)));
+        assertThat(findIds("filter[age][gt]="), is(List.of()));
+        assertThat(findIds("filter[age][lte]=30"), is(List.of(1L, 2L)));
+        assertThat(findIds("filter[id][in]=1,4,5"), is(List.of(1L, 4L)));
+        assertThat(findIds("filter[id][not_in]=1,4"), is(List.of(2L, 3L)));
+        assertThat(findIds("filter[name][contain]=JOHN"), is(List.of(1L, 3L)));
+        assertThat(findIds("filter[name][contain]=100%25"), is(List.of(3L)));
+        assertThat(findIds("filter[name][not_contain]=john"), is(List.of(2L, 4L)));
+        assertThat(findIds("filter[createDate][gte]=2024-02-20&filter[status][in]=ACTIVE,BLOCKED"), is(List.of(2L, 3L)));
+    }
+
+    @Test
+    public void shouldTranslateSortAndPage() throws SQLException {
+        final JsonApiQuery query = JsonApiQueryParser.parse("filter[age][gte]=25&sort=-age&sort=name&page[number]=2&page[size]=2");
+        final JdbcQuery jdbcQuery = translator.translate(query.toFilter("filter"), query.toPageable("page"));
+
+        assertThat(jdbcQuery.getSql(), is(" WHERE age >= ? ORDER BY age DESC, name ASC LIMIT ? OFFSET ?"));
+        assertThat(jdbcQuery.getParameters(), is(List.of(25, 2, 2L)));
+        assertThat(execute(jdbcQuery), is(List.of(1L, 2L)));
+    }
+
+    @Test
+    public void shouldReuseStatementTextForSameShape() {
+        final JdbcQuery query1 = translator.translate(parseFilter("filter[id][in]=1,2,3&filter[name]=John"), Sort.by("id"), null);
+        final JdbcQuery query2 = translator.translate(parseFilter("filter[name]=Jane&filter[id][in]=4,3,2,1"), Sort.by("id"), null);
+        final JdbcQuery query3 = translator.translate(parseFilter("filter[name]=Jane&filter[id][in]=1,2,3,4,5"), Sort.by("id"), null);
+
+        assertThat(query1.getSql(), is(" WHERE id IN (?, ?, ?, ?) AND name = ? ORDER BY id ASC"));
+        assertThat(query1.getParameters(), is(List.of(1L, 2L, 3L, 3L, "John")));
+        assertThat(query2.getSql(), sameInstance(query1.getSql()));
+        assertThat(query3.getSql(), not(query1.getSql()));
+        assertThat(query3.getParameters().size(), is(9));
+    }
+
+    @Test
+    public void shouldTranslateExpressionGroups() throws SQLException {
+        final JdbcQuery query = translator.translate(
+            parseFilter("filter[age][gte]=30&filter[age][lte]=40&filter[or][0][status]=blocked&filter[or][1][name][contain]=bob&filter[or][1][id]=4"),
+            null
+        );
+        assertThat(query.getSql(), is(" WHERE age >= ? AND age <= ? AND (state = ? OR (LOWER(name) LIKE ? ESCAPE '\\' AND id = ?))"));
+        assertThat(query.getParameters(), is(List.of(30, 40, "BLOCKED", "%bob%", 4L)));
+        assertThat(execute(query), is(List.of(4L)));
+        assertThat(findIds("filter[or][0][status]=blocked&filter[or][1][age][gt]=40"), is(List.of(2L, 3L)));
+    }
+
+    @Test
+    public void shouldRejectNotDeclaredColumns() {
+        final FilterFieldNotAllowedException exception = Assertions.assertThrows(
+            FilterFieldNotAllowedException.class,
+            () -> translator.translate(parseFilter("filter[password]=secret"), null)
+        );
+        assertThat(exception.getParameter(), is("filter[password]"));
+
+        Assertions.assertThrows(
+            FilterFieldNotAllowedException.class,
+            () -> translator.translate(parseFilter("filter[status][contain]=act"), null)
+        );
+        Assertions.assertThrows(
+            FilterFieldNotAllowedException.class,
+            () -> translator.translate(null, PageRequest.of(0, 10, Sort.by("name; DROP TABLE test_entity")))
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JdbcQueryTranslator.builder(TestEntity.class).column("unknown"));
+    }
+
+    private static List<Long> findIds(final String query) throws SQLException {
+        return execute(translator.translate(parseFilter(query), Sort.by("id"), null));
+    }
+
+    private static List<Long> execute(final JdbcQuery query) throws SQLException {
+        final List<Long> ids = new ArrayList<>();
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_IDS + query.getSql())) {
+            query.bind(statement);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+}
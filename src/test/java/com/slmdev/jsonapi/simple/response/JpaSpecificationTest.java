@@ -0,0 +1,182 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.jpa.JpaSpecificationCompiler;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException;
+import com.slmdev.jsonapi.simple.request.FilterValueConversionException;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQuery;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class JpaSpecificationTest {
+    private static SessionFactory sessionFactory;
+    private static JpaSpecificationCompiler<TestEntity> compiler;
+
+    @BeforeAll
+    public static void setUp() {
+        final StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.URL, "jdbc:h2:mem:jpa-specification-test;DB_CLOSE_DELAY=-1")
+            .applySetting(AvailableSettings.USER, "sa")
+            .applySetting(AvailableSettings.PASS, "")
+            .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .applySetting(AvailableSettings.JPA_VALIDATION_MODE, "none")
+            .build();
+
+        sessionFactory = new MetadataSources(registry)
+            .addAnnotatedClass(TestEntity.class)
+            .addAnnotatedClass(TestOwner.class)
+            .buildMetadata()
+            .buildSessionFactory();
+
+        final EntityManager entityManager = sessionFactory.createEntityManager();
+
+        entityManager.getTransaction().begin();
+        entityManager.persist(new TestEntity(1, "John", 30, TestEntity.Status.ACTIVE, LocalDate.of(2024, 1, 10)));
+        entityManager.persist(new TestEntity(2, "Jane", 25, TestEntity.Status.BLOCKED, LocalDate.of(2024, 2, 20)));
+        entityManager.persist(new TestEntity(3, "Johnny 100%", 41, TestEntity.Status.ACTIVE, LocalDate.of(2024, 3, 30)));
+        entityManager.persist(new TestEntity(4, "Bob", 35, null, LocalDate.of(2024, 4, 15)));
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        compiler = JpaSpecificationCompiler.builder(TestEntity.class, sessionFactory.getMetamodel())
+            .field("id")
+            .field("name")
+            .field("age")
+            .field("state", "status", Filter.FilterItem.Operator.EQ, Filter.FilterItem.Operator.NE, Filter.FilterItem.Operator.IN)
+            .field("created", "createDate")
+            .build();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    public void shouldFilterWithAllOperators() {
+        assertThat(findIds("filter[state]=active"), is(List.of(1L, 3L)));
+        assertThat(findIds("filter[state][ne]=ACTIVE"), is(List.of(2L)));
+        assertThat(findIds("filter[state]="), is(List.of(4L)));
+        assertThat(findIds("filter[age][gt]=30"), is(List.of(3L, 4L)));
+        assertThat(findIds("filter[age][gte]=30&filter[created][lt]=2024-04-01"), is(List.of(1L, 3L)));
+        assertThat(findIds("filter[age][lte]=30"), is(List.of(1L, 2L)));
+        assertThat(findIds("filter[id][in]=1,4,5"), is(List.of(1L, 4L)));
+        assertThat(findIds("filter[id][not_in]=1,4"), is(List.of(2L, 3L)));
+        assertThat(findIds("filter[name][contain]=JOHN"), is(List.of(1L, 3L)));
+        assertThat(findIds("filter[name][contain]=100%25"), is(List.of(3L)));
+        assertThat(findIds("filter[name][not_contain]=john"), is(List.of(2L, 4L)));
+        assertThat(findIds("filter[created][gte]=2024-02-20&filter[state][in]=ACTIVE,BLOCKED"), is(List.of(2L, 3L)));
+    }
+
+    @Test
+    public void shouldMatchNothingWithEmptyRangeValue() {
+        assertThat(findIds("filter[age][gt]="), is(List.of()));
+        assertThat(findIds("filter[age][gte]="), is(List.of()));
+        assertThat(findIds("filter[created][lt]="), is(List.of()));
+        assertThat(findIds("filter[created][lte]="), is(List.of()));
+        assertThat(findIds("filter[or][0][age][gt]=&filter[or][1][id]=2"), is(List.of(2L)));
+
+        final CriteriaBuilder criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        final CriteriaQuery<TestEntity> query = criteriaBuilder.createQuery(TestEntity.class);
+        final Predicate predicate = compiler.toSpecification(parseFilter("filter[age][lte]="), null)
+            .toPredicate(query.from(TestEntity.class), query, criteriaBuilder);
+
+        assertThat(predicate.getOperator(), is(Predicate.BooleanOperator.OR));
+        assertThat(predicate.getExpressions(), empty());
+    }
+
+    @Test
+    public void shouldFilterWithExpressionGroups() {
+        assertThat(findIds("filter[age][gte]=30&filter[age][lte]=40"), is(List.of(1L, 4L)));
+        assertThat(findIds("filter[or][0][state]=blocked&filter[or][1][name][contain]=bob"), is(List.of(2L, 4L)));
+        assertThat(
+            findIds("filter[age][gt]=26&filter[or][a][state]=active&filter[or][a][name][contain]=johnny&filter[or][b][id]=4"),
+            is(List.of(3L, 4L))
+        );
+    }
+
+    @Test
+    public void shouldApplySortToSpecification() {
+        final JsonApiQuery query = JsonApiQueryParser.parse("filter[age][gte]=25&sort=-age&sort=name");
+
+        assertThat(findIds(compiler.toSpecification(query.toFilter("filter"), query.toSort())), is(List.of(3L, 4L, 1L, 2L)));
+        assertThat(compiler.toSort(Sort.by("created")), is(Sort.by("createDate")));
+    }
+
+    @Test
+    public void shouldCachePlanByFilterShape() {
+        final int cachedPlansCount = compiler.getCachedPlansCount();
+
+        assertThat(findIds("filter[name][contain]=bob&filter[age][gt]=1"), is(List.of(4L)));
+        assertThat(compiler.getCachedPlansCount(), is(cachedPlansCount + 1));
+
+        assertThat(findIds("filter[age][gt]=31&filter[name][contain]=john"), is(List.of(3L)));
+        assertThat(compiler.getCachedPlansCount(), is(cachedPlansCount + 1));
+    }
+
+    @Test
+    public void shouldRejectNotAllowedFields() {
+        final FilterFieldNotAllowedException fieldException = Assertions.assertThrows(
+            FilterFieldNotAllowedException.class,
+            () -> compiler.toSpecification(parseFilter("filter[password]=secret"))
+        );
+        assertThat(fieldException.getParameter(), is("filter[password]"));
+        assertThat(fieldException.toError().getSource().getParameter(), is("filter[password]"));
+
+        Assertions.assertThrows(
+            FilterFieldNotAllowedException.class,
+            () -> compiler.toSpecification(parseFilter("filter[state][contain]=act"))
+        );
+        Assertions.assertThrows(FilterFieldNotAllowedException.class, () -> compiler.toSort(Sort.by("password")));
+        Assertions.assertThrows(FilterValueConversionException.class, () -> compiler.toSpecification(parseFilter("filter[age]=old")));
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> JpaSpecificationCompiler.builder(TestEntity.class, sessionFactory.getMetamodel()).field("unknown").build()
+        );
+    }
+
+    private static List<Long> findIds(final String query) {
+        return findIds(compiler.toSpecification(parseFilter(query), Sort.by("id")));
+    }
+
+    private static List<Long> findIds(final Specification<TestEntity> specification) {
+        final EntityManager entityManager = sessionFactory.createEntityManager();
+
+        try {
+            final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+            final CriteriaQuery<TestEntity> query = criteriaBuilder.createQuery(TestEntity.class);
+            final Root<TestEntity> root = query.from(TestEntity.class);
+
+            query.where(specification.toPredicate(root, query, criteriaBuilder));
+
+            return entityManager.createQuery(query).getResultList().stream()
+                .map(TestEntity::getId)
+                .collect(Collectors.toList());
+        } finally {
+            entityManager.close();
+        }
+    }
+}
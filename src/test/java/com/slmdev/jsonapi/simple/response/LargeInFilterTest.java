@@ -0,0 +1,112 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.annotation.RequestJsonApiFilter;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.FilterValueBatches;
+import com.slmdev.jsonapi.simple.request.FilterValuesLimitExceededException;
+import com.slmdev.jsonapi.simple.request.LongValueSet;
+import com.slmdev.jsonapi.simple.resolver.JsonApiFilterArgumentResolver;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+
+public class LargeInFilterTest {
+    @Test
+    public void shouldRejectTooLargeListBeforeSplitting() {
+        final RequestJsonApiFilter annotation = Mockito.mock(RequestJsonApiFilter.class);
+        final MethodParameter methodParameter = Mockito.mock(MethodParameter.class);
+        final NativeWebRequest nativeWebRequest = Mockito.mock(NativeWebRequest.class);
+
+        Mockito.when(annotation.name()).thenReturn("filter");
+        Mockito.when(annotation.maxListValues()).thenReturn(3);
+        Mockito.when(methodParameter.getParameterAnnotation(any())).thenReturn(annotation);
+        Mockito.when(nativeWebRequest.getParameterMap()).thenReturn(Map.of("filter[id][in]", new String[] {"1,2,3,4"}));
+
+        final FilterValuesLimitExceededException exception = Assertions.assertThrows(
+            FilterValuesLimitExceededException.class,
+            () -> new JsonApiFilterArgumentResolver().resolveArgument(methodParameter, null, nativeWebRequest, null)
+        );
+        assertThat(exception.getParameter(), is("filter[id]"));
+        assertThat(exception.toError().getSource().getParameter(), is("filter[id]"));
+
+        final Filter filter = JsonApiQueryParser.parse("filter[id][in]=1,2,3,,&filter[name]=a").toFilter("filter", 3);
+
+        assertThat(filter.arrayOfLongValues("id").get(), is(new long[] {1, 2, 3}));
+    }
+
+    @Test
+    public void shouldDedupeAndSortListValues() {
+        final Filter filter = JsonApiQueryParser.parse("filter[id][in]=5,3,5,1,3,-2").toFilter("filter");
+        final long[] values = filter.arrayOfDistinctLongValues("id").get();
+
+        assertThat(values, is(new long[] {-2, 1, 3, 5}));
+
+        values[0] = 0;
+
+        assertThat(filter.arrayOfDistinctLongValues("id").get(), is(new long[] {-2, 1, 3, 5}));
+        assertThat(filter.arrayOfDistinctIntValues("id").get(), is(new int[] {-2, 1, 3, 5}));
+        assertThat(filter.arrayOfLongValues("id").get(), is(new long[] {5, 3, 5, 1, 3, -2}));
+        assertThat(filter.longValueSet("id").get(), sameInstance(filter.longValueSet("id").get()));
+        assertThat(filter.longValueSet("unknown").isPresent(), is(false));
+    }
+
+    @Test
+    public void shouldTestMembershipWithBitmapAndSortedArray() {
+        final LongValueSet dense = LongValueSet.of(LongStream.rangeClosed(100, 1100).filter(value -> value % 3 == 0).toArray());
+        final LongValueSet sparse = LongValueSet.of(Long.MIN_VALUE, -5, 7, 1_000_000_000_000L, Long.MAX_VALUE);
+
+        for (long value = 90; value < 1110; ++value) {
+            assertThat(dense.contains(value), is(value >= 100 && value <= 1100 && value % 3 == 0));
+        }
+        assertThat(sparse.contains(Long.MIN_VALUE), is(true));
+        assertThat(sparse.contains(Long.MAX_VALUE), is(true));
+        assertThat(sparse.contains(7), is(true));
+        assertThat(sparse.contains(8), is(false));
+        assertThat(sparse.size(), is(5));
+        assertThat(LongValueSet.of().contains(0), is(false));
+        assertThat(LongValueSet.of(3, 1, 3), is(LongValueSet.of(1, 3)));
+    }
+
+    @Test
+    public void shouldFetchBatchesInParallel() {
+        final long[] values = LongStream.range(0, 1050).toArray();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            assertThat(FilterValueBatches.split(values, 500).stream().map(batch -> batch.length).collect(Collectors.toList()), is(List.of(500, 500, 50)));
+
+            final List<Long> results = FilterValueBatches.fetch(
+                values,
+                100,
+                executor,
+                batch -> Arrays.stream(batch).filter(value -> value % 100 == 0).boxed().collect(Collectors.toList())
+            );
+            assertThat(results, is(LongStream.range(0, 11).map(value -> value * 100).boxed().collect(Collectors.toList())));
+
+            final IllegalStateException exception = Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> FilterValueBatches.fetch(values, 100, executor, batch -> {
+                    throw new IllegalStateException("failed");
+                })
+            );
+            assertThat(exception.getMessage(), is("failed"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.lucene.LuceneTextIndex;
+import com.slmdev.jsonapi.simple.memory.FilterPredicateCompiler;
+import com.slmdev.jsonapi.simple.request.Filter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class LuceneTextIndexTest {
+    private static final List<TestEntity> ENTITIES = List.of(
+        new TestEntity(1, "John", 30, TestEntity.Status.ACTIVE, null).setAddress(new TestAddress("Berlin")),
+        new TestEntity(2, "Jane", 25, TestEntity.Status.BLOCKED, null).setAddress(new TestAddress("Paris")),
+        new TestEntity(3, "Johnny 100%*", 41, TestEntity.Status.ACTIVE, null),
+        new TestEntity(4, null, 35, null, null).setAddress(new TestAddress("BERLIN"))
+    );
+
+    private final FilterPredicateCompiler<TestEntity> compiler = FilterPredicateCompiler.forClass(TestEntity.class);
+
+    @Test
+    public void shouldRewriteTextConditionsToIds() throws IOException {
+        try (LuceneTextIndex<TestEntity> index = createIndex(LuceneTextIndex.builder(TestEntity.class))) {
+            final Filter filter = index.rewrite(parseFilter("filter[name][contain]=JOHN&filter[age][lt]=40"));
+
+            assertThat(filter.getParam("id").getOperator(), is(Filter.FilterItem.Operator.IN));
+            assertThat(filter.listOfStringValues("id").orElseThrow(), containsInAnyOrder("1", "3"));
+            assertThat(filter.hasParam("name"), is(false));
+            assertThat(select(filter), contains(1L));
+
+            for (final String query : List.of(
+                "filter[name][contain]=john",
+                "filter[name][contain]=0%25*",
+                "filter[name][not_contain]=john",
+                "filter[address.city][contain]=erl&filter[age][gte]=31",
+                "filter[or][0][name][contain]=ane&filter[or][1][address.city][contain]=berlin",
+                "filter[or][0][name][contain]=unknown&filter[or][1][status]=BLOCKED",
+                "filter[or][0][name][contain]=&filter[or][1][id]=4"
+            )) {
+                final Filter requestFilter = parseFilter(query);
+
+                assertThat(query, select(index.rewrite(requestFilter)), is(select(requestFilter)));
+            }
+            assertThat(index.rewrite(parseFilter("filter[name][contain]=unknown&filter[age][gt]=1")).matchesNothing(), is(true));
+            assertThat(index.rewrite(parseFilter("filter[or][0][name][contain]=unknown&filter[or][1][age][gt]=1")).getShape(), is("3:age:4;"));
+
+            final Filter notIndexed = parseFilter("filter[status][contain]=act");
+
+            assertThat(index.rewrite(notIndexed), sameInstance(notIndexed));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> index.findIds("status", "act", true));
+        }
+    }
+
+    @Test
+    public void shouldUpdateIndexAndKeepNotSelectiveConditions(final @TempDir Path directory) throws IOException {
+        try (LuceneTextIndex<TestEntity> index = createIndex(LuceneTextIndex.builder(TestEntity.class).path(directory).maxMatches(2))) {
+            assertThat(index.size(), is(4));
+            assertThat(index.findIds("name", "j", true), nullValue());
+
+            final Filter notSelective = parseFilter("filter[name][contain]=j");
+
+            assertThat(index.rewrite(notSelective), sameInstance(notSelective));
+
+            index.delete(1L);
+            index.index(new TestEntity(2, "Bob", 25, TestEntity.Status.BLOCKED, null));
+
+            assertThat(index.findIds("name", "j", true), contains("3"));
+            assertThat(index.findIds("name", "bob", true), contains("2"));
+        }
+
+        try (LuceneTextIndex<TestEntity> index = LuceneTextIndex.builder(TestEntity.class).field("name").path(directory).build()) {
+            assertThat(index.size(), is(3));
+            assertThat(index.findIds("name", "BO", true), contains("2"));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LuceneTextIndex.builder(TestAddress.class).field("city").build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LuceneTextIndex.builder(TestEntity.class).field("unknown").build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LuceneTextIndex.builder(TestEntity.class).maxMatches(0));
+    }
+
+    private static LuceneTextIndex<TestEntity> createIndex(final LuceneTextIndex.Builder<TestEntity> builder) {
+        final LuceneTextIndex<TestEntity> index = builder
+            .field("name")
+            .field("address.city")
+            .build();
+
+        index.index(ENTITIES);
+
+        return index;
+    }
+
+    private List<Long> select(final Filter filter) {
+        return ENTITIES.stream()
+            .filter(compiler.compile(filter))
+            .map(TestEntity::getId)
+            .collect(Collectors.toList());
+    }
+}
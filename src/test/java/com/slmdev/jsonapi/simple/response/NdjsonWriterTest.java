@@ -0,0 +1,136 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.response.reactive.StreamingResponse;
+import com.slmdev.jsonapi.simple.response.reactive.StreamingResponseHttpMessageWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class NdjsonWriterTest extends BaseTest {
+    @Test
+    public void shouldWriteOneDataObjectPerLineAndMetaInLastLine() throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final long count = new JsonApiNdjsonWriter(objectMapper, 1).write(
+            outputStream,
+            Stream.of(buildTestDto1(), buildTestDto2()),
+            new JsonApiDataFactory<>(TEST_RESPONSE_URI),
+            null
+        );
+        final String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertThat(count, is(2L));
+        assertThat(lines.length, is(3));
+        assertDataLine(lines[0], buildTestDto1());
+        assertDataLine(lines[1], buildTestDto2());
+        assertMetaLine(lines[2], 2);
+    }
+
+    @Test
+    public void shouldWriteOnlyMetaLineWhenNoData() throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        new JsonApiNdjsonWriter(objectMapper).write(
+            outputStream,
+            Stream.<TestDto>empty(),
+            new JsonApiDataFactory<>(TEST_RESPONSE_URI),
+            null
+        );
+        final String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines.length, is(1));
+        assertMetaLine(lines[0], 0);
+    }
+
+    @Test
+    public void shouldConsumeElementsLazily() throws Exception {
+        final int total = 100_000;
+        final Iterator<TestDto> data = new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < total;
+            }
+
+            @Override
+            public TestDto next() {
+                ++index;
+
+                return buildTestDto1();
+            }
+        };
+        final long count = new JsonApiNdjsonWriter(objectMapper).write(
+            NullOutputStream.INSTANCE,
+            data,
+            new JsonApiDataFactory<>(TEST_RESPONSE_URI),
+            null
+        );
+        assertThat(count, is((long)total));
+    }
+
+    @Test
+    public void shouldWriteStreamingResponseAsNdjson() throws Exception {
+        final MockServerHttpResponse httpResponse = new MockServerHttpResponse();
+
+        new StreamingResponseHttpMessageWriter(objectMapper).write(
+            Mono.just(StreamingResponse.<TestDto>builder()
+                .uri(TEST_RESPONSE_URI)
+                .data(Flux.just(buildTestDto1(), buildTestDto2()))
+                .build()),
+            ResolvableType.forClass(StreamingResponse.class),
+            MediaType.APPLICATION_NDJSON,
+            httpResponse,
+            Map.of()
+        ).block();
+
+        final String[] lines = httpResponse.getBodyAsString().block().split("\n");
+
+        assertThat(httpResponse.getHeaders().getContentType(), is(MediaType.APPLICATION_NDJSON));
+        assertThat(lines.length, is(3));
+        assertDataLine(lines[0], buildTestDto1());
+        assertDataLine(lines[1], buildTestDto2());
+        assertMetaLine(lines[2], 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertDataLine(final String line, final TestDto testDto) throws Exception {
+        final Map<String, Object> data = objectMapper.readValue(line, Map.class);
+
+        assertThat(data.get("type"), is(TestDto.API_TYPE));
+        assertThat(data.get("id"), is(testDto.getId().toString()));
+        assertThat(((Map<String, Object>)data.get("attributes")).get("name"), is(testDto.getName()));
+        assertThat(((Map<String, Object>)data.get("links")).get("self"), is(buildSelfLink(TEST_RESPONSE_URI, testDto)));
+    }
+
+    private void assertMetaLine(final String line, final long total) throws Exception {
+        final Response<?> response = objectMapper.readValue(line, Response.class);
+
+        assertThat(response.getData(), nullValue());
+        assertThat(response.getMeta().getPage().getTotal(), is(total));
+    }
+
+    private static class NullOutputStream extends OutputStream {
+        private static final NullOutputStream INSTANCE = new NullOutputStream();
+
+        @Override
+        public void write(final int symbol) {
+        }
+
+        @Override
+        public void write(final byte[] buffer, final int offset, final int length) {
+        }
+    }
+}
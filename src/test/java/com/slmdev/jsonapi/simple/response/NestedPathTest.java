@@ -0,0 +1,238 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.jdbc.JdbcQueryTranslator;
+import com.slmdev.jsonapi.simple.jpa.JpaSpecificationCompiler;
+import com.slmdev.jsonapi.simple.memory.FieldAccessor;
+import com.slmdev.jsonapi.simple.memory.FilterPredicateCompiler;
+import com.slmdev.jsonapi.simple.memory.SortComparatorCompiler;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQuery;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static com.slmdev.jsonapi.simple.response.TestEntities.toIds;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class NestedPathTest {
+    private static final TestOwner ALICE = new TestOwner(1L, "Alice");
+    private static final TestOwner BOB = new TestOwner(2L, "Bob");
+
+    @Test
+    public void shouldParseAndValidateFieldPaths() {
+        final JsonApiQuery query = JsonApiQueryParser.parse("filter[address.city]=Berlin&filter[owner.name][in]=Alice,Bob&sort=-owner.name");
+        final Filter filter = query.toFilter("filter");
+
+        assertThat(filter.stringValue("address.city").orElse(null), is("Berlin"));
+        assertThat(filter.getParam("owner.name").getOperator(), is(Filter.FilterItem.Operator.IN));
+        assertThat(query.toSort(), is(Sort.by(Sort.Order.desc("owner.name"))));
+        assertThat(Filter.splitFieldPath("owner.address.city"), is(new String[] {"owner", "address", "city"}));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JsonApiQueryParser.parse("filter[address..city]=Berlin").toFilter("filter"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JsonApiQueryParser.parse("filter[.city]=Berlin").toFilter("filter"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JsonApiQueryParser.parse("sort=-owner.").toSort());
+    }
+
+    @Test
+    public void shouldFilterAndSortInMemoryByNestedFields() {
+        final List<TestEntity> entities = createEntities();
+        final FilterPredicateCompiler<TestEntity> predicateCompiler = FilterPredicateCompiler.forClass(TestEntity.class);
+        final SortComparatorCompiler<TestEntity> comparatorCompiler = SortComparatorCompiler.forClass(TestEntity.class);
+
+        assertThat(
+            toIds(entities.stream().filter(predicateCompiler.compile(parseFilter("filter[address.city]=Berlin"))).collect(Collectors.toList())),
+            is(List.of(1L, 3L))
+        );
+        assertThat(
+            toIds(entities.stream().filter(predicateCompiler.compile(parseFilter("filter[owner.name]="))).collect(Collectors.toList())),
+            is(List.of(4L))
+        );
+        assertThat(
+            toIds(entities.stream().filter(predicateCompiler.compile(parseFilter("filter[owner.id][in]=2"))).collect(Collectors.toList())),
+            is(List.of(2L, 3L))
+        );
+        assertThat(toIds(comparatorCompiler.sort(entities, Sort.by(Sort.Order.desc("owner.name"), Sort.Order.asc("id")))), is(List.of(4L, 2L, 3L, 1L)));
+        assertThat(toIds(comparatorCompiler.sort(entities, Sort.by("address.city", "id"))), is(List.of(1L, 3L, 2L, 4L)));
+    }
+
+    @Test
+    public void shouldFilterAndSortInMemoryByNestedPrimitiveFields() {
+        final List<Holder> holders = List.of(
+            new Holder(1, new Inner(30, 1.5)),
+            new Holder(2, null),
+            new Holder(3, new Inner(20, 2.5)),
+            new Holder(4, new Inner(30, 0.5))
+        );
+        final FilterPredicateCompiler<Holder> predicateCompiler = FilterPredicateCompiler.forClass(Holder.class);
+        final SortComparatorCompiler<Holder> comparatorCompiler = SortComparatorCompiler.forClass(Holder.class);
+
+        assertThat(FieldAccessor.of(Holder.class, "inner.age").orElseThrow().isIntegral(), is(false));
+        assertThat(FieldAccessor.of(Holder.class, "inner.score").orElseThrow().isFloatingPoint(), is(false));
+        assertThat(toHolderIds(comparatorCompiler.sort(holders, JsonApiQueryParser.parse("sort=inner.age&sort=id").toSort())), is(List.of(3L, 1L, 4L, 2L)));
+        assertThat(toHolderIds(comparatorCompiler.sort(holders, JsonApiQueryParser.parse("sort=-inner.age&sort=id").toSort())), is(List.of(2L, 1L, 4L, 3L)));
+        assertThat(toHolderIds(comparatorCompiler.sort(holders, JsonApiQueryParser.parse("sort=inner.score").toSort())), is(List.of(4L, 1L, 3L, 2L)));
+        assertThat(
+            toHolderIds(holders.stream().filter(predicateCompiler.compile(parseFilter("filter[inner.age][gte]=25"))).collect(Collectors.toList())),
+            is(List.of(1L, 4L))
+        );
+        assertThat(
+            toHolderIds(holders.stream().filter(predicateCompiler.compile(parseFilter("filter[inner.age]="))).collect(Collectors.toList())),
+            is(List.of(2L))
+        );
+    }
+
+    @Test
+    public void shouldCacheAndValidateAccessorChains() {
+        final FieldAccessor accessor = FieldAccessor.of(TestEntity.class, "owner.name").orElseThrow();
+
+        assertThat(accessor, sameInstance(FieldAccessor.of(TestEntity.class, "owner.name").orElseThrow()));
+        assertThat(accessor.isNested(), is(true));
+        assertThat(accessor.getType(), is(String.class));
+        assertThat(accessor.get(new TestEntity().setOwner(BOB)), is("Bob"));
+        assertThat(accessor.get(new TestEntity()), nullValue());
+
+        assertThat(FieldAccessor.of(TestEntity.class, "owner.unknown").isPresent(), is(false));
+        assertThat(FieldAccessor.of(TestEntity.class, "age.value").isPresent(), is(false));
+        assertThat(FieldAccessor.of(TestEntity.class, "owner..name").isPresent(), is(false));
+    }
+
+    @Test
+    public void shouldJoinAssociationsInJpaSpecification() {
+        final StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.URL, "jdbc:h2:mem:nested-path-test;DB_CLOSE_DELAY=-1")
+            .applySetting(AvailableSettings.USER, "sa")
+            .applySetting(AvailableSettings.PASS, "")
+            .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .applySetting(AvailableSettings.JPA_VALIDATION_MODE, "none")
+            .build();
+
+        try (SessionFactory sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(TestEntity.class)
+                .addAnnotatedClass(TestOwner.class)
+                .buildMetadata()
+                .buildSessionFactory()) {
+            final EntityManager entityManager = sessionFactory.createEntityManager();
+
+            entityManager.getTransaction().begin();
+            entityManager.persist(ALICE);
+            entityManager.persist(BOB);
+            createEntities().forEach(entityManager::persist);
+            entityManager.getTransaction().commit();
+            entityManager.close();
+
+            final JpaSpecificationCompiler<TestEntity> compiler = JpaSpecificationCompiler.builder(TestEntity.class, sessionFactory.getMetamodel())
+                .field("id")
+                .field("address.city")
+                .field("owner.name")
+                .field("ownerId", "owner.id")
+                .join("owner", JoinType.LEFT)
+                .build();
+
+            assertThat(findIds(sessionFactory, compiler.toSpecification(parseFilter("filter[address.city]=Berlin"), Sort.by("id"))), is(List.of(1L, 3L)));
+            assertThat(
+                findIds(sessionFactory, compiler.toSpecification(parseFilter("filter[owner.name][contain]=o"), Sort.by(Sort.Order.desc("owner.name"), Sort.Order.asc("id")))),
+                is(List.of(2L, 3L))
+            );
+            assertThat(findIds(sessionFactory, compiler.toSpecification(parseFilter("filter[owner.name]="), Sort.by("id"))), is(List.of(4L)));
+            assertThat(findIds(sessionFactory, compiler.toSpecification(parseFilter("filter[ownerId]=1"), Sort.by("owner.name"))), is(List.of(1L)));
+            assertThat(compiler.toSort(Sort.by("ownerId")), is(Sort.by("owner.id")));
+
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> JpaSpecificationCompiler.builder(TestEntity.class, sessionFactory.getMetamodel()).field("name.value").build()
+            );
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> JpaSpecificationCompiler.builder(TestEntity.class, sessionFactory.getMetamodel()).field("owner.unknown").build()
+            );
+        }
+    }
+
+    @Test
+    public void shouldAddJdbcJoinsOnlyForUsedPaths() {
+        final JdbcQueryTranslator translator = JdbcQueryTranslator.builder(TestEntity.class)
+            .column("id", "t.id")
+            .column("owner.name", "o.name")
+            .column("address.city", "t.address_city")
+            .join("owner", "LEFT JOIN test_owner o ON o.id = t.owner_id")
+            .build();
+
+        assertThat(translator.translate(parseFilter("filter[id]=1"), null).getSql(), is(" WHERE t.id = ?"));
+        assertThat(
+            translator.translate(parseFilter("filter[address.city]=Berlin"), Sort.by("owner.name"), null).getSql(),
+            is(" LEFT JOIN test_owner o ON o.id = t.owner_id WHERE t.address_city = ? ORDER BY o.name ASC")
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JdbcQueryTranslator.builder(TestEntity.class).column("owner.unknown"));
+    }
+
+    private static List<TestEntity> createEntities() {
+        return List.of(
+            new TestEntity(1, "John", 30, TestEntity.Status.ACTIVE, LocalDate.of(2024, 1, 10))
+                .setAddress(new TestAddress("Berlin"))
+                .setOwner(ALICE),
+            new TestEntity(2, "Jane", 25, TestEntity.Status.BLOCKED, LocalDate.of(2024, 2, 20))
+                .setAddress(new TestAddress("Paris"))
+                .setOwner(BOB),
+            new TestEntity(3, "Johnny", 41, TestEntity.Status.ACTIVE, LocalDate.of(2024, 3, 30))
+                .setAddress(new TestAddress("Berlin"))
+                .setOwner(BOB),
+            new TestEntity(4, "Bob", 35, null, LocalDate.of(2024, 4, 15))
+        );
+    }
+
+    private static List<Long> findIds(final SessionFactory sessionFactory, final Specification<TestEntity> specification) {
+        final EntityManager entityManager = sessionFactory.createEntityManager();
+
+        try {
+            final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+            final CriteriaQuery<TestEntity> query = criteriaBuilder.createQuery(TestEntity.class);
+            final Root<TestEntity> root = query.from(TestEntity.class);
+
+            query.where(specification.toPredicate(root, query, criteriaBuilder));
+
+            return toIds(entityManager.createQuery(query).getResultList());
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static List<Long> toHolderIds(final List<Holder> holders) {
+        return holders.stream()
+            .map(Holder::getId)
+            .collect(Collectors.toList());
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Holder {
+        private long id;
+        private Inner inner;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Inner {
+        private int age;
+        private double score;
+    }
+}
@@ -0,0 +1,128 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.annotation.RequestJsonApiFilter;
+import com.slmdev.jsonapi.simple.annotation.RequestJsonApiPage;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.request.QueryComplexityBudget;
+import com.slmdev.jsonapi.simple.request.QueryComplexityExceededException;
+import com.slmdev.jsonapi.simple.resolver.JsonApiFilterArgumentResolver;
+import com.slmdev.jsonapi.simple.resolver.JsonApiPageArgumentResolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.Map;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+
+public class QueryComplexityTest {
+    private final QueryComplexityBudget budget = QueryComplexityBudget.unlimited();
+
+    @Test
+    public void shouldEstimateFilterAndPageCost() {
+        assertThat(budget.estimate(parseFilter("filter[id][in]=1,2,3")), is(4L));
+        assertThat(budget.estimate(parseFilter("filter[age][gte]=18&filter[name][contain]=john")), is(14L));
+        assertThat(budget.estimate(parseFilter("filter[owner.name]=Bob")), is(7L));
+        assertThat(budget.estimate(parseFilter("filter[or][0][id]=1&filter[or][1][id]=2")), is(9L));
+        assertThat(budget.estimate(parseFilter("filter[name]=" + "a".repeat(300))), is(3L));
+        assertThat(budget.estimate((Filter)null), is(0L));
+
+        assertThat(budget.estimate(PageRequest.of(0, 25)), is(1L));
+        assertThat(budget.estimate(PageRequest.of(1000, 100)), is(1001L));
+        assertThat(budget.estimate(PageRequest.of(0, 100, Sort.by(Sort.Order.desc("owner.name"), Sort.Order.asc("id")))), is(10L));
+        assertThat(budget.estimate(Pageable.unpaged()), is(0L));
+
+        final QueryComplexityBudget custom = QueryComplexityBudget.builder()
+            .operatorCost(Filter.FilterItem.Operator.CONTAIN, 50)
+            .valueCost(0)
+            .build();
+
+        assertThat(custom.estimate(parseFilter("filter[name][contain]=john")), is(50L));
+        assertThat(custom.withMaxCost(10).getOperatorCost(Filter.FilterItem.Operator.CONTAIN), is(50));
+        assertThat(custom.withMaxCost(10).isLimited(), is(true));
+        assertThat(custom.isLimited(), is(false));
+        assertThat(custom.withAnnotationMaxCost(0), sameInstance(custom));
+        assertThat(custom.withAnnotationMaxCost(10), sameInstance(custom.withAnnotationMaxCost(10)));
+        assertThat(custom.withAnnotationMaxCost(10).getMaxCost(), is(10L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> QueryComplexityBudget.builder().pageRowsUnit(0));
+    }
+
+    @Test
+    public void shouldRejectOverBudgetFilter() {
+        final JsonApiFilterArgumentResolver resolver = new JsonApiFilterArgumentResolver(QueryComplexityBudget.builder().maxCost(15).build());
+        final RequestJsonApiFilter annotation = Mockito.mock(RequestJsonApiFilter.class);
+        final MethodParameter methodParameter = Mockito.mock(MethodParameter.class);
+
+        Mockito.when(annotation.name()).thenReturn("filter");
+        Mockito.when(methodParameter.getParameterAnnotation(any())).thenReturn(annotation);
+
+        final Filter filter = (Filter)resolver.resolveArgument(methodParameter, null, mockRequest(Map.of("filter[name][contain]", new String[] {"john"})), null);
+
+        assertThat(filter.stringValue("name").orElse(null), is("john"));
+
+        final QueryComplexityExceededException exception = Assertions.assertThrows(
+            QueryComplexityExceededException.class,
+            () -> resolver.resolveArgument(
+                methodParameter,
+                null,
+                mockRequest(Map.of("filter[name][contain]", new String[] {"john"}, "filter[id][in]", new String[] {"1,2,3,4,5"})),
+                null
+            )
+        );
+        assertThat(exception.getCost(), is(17L));
+        assertThat(exception.getMaxCost(), is(15L));
+        assertThat(exception.toError().getSource().getParameter(), is("filter"));
+        assertThat(exception.toError().getStatus(), is(400));
+
+        Mockito.when(annotation.maxCost()).thenReturn(-1L);
+        resolver.resolveArgument(methodParameter, null, mockRequest(Map.of("filter[id][in]", new String[] {"1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18,19,20"})), null);
+
+        Mockito.when(annotation.maxCost()).thenReturn(5L);
+        Assertions.assertThrows(
+            QueryComplexityExceededException.class,
+            () -> resolver.resolveArgument(methodParameter, null, mockRequest(Map.of("filter[name][contain]", new String[] {"john"})), null)
+        );
+    }
+
+    @Test
+    public void shouldRejectOverBudgetPage() {
+        final JsonApiPageArgumentResolver resolver = new JsonApiPageArgumentResolver(QueryComplexityBudget.builder().maxCost(10).build());
+        final RequestJsonApiPage annotation = Mockito.mock(RequestJsonApiPage.class);
+        final MethodParameter methodParameter = Mockito.mock(MethodParameter.class);
+
+        Mockito.when(annotation.name()).thenReturn("page");
+        Mockito.when(methodParameter.getParameterAnnotation(any())).thenReturn(annotation);
+
+        final Pageable page = resolver.resolveArgument(
+            methodParameter,
+            null,
+            mockRequest(Map.of("page[number]", new String[] {"2"}, "page[size]", new String[] {"100"}, "sort", new String[] {"-id"})),
+            null
+        );
+
+        assertThat(page.getPageNumber(), is(1));
+
+        final QueryComplexityExceededException exception = Assertions.assertThrows(
+            QueryComplexityExceededException.class,
+            () -> resolver.resolveArgument(methodParameter, null, mockRequest(Map.of("page[number]", new String[] {"100"}, "page[size]", new String[] {"100"})), null)
+        );
+        assertThat(exception.getParameter(), is("page"));
+        assertThat(exception.getCost(), is(100L));
+    }
+
+    private static NativeWebRequest mockRequest(final Map<String, String[]> params) {
+        final NativeWebRequest nativeWebRequest = Mockito.mock(NativeWebRequest.class);
+
+        Mockito.when(nativeWebRequest.getParameterMap()).thenReturn(params);
+
+        return nativeWebRequest;
+    }
+}
@@ -0,0 +1,112 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.request.FieldSet;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQuery;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class QueryParserTest {
+    private static final String TEST_RAW_QUERY = "filter%5Bname%5D%5Bcontain%5D=John+Doe" +
+        "&filter[id][IN]=1,2,3" +
+        "&filter[age]=30" +
+        "&page[number]=2&page[size]=10" +
+        "&fields[user]=name,age" +
+        "&sort=-age&sort=name" +
+        "&flag";
+
+    @Test
+    public void shouldParseRawQueryString() {
+        final JsonApiQuery query = JsonApiQueryParser.parse(TEST_RAW_QUERY);
+        final Filter filter = query.toFilter("filter");
+        final Pageable page = query.toPageable("page");
+        final FieldSet fieldSet = query.toFieldSet("fields");
+
+        assertThat(filter.getAllKeys(), containsInAnyOrder("name", "id", "age"));
+        assertThat(filter.getParam("name").getOperator(), is(Filter.FilterItem.Operator.CONTAIN));
+        assertThat(filter.stringValue("name").get(), is("John Doe"));
+        assertThat(filter.getParam("id").getOperator(), is(Filter.FilterItem.Operator.IN));
+        assertThat(filter.listOfIntegerValues("id").get(), is(List.of(1, 2, 3)));
+        assertThat(filter.getParam("age").getOperator(), is(Filter.FilterItem.Operator.EQ));
+
+        assertThat(page.getPageNumber(), is(1));
+        assertThat(page.getPageSize(), is(10));
+        assertThat(page.getSort().getOrderFor("age").isDescending(), is(true));
+        assertThat(page.getSort().getOrderFor("name").isAscending(), is(true));
+
+        assertThat(fieldSet.getFieldsByResourceType("user"), is(Set.of("name", "age")));
+
+        assertThat(query.getPlainParam("flag"), is(new String[] {""}));
+    }
+
+    @Test
+    public void shouldParseEmptyQueryString() {
+        final JsonApiQuery query = JsonApiQueryParser.parse((String)null);
+        final Pageable page = query.toPageable("page");
+
+        assertThat(query.toFilter("filter").getAllKeys(), empty());
+        assertThat(query.toFieldSet("fields").isEmpty(), is(true));
+        assertThat(page.getPageNumber(), is(0));
+        assertThat(page.getPageSize(), is(25));
+        assertThat(page.getSort().isUnsorted(), is(true));
+    }
+
+    @Test
+    public void shouldSkipParamsWithMalformedBrackets() {
+        final JsonApiQuery query = JsonApiQueryParser.parse("filter[name=abc&filter[id]x=1");
+
+        assertThat(query.getBracketParams("filter"), empty());
+        assertThat(query.getPlainParam("filter[name"), is(new String[] {"abc"}));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenOperatorUnknown() {
+        final JsonApiQuery query = JsonApiQueryParser.parse("filter[id][unknown]=1");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> query.toFilter("filter"));
+    }
+
+    @Test
+    public void shouldParseRequestOnlyOnceAndStoreInRequestAttribute() {
+        final NativeWebRequest nativeWebRequest = Mockito.mock(NativeWebRequest.class);
+
+        Mockito.when(nativeWebRequest.getParameterMap())
+            .thenReturn(Map.of("filter[id]", new String[] {"1"}));
+
+        final JsonApiQuery query = JsonApiQueryParser.parse(nativeWebRequest);
+
+        Mockito.verify(nativeWebRequest)
+            .setAttribute(eq(JsonApiQueryParser.REQUEST_ATTRIBUTE_NAME), eq(query), eq(RequestAttributes.SCOPE_REQUEST));
+        Mockito.when(nativeWebRequest.getAttribute(any(), anyInt()))
+            .thenReturn(query);
+
+        assertThat(JsonApiQueryParser.parse(nativeWebRequest), sameInstance(query));
+
+        Mockito.verify(nativeWebRequest, Mockito.times(1))
+            .getParameterMap();
+    }
+
+    @Test
+    public void shouldResolveOperatorIgnoringCase() {
+        assertThat(Filter.FilterItem.Operator.of("not_in"), is(Filter.FilterItem.Operator.NOT_IN));
+        assertThat(Filter.FilterItem.Operator.of("Not_Contain"), is(Filter.FilterItem.Operator.NOT_CONTAIN));
+        assertThat(Filter.FilterItem.Operator.of("GTE"), is(Filter.FilterItem.Operator.GTE));
+        assertThat(Filter.FilterItem.Operator.of("unknown"), nullValue());
+        assertThat(Filter.FilterItem.Operator.of(""), nullValue());
+    }
+}
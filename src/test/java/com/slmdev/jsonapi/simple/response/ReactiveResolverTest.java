@@ -0,0 +1,106 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.annotation.RequestJsonApiFieldSet;
+import com.slmdev.jsonapi.simple.annotation.RequestJsonApiFilter;
+import com.slmdev.jsonapi.simple.annotation.RequestJsonApiPage;
+import com.slmdev.jsonapi.simple.request.FieldSet;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+import com.slmdev.jsonapi.simple.resolver.reactive.ReactiveJsonApiFilterArgumentResolver;
+import com.slmdev.jsonapi.simple.resolver.reactive.ReactiveJsonApiPageArgumentResolver;
+import com.slmdev.jsonapi.simple.resolver.reactive.ReactiveJsonApiSpreadFieldSetArgumentResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ReactiveResolverTest {
+    private static final String TEST_URI = "/api/v1/users" +
+        "?filter[id][in]=1,2&filter[name][contain]=John" +
+        "&page[number]=3&page[size]=15" +
+        "&fields[user]=name,age" +
+        "&sort=-age";
+
+    @Mock
+    private MethodParameter methodParameter;
+    @Mock
+    private RequestJsonApiFilter requestJsonApiFilter;
+    @Mock
+    private RequestJsonApiPage requestJsonApiPage;
+    @Mock
+    private RequestJsonApiFieldSet requestJsonApiFieldSet;
+
+    private MockServerWebExchange exchange;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        Mockito.when(methodParameter.getParameterAnnotation(RequestJsonApiFilter.class))
+            .thenReturn(requestJsonApiFilter);
+        Mockito.when(methodParameter.getParameterAnnotation(RequestJsonApiPage.class))
+            .thenReturn(requestJsonApiPage);
+        Mockito.when(methodParameter.getParameterAnnotation(RequestJsonApiFieldSet.class))
+            .thenReturn(requestJsonApiFieldSet);
+        Mockito.when(requestJsonApiFilter.name())
+            .thenReturn("filter");
+        Mockito.when(requestJsonApiPage.name())
+            .thenReturn("page");
+        Mockito.when(requestJsonApiFieldSet.name())
+            .thenReturn("fields");
+
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get(TEST_URI));
+    }
+
+    @Test
+    public void shouldResolveFilter() {
+        final ReactiveJsonApiFilterArgumentResolver resolver = new ReactiveJsonApiFilterArgumentResolver();
+        final Filter filter = (Filter)resolver.resolveArgumentValue(methodParameter, null, exchange);
+
+        assertThat(resolver.supportsParameter(methodParameter), is(true));
+        assertThat(filter.getParam("id").getOperator(), is(Filter.FilterItem.Operator.IN));
+        assertThat(filter.listOfStringValues("id").get(), is(List.of("1", "2")));
+        assertThat(filter.getParam("name").getOperator(), is(Filter.FilterItem.Operator.CONTAIN));
+        assertThat(filter.stringValue("name").get(), is("John"));
+    }
+
+    @Test
+    public void shouldResolvePageWithSort() {
+        final Pageable page = new ReactiveJsonApiPageArgumentResolver().resolveArgumentValue(methodParameter, null, exchange);
+
+        assertThat(page.getPageNumber(), is(2));
+        assertThat(page.getPageSize(), is(15));
+        assertThat(page.getSort().getOrderFor("age").isDescending(), is(true));
+    }
+
+    @Test
+    public void shouldResolveFieldSet() {
+        final FieldSet fieldSet = (FieldSet)new ReactiveJsonApiSpreadFieldSetArgumentResolver()
+            .resolveArgumentValue(methodParameter, null, exchange);
+
+        assertThat(fieldSet.getFieldsByResourceType("user"), is(Set.of("name", "age")));
+    }
+
+    @Test
+    public void shouldShareParsedQueryBetweenResolvers() {
+        new ReactiveJsonApiFilterArgumentResolver().resolveArgumentValue(methodParameter, null, exchange);
+
+        final Object query = exchange.getAttribute(JsonApiQueryParser.REQUEST_ATTRIBUTE_NAME);
+
+        new ReactiveJsonApiPageArgumentResolver().resolveArgumentValue(methodParameter, null, exchange);
+
+        assertThat(query, notNullValue());
+        assertThat(exchange.getAttribute(JsonApiQueryParser.REQUEST_ATTRIBUTE_NAME), sameInstance(query));
+    }
+}
@@ -321,6 +321,18 @@ public class ResponseTest extends BaseTest {
 		assertThat(response.getMeta().getTrace().getId(), is(traceId.toString()));
 	}
 
+	@Test
+	public void shouldThrowExceptionWhenJsonApiIdValueIsNull() {
+		final RuntimeException exception = Assertions.assertThrows(
+			RuntimeException.class,
+			() -> Response.<Data<TestDto>, TestDto>builder()
+				.data(new TestDto().setName(TEST_DTO_1_NAME))
+				.build()
+		);
+
+		assertThat(exception.getMessage().startsWith("Could not create response! Response entity must contain the field with @JsonApiId annotation!"), is(true));
+	}
+
 	@Test
 	public void shouldThrowExceptionWithManuallyDataTypeAndInValidInvokesOrder() {
 		Assertions.assertThrows(
@@ -0,0 +1,80 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.memory.SortComparatorCompiler;
+import com.slmdev.jsonapi.simple.request.FilterFieldNotAllowedException;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class SortComparatorTest {
+    private static final List<TestEntity> ENTITIES = List.of(
+        new TestEntity(1, "John", 30, TestEntity.Status.ACTIVE, LocalDate.of(2024, 1, 10)),
+        new TestEntity(2, "jane", 25, TestEntity.Status.BLOCKED, null),
+        new TestEntity(3, "Bob", 30, TestEntity.Status.ACTIVE, LocalDate.of(2024, 3, 30)),
+        new TestEntity(4, "Alice", 35, null, LocalDate.of(2024, 4, 15))
+    );
+
+    @Test
+    public void shouldSortByRequestSort() {
+        assertThat(sortIds("sort=-age&sort=name"), is(List.of(4L, 3L, 1L, 2L)));
+        assertThat(sortIds("sort=age&sort=-id"), is(List.of(2L, 3L, 1L, 4L)));
+        assertThat(sortIds("sort=name"), is(List.of(4L, 3L, 1L, 2L)));
+        assertThat(sortIds(Sort.by(Sort.Order.asc("name").ignoreCase())), is(List.of(4L, 3L, 2L, 1L)));
+    }
+
+    @Test
+    public void shouldOrderNullsConsistently() {
+        assertThat(sortIds("sort=createDate"), is(List.of(1L, 3L, 4L, 2L)));
+        assertThat(sortIds("sort=-createDate"), is(List.of(2L, 4L, 3L, 1L)));
+        assertThat(sortIds(Sort.by(Sort.Order.asc("createDate").nullsFirst())), is(List.of(2L, 1L, 3L, 4L)));
+        assertThat(sortIds(Sort.by(Sort.Order.desc("status").nullsLast(), Sort.Order.asc("id"))), is(List.of(2L, 1L, 3L, 4L)));
+    }
+
+    @Test
+    public void shouldSortWithExtractedKeysTheSameAsComparator() {
+        final Random random = new Random(42);
+        final List<TestEntity> entities = IntStream.range(0, 1000)
+            .mapToObj(id -> new TestEntity(id, "user-" + random.nextInt(50), random.nextInt(10), null, null))
+            .collect(Collectors.toList());
+        final Sort sort = Sort.by(Sort.Order.desc("age"), Sort.Order.asc("name"));
+        final SortComparatorCompiler<TestEntity> compiler = SortComparatorCompiler.forClass(TestEntity.class);
+        final List<TestEntity> expected = new ArrayList<>(entities);
+
+        expected.sort(compiler.compile(sort));
+
+        assertThat(compiler.sort(entities, sort), is(expected));
+        assertThat(compiler.compile(sort), notNullValue());
+        assertThat(compiler.sort(entities, null), is(entities));
+    }
+
+    @Test
+    public void shouldRejectUnknownFields() {
+        Assertions.assertThrows(
+            FilterFieldNotAllowedException.class,
+            () -> SortComparatorCompiler.forClass(TestEntity.class).compile(Sort.by("password"))
+        );
+    }
+
+    private static List<Long> sortIds(final String query) {
+        return sortIds(JsonApiQueryParser.parse(query).toSort());
+    }
+
+    private static List<Long> sortIds(final Sort sort) {
+        final List<TestEntity> entities = new ArrayList<>(ENTITIES);
+
+        entities.sort(SortComparatorCompiler.forClass(TestEntity.class).compile(sort));
+
+        return entities.stream().map(TestEntity::getId).collect(Collectors.toList());
+    }
+}
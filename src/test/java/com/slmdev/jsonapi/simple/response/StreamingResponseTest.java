@@ -0,0 +1,102 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.response.reactive.StreamingResponse;
+import com.slmdev.jsonapi.simple.response.reactive.StreamingResponseHttpMessageWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class StreamingResponseTest extends BaseTest {
+    private final StreamingResponseHttpMessageWriter writer = new StreamingResponseHttpMessageWriter(objectMapper);
+
+    @Test
+    public void shouldWriteFluxAsJsonApiDocument() throws Exception {
+        final TestDto testDto1 = buildTestDto1();
+        final TestDto testDto2 = buildTestDto2();
+        final StreamingResponse<TestDto> streamingResponse = StreamingResponse.<TestDto>builder()
+            .uri(TEST_RESPONSE_URI)
+            .apiVersion("2")
+            .data(Flux.just(testDto1, testDto2))
+            .build();
+
+        final Response<List<Data<TestDto>>> response = writeAndRead(streamingResponse);
+
+        assertThat(response.getData(), hasSize(2));
+        assertThat(response.getData().get(0).getType(), is(TestDto.API_TYPE));
+        assertThat(response.getData().get(0).getId(), is(TEST_DTO_1_ID.toString()));
+        assertThat(response.getData().get(0).getLinks().getSelf(), is(buildSelfLink(TEST_RESPONSE_URI, testDto1)));
+        assertThat(response.getData().get(1).getId(), is(TEST_DTO_2_ID.toString()));
+        assertThat(response.getData().get(1).getLinks().getSelf(), is(buildSelfLink(TEST_RESPONSE_URI, testDto2)));
+        assertThat(response.getMeta().getApi().getVersion(), is("2"));
+        assertThat(response.getMeta().getPage().getTotal(), is(2L));
+    }
+
+    @Test
+    public void shouldWriteEmptyFluxAsEmptyDataArray() throws Exception {
+        final Response<List<Data<TestDto>>> response = writeAndRead(StreamingResponse.<TestDto>builder().build());
+
+        assertThat(response.getData(), empty());
+        assertThat(response.getMeta().getPage().getTotal(), is(0L));
+    }
+
+    @Test
+    public void shouldRequestElementsIncrementally() throws Exception {
+        final List<Long> requests = new ArrayList<>();
+        final Flux<TestDto> data = Flux.range(0, 100)
+            .map(index -> buildTestDto1())
+            .doOnRequest(requests::add);
+        final StreamingResponse<TestDto> streamingResponse = StreamingResponse.<TestDto>builder()
+            .data(data)
+            .total(1000)
+            .build();
+
+        final Response<List<Data<TestDto>>> response = writeAndRead(streamingResponse);
+
+        assertThat(response.getData(), hasSize(100));
+        assertThat(response.getMeta().getPage().getTotal(), is(1000L));
+        assertThat(requests, not(contains(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void shouldWriteOnlyStreamingResponses() {
+        assertThat(writer.canWrite(ResolvableType.forClass(StreamingResponse.class), MediaType.APPLICATION_JSON), is(true));
+        assertThat(writer.canWrite(ResolvableType.forClass(Response.class), MediaType.APPLICATION_JSON), is(false));
+        assertThat(writer.canWrite(ResolvableType.forClass(StreamingResponse.class), MediaType.TEXT_PLAIN), is(false));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Response<List<Data<TestDto>>> writeAndRead(final StreamingResponse<TestDto> streamingResponse) throws Exception {
+        final MockServerHttpResponse httpResponse = new MockServerHttpResponse();
+
+        writer.write(
+            Mono.just(streamingResponse),
+            ResolvableType.forClass(StreamingResponse.class),
+            MediaType.APPLICATION_JSON,
+            httpResponse,
+            Map.of()
+        ).block();
+
+        assertThat(httpResponse.getHeaders().getContentType(), is(MediaType.APPLICATION_JSON));
+
+        return objectMapper.readValue(
+            httpResponse.getBodyAsString().block(),
+            objectMapper.getTypeFactory().constructParametricType(
+                Response.class,
+                objectMapper.getTypeFactory().constructCollectionType(
+                    List.class,
+                    objectMapper.getTypeFactory().constructParametricType(Data.class, TestDto.class)
+                )
+            )
+        );
+    }
+}
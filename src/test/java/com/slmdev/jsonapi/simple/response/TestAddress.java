@@ -0,0 +1,15 @@
+package com.slmdev.jsonapi.simple.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Embeddable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class TestAddress {
+    private String city;
+}
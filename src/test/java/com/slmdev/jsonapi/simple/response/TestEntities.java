@@ -0,0 +1,74 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.memory.FilterPredicateCompiler;
+import com.slmdev.jsonapi.simple.request.Filter;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Shared fixtures of the filter tests.
+ */
+final class TestEntities {
+    /**
+     * Two active, one blocked and one entity without status, name of the third one contains {@code %}.
+     */
+    static final List<TestEntity> ENTITIES = List.of(
+        new TestEntity(1, "John", 30, TestEntity.Status.ACTIVE, LocalDate.of(2024, 1, 10)),
+        new TestEntity(2, "Jane", 25, TestEntity.Status.BLOCKED, LocalDate.of(2024, 2, 20)),
+        new TestEntity(3, "Johnny 100%", 41, TestEntity.Status.ACTIVE, LocalDate.of(2024, 3, 30)),
+        new TestEntity(4, "Bob", 35, null, LocalDate.of(2024, 4, 15))
+    );
+
+    private TestEntities() {
+    }
+
+    /**
+     * @return entities with ids from 0, random names, ages, statuses and dates, some of them null
+     */
+    static List<TestEntity> randomEntities(final long seed, final int count) {
+        final Random random = new Random(seed);
+
+        return IntStream.range(0, count)
+            .mapToObj(id -> new TestEntity(
+                id,
+                (id % 10 == 0 ? null : (id % 3 == 0 ? "User-" : "user-") + random.nextInt(100)),
+                random.nextInt(50),
+                (id % 11 == 0 ? null : TestEntity.Status.values()[random.nextInt(2)]),
+                (id % 7 == 0 ? null : LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365)))
+            ))
+            .collect(Collectors.toList());
+    }
+
+    static Filter parseFilter(final String query) {
+        return JsonApiQueryParser.parse(query).toFilter("filter", 0, true);
+    }
+
+    /**
+     * @return ids of the {@link #ENTITIES} matched by the in-memory filter
+     */
+    static List<Long> findIds(final String query) {
+        return findIds(parseFilter(query));
+    }
+
+    /**
+     * @return ids of the {@link #ENTITIES} matched by the in-memory filter
+     */
+    static List<Long> findIds(final Filter filter) {
+        return ENTITIES.stream()
+            .filter(FilterPredicateCompiler.forClass(TestEntity.class).compile(filter))
+            .map(TestEntity::getId)
+            .collect(Collectors.toList());
+    }
+
+    static List<Long> toIds(final Collection<TestEntity> entities) {
+        return entities.stream()
+            .map(TestEntity::getId)
+            .collect(Collectors.toList());
+    }
+}
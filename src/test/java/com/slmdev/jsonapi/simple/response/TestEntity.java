@@ -0,0 +1,52 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.annotation.JsonApiId;
+import com.slmdev.jsonapi.simple.annotation.JsonApiType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@Accessors(chain = true)
+@Entity
+@Table(name = "test_entity")
+@JsonApiType(TestEntity.API_TYPE)
+public class TestEntity {
+    public static final String API_TYPE = "test-entity";
+
+    public enum Status {
+        ACTIVE,
+        BLOCKED
+    }
+
+    @Id
+    @JsonApiId
+    private Long id;
+    private String name;
+    private int age;
+    @Enumerated(EnumType.STRING)
+    private Status status;
+    private LocalDate createDate;
+    @Embedded
+    private TestAddress address;
+    @ManyToOne
+    private TestOwner owner;
+
+    public TestEntity(final long id, final String name, final int age, final Status status, final LocalDate createDate) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.status = status;
+        this.createDate = createDate;
+    }
+}
@@ -0,0 +1,20 @@
+package com.slmdev.jsonapi.simple.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "test_owner")
+public class TestOwner {
+    @Id
+    private Long id;
+    private String name;
+}
@@ -0,0 +1,95 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.memory.InMemoryQueryEngine;
+import com.slmdev.jsonapi.simple.memory.TrigramIndex;
+import com.slmdev.jsonapi.simple.request.Filter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.slmdev.jsonapi.simple.response.TestEntities.parseFilter;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class TrigramIndexTest {
+    private static final String[] WORDS = {"alpha", "Beta", "GAMMA", "delta", "epsilon", "Zeta", "eta", "theta"};
+
+    private final InMemoryQueryEngine<TestEntity> engine = InMemoryQueryEngine.forClass(TestEntity.class);
+
+    @Test
+    public void shouldSelectTheSameElementsAsFullScan() {
+        final Random random = new Random(11);
+        final List<TestEntity> entities = IntStream.range(0, 2000)
+            .mapToObj(id -> new TestEntity(id, WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)], random.nextInt(50), TestEntity.Status.ACTIVE, null)
+                .setAddress(id % 3 == 0 ? null : new TestAddress(WORDS[random.nextInt(WORDS.length)])))
+            .collect(Collectors.toList());
+        final TrigramIndex<TestEntity> index = TrigramIndex.builder(TestEntity.class)
+            .field("name")
+            .field("address.city")
+            .build();
+
+        index.addAll(entities);
+
+        for (final String query : List.of(
+            "filter[name][contain]=ALPHA",
+            "filter[name][contain]=a bet",
+            "filter[name][contain]=ta",
+            "filter[name][contain]=unknown",
+            "filter[name][contain]=eta&filter[age][lt]=10",
+            "filter[name][contain]=gamma&filter[address.city][contain]=psi",
+            "filter[or][0][name][contain]=zeta zeta&filter[or][1][address.city][contain]=theta",
+            "filter[or][0][name][contain]=zeta&filter[or][1][age]=5",
+            "filter[age][gte]=45"
+        )) {
+            final Filter filter = parseFilter(query);
+            final PageRequest page = PageRequest.of(0, 10, Sort.by("id"));
+
+            assertThat(query, engine.query(index, filter, page).getContent(), is(engine.query(entities, filter, page).getContent()));
+            assertThat(query, engine.query(index, filter, page).getTotalElements(), is(engine.query(entities, filter, page).getTotalElements()));
+        }
+        assertThat(index.candidates(parseFilter("filter[name][contain]=alpha alpha")).size(), lessThan(entities.size() / 10));
+        assertThat(index.candidates(parseFilter("filter[name][contain]=ta")), hasSize(entities.size()));
+        assertThat(index.candidates(parseFilter("filter[name][contain]=xyz")), empty());
+    }
+
+    @Test
+    public void shouldUpdateIndexIncrementally() {
+        final TrigramIndex<TestEntity> index = TrigramIndex.builder(TestEntity.class)
+            .field("name")
+            .build();
+        final List<TestEntity> entities = new ArrayList<>();
+
+        for (int id = 0; id < 10; ++id) {
+            entities.add(new TestEntity(id, "user " + id, 20, TestEntity.Status.ACTIVE, null));
+        }
+        index.addAll(entities);
+
+        assertThat(index.add(entities.get(0)), is(false));
+        assertThat(index.search("name", "USER 5"), contains(entities.get(5)));
+        assertThat(index.remove(entities.get(5)), is(true));
+        assertThat(index.remove(entities.get(5)), is(false));
+        assertThat(index.search("name", "user 5"), empty());
+
+        final TestEntity renamed = new TestEntity(5, "renamed user", 20, TestEntity.Status.ACTIVE, null);
+
+        assertThat(index.add(renamed), is(true));
+        assertThat(index.search("name", "named"), contains(renamed));
+        assertThat(index.search("name", "user"), hasSize(10));
+        assertThat(index.search("name", "r 1"), contains(entities.get(1)));
+        assertThat(index.size(), is(10));
+
+        index.clear();
+
+        assertThat(index.size(), is(0));
+        assertThat(index.search("name", "user"), empty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.search("status", "act"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TrigramIndex.builder(TestEntity.class).field("unknown").build());
+    }
+}
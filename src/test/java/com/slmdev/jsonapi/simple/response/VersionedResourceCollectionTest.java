@@ -0,0 +1,125 @@
+package com.slmdev.jsonapi.simple.response;
+
+import com.slmdev.jsonapi.simple.memory.InMemoryQueryEngine;
+import com.slmdev.jsonapi.simple.memory.VersionedResourceCollection;
+import com.slmdev.jsonapi.simple.resolver.JsonApiQueryParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class VersionedResourceCollectionTest {
+    @Test
+    public void shouldPublishImmutableSnapshots() {
+        final VersionedResourceCollection<TestEntity> collection = new VersionedResourceCollection<>(
+            TestEntity.class, 16, InMemoryQueryEngine.forClass(TestEntity.class)
+        );
+        final VersionedResourceCollection.Snapshot<TestEntity> empty = collection.snapshot();
+        final VersionedResourceCollection.Snapshot<TestEntity> first = collection.putAll(createEntities(100, 20));
+
+        assertThat(empty, empty());
+        assertThat(first.getVersion(), is(1L));
+        assertThat(first, hasSize(100));
+        assertThat(collection.snapshot(), sameInstance(first));
+
+        final VersionedResourceCollection.Snapshot<TestEntity> second = collection.put(new TestEntity(5, "updated", 99, TestEntity.Status.BLOCKED, null));
+
+        assertThat(second.getVersion(), is(2L));
+        assertThat(second.findById("5").orElseThrow().getName(), is("updated"));
+        assertThat(first.findById(5L).orElseThrow().getName(), is("user-5"));
+        assertThat(second, hasSize(100));
+
+        final VersionedResourceCollection.Snapshot<TestEntity> third = collection.removeAll(List.of(1L, "2", 1000L));
+
+        assertThat(third, hasSize(98));
+        assertThat(third.findById(1L).isPresent(), is(false));
+        assertThat(second.findById(1L).isPresent(), is(true));
+        assertThat(collection.remove(1000L), sameInstance(third));
+        assertThat(
+            third.stream().map(TestEntity::getId).collect(Collectors.toList()),
+            is(IntStream.range(0, third.size()).mapToObj(third::get).map(TestEntity::getId).collect(Collectors.toList()))
+        );
+        assertThat(
+            third.query(JsonApiQueryParser.parse("filter[age][gte]=99").toFilter("filter"), PageRequest.of(0, 10, Sort.by("id")))
+                .getContent().get(0).getId(),
+            is(5L)
+        );
+
+        final VersionedResourceCollection.Snapshot<TestEntity> reloaded = collection.replaceAll(createEntities(3, 20));
+
+        assertThat(reloaded, hasSize(3));
+        assertThat(reloaded.getVersion(), is(4L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> collection.put(new TestEntity()));
+        assertThat(collection.snapshot(), sameInstance(reloaded));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new VersionedResourceCollection<>(TestAddress.class));
+    }
+
+    @Test
+    public void shouldUseVersionAsEntityTag() {
+        final VersionedResourceCollection<TestEntity> collection = new VersionedResourceCollection<>(TestEntity.class);
+        final VersionedResourceCollection.Snapshot<TestEntity> snapshot = collection.putAll(createEntities(10, 20));
+        final String eTag = snapshot.getETag();
+
+        assertThat(eTag, matchesPattern("\"[0-9a-f]+-1\""));
+        assertThat(snapshot.isNotModified(eTag), is(true));
+        assertThat(snapshot.isNotModified("\"other\", W/" + eTag), is(true));
+        assertThat(snapshot.isNotModified("*"), is(true));
+        assertThat(snapshot.isNotModified(null), is(false));
+        assertThat(collection.put(new TestEntity(1, "changed", 20, null, null)).isNotModified(eTag), is(false));
+        assertThat(new VersionedResourceCollection<>(TestEntity.class).putAll(createEntities(10, 20)).getETag(), not(eTag));
+    }
+
+    @Test
+    public void shouldReadConsistentSnapshotsDuringWrites() throws Exception {
+        final VersionedResourceCollection<TestEntity> collection = new VersionedResourceCollection<>(TestEntity.class);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        collection.putAll(createEntities(1000, 0));
+
+        try {
+            final List<Future<?>> readers = new ArrayList<>();
+
+            for (int i = 0; i < 3; ++i) {
+                readers.add(executor.submit(() -> {
+                    for (int read = 0; read < 200; ++read) {
+                        final VersionedResourceCollection.Snapshot<TestEntity> snapshot = collection.snapshot();
+                        final int expectedAge = (int)snapshot.getVersion() - 1;
+
+                        // Each version sets the same age to all resources
+                        assertThat(snapshot, hasSize(1000));
+                        assertThat(snapshot.stream().allMatch(entity -> entity.getAge() == expectedAge), is(true));
+                    }
+                }));
+            }
+
+            for (int version = 1; version <= 50; ++version) {
+                collection.putAll(createEntities(1000, version));
+            }
+
+            for (final Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(collection.snapshot().getVersion(), is(51L));
+    }
+
+    private static List<TestEntity> createEntities(final int count, final int age) {
+        return IntStream.range(0, count)
+            .mapToObj(id -> new TestEntity(id, "user-" + id, age, TestEntity.Status.ACTIVE, null))
+            .collect(Collectors.toList());
+    }
+}